@@ -3,5 +3,6 @@
 # get the directory where the script is located (rather than where the user is running it from)
 SCRIPT_DIR="$(dirname "$(realpath "$0")")"
 
-rm -f "$SCRIPT_DIR/../database.db"
+# also remove the WAL sidecar files, so a stale write-ahead log is never replayed over the new database
+rm -f "$SCRIPT_DIR/../database.db" "$SCRIPT_DIR/../database.db-wal" "$SCRIPT_DIR/../database.db-shm"
 sqlite3 "$SCRIPT_DIR/../database.db" < "$SCRIPT_DIR/../database.sql"
\ No newline at end of file
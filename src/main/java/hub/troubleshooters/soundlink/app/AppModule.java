@@ -3,9 +3,12 @@ package hub.troubleshooters.soundlink.app;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
+import hub.troubleshooters.soundlink.app.services.AsyncServiceImpl;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 import hub.troubleshooters.soundlink.app.services.SceneManagerImpl;
 import hub.troubleshooters.soundlink.core.Map;
+import hub.troubleshooters.soundlink.core.concurrent.ReadExecutor;
 import hub.troubleshooters.soundlink.core.communities.services.CommunityService;
 import hub.troubleshooters.soundlink.core.communities.services.CommunityServiceImpl;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
@@ -19,14 +22,21 @@ import hub.troubleshooters.soundlink.core.auth.validation.RegisterModelValidator
 import hub.troubleshooters.soundlink.core.events.services.EventService;
 import hub.troubleshooters.soundlink.core.events.services.EventServiceImpl;
 import hub.troubleshooters.soundlink.core.events.validation.CreateEventModelValidator;
+import hub.troubleshooters.soundlink.core.images.ImageCache;
+import hub.troubleshooters.soundlink.core.images.ImageCacheImpl;
+import hub.troubleshooters.soundlink.core.images.ImageIngestConfig;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderServiceImpl;
+import hub.troubleshooters.soundlink.core.images.ImageVariantGenerator;
 import hub.troubleshooters.soundlink.core.profile.services.UserProfileService;
 import hub.troubleshooters.soundlink.core.profile.services.UserProfileServiceImpl;
 import hub.troubleshooters.soundlink.core.profile.validation.UserProfileValidator;
 import hub.troubleshooters.soundlink.data.factories.*;
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.ConnectionProfile;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
-import hub.troubleshooters.soundlink.data.SQLiteDatabaseConnection;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
 import javafx.stage.Stage;
 
 /**
@@ -53,8 +63,9 @@ public class AppModule extends AbstractModule {
     @Override
     protected void configure() {
         bind(Stage.class).toInstance(primaryStage);
-        bind(DatabaseConnection.class).to(SQLiteDatabaseConnection.class).in(Singleton.class);
+        bind(DatabaseConnection.class).to(PooledDatabaseConnection.class).in(Singleton.class);
         bind(SceneManager.class).to(SceneManagerImpl.class).in(Singleton.class);
+        bind(AsyncService.class).to(AsyncServiceImpl.class).in(Singleton.class);
 
         // core services
         bind(LoginService.class).to(LoginServiceImpl.class).in(Singleton.class);
@@ -62,6 +73,7 @@ public class AppModule extends AbstractModule {
         bind(CommunityService.class).to(CommunityServiceImpl.class).in(Singleton.class);
         bind(IdentityService.class).to(IdentityServiceImpl.class).in(Singleton.class);
         bind(ImageUploaderService.class).to(ImageUploaderServiceImpl.class).in(Singleton.class);
+        bind(ImageCache.class).to(ImageCacheImpl.class).in(Singleton.class);
         bind(UserProfileService.class).to(UserProfileServiceImpl.class).in(Singleton.class);
         bind(ApprovalService.class).to(ApprovalServiceImpl.class).in(Singleton.class);
 
@@ -79,6 +91,9 @@ public class AppModule extends AbstractModule {
         bind(CommunityPostFactory.class).in(Singleton.class);
         bind(EventCommentFactory.class).in(Singleton.class);
 
+        // schema migrations, run once at startup
+        bind(MigrationRunner.class).in(Singleton.class);
+
         // validators
         bind(CreateEventModelValidator.class).in(Singleton.class);
         bind(LoginModelValidator.class).in(Singleton.class);
@@ -87,17 +102,27 @@ public class AppModule extends AbstractModule {
 
         // mapper (potentially in future have mapper profiles?)
         bind(Map.class).in(Singleton.class);
+
+        // writes the downscaled copies of uploaded images
+        bind(ImageVariantGenerator.class).in(Singleton.class);
+        // the size limits on uploaded images
+        bind(ImageIngestConfig.class).toInstance(ImageIngestConfig.defaults());
+
+        // virtual-thread executor for the services' parallel reads
+        bind(ReadExecutor.class).in(Singleton.class);
     }
 
     /**
-     * Provides an instance of {@link SQLiteDatabaseConnection}.
+     * Provides the application's single {@link PooledDatabaseConnection}.
      *
-     * @return A {@link SQLiteDatabaseConnection} connected to the local SQLite database.
+     * @return A {@link PooledDatabaseConnection} connected to the local SQLite database, using the tuned
+     *         {@link ConnectionProfile} (WAL journaling, so the UI's reads aren't blocked behind writes).
      */
     @Provides
-    SQLiteDatabaseConnection provideSQLiteDatabaseConnection() {
+    @Singleton
+    PooledDatabaseConnection providePooledDatabaseConnection() {
         String connectionString = "jdbc:sqlite:database.db";
-        return new SQLiteDatabaseConnection(connectionString);
+        return new PooledDatabaseConnection(connectionString, ConnectionPoolConfig.defaults(), ConnectionProfile.tuned());
     }
 }
 
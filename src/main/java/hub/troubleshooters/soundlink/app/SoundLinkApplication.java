@@ -2,28 +2,53 @@ package hub.troubleshooters.soundlink.app;
 
 import atlantafx.base.theme.PrimerLight;
 import hub.troubleshooters.soundlink.app.areas.Routes;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
 import hub.troubleshooters.soundlink.app.services.SceneManagerImpl;
+import hub.troubleshooters.soundlink.core.concurrent.ReadExecutor;
+import hub.troubleshooters.soundlink.core.images.ImageGarbageCollector;
+import hub.troubleshooters.soundlink.core.images.ImageVariantBackfill;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import com.google.inject.Guice;
+import com.google.inject.Injector;
 
 
 import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Main class for the Soundlink application.
  */
 public class SoundLinkApplication extends Application {
+    private static final Logger LOGGER = Logger.getLogger(SoundLinkApplication.class.getName());
 
     /**
-     * Initializes the Guice injector and routes the application to the login screen.
+     * How long closing the application waits for background work, long enough for a save waiting out the database's
+     * busy timeout.
+     */
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private Injector injector;
+
+    /**
+     * Initializes the Guice injector, brings the database schema up to date and routes the application to the login screen.
      * @param stage A {@link Stage}, the main view for the application.
      * @throws IOException If there is an IO Error.
+     * @throws SQLException If the database schema can't be migrated.
      */
     @Override
-    public void start(Stage stage) throws IOException {
+    public void start(Stage stage) throws IOException, SQLException {
         // set up DI injector
-        var injector = Guice.createInjector(new AppModule(stage));
+        injector = Guice.createInjector(new AppModule(stage));
+
+        // upgrade the database in place before anything queries it
+        injector.getInstance(MigrationRunner.class).migrate();
+        maintainImages();
         var sceneManager = injector.getInstance(SceneManagerImpl.class);
 
         // set theme
@@ -33,6 +58,57 @@ public class SoundLinkApplication extends Application {
         sceneManager.switchToScene(Routes.LOGIN);
     }
 
+    /**
+     * Deletes the images nothing uses any more, then writes the downscaled copies of images stored before they were
+     * written at upload time, on a background thread so the application opens straight away. Until an image's copies
+     * are written, it is shown at full size.
+     */
+    private void maintainImages() {
+        var garbageCollector = injector.getInstance(ImageGarbageCollector.class);
+        var backfill = injector.getInstance(ImageVariantBackfill.class);
+        var thread = new Thread(() -> {
+            try {
+                // swept first, so no copies are written of images about to be deleted
+                garbageCollector.sweep();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Failed to delete unreferenced images", e);
+            }
+            try {
+                backfill.run();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Failed to backfill image variants", e);
+            }
+        }, "soundlink-image-maintenance");
+        // never keep the application running after its window is closed
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits for background saves and reads to finish, then releases the database connections held open by the
+     * application.
+     */
+    @Override
+    public void stop() {
+        if (injector == null) {
+            return;
+        }
+        try {
+            // saves first, as they may still fork reads
+            if (!injector.getInstance(AsyncService.class).shutdown(SHUTDOWN_TIMEOUT)) {
+                LOGGER.log(Level.WARNING, "Background saves were still running after " + SHUTDOWN_TIMEOUT.toSeconds() + "s; closing the database anyway");
+            }
+            if (!injector.getInstance(ReadExecutor.class).shutdown(SHUTDOWN_TIMEOUT)) {
+                LOGGER.log(Level.WARNING, "Parallel reads were still running after " + SHUTDOWN_TIMEOUT.toSeconds() + "s; closing the database anyway");
+            }
+        } catch (InterruptedException e) {
+            LOGGER.log(Level.WARNING, "Interrupted while waiting for background work; closing the database anyway", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            injector.getInstance(PooledDatabaseConnection.class).close();
+        }
+    }
+
     /**
      * Launches the main event loop of the application.
      * @param args Starting parameters, none are valid.
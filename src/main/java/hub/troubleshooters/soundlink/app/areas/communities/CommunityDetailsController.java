@@ -1,16 +1,19 @@
 package hub.troubleshooters.soundlink.app.areas.communities;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
+import hub.troubleshooters.soundlink.core.communities.models.CommunityDetailsView;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
 import hub.troubleshooters.soundlink.core.communities.services.CommunityService;
+import hub.troubleshooters.soundlink.core.images.ImageCache;
+import hub.troubleshooters.soundlink.core.images.ImageTier;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.control.Button;
 
@@ -43,12 +46,18 @@ public class CommunityDetailsController {
     @FXML
     private HBox adminButtonBox;
     @FXML
+    private Button saveButton;
+    @FXML
+    private Button deleteButton;
+    @FXML
     private Button feedButton;
 
     private final CommunityService communityService;
     private final ImageUploaderService imageUploaderService;
     private final IdentityService identityService;
     private final SceneManager sceneManager;
+    private final AsyncService asyncService;
+    private final ImageCache imageCache;
 
     private CommunityModel community;
     private static final Logger LOGGER = Logger.getLogger(CommunityDetailsController.class.getName());
@@ -60,56 +69,57 @@ public class CommunityDetailsController {
      * @param imageUploaderService The service responsible for handling image uploads.
      * @param identityService The service responsible for managing user identity and permissions.
      * @param sceneManager The manager for handling scene navigation.
+     * @param asyncService The service loading and saving the community off the JavaFX application thread.
+     * @param imageCache The cache of decoded images, shared with the rest of the application.
      */
     @Inject
     public CommunityDetailsController(CommunityService communityService, ImageUploaderService imageUploaderService,
-                                      IdentityService identityService, SceneManager sceneManager) {
+                                      IdentityService identityService, SceneManager sceneManager, AsyncService asyncService, ImageCache imageCache) {
         this.communityService = communityService;
         this.imageUploaderService = imageUploaderService;
         this.identityService = identityService;
         this.sceneManager = sceneManager;
+        this.asyncService = asyncService;
+        this.imageCache = imageCache;
     }
 
     /**
-     * Loads the details of the specified community and updates the view.
+     * Loads the details of the specified community in the background and updates the view once they arrive.
      *
      * @param id The ID of the community to load.
      */
     public void loadCommunityDetails(int id) {
         int userId = identityService.getUserContext().getUser().getId();
 
-        try {
-            Optional<Integer> permissionLevelOpt = communityService.getUserPermissionLevel(userId, id);
-
-            int permissionLevel = permissionLevelOpt.orElse(1);
-
-            if (permissionLevel == 1) {
-                adminButtonBox.setVisible(true);
-                adminButtonBox.setManaged(true);
-                descriptionTextArea.setEditable(true);
-            } else {
-                adminButtonBox.setVisible(false);
-                adminButtonBox.setManaged(false);
-                descriptionTextArea.setEditable(false);
-            }
-
-            Optional<CommunityModel> optionalCommunity = communityService.getCommunity(id);
-            if (optionalCommunity.isEmpty()) {
+        asyncService.load(() -> communityService.getCommunityDetails(id, userId), detailsOpt -> {
+            if (detailsOpt.isEmpty()) {
                 showAlert(Alert.AlertType.ERROR, "Community not found with ID " + id);
                 return;
             }
-            community = optionalCommunity.get();
-            genreLabel.setText(community.genre());
-            nameLabel.setText(community.name());
-            descriptionTextArea.setText(community.description());
-            setUpBannerImage();
-            updateJoinButtons();
-            feedButton.setOnAction(e -> sceneManager.navigateToCommunityFeedView(community.communityId()));
-
-        } catch (SQLException e) {
+            showCommunityDetails(detailsOpt.get());
+        }, e -> {
             LOGGER.log(Level.SEVERE, "Error loading community details or permission check", e);
             showAlert(Alert.AlertType.ERROR, "Something went wrong. Please try again later.");
-        }
+        });
+    }
+
+    /**
+     * Displays the loaded community, with the tools the viewing user may use.
+     *
+     * @param details The community and the viewing user's membership of it.
+     */
+    private void showCommunityDetails(CommunityDetailsView details) {
+        adminButtonBox.setVisible(details.admin());
+        adminButtonBox.setManaged(details.admin());
+        descriptionTextArea.setEditable(details.admin());
+
+        community = details.community();
+        genreLabel.setText(community.genre());
+        nameLabel.setText(community.name());
+        descriptionTextArea.setText(community.description());
+        setUpBannerImage();
+        toggleJoiningButtons(details.joined());
+        feedButton.setOnAction(e -> sceneManager.navigateToCommunityFeedView(community.communityId()));
     }
 
     /**
@@ -119,8 +129,8 @@ public class CommunityDetailsController {
         try {
             community.bannerImage().ifPresent(img -> {
                 try {
-                    var path = imageUploaderService.getFullProtocolPath(img);
-                    bannerImageView.setImage(new Image(path));
+                    var path = imageUploaderService.getFullProtocolPath(img, ImageTier.BANNER);
+                    bannerImageView.setImage(imageCache.get(path, ImageTier.BANNER));
                 } catch (InvalidPathException e) {
                     LOGGER.log(Level.WARNING, "Failed to load banner image from file", e);
                     bannerImageView.setImage(null);
@@ -137,20 +147,6 @@ public class CommunityDetailsController {
         }
     }
 
-    /**
-     * Updates the visibility of the join and cancel buttons based on the user's join status.
-     */
-    private void updateJoinButtons() {
-        try {
-            int userId = identityService.getUserContext().getUser().getId();
-            boolean isJoined = communityService.hasUserJoinedIntoCommunity(userId, community.communityId());
-            toggleJoiningButtons(isJoined);
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error updating joining status", e);
-            showAlert(Alert.AlertType.ERROR, "Unable to update join status. Please try again.");
-        }
-    }
-
     /**
      * Handles the logic for joining a community when the join button is clicked.
      */
@@ -161,14 +157,12 @@ public class CommunityDetailsController {
             return;
         }
 
-        handleJoinOperation(() -> {
+        int communityId = community.communityId();
+        handleJoinOperation(signUpButton, () -> {
                     int userId = identityService.getUserContext().getUser().getId();
-                    boolean joined = communityService.signUpForCommunity(userId, community.communityId());
-                    if (joined) {
-                        toggleJoiningButtons(true);
-                    }
-                    return joined;
+                    return communityService.signUpForCommunity(userId, communityId);
                 },
+                true,
                 "Joined into community successfully",
                 "You have already joined this community");
     }
@@ -181,38 +175,42 @@ public class CommunityDetailsController {
         if (community == null) {
             return;
         }
-        handleJoinOperation(() -> {
+        int communityId = community.communityId();
+        handleJoinOperation(cancelButton, () -> {
                     int userId = identityService.getUserContext().getUser().getId();
-                    boolean cancelled = communityService.cancelJoin(userId, community.communityId());
-                    if (cancelled) {
-                        toggleJoiningButtons(false);
-                    }
-                    return cancelled;
+                    return communityService.cancelJoin(userId, communityId);
                 },
+                false,
                 "Successfully removed from community",
                 "Unable to be removed from the community. Please try again.");
     }
 
 
     /**
-     * Handles the join or cancel operation and displays the result message.
+     * Runs the join or cancel operation in the background, with its button disabled until it finishes, and displays
+     * the result message.
      *
+     * @param button The button that started the operation.
      * @param operation The operation to be executed.
+     * @param joinedOnSuccess Whether the user is a member of the community once the operation succeeds.
      * @param successMessage The message to display if the operation is successful.
      * @param failureMessage The message to display if the operation fails.
      */
-    private void handleJoinOperation(JoinOperation operation, String successMessage, String failureMessage) {
-        try {
-            boolean result = operation.execute();
+    private void handleJoinOperation(Button button, JoinOperation operation, boolean joinedOnSuccess, String successMessage, String failureMessage) {
+        button.setDisable(true);
+        asyncService.save(operation::execute, result -> {
+            button.setDisable(false);
             if (result) {
+                toggleJoiningButtons(joinedOnSuccess);
                 showAlert(Alert.AlertType.INFORMATION, successMessage);
             } else {
                 showAlert(Alert.AlertType.ERROR, failureMessage);
             }
-        } catch (SQLException e) {
+        }, e -> {
+            button.setDisable(false);
             LOGGER.log(Level.SEVERE, "Error processing join operation", e);
             showAlert(Alert.AlertType.ERROR, "Something went wrong. Please contact SoundLink Support.");
-        }
+        });
     }
 
     /**
@@ -271,13 +269,18 @@ public class CommunityDetailsController {
                 community.isPrivate()
         );
 
-        try {
+        saveButton.setDisable(true);
+        asyncService.save(() -> {
             communityService.updateCommunity(updatedCommunity);
+            return null;
+        }, ignored -> {
+            saveButton.setDisable(false);
             showAlert(Alert.AlertType.INFORMATION, "Community details updated successfully.");
-        } catch (SQLException e) {
+        }, e -> {
+            saveButton.setDisable(false);
             LOGGER.log(Level.SEVERE, "Error updating community details", e);
             showAlert(Alert.AlertType.ERROR, "Something went wrong while updating. Please try again.");
-        }
+        });
     }
 
     /**
@@ -290,16 +293,21 @@ public class CommunityDetailsController {
             return;
         }
 
+        int communityId = community.communityId();
         int userId = identityService.getUserContext().getUser().getId();
 
-        try {
-            communityService.deleteCommunity(community.communityId(), userId);
+        deleteButton.setDisable(true);
+        asyncService.save(() -> {
+            communityService.deleteCommunity(communityId, userId);
+            return null;
+        }, ignored -> {
             showAlert(Alert.AlertType.INFORMATION, "Community deleted successfully.");
             sceneManager.navigateToSearchCommunityView();
-        } catch (SQLException e) {
+        }, e -> {
+            deleteButton.setDisable(false);
             LOGGER.log(Level.SEVERE, "Error deleting community", e);
             showAlert(Alert.AlertType.ERROR, "Something went wrong while deleting. Please try again.");
-        }
+        });
     }
 }
 
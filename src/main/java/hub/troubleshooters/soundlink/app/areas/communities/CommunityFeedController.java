@@ -1,18 +1,26 @@
 package hub.troubleshooters.soundlink.app.areas.communities;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.app.components.LoadingPlaceholder;
+import hub.troubleshooters.soundlink.app.components.RecyclableCard;
+import hub.troubleshooters.soundlink.app.components.VirtualList;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityPostModel;
 import hub.troubleshooters.soundlink.core.communities.services.CommunityService;
 import hub.troubleshooters.soundlink.core.events.models.EventModel;
 import hub.troubleshooters.soundlink.core.events.services.EventService;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.geometry.Insets;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
 import java.util.List;
@@ -39,24 +47,42 @@ public class CommunityFeedController {
 	private final CommunityService communityService;
 	private final EventService eventService;
 	private final SceneManager sceneManager;
-	private List<EventModel> events;
-	private List<CommunityPostModel> posts;
+	private final AsyncService asyncService;
+	private VirtualList<EventModel> events;
+	private VirtualList<CommunityPostModel> posts;
+	private PageCursor nextEvents;
+	private PageCursor nextPosts;
+	private int communityId;
+	private Button loadMoreButton;
+	private static final int PAGE_SIZE = 20;
 	private static final Logger LOGGER = Logger.getLogger(CommunityFeedController.class.getName());
 	private final Insets cardMargins = new Insets(5, 10, 5, 10);
 
+	/**
+	 * Everything the feed shows when it's first opened, loaded together in the background.
+	 *
+	 * @param community The community.
+	 * @param posts The first page of the community's posts.
+	 * @param events The first page of the community's events.
+	 */
+	private record Feed(CommunityModel community, Page<CommunityPostModel> posts, Page<EventModel> events) {
+	}
+
 	/**
 	 * Constructs a new {@code CommunityFeedController} with the necessary services.
 	 *
 	 * @param communityService The service responsible for managing community-related operations.
 	 * @param eventService The service responsible for managing event-related operations.
 	 * @param sceneManager The manager responsible for handling scene navigation.
+	 * @param asyncService The service loading the feed off the JavaFX application thread.
 	 */
 	@Inject
 	public CommunityFeedController(CommunityService communityService, EventService eventService,
-								   SceneManager sceneManager) {
+								   SceneManager sceneManager, AsyncService asyncService) {
 		this.communityService = communityService;
 		this.eventService = eventService;
 		this.sceneManager = sceneManager;
+		this.asyncService = asyncService;
 	}
 
 	/**
@@ -64,29 +90,48 @@ public class CommunityFeedController {
 	 */
 	@FXML
 	public void initialize() {
+		loadMoreButton = new Button("Load more");
+		loadMoreButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
+		VBox.setMargin(loadMoreButton, cardMargins);
+
+		events = new VirtualList<>(EventCard::new);
+		posts = new VirtualList<>(PostCard::new);
+		for (var list : List.of(events, posts)) {
+			list.setPrefHeight(600);
+			VBox.setVgrow(list, Priority.ALWAYS);
+		}
 	}
 
 	/**
-	 * Loads the community feed, including events and posts, for the specified community ID.
+	 * Loads the community feed, including the first page of events and posts, for the specified community ID. The
+	 * feed is loaded in the background, with a placeholder shown until it is displayed.
 	 *
 	 * @param communityId The ID of the community to load.
 	 */
 	public void LoadFeed(int communityId) {
-		try {
+		listContainer.getChildren().setAll(new LoadingPlaceholder("Loading feed..."));
+		asyncService.load(() -> {
 			Optional<CommunityModel> optionalCommunity = communityService.getCommunity(communityId);
 			if (optionalCommunity.isEmpty()) {
 				LOGGER.log(Level.SEVERE, "Community not found with ID " + communityId);
 				throw new Exception("Community not found with ID " + communityId);
 			}
-			CommunityModel community = optionalCommunity.get();
-			nameLabel.setText(community.name());
-			posts = communityService.getCommunityPosts(communityId);
-			events = eventService.getCommunityEvents(communityId);
+			Page<CommunityPostModel> postPage = communityService.getCommunityPosts(communityId, null, PAGE_SIZE);
+			Page<EventModel> eventPage = eventService.getCommunityEvents(communityId, null, PAGE_SIZE);
+			return new Feed(optionalCommunity.get(), postPage, eventPage);
+		}, feed -> {
+			nameLabel.setText(feed.community().name());
+			this.communityId = communityId;
+			posts.getItems().setAll(feed.posts().items());
+			nextPosts = feed.posts().next();
+			events.getItems().setAll(feed.events().items());
+			nextEvents = feed.events().next();
 			displayEvents();
-		} catch (Exception e) {
+		}, e -> {
+			listContainer.getChildren().clear();
 			LOGGER.log(Level.SEVERE, "Error populating Community Feed: " + e.getMessage());
 			System.err.println("Error populating Community Feed: " + e.getMessage());
-		}
+		});
 	}
 
 	/**
@@ -113,103 +158,202 @@ public class CommunityFeedController {
 	 * Displays the community's events in the feed.
 	 */
 	private void displayEvents() {
-		// clear previous list
-		listContainer.getChildren().clear();
-		VBox card;
-		for (EventModel event : events) {
-			card = createEventCard(event);
-			listContainer.getChildren().add(card);
-		}
+		events.setPlaceholder(new Label("No events yet."));
+		listContainer.getChildren().setAll(events);
+		showLoadMoreButton(nextEvents != null, this::loadMoreEvents);
 	}
 
 	/**
 	 * Displays the community's posts in the feed.
 	 */
 	private void displayPosts() {
-		// clear previous list
-		listContainer.getChildren().clear();
+		posts.setPlaceholder(new Label("No posts yet."));
+		listContainer.getChildren().setAll(posts);
+		showLoadMoreButton(nextPosts != null, this::loadMorePosts);
+	}
 
-		VBox card;
-		for (CommunityPostModel post : posts) {
-			card = createCommunityPostCard(post);
-			listContainer.getChildren().add(card);
+	/**
+	 * Shows the "Load more" button below the feed if there are more items to load, or removes it.
+	 *
+	 * @param hasMore Whether there are more items.
+	 * @param loadMore Loads the next page when the button is clicked.
+	 */
+	private void showLoadMoreButton(boolean hasMore, Runnable loadMore) {
+		listContainer.getChildren().remove(loadMoreButton);
+		if (hasMore) {
+			loadMoreButton.setOnAction(e -> loadMore.run());
+			listContainer.getChildren().add(loadMoreButton);
 		}
 	}
 
 	/**
-	 * Creates a card layout for displaying an event.
+	 * Loads the next page of the community's events and adds it to the feed.
+	 */
+	private void loadMoreEvents() {
+		var placeholder = showLoadingMore();
+		PageCursor after = nextEvents;
+		asyncService.load(() -> eventService.getCommunityEvents(communityId, after, PAGE_SIZE), page -> {
+			listContainer.getChildren().remove(placeholder);
+			events.getItems().addAll(page.items());
+			nextEvents = page.next();
+			if (eventsTab.isDisabled()) {
+				showLoadMoreButton(nextEvents != null, this::loadMoreEvents);
+			}
+		}, e -> {
+			listContainer.getChildren().remove(placeholder);
+			LOGGER.log(Level.SEVERE, "Error loading more events: " + e.getMessage());
+		});
+	}
+
+	/**
+	 * Loads the next page of the community's posts and adds it to the feed.
+	 */
+	private void loadMorePosts() {
+		var placeholder = showLoadingMore();
+		PageCursor after = nextPosts;
+		asyncService.load(() -> communityService.getCommunityPosts(communityId, after, PAGE_SIZE), page -> {
+			listContainer.getChildren().remove(placeholder);
+			posts.getItems().addAll(page.items());
+			nextPosts = page.next();
+			if (postsTab.isDisabled()) {
+				showLoadMoreButton(nextPosts != null, this::loadMorePosts);
+			}
+		}, e -> {
+			listContainer.getChildren().remove(placeholder);
+			LOGGER.log(Level.SEVERE, "Error loading more posts: " + e.getMessage());
+		});
+	}
+
+	/**
+	 * Replaces the "Load more" button with a placeholder while the next page loads.
 	 *
-	 * @param event The event to be displayed.
-	 * @return A {@link VBox} containing the event details.
+	 * @return The placeholder, to remove once the page has loaded.
+	 */
+	private LoadingPlaceholder showLoadingMore() {
+		listContainer.getChildren().remove(loadMoreButton);
+		var placeholder = new LoadingPlaceholder();
+		listContainer.getChildren().add(placeholder);
+		return placeholder;
+	}
+
+	/**
+	 * A card layout for displaying an event. The feed creates one per visible row and reuses it for whichever event
+	 * scrolls into that row.
 	 */
-	private VBox createEventCard(EventModel event) {
-		VBox vbox = new VBox();
+	private class EventCard implements RecyclableCard<EventModel> {
+		private final StackPane node;
+		private final Label eventNameLabel = new Label();
+		private final Label descriptionLabel = new Label();
+		private final Label venueLabel = new Label();
+		private final Label scheduledLabel = new Label();
+		private EventModel event;
 
-		vbox.setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; " +
-				"-fx-padding: 10px; -fx-border-radius: 10px; -fx-background-radius: 10px;");
-		vbox.setAlignment(Pos.TOP_LEFT);
-		VBox.setMargin(vbox, cardMargins);
-		vbox.setSpacing(10.0);
-		vbox.setMinWidth(250);
-		vbox.setMinHeight(100);
+		/**
+		 * Creates an empty event card.
+		 */
+		private EventCard() {
+			VBox vbox = new VBox();
 
-		Label eventNameLabel = new Label(event.name());
-		eventNameLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #fa8072; -fx-padding: 5px;");
+			vbox.setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; " +
+					"-fx-padding: 10px; -fx-border-radius: 10px; -fx-background-radius: 10px;");
+			vbox.setAlignment(Pos.TOP_LEFT);
+			vbox.setSpacing(10.0);
+			vbox.setMinWidth(250);
+			vbox.setMinHeight(100);
 
-		// Need to allow this to wrap
-		Label descriptionLabel = new Label("Description: " + event.description());
-		descriptionLabel.setStyle("-fx-padding: 5px 0px;");
+			eventNameLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #fa8072; -fx-padding: 5px;");
 
-		Label venueLabel = new Label("Genre: " + event.venue());
-		venueLabel.setStyle("-fx-padding: 5px 0px;");
+			// Need to allow this to wrap
+			descriptionLabel.setStyle("-fx-padding: 5px 0px;");
+			venueLabel.setStyle("-fx-padding: 5px 0px;");
+			scheduledLabel.setStyle("-fx-padding: 5px 0px;");
 
-		Label scheduledLabel = new Label("Scheduled: " + event.scheduled().toString());
-		scheduledLabel.setStyle("-fx-padding: 5px 0px;");
+			Button detailsButton = new Button("Details");
+			detailsButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
 
-		Button detailsButton = new Button("Details");
-		detailsButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
+			// Handle sign-up logic on button click
+			detailsButton.setOnAction(e -> sceneManager.navigateToEventDetailsView(event.id()));
 
-		// Handle sign-up logic on button click
-		detailsButton.setOnAction(e -> sceneManager.navigateToEventDetailsView(event.id()));
+			vbox.getChildren().addAll(eventNameLabel, descriptionLabel, venueLabel, scheduledLabel, detailsButton);
 
-		vbox.getChildren().addAll(eventNameLabel, descriptionLabel, venueLabel, scheduledLabel, detailsButton);
-		VBox.setVgrow(vbox, Priority.NEVER);
-		return vbox;
+			// the cell has no padding of its own, so the margin goes around the card
+			node = new StackPane(vbox);
+			node.setPadding(cardMargins);
+		}
+
+		@Override
+		public Node getNode() {
+			return node;
+		}
+
+		/**
+		 * Shows the given event on the card.
+		 *
+		 * @param event The event to be displayed.
+		 */
+		@Override
+		public void show(EventModel event) {
+			this.event = event;
+			eventNameLabel.setText(event.name());
+			descriptionLabel.setText("Description: " + event.description());
+			venueLabel.setText("Genre: " + event.venue());
+			scheduledLabel.setText("Scheduled: " + event.scheduled().toString());
+		}
 	}
 
 	/**
-	 * Creates a card layout for displaying a community post.
-	 *
-	 * @param post The post to be displayed.
-	 * @return A {@link VBox} containing the post details.
+	 * A card layout for displaying a community post. The feed creates one per visible row and reuses it for whichever
+	 * post scrolls into that row.
 	 */
-	private VBox createCommunityPostCard(CommunityPostModel post) {
-		VBox vbox = new VBox();
+	private class PostCard implements RecyclableCard<CommunityPostModel> {
+		private final StackPane node;
+		private final Label titleLabel = new Label();
+		private final Label userLabel = new Label();
+		private final Label contentLabel = new Label();
+		private final Label postedLabel = new Label();
 
-		vbox.setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; " +
-				"-fx-padding: 10px; -fx-border-radius: 10px; -fx-background-radius: 10px;");
-		vbox.setAlignment(Pos.TOP_LEFT);
-		VBox.setMargin(vbox, cardMargins);
-		vbox.setSpacing(10.0);
-		vbox.setMinWidth(250);
-		vbox.setMinHeight(100);
+		/**
+		 * Creates an empty post card.
+		 */
+		private PostCard() {
+			VBox vbox = new VBox();
 
-		Label titleLabel = new Label(post.title());
-		titleLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #fa8072; -fx-padding: 5px;");
+			vbox.setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; " +
+					"-fx-padding: 10px; -fx-border-radius: 10px; -fx-background-radius: 10px;");
+			vbox.setAlignment(Pos.TOP_LEFT);
+			vbox.setSpacing(10.0);
+			vbox.setMinWidth(250);
+			vbox.setMinHeight(100);
 
-		Label userLabel = new Label("By: " + post.user().username());
-		userLabel.setStyle("-fx-padding: 5px 0px;");
+			titleLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #fa8072; -fx-padding: 5px;");
+			userLabel.setStyle("-fx-padding: 5px 0px;");
+			// Need to allow this to wrap
+			contentLabel.setStyle("-fx-padding: 5px 0px;");
+			postedLabel.setStyle("-fx-padding: 5px 0px;");
 
-		// Need to allow this to wrap
-		Label contentLabel = new Label(post.content());
-		contentLabel.setStyle("-fx-padding: 5px 0px;");
+			vbox.getChildren().addAll(titleLabel, userLabel, contentLabel, postedLabel);
 
+			// the cell has no padding of its own, so the margin goes around the card
+			node = new StackPane(vbox);
+			node.setPadding(cardMargins);
+		}
 
-		Label postedLabel = new Label("Posted: " + post.created().toString());
-		postedLabel.setStyle("-fx-padding: 5px 0px;");
+		@Override
+		public Node getNode() {
+			return node;
+		}
 
-		vbox.getChildren().addAll(titleLabel, userLabel, contentLabel, postedLabel);
-		VBox.setVgrow(vbox, Priority.NEVER);
-		return vbox;
+		/**
+		 * Shows the given post on the card.
+		 *
+		 * @param post The post to be displayed.
+		 */
+		@Override
+		public void show(CommunityPostModel post) {
+			titleLabel.setText(post.title());
+			userLabel.setText("By: " + post.user().username());
+			contentLabel.setText(post.content());
+			postedLabel.setText("Posted: " + post.created().toString());
+		}
 	}
 }
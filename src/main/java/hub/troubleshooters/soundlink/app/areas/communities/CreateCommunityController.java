@@ -2,6 +2,7 @@ package hub.troubleshooters.soundlink.app.areas.communities;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.app.areas.Routes;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
 import hub.troubleshooters.soundlink.core.communities.services.CommunityService;
@@ -27,6 +28,7 @@ public class CreateCommunityController {
     private final IdentityService identityService;
     private final CommunityService communityService;
     private final SceneManager sceneManager;
+    private final AsyncService asyncService;
 
     private List<Community> communities;
     private File bannerImageFile;
@@ -36,6 +38,7 @@ public class CreateCommunityController {
     @FXML private TextField genreTextField;
     @FXML private Label fileNameLabel;
     @FXML private Button clearImageButton;
+    @FXML private Button createButton;
 
     @FXML private Label errorLabel;
     @FXML private Tooltip errorTooltip;
@@ -48,12 +51,15 @@ public class CreateCommunityController {
      * @param eventService The service responsible for managing event-related operations.
      * @param sceneManager The manager responsible for handling scene navigation.
      * @param communityService The service responsible for managing community-related operations.
+     * @param asyncService The service saving the community, and uploading its banner, off the JavaFX application thread.
      */
     @Inject
-    public CreateCommunityController(IdentityService identityService, EventService eventService, SceneManager sceneManager, CommunityService communityService) {
+    public CreateCommunityController(IdentityService identityService, EventService eventService, SceneManager sceneManager, CommunityService communityService,
+                                     AsyncService asyncService) {
         this.identityService = identityService;
         this.communityService = communityService;
         this.sceneManager = sceneManager;
+        this.asyncService = asyncService;
     }
 
     /**
@@ -93,7 +99,8 @@ public class CreateCommunityController {
     }
 
     /**
-     * Handles the event when the create button is clicked. Attempts to create a new community based on user input.
+     * Handles the event when the create button is clicked. Attempts to create a new community based on user input, in
+     * the background as uploading the banner image can take a while. The create button is disabled until it's done.
      * If the creation is successful, navigates to the home screen and displays a success alert.
      * If validation fails, displays the validation errors.
      */
@@ -109,19 +116,26 @@ public class CreateCommunityController {
         var createCommunityModel = new CreateCommunityModel(0, name, description, genre, null, bannerImageFile, isPrivate);
 
         // send to community service to validate and save
-        var result = communityService.createCommunity(createCommunityModel);
-
-        if (result.isSuccess()) {
-            sceneManager.navigate(Routes.HOME);
-            sceneManager.alert(new Alert(Alert.AlertType.INFORMATION, "Community created successfully.", ButtonType.OK));
-            return;
-        }
-
-        // validation errors
-        errorLabel.setVisible(true);
-        errorTooltip.setText(result.getErrors().stream()
-                .map(err -> "• " + err.getMessage() + "\n")
-                .reduce("", (a, b) -> a + b)
-        );
+        createButton.setDisable(true);
+        // saved even if the user leaves the page before a background thread is free
+        asyncService.save(() -> communityService.createCommunity(createCommunityModel), result -> {
+            createButton.setDisable(false);
+            if (result.isSuccess()) {
+                sceneManager.navigate(Routes.HOME);
+                sceneManager.alert(new Alert(Alert.AlertType.INFORMATION, "Community created successfully.", ButtonType.OK));
+                return;
+            }
+
+            // validation errors
+            errorLabel.setVisible(true);
+            errorTooltip.setText(result.getErrors().stream()
+                    .map(err -> "• " + err.getMessage() + "\n")
+                    .reduce("", (a, b) -> a + b)
+            );
+        }, e -> {
+            createButton.setDisable(false);
+            errorLabel.setVisible(true);
+            errorTooltip.setText("• Internal error: please contact SoundLink Support.\n");
+        });
     }
 }
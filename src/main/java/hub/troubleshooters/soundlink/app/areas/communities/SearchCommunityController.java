@@ -2,17 +2,26 @@ package hub.troubleshooters.soundlink.app.areas.communities;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.app.areas.Routes;
+import hub.troubleshooters.soundlink.app.components.LoadingPlaceholder;
+import hub.troubleshooters.soundlink.app.components.RecyclableCard;
+import hub.troubleshooters.soundlink.app.components.VirtualGrid;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
+import hub.troubleshooters.soundlink.app.services.BackgroundTask;
 import hub.troubleshooters.soundlink.core.Map;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
+import hub.troubleshooters.soundlink.core.images.ImageCache;
+import hub.troubleshooters.soundlink.core.images.ImageTier;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
 import hub.troubleshooters.soundlink.core.communities.services.CommunityService;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import javafx.scene.control.Alert.AlertType;
@@ -30,6 +39,7 @@ import java.util.logging.Logger;
 public class SearchCommunityController {
 
     private static final Logger LOGGER = Logger.getLogger(SearchCommunityController.class.getName());
+    private static final int PAGE_SIZE = 20;
 
     @FXML
     private TextField searchTextField;
@@ -48,6 +58,14 @@ public class SearchCommunityController {
     private final SceneManager sceneManager;
     private final ImageUploaderService imageUploaderService;
     private final Map map;
+    private final AsyncService asyncService;
+    private final ImageCache imageCache;
+
+    private PageCursor nextCommunities;
+    private Button loadMoreButton;
+    private VirtualGrid<CommunityModel> communityGrid;
+    // the search or page being loaded, so a new search can replace it
+    private BackgroundTask loadTask;
 
     /**
      * Constructs a new {@code SearchCommunityController} with the necessary services.
@@ -57,14 +75,19 @@ public class SearchCommunityController {
      * @param sceneManager The manager responsible for handling scene navigation.
      * @param imageUploaderService The service responsible for handling image uploads.
      * @param map The utility for mapping between database entities and models.
+     * @param asyncService The service loading the communities off the JavaFX application thread.
+     * @param imageCache The cache of decoded images, shared with the rest of the application.
      */
     @Inject
-    public SearchCommunityController(CommunityService communityService, IdentityService identityService, SceneManager sceneManager, ImageUploaderService imageUploaderService, Map map) {
+    public SearchCommunityController(CommunityService communityService, IdentityService identityService, SceneManager sceneManager, ImageUploaderService imageUploaderService, Map map,
+                                     AsyncService asyncService, ImageCache imageCache) {
         this.communityService = communityService;
         this.identityService = identityService;
         this.sceneManager = sceneManager;
         this.imageUploaderService = imageUploaderService;
         this.map = map;
+        this.asyncService = asyncService;
+        this.imageCache = imageCache;
     }
 
     /**
@@ -73,98 +96,148 @@ public class SearchCommunityController {
      */
     @FXML
     public void initialize() {
-        try {
-            fetchCommunities();
-        } catch (Exception e) {
-            System.err.println("Error populating community list: " + e.getMessage());
-        }
+        communityGrid = new VirtualGrid<>(2, CommunityCard::new);
+        communityGrid.setPrefSize(560, 700);
+        loadMoreButton = new Button("Load more");
+        loadMoreButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
+        loadMoreButton.setOnAction(e -> loadMoreCommunities());
+        communityListContainer.getChildren().setAll(communityGrid);
+
+        fetchCommunities();
     }
 
     /**
      * Fetches and displays the list of communities based on the search criteria.
      * The search criteria include the text from the search field and the private filter checkbox.
+     * With no search text, communities are shown a page at a time, newest first.
      */
     @FXML
     public void fetchCommunities() {
         String searchText = searchTextField.getText();
         boolean showOnlyPrivate = privateFilterCheckbox.isSelected();
-        List<Community> filteredCommunities = communityService.searchCommunities(searchText, showOnlyPrivate);
-        displayCommunities(filteredCommunities);
+        communityGrid.getItems().clear();
+        communityListContainer.getChildren().remove(loadMoreButton);
+        nextCommunities = null;
+        if (searchText == null || searchText.isBlank()) {
+            loadMoreCommunities();
+            return;
+        }
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        communityGrid.setPlaceholder(new LoadingPlaceholder("Loading communities..."));
+        loadTask = asyncService.load(
+                () -> map.communities(communityService.searchCommunities(searchText, showOnlyPrivate)),
+                this::displayCommunities,
+                this::onLoadFailed);
     }
 
     /**
-     * Creates a visual card representation of a community. The card includes the community's banner image, name, genre,
-     * description, and a button that navigates to the community's details page.
-     *
-     * @param community The community to create a card for.
-     * @return A {@link VBox} containing the visual representation of the community.
-     * @throws SQLException If there is an issue fetching the community details.
+     * Fetches the next page of communities and displays it below those already shown, followed by a
+     * "Load more" button if there are more.
      */
-    private VBox createCommunityCard(Community community) throws SQLException {
-        VBox vbox = new VBox();
-        vbox.setSpacing(10.0);
-        vbox.setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; -fx-padding: 10px;");
-        vbox.setPrefWidth(250);
-
-        var communityModel = map.community(community);
-
-        var imageView = new ImageView();
-        imageView.setFitWidth(250);
-        imageView.setFitHeight(100);
-        var bannerImageOpt = communityModel.bannerImage();
-        if (bannerImageOpt.isPresent()) {
-            var bannerImage = bannerImageOpt.get();
-            var path = imageUploaderService.getFullProtocolPath(bannerImage);
-            imageView.setImage(new Image(path, 250, 100, false, false, true));
-        } else {
-            var file = imageUploaderService.getSampleBannerImageFile(communityModel.communityId());
-            imageView.setImage(new Image(imageUploaderService.getFullProtocolPath(file), 250, 100, false, false, true));
+    private void loadMoreCommunities() {
+        communityListContainer.getChildren().remove(loadMoreButton);
+        if (loadTask != null) {
+            loadTask.cancel();
         }
+        communityGrid.setPlaceholder(new LoadingPlaceholder("Loading communities..."));
+        boolean showOnlyPrivate = privateFilterCheckbox.isSelected();
+        PageCursor after = nextCommunities;
+        loadTask = asyncService.load(() -> {
+            Page<Community> page = communityService.getCommunities(showOnlyPrivate, after, PAGE_SIZE);
+            return new Page<>(map.communities(page.items()), page.next());
+        }, page -> {
+            displayCommunities(page.items());
+            nextCommunities = page.next();
+            if (page.hasNext()) {
+                communityListContainer.getChildren().add(loadMoreButton);
+            }
+        }, this::onLoadFailed);
+    }
 
-        Label nameLabel = new Label(community.getName());
-        nameLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #fa8072;");
-
-        Label genreLabel = new Label("Genre: " + community.getGenre());
-        genreLabel.setStyle("-fx-padding: 5px 0px;");
-
-        // Need to allow this to wrap
-        Label descriptionLabel = new Label("Description: " + community.getDescription());
-        descriptionLabel.setStyle("-fx-padding: 5px 0px;");
-
-        Button detailsButton = new Button("Details");
-        detailsButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
-
-        detailsButton.setOnAction(e -> sceneManager.navigateToCommunityDetailsView(community.getId()));
-
-        vbox.getChildren().addAll(imageView, nameLabel, genreLabel, descriptionLabel, detailsButton);
-
-        return vbox;
+    /**
+     * Reports communities that couldn't be loaded in place of the results.
+     *
+     * @param e The error that stopped them loading.
+     */
+    private void onLoadFailed(Throwable e) {
+        LOGGER.severe("Error populating community list: " + e.getMessage());
+        communityGrid.setPlaceholder(new Label("Unable to load communities."));
     }
 
     /**
-     * Displays the list of communities as visual cards in the community list container.
+     * Displays the list of communities as visual cards at the end of the community grid.
      *
      * @param communities The list of communities to display.
      */
-    private void displayCommunities(List<Community> communities) {
-        // Clear previous results
-        communityListContainer.getChildren().clear();
-
-        HBox row = null;
-        for (int i = 0; i < communities.size(); i++) {
-            if (i % 2 == 0) {
-                row = new HBox(10);
-                row.setStyle("-fx-padding: 10px;");
-                communityListContainer.getChildren().add(row);
-            }
+    private void displayCommunities(List<CommunityModel> communities) {
+        communityGrid.setPlaceholder(new Label("No communities found."));
+        communityGrid.getItems().addAll(communities);
+    }
 
-            try {
-                VBox communityCard = createCommunityCard(communities.get(i));
-                row.getChildren().add(communityCard);
-            } catch (SQLException e) {
-                LOGGER.severe("Error creating community card: " + e.getMessage());
-                // we don't need to go back to the previous screen since some cards might succeed
+    /**
+     * A visual card representation of a community. The card includes the community's banner image, name, genre,
+     * description, and a button that navigates to the community's details page. The grid creates one per visible
+     * cell and reuses it for whichever community scrolls into that cell.
+     */
+    private class CommunityCard extends VBox implements RecyclableCard<CommunityModel> {
+        private final ImageView imageView = new ImageView();
+        private final Label nameLabel = new Label();
+        private final Label genreLabel = new Label();
+        private final Label descriptionLabel = new Label();
+        private CommunityModel community;
+
+        /**
+         * Creates an empty community card.
+         */
+        private CommunityCard() {
+            setSpacing(10.0);
+            setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; -fx-padding: 10px;");
+            setPrefWidth(250);
+
+            imageView.setFitWidth(250);
+            imageView.setFitHeight(100);
+
+            nameLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #fa8072;");
+            genreLabel.setStyle("-fx-padding: 5px 0px;");
+            // Need to allow this to wrap
+            descriptionLabel.setStyle("-fx-padding: 5px 0px;");
+
+            Button detailsButton = new Button("Details");
+            detailsButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
+
+            detailsButton.setOnAction(e -> sceneManager.navigateToCommunityDetailsView(community.communityId()));
+
+            getChildren().addAll(imageView, nameLabel, genreLabel, descriptionLabel, detailsButton);
+        }
+
+        @Override
+        public Node getNode() {
+            return this;
+        }
+
+        /**
+         * Shows the given community on the card.
+         *
+         * @param community The community to show, with its banner image.
+         */
+        @Override
+        public void show(CommunityModel community) {
+            this.community = community;
+
+            var bannerImageOpt = community.bannerImage();
+            if (bannerImageOpt.isPresent()) {
+                var path = imageUploaderService.getFullProtocolPath(bannerImageOpt.get(), ImageTier.CARD);
+                imageView.setImage(imageCache.get(path, ImageTier.CARD));
+            } else {
+                var file = imageUploaderService.getSampleBannerImageFile(community.communityId(), ImageTier.CARD);
+                imageView.setImage(imageCache.get(imageUploaderService.getFullProtocolPath(file), ImageTier.CARD));
             }
+
+            nameLabel.setText(community.name());
+            genreLabel.setText("Genre: " + community.genre());
+            descriptionLabel.setText("Description: " + community.description());
         }
     }
 }
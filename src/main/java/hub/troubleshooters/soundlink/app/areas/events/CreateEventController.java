@@ -3,9 +3,11 @@ package hub.troubleshooters.soundlink.app.areas.events;
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.app.areas.Routes;
 import hub.troubleshooters.soundlink.app.components.IntegerTextField;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
 import hub.troubleshooters.soundlink.core.auth.Scope;
+import hub.troubleshooters.soundlink.core.auth.ScopeUtils;
 import hub.troubleshooters.soundlink.core.events.models.CreateEventModel;
 import hub.troubleshooters.soundlink.core.events.services.EventService;
 import hub.troubleshooters.soundlink.data.models.Community;
@@ -28,9 +30,15 @@ import java.util.List;
  */
 public class CreateEventController {
 
+    /**
+     * The scopes a user needs in a community to create events in it, combined once rather than on every check
+     */
+    private static final int CREATE_EVENT_SCOPES = ScopeUtils.combineScopes(Scope.EVENT_WRITE);
+
     private final IdentityService identityService;
     private final EventService eventService;
     private final SceneManager sceneManager;
+    private final AsyncService asyncService;
 
     private List<Community> communities;
     private File bannerImageFile;
@@ -45,6 +53,7 @@ public class CreateEventController {
     @FXML private IntegerTextField capacityTextField;
     @FXML private Label fileNameLabel;
     @FXML private Button clearImageButton;
+    @FXML private Button createButton;
 
     @FXML private Label errorLabel;
     @FXML private Tooltip errorTooltip;
@@ -54,30 +63,45 @@ public class CreateEventController {
      * @param identityService The service responsible for managing user identity and permissions.
      * @param eventService The service responsible for managing event-related operations.
      * @param sceneManager The manager responsible for handling scene navigation.
+     * @param asyncService The service loading the communities, and saving the event and uploading its banner, off
+     *                     the JavaFX application thread.
      */
     @Inject
-    public CreateEventController(IdentityService identityService, EventService eventService, SceneManager sceneManager) {
+    public CreateEventController(IdentityService identityService, EventService eventService, SceneManager sceneManager,
+                                 AsyncService asyncService) {
         this.identityService = identityService;
         this.eventService = eventService;
         this.sceneManager = sceneManager;
+        this.asyncService = asyncService;
     }
 
     /**
      * Initializes the controller. Called automatically after the FXML file is loaded.
      * Sets the initial state for the UI components and hides error labels and tooltips.
-     * Also gets all communities and populates the community choice box.
+     * Also starts loading the communities the user may create events in, and populates the community choice box once
+     * they arrive. The create button is disabled until then.
      */
     @FXML
     public void initialize() {
         // set communities options to be communities where the user has event.write permission
         errorLabel.setVisible(false);
         errorTooltip.setShowDelay(Duration.millis(200));
-        communities = identityService.getCommunities();
-        communityChoiceBox.setItems(FXCollections.observableArrayList(communities.stream()
-                .filter(community -> identityService.isAuthorized(community, Scope.EVENT_WRITE))
-                .map(Community::getName)
-                .toList()
-        ));
+        communities = List.of();
+        createButton.setDisable(true);
+        // looking up the communities may query for those that aren't cached
+        asyncService.load(() -> identityService.getCommunities().stream()
+                .filter(community -> identityService.isAuthorized(community.getId(), CREATE_EVENT_SCOPES))
+                .toList(), authorized -> {
+            communities = authorized;
+            communityChoiceBox.setItems(FXCollections.observableArrayList(authorized.stream()
+                    .map(Community::getName)
+                    .toList()
+            ));
+            createButton.setDisable(false);
+        }, e -> {
+            errorLabel.setVisible(true);
+            errorTooltip.setText("• Unable to load your communities: please contact SoundLink Support.\n");
+        });
 
         publishDatePicker.setValue(LocalDate.now().plusDays(1));    // default to tomorrow
     }
@@ -97,7 +121,8 @@ public class CreateEventController {
     }
 
     /**
-     * Collects the information from the form and calls the {@link EventService} to create the event.
+     * Collects the information from the form and calls the {@link EventService} to create the event in the background,
+     * as uploading the banner image can take a while. The create button is disabled until it's done.
      * On success, it routes the scene to the home page.
      * On failure, it displays the error labels.
      */
@@ -117,19 +142,27 @@ public class CreateEventController {
         var createEventModel = new CreateEventModel(name, description, publishDate, location, capacity, communityId, bannerImageFile);
 
         // send to event service to validate and save
-        var result = eventService.createEvent(createEventModel);
-        if (result.isSuccess()) {
-            sceneManager.navigate(Routes.HOME);
-            sceneManager.alert(new Alert(Alert.AlertType.INFORMATION, "Event created successfully.", ButtonType.OK));
-            return;
-        }
-
-        // validation errors
-        errorLabel.setVisible(true);
-        errorTooltip.setText(result.getErrors().stream()
-                .map(err -> "• " + err.getMessage() + "\n")
-                .reduce("", (a, b) -> a + b)
-        );
+        createButton.setDisable(true);
+        // saved even if the user leaves the page before a background thread is free
+        asyncService.save(() -> eventService.createEvent(createEventModel), result -> {
+            createButton.setDisable(false);
+            if (result.isSuccess()) {
+                sceneManager.navigate(Routes.HOME);
+                sceneManager.alert(new Alert(Alert.AlertType.INFORMATION, "Event created successfully.", ButtonType.OK));
+                return;
+            }
+
+            // validation errors
+            errorLabel.setVisible(true);
+            errorTooltip.setText(result.getErrors().stream()
+                    .map(err -> "• " + err.getMessage() + "\n")
+                    .reduce("", (a, b) -> a + b)
+            );
+        }, e -> {
+            createButton.setDisable(false);
+            errorLabel.setVisible(true);
+            errorTooltip.setText("• Internal error: please contact SoundLink Support.\n");
+        });
     }
 
     /**
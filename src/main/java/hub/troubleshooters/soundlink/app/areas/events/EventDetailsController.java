@@ -3,23 +3,27 @@ package hub.troubleshooters.soundlink.app.areas.events;
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.app.areas.Routes;
 import hub.troubleshooters.soundlink.app.areas.communities.CommunityDetailsController;
+import hub.troubleshooters.soundlink.app.components.LoadingPlaceholder;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
-import hub.troubleshooters.soundlink.core.Map;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
+import hub.troubleshooters.soundlink.core.events.models.EventCommentModel;
+import hub.troubleshooters.soundlink.core.events.models.EventDetailsView;
 import hub.troubleshooters.soundlink.core.events.models.EventModel;
 import hub.troubleshooters.soundlink.core.events.services.EventService;
+import hub.troubleshooters.soundlink.core.events.validation.EventFullException;
+import hub.troubleshooters.soundlink.core.images.ImageCache;
+import hub.troubleshooters.soundlink.core.images.ImageTier;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
-import hub.troubleshooters.soundlink.core.profile.models.UserProfileModel;
-import hub.troubleshooters.soundlink.core.profile.services.UserProfileService;
-import hub.troubleshooters.soundlink.data.models.EventComment;
 import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
 
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -29,7 +33,6 @@ import org.w3c.dom.Text;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.file.InvalidPathException;
-import java.sql.SQLException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -52,6 +55,7 @@ public class EventDetailsController {
     @FXML private Button cancelButton;
     @FXML private Button saveButton;
     @FXML private Button deleteButton;
+    @FXML private Button commentButton;
     @FXML private HBox adminButtonBox;
     @FXML private TextField capacityTextField;
     @FXML private Label scheduledDateLabel;
@@ -64,10 +68,14 @@ public class EventDetailsController {
     private final ImageUploaderService imageUploaderService;
     private final IdentityService identityService;
     private final SceneManager sceneManager;
-    private final UserProfileService userProfileService;
-    private final Map map;
+    private final AsyncService asyncService;
+    private final ImageCache imageCache;
 
     private EventModel event;
+    private PageCursor nextComments;
+    private Button moreCommentsButton;
+
+    private static final int COMMENTS_PAGE_SIZE = 20;
 
     /**
      * Constructs the {@code EventDetailsController}.
@@ -75,8 +83,8 @@ public class EventDetailsController {
      * @param imageUploaderService The service responsible for handling image uploads.
      * @param identityService The service responsible for managing user identity and permissions.
      * @param sceneManager The manager for handling scene navigation.
-     * @param userProfileService The service responsible for handling user profile information.
-     * @param map The utility responsible for mapping database entities and models.
+     * @param asyncService The service loading and saving the event off the JavaFX application thread.
+     * @param imageCache The cache of decoded images, shared with the rest of the application.
      */
     @Inject
     public EventDetailsController(
@@ -84,30 +92,48 @@ public class EventDetailsController {
             ImageUploaderService imageUploaderService,
             IdentityService identityService,
             SceneManager sceneManager,
-            UserProfileService userProfileService,
-            Map map
+            AsyncService asyncService,
+            ImageCache imageCache
     ) {
         this.eventService = eventService;
         this.imageUploaderService = imageUploaderService;
         this.identityService = identityService;
         this.sceneManager = sceneManager;
-        this.userProfileService = userProfileService;
-        this.map = map;
+        this.asyncService = asyncService;
+        this.imageCache = imageCache;
     }
 
     /**
-     * Loads the event information from the {@code eventId} and displays it.
-     * Handles errors if the event can not be found and implements logic for booking capacity.
+     * Starts loading the event information from the {@code eventId} in the background, showing a placeholder in place
+     * of the comments until it is displayed. Handles errors if the event can not be found.
+     * The whole screen, including the first page of comments, comes from one {@link EventDetailsView}.
      * @param eventId The ID of the event that will be detailed.
      */
     public void loadEventDetails(int eventId) {
-        var eventOpt = eventService.getEvent(eventId);
-        if (eventOpt.isEmpty()) {
-            sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Event not found with ID " + eventId));
-            return;
-        }
+        int userId = identityService.getUserContext().getUser().getId();
+        commentsVbox.getChildren().setAll(new LoadingPlaceholder());
+        asyncService.load(
+                () -> eventService.getEventDetails(eventId, userId, COMMENTS_PAGE_SIZE),
+                detailsOpt -> {
+                    if (detailsOpt.isEmpty()) {
+                        commentsVbox.getChildren().clear();
+                        sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Event not found with ID " + eventId));
+                        return;
+                    }
+                    showEventDetails(detailsOpt.get());
+                },
+                e -> {
+                    commentsVbox.getChildren().clear();
+                    showAlert(Alert.AlertType.ERROR, "Failed to load event details.");
+                });
+    }
 
-        event = eventOpt.get();
+    /**
+     * Displays the loaded event and implements logic for booking capacity.
+     * @param details Everything the screen shows about the event.
+     */
+    private void showEventDetails(EventDetailsView details) {
+        event = details.event();
         nameLabel.setText(event.name());
         descriptionTextArea.setText(event.description());
         communityLabel.setText("This event is shared with the " + event.community().getName() + " community.");
@@ -123,40 +149,31 @@ public class EventDetailsController {
 
         commentTextArea.clear();
 
-        try {
-            int totalBookings = eventService.getBookingCountForEvent(event.id());
-            int placesRemaining = event.capacity() - totalBookings;
-            placesRemainingLabel.setText(String.valueOf(placesRemaining));
-
-            if (placesRemaining < event.capacity() / 2) {
-                showAlert(Alert.AlertType.WARNING, "Warning: Less than 50% capacity remaining.");
-            }
-
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Failed to load booking information.");
+        int placesRemaining = details.placesRemaining();
+        placesRemainingLabel.setText(String.valueOf(placesRemaining));
+        if (placesRemaining < event.capacity() / 2) {
+            showAlert(Alert.AlertType.WARNING, "Warning: Less than 50% capacity remaining.");
         }
 
-        try {
-            int userId = identityService.getUserContext().getUser().getId();
-            String creatorName = eventService.getDisplayNameById(userId);
-            creatorLabel.setText(creatorName);
-        } catch (SQLException e) {
+        if (details.viewerDisplayName() != null) {
+            creatorLabel.setText(details.viewerDisplayName());
+        } else {
             showAlert(Alert.AlertType.ERROR, "Failed to load event creator.");
         }
 
-        updateBookButtons();
-        updateAdminButtonsVisibility();
+        toggleJoiningButtons(details.booked());
+        toggleAdminButtons(details.admin());
 
         // set banner image
         try {
             if (event.bannerImage().isPresent()) {
                 var img = event.bannerImage().get();
-                var path = imageUploaderService.getFullProtocolPath(img);
-                bannerImageView.setImage(new Image(path));
+                var path = imageUploaderService.getFullProtocolPath(img, ImageTier.BANNER);
+                bannerImageView.setImage(imageCache.get(path, ImageTier.BANNER));
             } else {
-                var img = imageUploaderService.getSampleBannerImageFile(event.id());
+                var img = imageUploaderService.getSampleBannerImageFile(event.id(), ImageTier.BANNER);
                 var path = imageUploaderService.getFullProtocolPath(img);
-                bannerImageView.setImage(new Image(path));
+                bannerImageView.setImage(imageCache.get(path, ImageTier.BANNER));
             }
         } catch (InvalidPathException e) {
             bannerImageView.setImage(null);
@@ -168,48 +185,71 @@ public class EventDetailsController {
             }
         }
 
-        // comments
-        try {
-            var comments = eventService.getComments(eventId);
-            commentsVbox.getChildren().clear();
-            for (var comment : comments) {
-                var card = createCommentCard(comment);
-                commentsVbox.getChildren().add(card);
-            }
-        } catch (SQLException e) {
-            // TODO: error handling
-        }
+        // comments, a page at a time
+        commentsVbox.getChildren().clear();
+        showComments(details.comments());
     }
 
     /**
-     * Sets the visibility of admin tool depending on the users permissions.
+     * Loads the next page of the event's comments and displays it below the comments already shown.
      */
-    private void updateAdminButtonsVisibility() {
-        try {
-            int userId = identityService.getUserContext().getUser().getId();
-            boolean isAdmin = eventService.isAdmin(userId, event.id());
-            adminButtonBox.setVisible(isAdmin);
-            adminButtonBox.setManaged(isAdmin);
-            descriptionTextArea.setEditable(isAdmin);
-            capacityTextField.setEditable(isAdmin);
-            venueLabel.setEditable(isAdmin);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Unable to determine admin status. Please try again.");
+    private void loadMoreComments() {
+        var placeholder = new LoadingPlaceholder();
+        commentsVbox.getChildren().remove(moreCommentsButton);
+        commentsVbox.getChildren().add(placeholder);
+        asyncService.load(
+                () -> eventService.getComments(event.id(), nextComments, COMMENTS_PAGE_SIZE),
+                comments -> {
+                    commentsVbox.getChildren().remove(placeholder);
+                    showComments(comments);
+                },
+                e -> {
+                    // put the button back, so the user can try again
+                    commentsVbox.getChildren().remove(placeholder);
+                    commentsVbox.getChildren().add(moreCommentsButton);
+                });
+    }
+
+    /**
+     * Displays a page of comments below the comments already shown, followed by a button to load the page after it,
+     * if there is one.
+     * @param comments The page of comments to display.
+     */
+    private void showComments(Page<EventCommentModel> comments) {
+        if (moreCommentsButton == null) {
+            moreCommentsButton = new Button("Show more comments");
+            moreCommentsButton.setOnAction(e -> loadMoreComments());
+        }
+        commentsVbox.getChildren().remove(moreCommentsButton);
+        for (var comment : comments.items()) {
+            var card = createCommentCard(comment);
+            commentsVbox.getChildren().add(card);
+        }
+        nextComments = comments.next();
+        if (comments.hasNext()) {
+            commentsVbox.getChildren().add(moreCommentsButton);
         }
     }
 
+    /**
+     * Sets the visibility of admin tools depending on the users permissions.
+     * @param isAdmin Whether the user is an admin of the event.
+     */
+    private void toggleAdminButtons(boolean isAdmin) {
+        adminButtonBox.setVisible(isAdmin);
+        adminButtonBox.setManaged(isAdmin);
+        descriptionTextArea.setEditable(isAdmin);
+        capacityTextField.setEditable(isAdmin);
+        venueLabel.setEditable(isAdmin);
+    }
+
     /**
      * Creates a javaFX {@link Node} for a comment.
-     * @param comment An {@code EventComment} model.
+     * @param comment An {@code EventCommentModel}, including its author's profile.
      * @return A javaFX {@link Node} containing the formatted information in the comment.
      */
-    private Node createCommentCard(EventComment comment) {
-        UserProfileModel userProfile = null; // TODO: error handling
-        try {
-            userProfile = map.userProfile(userProfileService.getUserProfile(comment.getUserId()).get());
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    private Node createCommentCard(EventCommentModel comment) {
+        var userProfile = comment.author();
 
         // Outer card layout
         var card = new VBox();
@@ -224,10 +264,10 @@ public class EventDetailsController {
 
         var img = imageUploaderService.getFullProtocolPath(imageUploaderService.getDefaultProfileImageFile());
         if (userProfile.profileImage().isPresent()) {
-            img = imageUploaderService.getFullProtocolPath(userProfile.profileImage().get());
+            img = imageUploaderService.getFullProtocolPath(userProfile.profileImage().get(), ImageTier.AVATAR);
         }
 
-        var imgView = new ImageView(img);
+        var imgView = new ImageView(imageCache.get(img, ImageTier.AVATAR));
         imgView.setFitWidth(40);
         imgView.setFitHeight(40);
         imgView.setStyle("-fx-background-color: #e0e0e0; -fx-border-color: #FF6F61; -fx-border-width: 3px; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.25), 10, 0, 0, 5);");
@@ -239,14 +279,14 @@ public class EventDetailsController {
         r1.getChildren().addAll(imgView, nameLabel);
 
         // middle row: comment
-        var contentLabel = new Label(comment.getContent());
+        var contentLabel = new Label(comment.content());
         contentLabel.setWrapText(true);
         contentLabel.setStyle("-fx-font-size: 12px;");
 
         // bottom row: date
         var r2 = new HBox();
         r2.setAlignment(Pos.BOTTOM_RIGHT);
-        var createdDateLabel = new Label(formatDate(comment.getCreated()));
+        var createdDateLabel = new Label(formatDate(comment.created()));
         createdDateLabel.setStyle("-fx-font-size: 10px; -fx-text-fill: gray;");
         r2.getChildren().add(createdDateLabel);
 
@@ -272,19 +312,25 @@ public class EventDetailsController {
         if (event == null) {
             return;
         }
-        try {
-            // TODO: if you are already booked into event, this button shouldn't event appear / replace with "cancel booking" button.
-            var result = eventService.bookEvent(event.id(), identityService.getUserContext().getUser().getId());
+        int eventId = event.id();
+        int userId = identityService.getUserContext().getUser().getId();
+        // booking waits for the database's write lock, so it's made in the background
+        signUpButton.setDisable(true);
+        asyncService.save(() -> eventService.bookEvent(eventId, userId), result -> {
+            signUpButton.setDisable(false);
             if (result.isSuccess()) {
                 sceneManager.alert(new Alert(Alert.AlertType.INFORMATION, "Booked into event successfully"));
                 toggleJoiningButtons(true);
+            } else if (result.getError() instanceof EventFullException) {
+                sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Sorry, this event is fully booked"));
             } else {
                 toggleJoiningButtons(true);
                 sceneManager.alert(new Alert(Alert.AlertType.ERROR, "You are already booked into this event"));
             }
-        } catch (SQLException e) {
+        }, e -> {
+            signUpButton.setDisable(false);
             sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Something went wrong booking into this event. Please contact SoundLink Support."));
-        }
+        });
     }
 
     /**
@@ -295,16 +341,21 @@ public class EventDetailsController {
         if (event == null) {
             return;
         }
-        handleBookingOperation(() -> {
-                    int userId = identityService.getUserContext().getUser().getId();
-                    boolean cancelled = eventService.cancelBooking(userId,event.id());
-                    if (cancelled) {
-                        toggleJoiningButtons(false);
-                    }
-                    return cancelled;
-                },
-                "Successfully removed from the event",
-                "Unable to be removed from the event. Please try again.");
+        int eventId = event.id();
+        int userId = identityService.getUserContext().getUser().getId();
+        cancelButton.setDisable(true);
+        asyncService.save(() -> eventService.cancelBooking(userId, eventId), cancelled -> {
+            cancelButton.setDisable(false);
+            if (cancelled) {
+                toggleJoiningButtons(false);
+                showAlert(Alert.AlertType.INFORMATION, "Successfully removed from the event");
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Unable to be removed from the event. Please try again.");
+            }
+        }, e -> {
+            cancelButton.setDisable(false);
+            showAlert(Alert.AlertType.ERROR, "Something went wrong. Please contact SoundLink Support.");
+        });
     }
 
     /**
@@ -323,14 +374,21 @@ public class EventDetailsController {
         }
 
         // leave comment
-        try {
-            eventService.comment(event.id(), identityService.getUserContext().getUser().getId(), commentTextArea.getText());
-        } catch (SQLException e) {
+        int eventId = event.id();
+        int userId = identityService.getUserContext().getUser().getId();
+        var comment = commentTextArea.getText();
+        commentButton.setDisable(true);
+        asyncService.save(() -> {
+            eventService.comment(eventId, userId, comment);
+            return null;
+        }, ignored -> {
+            commentButton.setDisable(false);
+            // refresh current view
+            loadEventDetails(eventId);
+        }, e -> {
+            commentButton.setDisable(false);
             sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Error creating comment."));
-        }
-
-        // refresh current view
-        loadEventDetails(event.id());
+        });
     }
 
     /**
@@ -345,40 +403,6 @@ public class EventDetailsController {
         cancelButton.setManaged(isJoined);
     }
 
-    /**
-     * Handles the operations for booking the user into and event or canceling the user booking.
-     * Displays success or failure message on completion.
-     * @param operation A {@code BookOperation}.
-     * @param successMessage Message to be displayed on success.
-     * @param failureMessage Message to be displayed on failure.
-     */
-    private void handleBookingOperation(BookOperation operation, String successMessage, String failureMessage) {
-        try {
-            boolean result = operation.execute();
-            if (result) {
-                showAlert(Alert.AlertType.INFORMATION, successMessage);
-            } else {
-                showAlert(Alert.AlertType.ERROR, failureMessage);
-            }
-        } catch (SQLException e) {
-            System.out.println(e);
-            showAlert(Alert.AlertType.ERROR, "Something went wrong. Please contact SoundLink Support.");
-        }
-    }
-
-    /**
-     * Functional interface for inline functions.
-     */
-    @FunctionalInterface
-    private interface BookOperation {
-        /**
-         * Executes the {@code BookOperation}.
-         * @return A boolean indicating the operations' success.
-         * @throws SQLException If there is an SQL error.
-         */
-        boolean execute() throws SQLException;
-    }
-
     /**
      * Shows alert.
      * @param alertType {@link Alert} {@code AlertType} Enum.
@@ -388,19 +412,6 @@ public class EventDetailsController {
         sceneManager.alert(new Alert(alertType, message));
     }
 
-    /**
-     * Updates the display of the Book or Cancel Booking buttons.
-     */
-    private void updateBookButtons() {
-        try {
-            int userId = identityService.getUserContext().getUser().getId();
-            boolean isJoined = eventService.isBooked(userId,event.id());
-            toggleJoiningButtons(isJoined);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Unable to update booking status. Please try again.");
-        }
-    }
-
     /**
      * Updates the event with the changes made by a user with permissions. Displays success or failure messages on
      * completion.
@@ -447,12 +458,17 @@ public class EventDetailsController {
                 event.bannerImage()
         );
 
-        try {
+        saveButton.setDisable(true);
+        asyncService.save(() -> {
             eventService.updateEvent(updatedEventToBeSaved);
+            return null;
+        }, ignored -> {
+            saveButton.setDisable(false);
             showAlert(Alert.AlertType.INFORMATION, "Event details updated successfully.");
-        } catch (SQLException e) {
+        }, e -> {
+            saveButton.setDisable(false);
             showAlert(Alert.AlertType.ERROR, "Something went wrong while updating. Please try again.");
-        }
+        });
     }
 
 
@@ -467,14 +483,19 @@ public class EventDetailsController {
             return;
         }
 
+        int eventId = event.id();
         int userId = identityService.getUserContext().getUser().getId();
 
-        try {
-            eventService.deleteEvent(event.id(), userId);
+        deleteButton.setDisable(true);
+        asyncService.save(() -> {
+            eventService.deleteEvent(eventId, userId);
+            return null;
+        }, ignored -> {
             showAlert(Alert.AlertType.INFORMATION, "Event deleted successfully.");
             sceneManager.navigateToSearchEventView();
-        } catch (SQLException e) {
+        }, e -> {
+            deleteButton.setDisable(false);
             showAlert(Alert.AlertType.ERROR, "Something went wrong while deleting. Please try again.");
-        }
+        });
     }
 }
@@ -3,9 +3,16 @@ package hub.troubleshooters.soundlink.app.areas.events;
 
 import hub.troubleshooters.soundlink.app.areas.Routes;
 import hub.troubleshooters.soundlink.app.areas.communities.SearchCommunityController;
+import hub.troubleshooters.soundlink.app.components.LoadingPlaceholder;
+import hub.troubleshooters.soundlink.app.components.RecyclableCard;
+import hub.troubleshooters.soundlink.app.components.VirtualGrid;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
+import hub.troubleshooters.soundlink.app.services.BackgroundTask;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 import hub.troubleshooters.soundlink.core.Map;
 import hub.troubleshooters.soundlink.core.events.models.EventModel;
+import hub.troubleshooters.soundlink.core.images.ImageCache;
+import hub.troubleshooters.soundlink.core.images.ImageTier;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import hub.troubleshooters.soundlink.data.models.Event;
 
@@ -16,11 +23,11 @@ import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
 
 import com.google.inject.Inject;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -76,6 +83,12 @@ public class SearchEventController {
     private final SceneManager sceneManager;
     private final Map map;
     private final ImageUploaderService imageUploaderService;
+    private final AsyncService asyncService;
+    private final ImageCache imageCache;
+
+    // the search being loaded, so a newer one can replace it
+    private BackgroundTask searchTask;
+    private VirtualGrid<EventModel> eventGrid;
 
     /**
      * Constructs a new {@code SearchEventController} with the necessary services.
@@ -85,110 +98,152 @@ public class SearchEventController {
      * @param sceneManager The manager responsible for handling scene navigation.
      * @param map The utility for mapping between database entities and models.
      * @param imageUploaderService The service responsible for handling image uploads.
+     * @param asyncService The service loading the events off the JavaFX application thread.
+     * @param imageCache The cache of decoded images, shared with the rest of the application.
      */
     @Inject
-    public SearchEventController(EventService eventService, IdentityService identityService,SceneManager sceneManager, Map map, ImageUploaderService imageUploaderService){
+    public SearchEventController(EventService eventService, IdentityService identityService,SceneManager sceneManager, Map map, ImageUploaderService imageUploaderService,
+                                 AsyncService asyncService, ImageCache imageCache){
         this.eventService = eventService;
         this.identityService = identityService;
         this.sceneManager = sceneManager;
         this.map = map;
         this.imageUploaderService = imageUploaderService;
+        this.asyncService = asyncService;
+        this.imageCache = imageCache;
     }
 
     /**
-     * Initializes the controller. Called automatically by FXML. Loads the user, displays events and handles errors
-     * getting events.
+     * Initializes the controller. Called automatically by FXML. Starts loading the user's upcoming events, which are
+     * displayed once loaded, and binds the search button.
      */
     @FXML
     public void initialize() {
-        try {
-            int userId = identityService.getUserContext().getUser().getId();
-            displayEvents(eventService.listUpcomingEvents(userId));
-        } catch (SQLException e) {
-            System.err.println("Error populating event list: " + e.getMessage());
-        }
+        eventGrid = new VirtualGrid<>(2, EventCard::new);
+        eventGrid.setPrefSize(560, 700);
+        eventListVBox.getChildren().setAll(eventGrid);
+
+        int userId = identityService.getUserContext().getUser().getId();
+        loadEvents(() -> eventService.listUpcomingEvents(userId), "Error populating event list");
 
-        searchButton.setOnAction(event -> {
-            try {
-                searchEvents();
-            } catch (SQLException e) {
-                System.err.println("Error during search: " + e.getMessage());
-            }
-        });
+        searchButton.setOnAction(event -> searchEvents());
     }
 
     /**
-     * Populates the event list in the UI
-     * @throws SQLException if a database error occurs
+     * Shows a placeholder, then loads and maps the events in the background and displays them. Replaces any load
+     * still in progress, so an earlier, slower search can't overwrite a later one.
+     * @param query Gets the events to display.
+     * @param errorMessage Logged, with the error, if the events can't be loaded.
      */
-    private void displayEvents(List<Event> events) throws SQLException {
-        eventListVBox.getChildren().clear();
-
-        HBox row = null;
-        for (int i = 0; i < events.size(); i++) {
-            if (i % 2 == 0) {
-                row = new HBox(10); // 10 is the spacing between community boxes
-                row.setStyle("-fx-padding: 10px;");
-                eventListVBox.getChildren().add(row);
-            }
-
-            VBox eventCard = createEventCard(events.get(i));
-            row.getChildren().add(eventCard);
+    private void loadEvents(EventQuery query, String errorMessage) {
+        if (searchTask != null) {
+            searchTask.cancel();
         }
+        eventGrid.getItems().clear();
+        eventGrid.setPlaceholder(new LoadingPlaceholder("Loading events..."));
+        searchTask = asyncService.load(
+                () -> map.events(query.get()),
+                this::displayEvents,
+                e -> {
+                    eventGrid.setPlaceholder(new Label("Unable to load events."));
+                    LOGGER.severe(errorMessage + ": " + e.getMessage());
+                });
     }
 
     /**
-     * Creates a javaFX {@link VBox} formatted with the provided events' information.
-     * @param event An event database model.
-     * @return a javaFX {@link VBox} formatted with the provided events' information.
-     * @throws SQLException If there is an SQL error.
+     * Gets a list of events from the database.
      */
-    private VBox createEventCard(Event event) throws SQLException{
-        VBox eventCard = new VBox();
-        eventCard.setSpacing(10.0);
-        eventCard.setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; -fx-padding: 10px;");
-        eventCard.setPrefWidth(250);
-        eventCard.setPrefHeight(100);
-
-        DateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy");
-        String formattedDate = dateFormat.format(event.getScheduled());
-      
-        var eventModel = map.event(event);
-      
-        var imageView = new ImageView();
-        imageView.setFitWidth(250);
-        imageView.setFitHeight(100);
-        var bannerImageOpt = eventModel.bannerImage();
-
-        var path = bannerImageOpt
-                .map(imageUploaderService::getFullProtocolPath)
-                .orElseGet(() -> imageUploaderService.getFullProtocolPath(imageUploaderService.getSampleBannerImageFile(eventModel.id())));
-
-        imageView.setImage(new Image(path, 250, 100, false, false, true));
-
+    @FunctionalInterface
+    private interface EventQuery {
+        /**
+         * Runs the query.
+         * @return The events found.
+         * @throws SQLException If there is an SQL error.
+         */
+        List<Event> get() throws SQLException;
+    }
 
-        Label nameLabel = new Label(event.getName());
-        Label descriptionLabel = new Label("Description: " + event.getDescription());
-        Label locationLabel = new Label("Location: " + event.getVenue());
+    /**
+     * Populates the event list in the UI
+     * @param eventModels The events to display, already mapped.
+     */
+    private void displayEvents(List<EventModel> eventModels) {
+        if (eventModels.isEmpty()) {
+            System.out.println("No search results to display.");
+        } else {
+            System.out.println("Displaying " + eventModels.size() + " events.");
+        }
 
-        Label dateLabel = new Label("Date: " + formattedDate);
-        Label capacityLabel = new Label("Capacity: " + event.getCapacity());        
+        eventGrid.setPlaceholder(new Label("No events found."));
+        eventGrid.getItems().setAll(eventModels);
+        eventGrid.scrollToTop();
+    }
 
-        Button detailsButton = new Button("Details");
-        detailsButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
+    /**
+     * A javaFX {@link VBox} formatted with an event's information. The grid creates one per visible cell and reuses
+     * it for whichever event scrolls into that cell.
+     */
+    private class EventCard extends VBox implements RecyclableCard<EventModel> {
+        private final DateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy");
+        private final ImageView imageView = new ImageView();
+        private final Label nameLabel = new Label();
+        private final Label descriptionLabel = new Label();
+        private final Label locationLabel = new Label();
+        private final Label dateLabel = new Label();
+        private final Label capacityLabel = new Label();
+        private EventModel eventModel;
+
+        /**
+         * Creates an empty event card.
+         */
+        private EventCard() {
+            setSpacing(10.0);
+            setStyle("-fx-background-color: white; -fx-border-color: lightgray; -fx-border-width: 1px; -fx-padding: 10px;");
+            setPrefWidth(250);
+            setPrefHeight(100);
+
+            imageView.setFitWidth(250);
+            imageView.setFitHeight(100);
+
+            Button detailsButton = new Button("Details");
+            detailsButton.setStyle("-fx-background-color: #ffcc00; -fx-text-fill: white;");
+
+            // Handle sign-up logic on button click
+            detailsButton.setOnAction(e -> sceneManager.navigateToEventDetailsView(eventModel.id()));
+
+            getChildren().addAll(imageView, nameLabel, descriptionLabel, locationLabel, dateLabel, capacityLabel, detailsButton);
+        }
 
-        // Handle sign-up logic on button click
-        detailsButton.setOnAction(e -> sceneManager.navigateToEventDetailsView(event.getId()));
+        @Override
+        public Node getNode() {
+            return this;
+        }
 
-        eventCard.getChildren().addAll(imageView, nameLabel, descriptionLabel, locationLabel, dateLabel, capacityLabel, detailsButton);
-        return eventCard;
+        /**
+         * Shows the provided event's information.
+         * @param eventModel An event model, mapped along with the rest of the list.
+         */
+        @Override
+        public void show(EventModel eventModel) {
+            this.eventModel = eventModel;
+
+            var path = eventModel.bannerImage()
+                    .map(img -> imageUploaderService.getFullProtocolPath(img, ImageTier.CARD))
+                    .orElseGet(() -> imageUploaderService.getFullProtocolPath(imageUploaderService.getSampleBannerImageFile(eventModel.id(), ImageTier.CARD)));
+            imageView.setImage(imageCache.get(path, ImageTier.CARD));
+
+            nameLabel.setText(eventModel.name());
+            descriptionLabel.setText("Description: " + eventModel.description());
+            locationLabel.setText("Location: " + eventModel.venue());
+            dateLabel.setText("Date: " + dateFormat.format(eventModel.scheduled()));
+            capacityLabel.setText("Capacity: " + eventModel.capacity());
+        }
     }
 
     /**
      * Takes the user input from the search form and updates the search results.
-     * @throws SQLException If there is an SQL error.
      */
-    private void searchEvents() throws SQLException {
+    private void searchEvents() {
         String textSearch = searchTextField.getText();
         LocalDate fromDate = fromDatePicker.getValue();
         LocalDate toDate = toDatePicker.getValue();
@@ -204,41 +259,7 @@ public class SearchEventController {
         );
 
         // Get filtered events
-        List<Event> searchResults = eventService.search(searchModel);
-        ObservableList<Event> observableSearchResults = FXCollections.observableArrayList(searchResults);
-
-        updateEventList(observableSearchResults);
-    }
-
-
-    /**
-     * Updates the displayed event list with new search results.
-     * @param searchResults A {@link ObservableList<Event>} of events to display.
-     */
-    private void updateEventList(ObservableList<Event> searchResults) {
-        eventListVBox.getChildren().clear();
-
-        if (searchResults.isEmpty()) {
-            System.out.println("No search results to display.");
-        } else {
-            System.out.println("Displaying " + searchResults.size() + " events.");
-        }
-
-        HBox row = null;
-        for (int i = 0; i < searchResults.size(); i++) {
-            if (i % 2 == 0) {
-                row = new HBox(10);
-                row.setStyle("-fx-padding: 10px;");
-                eventListVBox.getChildren().add(row);
-            }
-
-            try {
-                VBox eventCard = createEventCard(searchResults.get(i));
-                row.getChildren().add(eventCard);
-            } catch (SQLException e) {
-                LOGGER.severe("Error creating event card: " + e.getMessage());
-            }
-        }
+        loadEvents(() -> eventService.search(searchModel), "Error during search");
     }
 
 }
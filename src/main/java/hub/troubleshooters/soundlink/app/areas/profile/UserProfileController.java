@@ -3,11 +3,14 @@ package hub.troubleshooters.soundlink.app.areas.profile;
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.app.UserDataStore;
 import hub.troubleshooters.soundlink.app.areas.Routes;
+import hub.troubleshooters.soundlink.app.services.AsyncService;
 import hub.troubleshooters.soundlink.app.services.SceneManager;
 import hub.troubleshooters.soundlink.core.Map;
 import hub.troubleshooters.soundlink.core.auth.services.CommunityService;
 import hub.troubleshooters.soundlink.core.auth.services.EventService;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
+import hub.troubleshooters.soundlink.core.images.ImageCache;
+import hub.troubleshooters.soundlink.core.images.ImageTier;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import hub.troubleshooters.soundlink.core.profile.models.UserProfileModel;
 import hub.troubleshooters.soundlink.core.profile.models.UserProfileUpdateModel;
@@ -24,6 +27,7 @@ import javafx.scene.image.ImageView;
 
 import java.io.File;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -43,10 +47,21 @@ public class UserProfileController {
     private final Map map;
     private final EventService eventService;
     private final CommunityService communityService;
+    private final AsyncService asyncService;
+    private final ImageCache imageCache;
 
     private UserProfileModel userProfile;
     private File profileImageFile;
 
+    /**
+     * Everything the profile page shows that comes from the database, loaded together in the background.
+     *
+     * @param profile The user's profile.
+     * @param communityNames The names of the communities the user is a member of.
+     */
+    private record LoadedProfile(UserProfileModel profile, List<String> communityNames) {
+    }
+
     @FXML
     private TextField nameField;
     @FXML
@@ -72,11 +87,14 @@ public class UserProfileController {
      * @param userDataStore Utility responsible for storing user data.
      * @param eventService Service responsible for managing event information.
      * @param communityService Service responsible for managing community information.
+     * @param asyncService Service responsible for loading and saving the profile off the JavaFX application thread.
+     * @param imageCache The cache of decoded images, shared with the rest of the application.
      */
     @Inject
     public UserProfileController(ImageUploaderService imageUploaderService, UserProfileService userProfileService,
                                  IdentityService identityService, SceneManager sceneManager, Map map,
-                                 UserDataStore userDataStore, EventService eventService, CommunityService communityService) {
+                                 UserDataStore userDataStore, EventService eventService, CommunityService communityService,
+                                 AsyncService asyncService, ImageCache imageCache) {
         this.imageUploaderService = imageUploaderService;
         this.userProfileService = userProfileService;
         this.identityService = identityService;
@@ -85,56 +103,97 @@ public class UserProfileController {
         this.userDataStore = userDataStore;
         this.eventService = eventService;
         this.communityService = communityService;
+        this.asyncService = asyncService;
+        this.imageCache = imageCache;
     }
 
     /**
-     * Initializes the controller, called automatically bt FXML. Loads and displays user information,
-     * including communities and bookings. Binds events for input fields and handles errors by routing the user to
-     * the home view.
+     * Initializes the controller, called automatically bt FXML. Starts loading the user's profile in the background,
+     * with the form disabled until it is displayed, and handles errors by routing the user to the home view.
      */
     @FXML
     public void initialize() {
-        try {
-            var user = identityService.getUserContext().getUser();
-            if (user == null) {
-                throw new IllegalStateException("User is not authenticated");
-            }
+        var user = identityService.getUserContext().getUser();
+        if (user == null) {
+            onLoadFailed(new IllegalStateException("User is not authenticated"));
+            return;
+        }
 
-            int userId = user.getId();
+        int userId = user.getId();
+        disableSaveButton();
+        setFormDisabled(true);
+        nameField.setPromptText("Loading...");
+        asyncService.load(() -> {
             Optional<UserProfile> optionalProfile = userProfileService.getUserProfile(userId);
-
-            if (optionalProfile.isPresent()) {
-                userProfile = map.userProfile(optionalProfile.get());
-            } else {
+            if (optionalProfile.isEmpty()) {
+                return Optional.<LoadedProfile>empty();
+            }
+            // looking up the communities may query for those that aren't cached, so it's done here too
+            var communityNames = identityService.getCommunities().stream()
+                    .map(community -> community.getName())
+                    .toList();
+            return Optional.of(new LoadedProfile(map.userProfile(optionalProfile.get()), communityNames));
+        }, profileOpt -> {
+            nameField.setPromptText(null);
+            if (profileOpt.isEmpty()) {
                 showError("User profile not found.");
-                disableSaveButton();
                 return;
             }
+            try {
+                showProfile(profileOpt.get());
+            } catch (Exception e) {
+                onLoadFailed(e);
+            }
+        }, this::onLoadFailed);
+    }
 
-            nameField.setText(userProfile.displayName());
-            bioField.setText(userProfile.bio());
-            updateEventsLabel();
-            updateCommunitiesLabel();
+    /**
+     * Displays the loaded profile, including communities and bookings, and binds events for input fields.
+     * @param loaded The user's profile and the names of their communities.
+     */
+    private void showProfile(LoadedProfile loaded) {
+        userProfile = loaded.profile();
+        setFormDisabled(false);
+
+        nameField.setText(userProfile.displayName());
+        bioField.setText(userProfile.bio());
+        updateEventsLabel();
+        communitiesLabel.setText(String.join("\n", loaded.communityNames()));
+
+        if (userProfile.profileImage().isPresent()) {
+            var img = userProfile.profileImage().get();
+            userImageView.setImage(imageCache.get(imageUploaderService.getFullProtocolPath(img, ImageTier.AVATAR), ImageTier.AVATAR));
+            clearImageButton.setDisable(false);
+        } else {
+            var img = imageUploaderService.getDefaultProfileImageFile();
+            userImageView.setImage(imageCache.get(imageUploaderService.getFullProtocolPath(img), ImageTier.AVATAR));
+            clearImageButton.setDisable(true);
+        }
 
-            if (userProfile.profileImage().isPresent()) {
-                var img = userProfile.profileImage().get();
-                userImageView.setImage(new Image(imageUploaderService.getFullProtocolPath(img)));
-                clearImageButton.setDisable(false);
-            } else {
-                var img = imageUploaderService.getDefaultProfileImageFile();
-                userImageView.setImage(new Image(imageUploaderService.getFullProtocolPath(img)));
-                clearImageButton.setDisable(true);
-            }
+        disableSaveButton();
 
-            disableSaveButton();
+        nameField.textProperty().addListener((observable, oldValue, newValue) -> enableSaveButton());
+        bioField.textProperty().addListener((observable, oldValue, newValue) -> enableSaveButton());
+    }
 
-            nameField.textProperty().addListener((observable, oldValue, newValue) -> enableSaveButton());
-            bioField.textProperty().addListener((observable, oldValue, newValue) -> enableSaveButton());
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error initializing UserProfileController", e);
-            sceneManager.navigate(Routes.HOME);
-            sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Unable to load profile. Please contact support."));
-        }
+    /**
+     * Routes the user to the home view when their profile can't be loaded.
+     * @param e The error that stopped the profile loading.
+     */
+    private void onLoadFailed(Throwable e) {
+        logger.log(Level.SEVERE, "Error initializing UserProfileController", e);
+        sceneManager.navigate(Routes.HOME);
+        sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Unable to load profile. Please contact support."));
+    }
+
+    /**
+     * Disables or enables the profile's input fields, while the profile is loading.
+     * @param disabled Whether the fields are disabled.
+     */
+    private void setFormDisabled(boolean disabled) {
+        nameField.setDisable(disabled);
+        bioField.setDisable(disabled);
+        clearImageButton.setDisable(disabled);
     }
 
     /**
@@ -145,7 +204,10 @@ public class UserProfileController {
     protected void changeImage() {
         var file = sceneManager.openFileDialog();
         if (file == null) return;
-        userImageView.setImage(new Image(imageUploaderService.getFullProtocolPath(file)));
+        // the picked file is only previewed until it's saved, so it's decoded at the avatar size without being cached
+        var tier = ImageTier.AVATAR;
+        userImageView.setImage(new Image(imageUploaderService.getFullProtocolPath(file), tier.getWidth(), tier.getHeight(),
+                tier.isPreserveRatio(), true, true));
         profileImageFile = file;
         clearImageButton.setDisable(false);
         enableSaveButton();
@@ -157,7 +219,7 @@ public class UserProfileController {
     @FXML
     protected void onClearImageButtonClick() {
         var defaultImage = imageUploaderService.getDefaultProfileImageFile();
-        userImageView.setImage(new Image(imageUploaderService.getFullProtocolPath(defaultImage)));
+        userImageView.setImage(imageCache.get(imageUploaderService.getFullProtocolPath(defaultImage), ImageTier.AVATAR));
         profileImageFile = null;
         clearImageButton.setDisable(true);
         enableSaveButton();
@@ -172,16 +234,6 @@ public class UserProfileController {
         eventsLabel.setText(String.join("\n", events));
     }
 
-    /**
-     * Updates the communities label with the users communities.
-     */
-    private void updateCommunitiesLabel() {
-        var communities = identityService.getCommunities().stream()
-                .map(community -> community.getName())
-                .toList();
-        communitiesLabel.setText(String.join("\n", communities));
-    }
-
     /**
      * Disables the save button.
      */
@@ -207,14 +259,21 @@ public class UserProfileController {
         }
 
         var updateModel = new UserProfileUpdateModel(userProfile.id(), nameField.getText(), bioField.getText(), profileImageFile);
-        var result = userProfileService.update(updateModel, userProfile.userId());
-        if (result.isSuccess()) {
-            sceneManager.navigate(Routes.HOME);
-            sceneManager.alert(new Alert(Alert.AlertType.CONFIRMATION, "Profile updated successfully"));
-        } else {
-            var error = result.getErrors().getFirst();
-            sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Validation error: " + error.getMessage()));
-        }
+        disableSaveButton();
+        // saved even if the user leaves the page before a background thread is free
+        asyncService.save(() -> userProfileService.update(updateModel, userProfile.userId()), result -> {
+            if (result.isSuccess()) {
+                sceneManager.navigate(Routes.HOME);
+                sceneManager.alert(new Alert(Alert.AlertType.CONFIRMATION, "Profile updated successfully"));
+            } else {
+                enableSaveButton();
+                var error = result.getErrors().getFirst();
+                sceneManager.alert(new Alert(Alert.AlertType.ERROR, "Validation error: " + error.getMessage()));
+            }
+        }, e -> {
+            enableSaveButton();
+            showError("Unable to save profile. Please try again.");
+        });
     }
 
     /**
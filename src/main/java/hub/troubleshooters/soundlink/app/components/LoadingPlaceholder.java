@@ -0,0 +1,37 @@
+package hub.troubleshooters.soundlink.app.components;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.HBox;
+
+/**
+ * A spinner and a message, shown in place of content that is still loading in the background.
+ */
+public class LoadingPlaceholder extends HBox {
+
+    /**
+     * Constructs a {@code LoadingPlaceholder} reading "Loading...".
+     */
+    public LoadingPlaceholder() {
+        this("Loading...");
+    }
+
+    /**
+     * Constructs a {@code LoadingPlaceholder}.
+     * @param message The message shown next to the spinner.
+     */
+    public LoadingPlaceholder(String message) {
+        super(10);
+        setAlignment(Pos.CENTER);
+        setPadding(new Insets(20));
+
+        var spinner = new ProgressIndicator();
+        spinner.setPrefSize(24, 24);
+        var label = new Label(message);
+        label.setStyle("-fx-text-fill: gray;");
+
+        getChildren().addAll(spinner, label);
+    }
+}
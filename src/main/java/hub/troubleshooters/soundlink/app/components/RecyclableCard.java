@@ -0,0 +1,24 @@
+package hub.troubleshooters.soundlink.app.components;
+
+import javafx.scene.Node;
+
+/**
+ * A card shown in a {@link VirtualList} or {@link VirtualGrid}. Each visible cell creates one card and keeps it,
+ * showing whichever item scrolls into the cell, so the number of cards stays the same however many items there are.
+ *
+ * @param <T> The type of item the card shows.
+ */
+public interface RecyclableCard<T> {
+
+    /**
+     * Gets the node displaying the card, usually the card itself.
+     * @return The card's node, the same node every time.
+     */
+    Node getNode();
+
+    /**
+     * Updates the card to show the given item, replacing whatever item it showed before.
+     * @param item The item to show.
+     */
+    void show(T item);
+}
@@ -0,0 +1,117 @@
+package hub.troubleshooters.soundlink.app.components;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A scrolling grid of cards with a fixed number of columns that only builds cards for the rows in view. The items are
+ * split into rows shown in a {@link VirtualList}, so scrolling through thousands of items reuses the same few cards.
+ *
+ * @param <T> The type of the items in the grid.
+ */
+public class VirtualGrid<T> extends StackPane {
+
+    private final int columns;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final VirtualList<List<T>> rows;
+
+    /**
+     * Constructs an empty {@code VirtualGrid}.
+     * @param columns The number of cards in each row.
+     * @param cardFactory Creates a card for a cell of the grid, called once per visible cell rather than once per item.
+     */
+    public VirtualGrid(int columns, Supplier<? extends RecyclableCard<T>> cardFactory) {
+        if (columns < 1) {
+            throw new IllegalArgumentException("A grid needs at least one column");
+        }
+        this.columns = columns;
+        this.rows = new VirtualList<>(() -> new RowCard<>(columns, cardFactory));
+        items.addListener(this::onItemsChanged);
+        getChildren().add(rows);
+    }
+
+    /**
+     * Gets the items shown in the grid, in order, filling each row from left to right. Change this list to change
+     * the grid.
+     * @return The grid's items.
+     */
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the node shown while the grid has no items, like a {@link LoadingPlaceholder} or a "no results" message.
+     * @param placeholder The node to show.
+     */
+    public void setPlaceholder(Node placeholder) {
+        rows.setPlaceholder(placeholder);
+    }
+
+    /**
+     * Scrolls the grid back to its first row.
+     */
+    public void scrollToTop() {
+        rows.scrollTo(0);
+    }
+
+    /**
+     * Rebuilds the rows from the first one the change touched, so appending a page leaves the rows above it, and the
+     * scroll position, alone.
+     */
+    private void onItemsChanged(ListChangeListener.Change<? extends T> change) {
+        var firstChanged = items.size();
+        while (change.next()) {
+            firstChanged = Math.min(firstChanged, change.getFrom());
+        }
+        var firstRow = firstChanged / columns;
+        var rebuilt = new ArrayList<List<T>>();
+        for (int start = firstRow * columns; start < items.size(); start += columns) {
+            rebuilt.add(List.copyOf(items.subList(start, Math.min(start + columns, items.size()))));
+        }
+        var rowItems = rows.getItems();
+        rowItems.remove(Math.min(firstRow, rowItems.size()), rowItems.size());
+        rowItems.addAll(rebuilt);
+    }
+
+    /**
+     * A row of the grid, holding one card per column. The last row may show fewer items than it has cards.
+     */
+    private static class RowCard<T> extends HBox implements RecyclableCard<List<T>> {
+        private final List<RecyclableCard<T>> cards = new ArrayList<>();
+
+        private RowCard(int columns, Supplier<? extends RecyclableCard<T>> cardFactory) {
+            super(10);
+            setStyle("-fx-padding: 10px;");
+            for (int i = 0; i < columns; i++) {
+                var card = cardFactory.get();
+                cards.add(card);
+                getChildren().add(card.getNode());
+            }
+        }
+
+        @Override
+        public Node getNode() {
+            return this;
+        }
+
+        @Override
+        public void show(List<T> row) {
+            for (int i = 0; i < cards.size(); i++) {
+                var node = cards.get(i).getNode();
+                var filled = i < row.size();
+                if (filled) {
+                    cards.get(i).show(row.get(i));
+                }
+                node.setVisible(filled);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package hub.troubleshooters.soundlink.app.components;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+import java.util.function.Supplier;
+
+/**
+ * A scrolling list that only builds cards for the rows in view. Backed by a {@link ListView}, which creates just enough
+ * cells to fill its height and reuses them as the list scrolls, each cell keeping a single {@link RecyclableCard}.
+ *
+ * @param <T> The type of the items in the list.
+ */
+public class VirtualList<T> extends ListView<T> {
+
+    /**
+     * Constructs an empty {@code VirtualList}.
+     * @param cardFactory Creates a card for a cell, called once per cell rather than once per item.
+     */
+    public VirtualList(Supplier<? extends RecyclableCard<T>> cardFactory) {
+        getStyleClass().add("virtual-list");
+        setFocusTraversable(false);
+        setCellFactory(list -> new CardCell<>(cardFactory));
+    }
+
+    /**
+     * A cell showing its items on the one card it creates.
+     */
+    private static class CardCell<T> extends ListCell<T> {
+        private final Supplier<? extends RecyclableCard<T>> cardFactory;
+        private RecyclableCard<T> card;
+
+        private CardCell(Supplier<? extends RecyclableCard<T>> cardFactory) {
+            this.cardFactory = cardFactory;
+        }
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            setText(null);
+            if (empty || item == null) {
+                setGraphic(null);
+                return;
+            }
+            if (card == null) {
+                card = cardFactory.get();
+            }
+            card.show(item);
+            setGraphic(card.getNode());
+        }
+    }
+}
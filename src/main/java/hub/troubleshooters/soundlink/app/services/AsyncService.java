@@ -0,0 +1,57 @@
+package hub.troubleshooters.soundlink.app.services;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Runs the blocking service calls of the controllers on a small pool of background threads, so the JavaFX application
+ * thread keeps drawing while data loads, and hands their results back on the JavaFX application thread.
+ *
+ * <p>Every load belongs to the page that started it. When the user navigates away, the {@link SceneManager} calls
+ * {@link #cancelAll()}, and the callbacks of loads still in flight are dropped instead of updating a page that is no
+ * longer shown. Changes the user asked for, such as saving a form, are started with {@link #save} instead, whose work
+ * always runs even if the page is left while it waits for a thread.</p>
+ */
+public interface AsyncService {
+
+    /**
+     * Runs {@code work} on a background thread, then passes its result to {@code onSuccess}, or whatever it threw to
+     * {@code onFailure}, on the JavaFX application thread. Neither callback runs if the load is cancelled first.
+     *
+     * @param work The blocking call to make, which must not touch any JavaFX node.
+     * @param onSuccess Shows the result, called on the JavaFX application thread.
+     * @param onFailure Reports the error, called on the JavaFX application thread.
+     * @param <T> The type of the result.
+     * @return The load, which can be cancelled on its own.
+     */
+    <T> BackgroundTask load(Callable<T> work, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure);
+
+    /**
+     * Runs {@code work} on a background thread like {@link #load}, except that cancelling only drops the callbacks:
+     * the work itself always runs, so a change the user asked for isn't lost because they left the page before a
+     * thread was free. If it fails after being cancelled, the error is logged instead.
+     *
+     * @param work The blocking call to make, which must not touch any JavaFX node.
+     * @param onSuccess Shows the result, called on the JavaFX application thread.
+     * @param onFailure Reports the error, called on the JavaFX application thread.
+     * @param <T> The type of the result.
+     * @return The save, whose callbacks can be cancelled on their own.
+     */
+    <T> BackgroundTask save(Callable<T> work, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure);
+
+    /**
+     * Cancels every load that hasn't delivered its result yet. Called whenever the outlet page changes.
+     */
+    void cancelAll();
+
+    /**
+     * Stops taking new work and waits for the work already taken to finish, so saves aren't cut off when the
+     * application closes the database. Loads still waiting for a thread are skipped, but saves still run.
+     *
+     * @param timeout The longest to wait.
+     * @return True if all the work finished in time.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    boolean shutdown(Duration timeout) throws InterruptedException;
+}
@@ -0,0 +1,141 @@
+package hub.troubleshooters.soundlink.app.services;
+
+import com.google.inject.Inject;
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of the {@link AsyncService} interface
+ */
+public class AsyncServiceImpl implements AsyncService {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncServiceImpl.class.getName());
+
+    /**
+     * As many threads as the connection pool has connections, so background loads never queue for a connection.
+     */
+    private static final int THREADS = 4;
+    /**
+     * Loads waiting for a thread. A page starts a handful, and they're cancelled when it's left, so this is only
+     * reached if something loads in a loop.
+     */
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final ExecutorService backgroundExecutor;
+    private final Executor fxExecutor;
+    private final Set<BackgroundTask> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs the {@code AsyncService} with its own bounded pool of daemon threads, delivering results with
+     * {@link Platform#runLater}.
+     */
+    @Inject
+    public AsyncServiceImpl() {
+        this(newBackgroundExecutor(), Platform::runLater);
+    }
+
+    /**
+     * Constructs the {@code AsyncService} on the given executors, so tests can run without the JavaFX toolkit.
+     * @param backgroundExecutor Runs the blocking work.
+     * @param fxExecutor Runs the callbacks, on the JavaFX application thread outside of tests.
+     */
+    AsyncServiceImpl(ExecutorService backgroundExecutor, Executor fxExecutor) {
+        this.backgroundExecutor = backgroundExecutor;
+        this.fxExecutor = fxExecutor;
+    }
+
+    @Override
+    public <T> BackgroundTask load(Callable<T> work, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        return submit(work, onSuccess, onFailure, true);
+    }
+
+    @Override
+    public <T> BackgroundTask save(Callable<T> work, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        return submit(work, onSuccess, onFailure, false);
+    }
+
+    /**
+     * Runs the work on a background thread and delivers its result on the JavaFX application thread, unless cancelled.
+     * @param skipIfCancelled Whether to skip the work if the task is cancelled before a thread picks it up.
+     */
+    private <T> BackgroundTask submit(Callable<T> work, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure, boolean skipIfCancelled) {
+        var task = new BackgroundTask();
+        pending.add(task);
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                if (skipIfCancelled && task.isCancelled()) {
+                    // left the page before a thread was free; don't make the call at all
+                    return null;
+                }
+                try {
+                    return work.call();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, backgroundExecutor);
+        } catch (RejectedExecutionException e) {
+            LOGGER.log(Level.WARNING, "Too many background loads queued", e);
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenCompleteAsync((result, error) -> {
+            pending.remove(task);
+            if (task.isCancelled()) {
+                if (!skipIfCancelled && error != null) {
+                    // nobody is left to tell, but a failed save mustn't vanish without a trace
+                    LOGGER.log(Level.WARNING, "Background save failed after its page was left", error);
+                }
+                return;
+            }
+            task.markDone();
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        }, fxExecutor);
+        return task;
+    }
+
+    @Override
+    public void cancelAll() {
+        for (var task : pending) {
+            task.cancel();
+        }
+        pending.clear();
+    }
+
+    @Override
+    public boolean shutdown(Duration timeout) throws InterruptedException {
+        // nobody is left to show the loads to, but the saves are changes the user asked for
+        cancelAll();
+        backgroundExecutor.shutdown();
+        return backgroundExecutor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static ExecutorService newBackgroundExecutor() {
+        var count = new AtomicInteger();
+        return new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            var thread = new Thread(runnable, "soundlink-background-" + count.incrementAndGet());
+            // never keep the application running after its window is closed
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
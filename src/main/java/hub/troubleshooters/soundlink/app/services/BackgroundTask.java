@@ -0,0 +1,44 @@
+package hub.troubleshooters.soundlink.app.services;
+
+/**
+ * A load started by {@link AsyncService#load} or {@link AsyncService#save}. Cancelling it stops its callbacks from
+ * running; work already running on a background thread is left to finish, since interrupting a thread in the middle of
+ * a query can break the connection it holds.
+ */
+public class BackgroundTask {
+
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    /**
+     * Cancels the load, so neither of its callbacks runs. Does nothing if it has already delivered its result.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks if the load was cancelled.
+     *
+     * @return True if {@link #cancel()} was called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks if the load has delivered its result, or error, to its callback.
+     *
+     * @return True if a callback has run.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Marks the load as delivered. Called on the JavaFX application thread just before its callback runs.
+     */
+    void markDone() {
+        done = true;
+    }
+}
@@ -28,6 +28,7 @@ import java.util.function.Consumer;
 public class SceneManagerImpl implements SceneManager {
     private final Stage primaryStage;
     private final Injector injector;
+    private final AsyncService asyncService;
 
     private Parent root = null;
     private SharedController sharedController = null;
@@ -45,15 +46,18 @@ public class SceneManagerImpl implements SceneManager {
      * Constructs the {@code SceneManager}.
      * @param primaryStage The javaFX {@link Stage}.
      * @param injector The Guice {@link Injector}.
+     * @param asyncService The service running the pages' background loads, cancelled whenever the page changes.
      */
     @Inject
-    public SceneManagerImpl(Stage primaryStage, Injector injector) {
+    public SceneManagerImpl(Stage primaryStage, Injector injector, AsyncService asyncService) {
         this.primaryStage = primaryStage;
         this.injector = injector;
+        this.asyncService = asyncService;
     }
 
     @Override
     public void switchToScene(String fxmlFileName, String sceneName, int width, int height) {
+        asyncService.cancelAll();
         try {
             var loader = new FXMLLoader(SoundLinkApplication.class.getResource(fxmlFileName));
             loader.setControllerFactory(injector::getInstance);
@@ -90,6 +94,8 @@ public class SceneManagerImpl implements SceneManager {
 
     @Override
     public <T> void switchToOutletScene(String fxmlFileName, Consumer<T> controllerConsumer) {
+        // the page being left won't show anything it was still loading
+        asyncService.cancelAll();
         try {
             FXMLLoader loader = new FXMLLoader(SoundLinkApplication.class.getResource(fxmlFileName));
             loader.setControllerFactory(injector::getInstance);
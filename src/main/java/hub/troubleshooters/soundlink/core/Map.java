@@ -2,6 +2,7 @@ package hub.troubleshooters.soundlink.core;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityPostModel;
+import hub.troubleshooters.soundlink.core.events.models.EventCommentModel;
 import hub.troubleshooters.soundlink.core.events.models.EventModel;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
 import hub.troubleshooters.soundlink.core.profile.models.UserModel;
@@ -12,12 +13,16 @@ import hub.troubleshooters.soundlink.core.profile.models.UserProfileModel;
 import hub.troubleshooters.soundlink.data.factories.CommunityFactory;
 import hub.troubleshooters.soundlink.data.factories.EventFactory;
 import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+import hub.troubleshooters.soundlink.data.factories.UserProfileFactory;
 import hub.troubleshooters.soundlink.data.models.Event;
 import hub.troubleshooters.soundlink.data.models.Community;
 import hub.troubleshooters.soundlink.data.models.Image;
 import hub.troubleshooters.soundlink.data.models.UserProfile;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,16 +32,20 @@ import java.util.Optional;
  * application layer models.
  *
  * <p>It uses several factories, including {@link EventFactory}, {@link ImageFactory}, {@link CommunityFactory},
- * and {@link UserFactory}, to fetch related entities such as {@link Image} or {@link Community} for inclusion
+ * {@link UserFactory} and {@link UserProfileFactory}, to fetch related entities such as {@link Image} or {@link Community} for inclusion
  * in the mapped model.</p>
  *
  * <p>Most methods in this class throw {@link SQLException} as they involve database operations through the factory classes.</p>
+ *
+ * <p>When converting a list, prefer the batch methods such as {@link #events(List)}, which look up each related table
+ * with one query for the whole list rather than one query per item.</p>
  */
 public class Map {
     private final EventFactory eventFactory;
     private final ImageFactory imageFactory;
     private final CommunityFactory communityFactory;
     private final UserFactory userFactory;
+    private final UserProfileFactory userProfileFactory;
 
     /**
      * Constructs a new instance of the Map class with the necessary factories for object conversions.
@@ -45,13 +54,15 @@ public class Map {
      * @param imageFactory      The factory to retrieve images from the database.
      * @param communityFactory  The factory to retrieve communities from the database.
      * @param userFactory       The factory to retrieve users from the database.
+     * @param userProfileFactory The factory to retrieve user profiles from the database.
      */
     @Inject
-    public Map(EventFactory eventFactory, ImageFactory imageFactory, CommunityFactory communityFactory, UserFactory userFactory) {
+    public Map(EventFactory eventFactory, ImageFactory imageFactory, CommunityFactory communityFactory, UserFactory userFactory, UserProfileFactory userProfileFactory) {
         this.eventFactory = eventFactory;
         this.imageFactory = imageFactory;
         this.communityFactory = communityFactory;
 		this.userFactory = userFactory;
+		this.userProfileFactory = userProfileFactory;
 	}
 
     /**
@@ -74,6 +85,28 @@ public class Map {
         return new EventModel(event.getId(), event.getName(), event.getDescription(), community, event.getVenue(), event.getCapacity(), event.getScheduled(), event.getCreated(), imageOpt);
     }
 
+    /**
+     * Converts a list of {@link Event}s into {@link EventModel}s, fetching all of their {@link Community}s with one
+     * query and all of their {@link Image}s with another.
+     *
+     * @param events The event objects to convert.
+     * @return The converted event models, in the same order as {@code events}.
+     * @throws SQLException If an error occurs while fetching related entities, or an event's community doesn't exist.
+     */
+    public List<EventModel> events(List<Event> events) throws SQLException {
+        var communities = communityFactory.getAll(events.stream().map(Event::getCommunityId).toList());
+        var images = imageFactory.getAll(events.stream().flatMap(event -> event.getBannerImageId().stream()).toList());
+
+        var models = new ArrayList<EventModel>(events.size());
+        for (var event : events) {
+            var community = communities.get(event.getCommunityId());
+            if (community == null) throw new SQLException("Failed to get Community");
+            var imageOpt = event.getBannerImageId().map(images::get);
+            models.add(new EventModel(event.getId(), event.getName(), event.getDescription(), community, event.getVenue(), event.getCapacity(), event.getScheduled(), event.getCreated(), imageOpt));
+        }
+        return models;
+    }
+
     /**
      * Converts a {@link Community} into a {@link CommunityModel}.
      * This involves fetching the optional {@link Image} data.
@@ -93,6 +126,25 @@ public class Map {
         return new CommunityModel(community.getId(),community.getName(), community.getDescription(), community.getGenre(), community.getCreated(), imageOpt, community.isPrivate());
     }
 
+    /**
+     * Converts a list of {@link Community}s into {@link CommunityModel}s, fetching all of their banner {@link Image}s
+     * with one query.
+     *
+     * @param communities The community objects to convert.
+     * @return The converted community models, in the same order as {@code communities}.
+     * @throws SQLException If an error occurs while fetching related entities.
+     */
+    public List<CommunityModel> communities(List<Community> communities) throws SQLException {
+        var images = imageFactory.getAll(communities.stream().flatMap(community -> community.getBannerImageId().stream()).toList());
+
+        var models = new ArrayList<CommunityModel>(communities.size());
+        for (var community : communities) {
+            var imageOpt = community.getBannerImageId().map(images::get);
+            models.add(new CommunityModel(community.getId(), community.getName(), community.getDescription(), community.getGenre(), community.getCreated(), imageOpt, community.isPrivate()));
+        }
+        return models;
+    }
+
     /**
      * Converts a {@link User} into a {@link UserModel}.
      *
@@ -123,6 +175,41 @@ public class Map {
         return new CommunityPostModel(post.getId(), communityModel, userModel, post.getTitle(), post.getContent(), post.getCreated());
     }
 
+    /**
+     * Converts a list of {@link CommunityPost}s into {@link CommunityPostModel}s. The posts' {@link User}s,
+     * {@link Community}s and the communities' banner {@link Image}s are each fetched with one query.
+     *
+     * @param posts The community post objects to convert.
+     * @return The converted community post models, in the same order as {@code posts}.
+     * @throws SQLException If an error occurs while fetching related entities, or a post's user or community doesn't exist.
+     */
+    public List<CommunityPostModel> communityPosts(List<CommunityPost> posts) throws SQLException {
+        var users = userFactory.getAll(posts.stream().map(CommunityPost::getUserid).toList());
+        var communities = communityFactory.getAll(posts.stream().map(CommunityPost::getCommunityId).toList());
+        var images = imageFactory.getAll(communities.values().stream().flatMap(community -> community.getBannerImageId().stream()).toList());
+
+        // each community and user is usually shared by many posts, so only map them once
+        var communityModels = new HashMap<Integer, CommunityModel>();
+        for (var community : communities.values()) {
+            var imageOpt = community.getBannerImageId().map(images::get);
+            communityModels.put(community.getId(), new CommunityModel(community.getId(), community.getName(), community.getDescription(), community.getGenre(), community.getCreated(), imageOpt, community.isPrivate()));
+        }
+        var userModels = new HashMap<Integer, UserModel>();
+        for (var user : users.values()) {
+            userModels.put(user.getId(), user(user));
+        }
+
+        var models = new ArrayList<CommunityPostModel>(posts.size());
+        for (var post : posts) {
+            var userModel = userModels.get(post.getUserid());
+            var communityModel = communityModels.get(post.getCommunityId());
+            if (userModel == null) throw new SQLException("Failed to get User");
+            if (communityModel == null) throw new SQLException("Failed to get Community");
+            models.add(new CommunityPostModel(post.getId(), communityModel, userModel, post.getTitle(), post.getContent(), post.getCreated()));
+        }
+        return models;
+    }
+
     /**
      * Converts a {@link UserProfile} into a {@link UserProfileModel}.
      * This involves fetching the optional {@link Image} data.
@@ -141,4 +228,32 @@ public class Map {
 
         return new UserProfileModel(userProfile.getId(), userProfile.getUserId(), userProfile.getDisplayName(), userProfile.getBio(), imageOpt);
     }
+
+    /**
+     * Converts a list of {@link EventComment}s into {@link EventCommentModel}s. The authors' {@link UserProfile}s and
+     * their profile {@link Image}s are each fetched with one query.
+     *
+     * @param comments The event comment objects to convert.
+     * @return The converted event comment models, in the same order as {@code comments}.
+     * @throws SQLException If an error occurs while fetching related entities, or a comment's author has no profile.
+     */
+    public List<EventCommentModel> eventComments(List<EventComment> comments) throws SQLException {
+        var profiles = userProfileFactory.getAllByUserId(comments.stream().map(EventComment::getUserId).toList());
+        var images = imageFactory.getAll(profiles.values().stream().flatMap(profile -> profile.getProfileImageId().stream()).toList());
+
+        // a few users usually write most of the comments, so only map each profile once
+        var profileModels = new HashMap<Integer, UserProfileModel>();
+        for (var profile : profiles.values()) {
+            var imageOpt = profile.getProfileImageId().map(images::get);
+            profileModels.put(profile.getUserId(), new UserProfileModel(profile.getId(), profile.getUserId(), profile.getDisplayName(), profile.getBio(), imageOpt));
+        }
+
+        var models = new ArrayList<EventCommentModel>(comments.size());
+        for (var comment : comments) {
+            var author = profileModels.get(comment.getUserId());
+            if (author == null) throw new SQLException("Failed to get UserProfile");
+            models.add(new EventCommentModel(comment.getId(), comment.getEventId(), author, comment.getContent(), comment.getCreated()));
+        }
+        return models;
+    }
 }
@@ -0,0 +1,129 @@
+package hub.troubleshooters.soundlink.core.auth;
+
+import java.util.Arrays;
+
+/**
+ * A map from community ID to the user's combined {@link Scope} bitmask in that community, stored in primitive
+ * {@code int} arrays so looking a mask up neither boxes the ID nor allocates.
+ *
+ * <p>The masks live in an open-addressing hash table that is replaced, rather than changed, on every write. Reads
+ * take no lock and always see a complete table, which suits a user's memberships: read on every authorization check,
+ * written only when the user joins or leaves a community.</p>
+ */
+public class PermissionMasks {
+
+    /**
+     * Marks an empty slot. Community IDs are generated from 1, so no community has this ID.
+     */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    /**
+     * A hash table, never changed once built. Its length is a power of two at least twice the number of masks, so probing is short.
+     */
+    private record Table(int[] keys, int[] masks, int size) {
+    }
+
+    private volatile Table table = newTable(0);
+
+    /**
+     * Gets the mask of the given community.
+     *
+     * @param communityId The ID of the community.
+     * @return The combined scopes in the community, or 0 if the user isn't a member.
+     */
+    public int get(int communityId) {
+        var current = table;
+        var keys = current.keys();
+        var mask = keys.length - 1;
+        for (int slot = hash(communityId) & mask; ; slot = (slot + 1) & mask) {
+            var key = keys[slot];
+            if (key == communityId) {
+                return current.masks()[slot];
+            }
+            if (key == EMPTY) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Sets the mask of the given community, replacing any mask it already had.
+     *
+     * @param communityId The ID of the community.
+     * @param combinedScopes The combined scopes in the community.
+     */
+    public synchronized void put(int communityId, int combinedScopes) {
+        if (communityId == EMPTY) {
+            throw new IllegalArgumentException("Invalid community ID: " + communityId);
+        }
+        table = rebuild(table, communityId, true, combinedScopes);
+    }
+
+    /**
+     * Removes the mask of the given community, if it has one.
+     *
+     * @param communityId The ID of the community.
+     */
+    public synchronized void remove(int communityId) {
+        table = rebuild(table, communityId, false, 0);
+    }
+
+    /**
+     * Gets the number of communities with a mask.
+     *
+     * @return The number of masks.
+     */
+    public int size() {
+        return table.size();
+    }
+
+    private static Table newTable(int size) {
+        var length = Math.max(8, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1);
+        var keys = new int[length];
+        Arrays.fill(keys, EMPTY);
+        return new Table(keys, new int[length], size);
+    }
+
+    /**
+     * Builds a new table holding every mask of {@code from} except the one for {@code communityId}, which is then
+     * added with {@code combinedScopes} if {@code keep} is set.
+     */
+    private static Table rebuild(Table from, int communityId, boolean keep, int combinedScopes) {
+        var keys = from.keys();
+        var size = keep ? 1 : 0;
+        for (var key : keys) {
+            if (key != EMPTY && key != communityId) {
+                size++;
+            }
+        }
+        var to = newTable(size);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY && keys[slot] != communityId) {
+                insert(to, keys[slot], from.masks()[slot]);
+            }
+        }
+        if (keep) {
+            insert(to, communityId, combinedScopes);
+        }
+        return to;
+    }
+
+    private static void insert(Table table, int communityId, int combinedScopes) {
+        var keys = table.keys();
+        var mask = keys.length - 1;
+        var slot = hash(communityId) & mask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = communityId;
+        table.masks()[slot] = combinedScopes;
+    }
+
+    /**
+     * Spreads sequential IDs across the table, like {@link java.util.HashMap} does with its hashes.
+     */
+    private static int hash(int communityId) {
+        var h = communityId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
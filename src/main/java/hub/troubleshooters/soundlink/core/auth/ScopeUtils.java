@@ -32,6 +32,21 @@ public class ScopeUtils {
         return (combinedScopes & scope.getBitmask()) != 0; // bitwise AND to check if the bit is set
     }
 
+    /**
+     * Checks if a combined scope grants every scope in a required mask, or is a {@link Scope#SUPERADMIN}, which is
+     * granted everything. This is the allocation-free form of authorization: build the required mask once with
+     * {@link #combineScopes(Scope...)} and check it with a bitwise AND.
+     * @param combinedScopes The combined scopes the user has.
+     * @param requiredScopes The combined scopes the user needs, all of which must be present.
+     * @return True if every required scope is present or the user is a superadmin, false otherwise.
+     */
+    public static boolean grantsAll(int combinedScopes, int requiredScopes) {
+        if ((combinedScopes & Scope.SUPERADMIN.getBitmask()) != 0) {
+            return true; // superadmins are authorized for all actions
+        }
+        return (combinedScopes & requiredScopes) == requiredScopes;
+    }
+
     /**
      * Adds a scope to a combined scope.
      * @param combinedScopes The combined scopes to add to.
@@ -1,35 +1,66 @@
 package hub.troubleshooters.soundlink.core.auth;
 
+import hub.troubleshooters.soundlink.data.models.Booking;
 import hub.troubleshooters.soundlink.data.models.Community;
 import hub.troubleshooters.soundlink.data.models.CommunityMember;
 import hub.troubleshooters.soundlink.data.models.User;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents the context of the current user. This context includes the {@link User} model and the current
  * permissions (scopes) of the user across different communities. It also tracks the community memberships
- * the user belongs to.
+ * the user belongs to and the events they have booked.
+ *
+ * <p>The memberships and bookings are indexed by community and event ID, and the services keep them current as the
+ * user joins, leaves, books and cancels, so permission checks for the logged-in user are answered from memory. As
+ * the index holds every membership and booking of the user, a missing entry means the user isn't a member or
+ * hasn't booked.</p>
  */
 public class UserContext {
     private User user;
 
     /**
-     * A list of all community memberships this user belongs to
+     * All community memberships this user belongs to, keyed by community ID
      */
-    private final List<CommunityMember> communityMembers;
+    private final Map<Integer, CommunityMember> communityMembers = new ConcurrentHashMap<>();
 
     /**
-     * Constructs a {@code UserContext} with the given user and list of community memberships.
+     * All bookings this user has made, keyed by event ID
+     */
+    private final Map<Integer, Booking> bookings = new ConcurrentHashMap<>();
+
+    /**
+     * The combined scopes of every membership, keyed by community ID without boxing, for authorization checks
+     */
+    private final PermissionMasks permissionMasks = new PermissionMasks();
+
+    /**
+     * Constructs a {@code UserContext} with the given user and list of community memberships, and no bookings.
      *
      * @param user The {@link User} representing the current user.
      * @param communityUsers A list of {@link CommunityMember} objects representing the communities the user belongs to.
      */
     public UserContext(User user, List<CommunityMember> communityUsers) {
+        this(user, communityUsers, List.of());
+    }
+
+    /**
+     * Constructs a {@code UserContext} with the given user, community memberships and bookings.
+     *
+     * @param user The {@link User} representing the current user.
+     * @param communityUsers A list of {@link CommunityMember} objects representing the communities the user belongs to.
+     * @param bookings A list of {@link Booking} objects representing the events the user has booked.
+     */
+    public UserContext(User user, List<CommunityMember> communityUsers, List<Booking> bookings) {
         this.user = user;
-        this.communityMembers = communityUsers;
+        communityUsers.forEach(this::addCommunityMember);
+        bookings.forEach(this::addBooking);
     }
 
     /**
@@ -40,17 +71,86 @@ public class UserContext {
      *         If the user is not a member of the community, an empty set is returned.
      */
     public Set<Scope> getCurrentScopes(Community community) {
-        var communityUser = communityMembers.stream().filter(c -> c.getCommunityId() == community.getId()).findFirst();
+        var communityUser = getCommunityMember(community.getId());
         return communityUser.map(communityUserModel -> ScopeUtils.deconstructScopes(communityUserModel.getPermission())).orElseGet(HashSet::new);
     }
 
+    /**
+     * Retrieves the user's combined scopes for a community as a bitmask, without allocating.
+     *
+     * @param communityId The ID of the community.
+     * @return The combined scopes of the user's membership, or 0 if the user is not a member of the community.
+     * @see ScopeUtils#grantsAll(int, int)
+     */
+    public int getPermissionMask(int communityId) {
+        return permissionMasks.get(communityId);
+    }
+
     /**
      * Retrieves the list of all community memberships the user belongs to.
      *
      * @return A list of {@link CommunityMember} objects representing the communities the user is a member of.
      */
     public List<CommunityMember> getCommunityMembers() {
-        return communityMembers;
+        return List.copyOf(communityMembers.values());
+    }
+
+    /**
+     * Retrieves the user's membership of a community.
+     *
+     * @param communityId The ID of the community.
+     * @return An {@link Optional} containing the membership, or empty if the user isn't a member.
+     */
+    public Optional<CommunityMember> getCommunityMember(int communityId) {
+        return Optional.ofNullable(communityMembers.get(communityId));
+    }
+
+    /**
+     * Records that the user has joined a community.
+     *
+     * @param communityMember The new membership, which must belong to this user.
+     */
+    public void addCommunityMember(CommunityMember communityMember) {
+        communityMembers.put(communityMember.getCommunityId(), communityMember);
+        permissionMasks.put(communityMember.getCommunityId(), communityMember.getPermission());
+    }
+
+    /**
+     * Records that the user has left a community, or that it was deleted.
+     *
+     * @param communityId The ID of the community.
+     */
+    public void removeCommunityMember(int communityId) {
+        communityMembers.remove(communityId);
+        permissionMasks.remove(communityId);
+    }
+
+    /**
+     * Retrieves the user's booking of an event.
+     *
+     * @param eventId The ID of the event.
+     * @return An {@link Optional} containing the booking, or empty if the user hasn't booked the event.
+     */
+    public Optional<Booking> getBooking(int eventId) {
+        return Optional.ofNullable(bookings.get(eventId));
+    }
+
+    /**
+     * Records that the user has booked an event.
+     *
+     * @param booking The new booking, which must belong to this user.
+     */
+    public void addBooking(Booking booking) {
+        bookings.put(booking.getEventId(), booking);
+    }
+
+    /**
+     * Records that the user has cancelled a booking, or that the event was deleted.
+     *
+     * @param eventId The ID of the event.
+     */
+    public void removeBooking(int eventId) {
+        bookings.remove(eventId);
     }
 
     /**
@@ -5,6 +5,7 @@ import hub.troubleshooters.soundlink.core.auth.UserContext;
 import hub.troubleshooters.soundlink.data.models.Community;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface responsible for managing user identity and authorization within the system.
@@ -27,6 +28,15 @@ public interface IdentityService {
      */
     UserContext getUserContext();
 
+    /**
+     * Retrieves the user context of the given user, if they are the one logged in. Services use it to answer
+     * permission checks for the logged-in user from the context's membership and booking index, without querying.
+     *
+     * @param userId The ID of the user.
+     * @return An {@link Optional} containing the {@link UserContext}, or empty if the given user isn't logged in.
+     */
+    Optional<UserContext> getUserContext(int userId);
+
     /**
      * Gets all communities that the logged-in user is a member of.
      *
@@ -43,4 +53,14 @@ public interface IdentityService {
      * @return {@code true} if the user is authorized for the specified scopes, {@code false} otherwise.
      */
     boolean isAuthorized(Community community, Scope... scopes);
+
+    /**
+     * Checks if the current user is authorized against a precomputed scope mask in the specified community, without
+     * allocating. Build the mask once with {@link hub.troubleshooters.soundlink.core.auth.ScopeUtils#combineScopes}.
+     *
+     * @param communityId The ID of the community to check authorization for.
+     * @param requiredScopes The combined scopes representing the required permissions.
+     * @return {@code true} if the user is authorized for every required scope, {@code false} otherwise.
+     */
+    boolean isAuthorized(int communityId, int requiredScopes);
 }
\ No newline at end of file
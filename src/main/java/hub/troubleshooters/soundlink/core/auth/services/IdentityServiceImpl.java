@@ -2,6 +2,7 @@ package hub.troubleshooters.soundlink.core.auth.services;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.core.auth.Scope;
+import hub.troubleshooters.soundlink.core.auth.ScopeUtils;
 import hub.troubleshooters.soundlink.core.auth.UserContext;
 import hub.troubleshooters.soundlink.data.factories.CommunityFactory;
 import hub.troubleshooters.soundlink.data.models.Community;
@@ -9,6 +10,7 @@ import hub.troubleshooters.soundlink.data.models.CommunityMember;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementation of the {@link IdentityService} interface responsible for managing
@@ -50,6 +52,21 @@ public class IdentityServiceImpl implements IdentityService {
         return userContext;
     }
 
+    /**
+     * Retrieves the user context of the given user, if they are the one logged in.
+     *
+     * @param userId The ID of the user.
+     * @return An {@link Optional} containing the {@link UserContext}, or empty if the given user isn't logged in.
+     */
+    @Override
+    public Optional<UserContext> getUserContext(int userId) {
+        var context = userContext;
+        if (context == null || context.getUser().getId() != userId) {
+            return Optional.empty();
+        }
+        return Optional.of(context);
+    }
+
     /**
      * Checks if the current user is authorized for the given scopes in the specified community.
      * <p>
@@ -62,15 +79,27 @@ public class IdentityServiceImpl implements IdentityService {
      */
     @Override
     public boolean isAuthorized(Community community, Scope... scopes) {
-        if (userContext == null) {
-            return false;
-        }
+        return isAuthorized(community.getId(), ScopeUtils.combineScopes(scopes));
+    }
 
-        // Superadmin override: superadmins are authorized for all actions
-        if (userContext.getCurrentScopes(community).contains(Scope.SUPERADMIN)) {
-            return true;
+    /**
+     * Checks if the current user is authorized against a precomputed scope mask in the specified community, with a
+     * primitive lookup of the user's mask and a bitwise AND.
+     * <p>
+     * If the user has the {@code SUPERADMIN} scope, they are automatically authorized for all actions.
+     * </p>
+     *
+     * @param communityId The ID of the community to check authorization for.
+     * @param requiredScopes The combined scopes representing the required permissions.
+     * @return {@code true} if the user is authorized for every required scope, {@code false} otherwise.
+     */
+    @Override
+    public boolean isAuthorized(int communityId, int requiredScopes) {
+        var context = userContext;
+        if (context == null) {
+            return false;
         }
-        return userContext.getCurrentScopes(community).containsAll(List.of(scopes));
+        return ScopeUtils.grantsAll(context.getPermissionMask(communityId), requiredScopes);
     }
 
     /**
@@ -9,6 +9,7 @@ import hub.troubleshooters.soundlink.core.auth.validation.AuthResult;
 import hub.troubleshooters.soundlink.core.auth.UserContext;
 import hub.troubleshooters.soundlink.core.auth.validation.LoginModelValidator;
 import hub.troubleshooters.soundlink.core.auth.validation.RegisterModelValidator;
+import hub.troubleshooters.soundlink.data.factories.BookingFactory;
 import hub.troubleshooters.soundlink.data.factories.CommunityMemberFactory;
 import hub.troubleshooters.soundlink.data.factories.UserFactory;
 import hub.troubleshooters.soundlink.data.factories.UserProfileFactory;
@@ -24,6 +25,7 @@ public class LoginServiceImpl implements LoginService {
     private final UserFactory userFactory;
     private final UserProfileFactory userProfileFactory;
     private final CommunityMemberFactory communityMemberFactory;
+    private final BookingFactory bookingFactory;
     private final IdentityService identityService;
     private final LoginModelValidator loginModelValidator;
     private final RegisterModelValidator registerModelValidator;
@@ -34,6 +36,7 @@ public class LoginServiceImpl implements LoginService {
      * @param identityService The service responsible for managing user identity.
      * @param userFactory The factory responsible for managing user data.
      * @param communityUserFactory The factory responsible for managing community membership data.
+     * @param bookingFactory The factory responsible for managing event bookings.
      * @param loginModelValidator The validator for login models.
      * @param registerModelValidator The validator for registration models.
      * @param userProfileFactory The factory responsible for managing user profiles.
@@ -43,6 +46,7 @@ public class LoginServiceImpl implements LoginService {
             IdentityService identityService,
             UserFactory userFactory,
             CommunityMemberFactory communityUserFactory,
+            BookingFactory bookingFactory,
             LoginModelValidator loginModelValidator,
             RegisterModelValidator registerModelValidator,
             UserProfileFactory userProfileFactory
@@ -50,6 +54,7 @@ public class LoginServiceImpl implements LoginService {
         this.identityService = identityService;
         this.userFactory = userFactory;
         this.communityMemberFactory = communityUserFactory;
+        this.bookingFactory = bookingFactory;
         this.loginModelValidator = loginModelValidator;
         this.registerModelValidator = registerModelValidator;
         this.userProfileFactory = userProfileFactory;
@@ -81,10 +86,11 @@ public class LoginServiceImpl implements LoginService {
             }
             user.setLastLogin(java.sql.Timestamp.valueOf(java.time.LocalDateTime.now()));
 
-            // get all community memberships for this user
+            // get all community memberships and bookings for this user, so permission checks needn't query them
             var memberships = communityMemberFactory.get(user);
+            var bookings = bookingFactory.get(user);
 
-            identityService.setUserContext(new UserContext(user, memberships));
+            identityService.setUserContext(new UserContext(user, memberships, bookings));
             userFactory.save(user);
             return new AuthResult(); // successful login
         } catch (SQLException e) {
@@ -0,0 +1,11 @@
+package hub.troubleshooters.soundlink.core.communities.models;
+
+/**
+ * Everything the community details screen shows about a community for the user viewing it.
+ *
+ * @param community The community, with its banner image.
+ * @param joined Whether the viewing user is a member of the community.
+ * @param admin Whether the viewing user is an admin of the community.
+ */
+public record CommunityDetailsView(CommunityModel community, boolean joined, boolean admin) {
+}
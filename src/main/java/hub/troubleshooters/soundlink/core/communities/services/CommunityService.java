@@ -1,10 +1,14 @@
 package hub.troubleshooters.soundlink.core.communities.services;
 
+import hub.troubleshooters.soundlink.core.communities.models.CommunityDetailsView;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityPostModel;
 import hub.troubleshooters.soundlink.core.communities.models.CreateCommunityModel;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
 import hub.troubleshooters.soundlink.core.validation.ValidationResult;
 import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
+import hub.troubleshooters.soundlink.data.models.SearchResult;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -33,6 +37,25 @@ public interface CommunityService {
      */
     List<Community> searchCommunities(String searchText, boolean showOnlyPrivate);
 
+    /**
+     * Retrieves one page of communities, newest first.
+     *
+     * @param showOnlyPrivate Whether to only include private communities.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most communities to return.
+     * @return A page of communities, or an empty page if they could not be retrieved.
+     */
+    Page<Community> getCommunities(boolean showOnlyPrivate, PageCursor after, int limit);
+
+    /**
+     * Searches the names, descriptions and genres of communities for the given words, using the full-text index.
+     *
+     * @param searchText The words to search for. Each word matches any word starting with it.
+     * @param limit The most communities to return.
+     * @return The best matching communities, best first, each with a highlighted snippet of the matching text.
+     */
+    List<SearchResult<Community>> fullTextSearchCommunities(String searchText, int limit);
+
     /**
      * Signs a user up for a community.
      *
@@ -51,6 +74,16 @@ public interface CommunityService {
      */
     Optional<CommunityModel> getCommunity(int id);
 
+    /**
+     * Retrieves everything the community details screen shows about a community for the user viewing it.
+     *
+     * @param communityId The ID of the community.
+     * @param userId The ID of the user viewing the community.
+     * @return An {@link Optional} containing the details, or {@code Optional.empty()} if the community doesn't exist.
+     * @throws SQLException If there is an error during the retrieval.
+     */
+    Optional<CommunityDetailsView> getCommunityDetails(int communityId, int userId) throws SQLException;
+
     /**
      * Checks if a user has already joined a specific community.
      *
@@ -99,11 +132,13 @@ public interface CommunityService {
     void deleteCommunity(int communityId, int userId) throws SQLException;
 
     /**
-     * Retrieves a list of posts for a specific community.
+     * Retrieves one page of posts for a specific community, newest first.
      *
      * @param communityId The ID of the community to retrieve posts from.
-     * @return A list of {@link CommunityPostModel} objects representing the posts in the community.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most posts to return.
+     * @return A page of {@link CommunityPostModel} objects representing the posts in the community.
      * @throws SQLException If there is an error during the retrieval process.
      */
-    List<CommunityPostModel> getCommunityPosts(int communityId) throws SQLException;
+    Page<CommunityPostModel> getCommunityPosts(int communityId, PageCursor after, int limit) throws SQLException;
 }
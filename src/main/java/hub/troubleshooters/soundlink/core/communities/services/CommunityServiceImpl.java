@@ -1,9 +1,12 @@
 package hub.troubleshooters.soundlink.core.communities.services;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
+import hub.troubleshooters.soundlink.core.communities.models.CommunityDetailsView;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityPostModel;
 import hub.troubleshooters.soundlink.core.communities.models.CreateCommunityModel;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
+import hub.troubleshooters.soundlink.data.DatabaseConnection;
 import hub.troubleshooters.soundlink.data.factories.CommunityFactory;
 import hub.troubleshooters.soundlink.data.factories.CommunityMemberFactory;
 import hub.troubleshooters.soundlink.data.factories.CommunityPostFactory;
@@ -12,12 +15,13 @@ import hub.troubleshooters.soundlink.data.models.*;
 import hub.troubleshooters.soundlink.core.validation.ValidationError;
 import hub.troubleshooters.soundlink.core.validation.ValidationResult;
 import hub.troubleshooters.soundlink.core.communities.validation.CreateCommunityModelValidator;
+import hub.troubleshooters.soundlink.core.images.ImageRejectedException;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import hub.troubleshooters.soundlink.core.Map;
+import hub.troubleshooters.soundlink.core.concurrent.ReadExecutor;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -47,6 +51,12 @@ public class CommunityServiceImpl implements CommunityService {
 
 	private final Map map;
 
+	private final DatabaseConnection connection;
+
+	private final IdentityService identityService;
+
+	private final ReadExecutor readExecutor;
+
     /**
      * Constructs a new {@code CommunityServiceImpl} with the necessary dependencies.
      *
@@ -57,12 +67,16 @@ public class CommunityServiceImpl implements CommunityService {
      * @param createCommunityModelValidator The validator for community creation models.
      * @param imageUploaderService The service for uploading images.
      * @param map The mapper for converting between models.
+     * @param connection The database connection, used to group multi-step writes into one transaction.
+     * @param identityService The service holding the logged-in user's memberships, used to answer their permission checks.
+     * @param readExecutor The executor running the independent reads behind the community details screen in parallel.
      */
 	@Inject
 	public CommunityServiceImpl(CommunityFactory communityFactory, CommunityPostFactory communityPostFactory,
 								CommunityMemberFactory communityMemberFactory, UserFactory userFactory,
 								CreateCommunityModelValidator createCommunityModelValidator,
-								ImageUploaderService imageUploaderService, Map map) {
+								ImageUploaderService imageUploaderService, Map map, DatabaseConnection connection,
+								IdentityService identityService, ReadExecutor readExecutor) {
 		this.communityFactory = communityFactory;
 		this.communityPostFactory = communityPostFactory;
 		this.communityMemberFactory = communityMemberFactory;
@@ -70,6 +84,9 @@ public class CommunityServiceImpl implements CommunityService {
 		this.createCommunityModelValidator = createCommunityModelValidator;
 		this.imageUploaderService = imageUploaderService;
 		this.map = map;
+		this.connection = connection;
+		this.identityService = identityService;
+		this.readExecutor = readExecutor;
 	}
 
     /**
@@ -88,16 +105,23 @@ public class CommunityServiceImpl implements CommunityService {
 		}
 
         try {
-            if (model.bannerImage() != null) {
-                var img = imageUploaderService.upload(model.bannerImage());
-                Community community = new Community(0, model.name(), model.description(), model.genre(), null, img.getId(), model.isPrivate());
-                communityFactory.create(community);
-                signUpForCommunity(model.id(), community.getId());
-            } else {
-                Community community = new Community(0, model.name(), model.description(), model.genre(), null, null, model.isPrivate());
-                communityFactory.create(community);
-                signUpForCommunity(model.id(), community.getId());
-            }
+            // uploaded outside the transaction, which would otherwise hold the database's write lock while the banner
+            // is decoded and scaled; until the community refers to it, the upload is kept by its grace period
+            var img = model.bannerImage() != null ? imageUploaderService.upload(model.bannerImage()) : null;
+            // insert the community and add its creator as a single commit
+            var member = connection.inTransaction(() -> {
+                if (img != null) {
+                    var community = communityFactory.create(new Community(0, model.name(), model.description(), model.genre(), null, img.getId(), model.isPrivate()));
+                    return join(model.id(), community.getId());
+                } else {
+                    var community = communityFactory.create(new Community(0, model.name(), model.description(), model.genre(), null, null, model.isPrivate()));
+                    return join(model.id(), community.getId());
+                }
+            });
+            // only index the membership once it is committed, as a rolled back community's ID can be reused
+            member.ifPresent(this::indexMembership);
+        } catch (ImageRejectedException e) {
+            return new ValidationResult(new ValidationError(e.getMessage()));
         } catch (SQLException | IOException e) {
             return new ValidationResult(new ValidationError("Internal error: please contact SoundLink Support."));
         }
@@ -131,6 +155,41 @@ public class CommunityServiceImpl implements CommunityService {
         }
     }
 
+    /**
+     * Retrieves one page of communities, newest first.
+     *
+     * @param showOnlyPrivate If {@code true}, only private communities will be included.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most communities to return.
+     * @return A page of {@link Community} objects, or an empty page if they could not be retrieved.
+     */
+    @Override
+    public Page<Community> getCommunities(boolean showOnlyPrivate, PageCursor after, int limit) {
+        try {
+            return communityFactory.getAllCommunities(showOnlyPrivate, after, limit);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving communities", e);
+            return new Page<>(List.of(), null);
+        }
+    }
+
+    /**
+     * Searches the names, descriptions and genres of communities for the given words, using the full-text index.
+     *
+     * @param searchText The words to search for. Each word matches any word starting with it.
+     * @param limit The most communities to return.
+     * @return The best matching communities, best first, each with a highlighted snippet of the matching text.
+     */
+    @Override
+    public List<SearchResult<Community>> fullTextSearchCommunities(String searchText, int limit) {
+        try {
+            return communityFactory.searchText(searchText, limit);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error searching communities", e);
+            return List.of();
+        }
+    }
+
     /**
      * Signs a user up for a community.
      *
@@ -141,18 +200,56 @@ public class CommunityServiceImpl implements CommunityService {
      */
 	@Override
 	public boolean signUpForCommunity(int userId, int communityId) throws SQLException {
+		var member = join(userId, communityId);
+		member.ifPresent(this::indexMembership);
+		return member.isPresent();
+	}
+
+	/**
+	 * Adds a user to a community, unless they are already a member.
+	 *
+	 * @param userId The ID of the user to sign up.
+	 * @param communityId The ID of the community to sign up for.
+	 * @return An {@link Optional} containing the new membership, or empty if the user was already a member.
+	 * @throws SQLException If there is an error during the sign-up process.
+	 */
+	private Optional<CommunityMember> join(int userId, int communityId) throws SQLException {
 		// Check if the user is already signed up for the community
 		Optional<CommunityMember> existingMember = communityMemberFactory.get(communityId, userId);
 
 		if (existingMember.isPresent()) {
-			return false;
+			return Optional.empty();
 		} else {
 			int permission = 6;  // can change this
-			communityMemberFactory.create(communityId, userId, permission);
-			return true;
+			return Optional.of(communityMemberFactory.create(communityId, userId, permission));
 		}
 	}
 
+	/**
+	 * Adds a new membership to its user's context, if they are the one logged in.
+	 *
+	 * @param member The new membership.
+	 */
+	private void indexMembership(CommunityMember member) {
+		identityService.getUserContext(member.getUserId()).ifPresent(context -> context.addCommunityMember(member));
+	}
+
+	/**
+	 * Finds a user's membership of a community, from the logged-in user's context without querying when it is theirs.
+	 *
+	 * @param userId The ID of the user.
+	 * @param communityId The ID of the community.
+	 * @return An {@link Optional} containing the membership, or empty if the user isn't a member.
+	 * @throws SQLException If there is an error during the query process.
+	 */
+	private Optional<CommunityMember> findMember(int userId, int communityId) throws SQLException {
+		var context = identityService.getUserContext(userId);
+		if (context.isPresent()) {
+			return context.get().getCommunityMember(communityId);
+		}
+		return communityMemberFactory.get(communityId, userId);
+	}
+
     /**
      * Cancels a user's membership in a community.
      *
@@ -168,6 +265,7 @@ public class CommunityServiceImpl implements CommunityService {
         if (existingMember.isPresent()) {
             try {
                 communityMemberFactory.delete(communityId, userId);
+                identityService.getUserContext(userId).ifPresent(context -> context.removeCommunityMember(communityId));
                 return true;
             } catch (SQLException e) {
                 LOGGER.log(Level.SEVERE, "Error removing user from community", e);
@@ -198,6 +296,33 @@ public class CommunityServiceImpl implements CommunityService {
 		}
 	}
 
+    /**
+     * Retrieves everything the community details screen shows about a community for the user viewing it. The
+     * community and the user's membership are read in parallel.
+     *
+     * @param communityId The ID of the community.
+     * @param userId The ID of the user viewing the community.
+     * @return An {@link Optional} containing the details, or {@code Optional.empty()} if the community doesn't exist.
+     * @throws SQLException If there is an error during the retrieval.
+     */
+	@Override
+	public Optional<CommunityDetailsView> getCommunityDetails(int communityId, int userId) throws SQLException {
+		Optional<Community> communityOpt;
+		Optional<CommunityMember> member;
+		try (var scope = readExecutor.openScope()) {
+			var communityRead = scope.fork(() -> communityFactory.get(communityId));
+			var memberRead = scope.fork(() -> findMember(userId, communityId));
+			scope.join();
+			communityOpt = communityRead.get();
+			member = memberRead.get();
+		}
+		if (communityOpt.isEmpty()) {
+			return Optional.empty();
+		}
+		var admin = member.map(m -> m.getPermission() == 1).orElse(false);
+		return Optional.of(new CommunityDetailsView(map.community(communityOpt.get()), member.isPresent(), admin));
+	}
+
     /**
      * Checks if a user is a member of a specific community.
      *
@@ -208,7 +333,7 @@ public class CommunityServiceImpl implements CommunityService {
      */
 	@Override
 	public boolean hasUserJoinedIntoCommunity(int userId, int communityId) throws SQLException {
-		Optional<CommunityMember> existingMember = communityMemberFactory.get(communityId, userId);
+		Optional<CommunityMember> existingMember = findMember(userId, communityId);
 		return existingMember.isPresent();
 	}
 
@@ -251,7 +376,7 @@ public class CommunityServiceImpl implements CommunityService {
      */
     @Override
     public Optional<Integer> getUserPermissionLevel(int userId, int communityId) throws SQLException {
-        Optional<CommunityMember> communityMember = communityMemberFactory.get(communityId, userId);
+        Optional<CommunityMember> communityMember = findMember(userId, communityId);
         return communityMember.map(CommunityMember::getPermission).or(() -> Optional.of(0)); // 0 = read-only access
     }
 
@@ -275,6 +400,7 @@ public class CommunityServiceImpl implements CommunityService {
                 throw new SQLException("Community with ID " + communityId + " not found.");
             }
             communityFactory.delete(communityOpt.get().getId());
+            identityService.getUserContext(userId).ifPresent(context -> context.removeCommunityMember(communityId));
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error deleting community", e);
             throw e;
@@ -295,19 +421,17 @@ public class CommunityServiceImpl implements CommunityService {
     }
 
     /**
-     * Retrieves a list of posts for a specific community.
+     * Retrieves one page of posts for a specific community, newest first.
      *
      * @param communityId The ID of the community.
-     * @return A list of {@link CommunityPostModel} objects representing the posts in the community.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most posts to return.
+     * @return A page of {@link CommunityPostModel} objects representing the posts in the community.
      * @throws SQLException If there is an error during the query process.
      */
 	@Override
-	public List<CommunityPostModel> getCommunityPosts(int communityId) throws SQLException {
-		List<CommunityPost> posts = communityPostFactory.getPosts(communityId);
-		List<CommunityPostModel> postModels = new ArrayList<>();
-		for (CommunityPost post : posts) {
-			postModels.add(map.communityPost(post));
-		}
-		return postModels;
+	public Page<CommunityPostModel> getCommunityPosts(int communityId, PageCursor after, int limit) throws SQLException {
+		Page<CommunityPost> posts = communityPostFactory.getPosts(communityId, after, limit);
+		return new Page<>(map.communityPosts(posts.items()), posts.next());
 	}
 }
@@ -0,0 +1,70 @@
+package hub.troubleshooters.soundlink.core.concurrent;
+
+import com.google.inject.Inject;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs independent database reads of a service call in parallel, each on its own virtual thread, so a screen built
+ * from several lookups waits about as long as the slowest of them instead of their sum.
+ *
+ * <p>Reads are grouped in a {@link ReadScope}, which no read outlives: a scope waits for all of its reads, and if one
+ * fails or runs past its timeout the others are cancelled and the error is thrown to the caller.</p>
+ *
+ * <p>Only fan out reads made outside a transaction. A transaction is bound to the thread that started it, so reads
+ * forked from inside one run on other connections and don't see its uncommitted changes.</p>
+ */
+public class ReadExecutor {
+
+    /**
+     * How long a read may run, including any wait for a pooled connection, unless it is forked with its own timeout.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ExecutorService executor;
+    private final Duration defaultTimeout;
+
+    /**
+     * Constructs a {@code ReadExecutor} starting a virtual thread per read, with the default timeout.
+     */
+    @Inject
+    public ReadExecutor() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Constructs a {@code ReadExecutor} starting a virtual thread per read.
+     *
+     * @param defaultTimeout How long a read forked without its own timeout may run.
+     */
+    public ReadExecutor(Duration defaultTimeout) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("soundlink-read-", 0).factory());
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * Opens a scope to fork reads into. Use it in a try-with-resources block, so reads left unjoined by an early
+     * return or exception are cancelled.
+     *
+     * @return A new, empty scope.
+     */
+    public ReadScope openScope() {
+        return new ReadScope(executor, defaultTimeout);
+    }
+
+    /**
+     * Stops taking new reads and waits for those already running to finish, so none is cut off when the application
+     * closes the database.
+     *
+     * @param timeout The longest to wait.
+     * @return True if all the reads finished in time.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean shutdown(Duration timeout) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,192 @@
+package hub.troubleshooters.soundlink.core.concurrent;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A group of reads running in parallel, opened with {@link ReadExecutor#openScope()}. Fork the reads, {@link #join()}
+ * them, then get each result from its {@link Subtask}:
+ *
+ * <pre>{@code
+ * try (var scope = readExecutor.openScope()) {
+ *     var summary = scope.fork(() -> eventFactory.getSummary(eventId, userId));
+ *     var comments = scope.fork(() -> getComments(eventId, null, limit));
+ *     scope.join();
+ *     ... summary.get() ... comments.get() ...
+ * }
+ * }</pre>
+ *
+ * <p>A scope belongs to the thread that opened it, and must only be forked, joined and closed from that thread.</p>
+ */
+public class ReadScope implements AutoCloseable {
+
+    /**
+     * A read to run on its own thread.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface Read<T> {
+        /**
+         * Reads from the database.
+         *
+         * @return the result of the read
+         * @throws SQLException if an error occurs while reading
+         */
+        T read() throws SQLException;
+    }
+
+    /**
+     * The result of a forked read, available once the scope has been joined.
+     *
+     * @param <T> the type of the result
+     */
+    public interface Subtask<T> {
+        /**
+         * Gets the result of the read.
+         *
+         * @return the result
+         * @throws IllegalStateException if the scope hasn't been joined yet
+         */
+        T get();
+    }
+
+    private static class ForkedRead<T> implements Subtask<T> {
+        private final long deadline;
+        private Future<?> future;
+        // written by the read's thread before it queues itself as completed, read after taking it off the queue
+        private volatile T value;
+        private volatile Throwable error;
+        private boolean joined;
+
+        private ForkedRead(long deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public T get() {
+            if (!joined) {
+                throw new IllegalStateException("The scope must be joined before getting the result of a read.");
+            }
+            return value;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final Duration defaultTimeout;
+    private final List<ForkedRead<?>> reads = new ArrayList<>();
+    private final BlockingQueue<ForkedRead<?>> completed = new LinkedBlockingQueue<>();
+
+    ReadScope(ExecutorService executor, Duration defaultTimeout) {
+        this.executor = executor;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * Starts a read on its own virtual thread, with the executor's default timeout.
+     *
+     * @param read The read.
+     * @param <T> The type of the result.
+     * @return The read's result, once the scope has been joined.
+     */
+    public <T> Subtask<T> fork(Read<T> read) {
+        return fork(read, defaultTimeout);
+    }
+
+    /**
+     * Starts a read on its own virtual thread.
+     *
+     * @param read The read.
+     * @param timeout How long the read may run, counted from now, before {@link #join()} gives up on it.
+     * @param <T> The type of the result.
+     * @return The read's result, once the scope has been joined.
+     */
+    public <T> Subtask<T> fork(Read<T> read, Duration timeout) {
+        var forked = new ForkedRead<T>(System.nanoTime() + timeout.toNanos());
+        forked.future = executor.submit(() -> {
+            try {
+                forked.value = read.read();
+            } catch (Throwable e) {
+                forked.error = e;
+            } finally {
+                completed.add(forked);
+            }
+        });
+        reads.add(forked);
+        return forked;
+    }
+
+    /**
+     * Waits for every read forked so far to finish. If one fails or runs past its timeout, the reads still running
+     * are cancelled and its error thrown, without waiting for the rest.
+     *
+     * @throws SQLTimeoutException If a read ran past its timeout.
+     * @throws SQLException If a read failed, or the wait was interrupted.
+     */
+    public void join() throws SQLException {
+        var pending = reads.stream().filter(read -> !read.joined).count();
+        try {
+            while (pending > 0) {
+                var next = completed.poll(nextDeadline() - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    close();
+                    throw new SQLTimeoutException("A parallel read ran past its timeout.");
+                }
+                next.joined = true;
+                pending--;
+                if (next.error != null) {
+                    close();
+                    throw asSQLException(next.error);
+                }
+            }
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for parallel reads.", e);
+        }
+    }
+
+    /**
+     * Cancels every read that hasn't been joined, interrupting it if it is still waiting for a connection.
+     */
+    @Override
+    public void close() {
+        for (var read : reads) {
+            if (!read.joined) {
+                read.future.cancel(true);
+            }
+        }
+    }
+
+    private long nextDeadline() {
+        Long next = null;
+        for (var read : reads) {
+            // compared by difference, as nanoTime values may overflow
+            if (!read.joined && (next == null || read.deadline - next < 0)) {
+                next = read.deadline;
+            }
+        }
+        return next;
+    }
+
+    private static SQLException asSQLException(Throwable error) {
+        if (error instanceof SQLException e) {
+            return e;
+        }
+        if (error instanceof RuntimeException e) {
+            throw e;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        return new SQLException("A parallel read failed.", error);
+    }
+}
@@ -0,0 +1,17 @@
+package hub.troubleshooters.soundlink.core.events.models;
+
+import hub.troubleshooters.soundlink.core.profile.models.UserProfileModel;
+
+import java.util.Date;
+
+/**
+ * Represents a comment on an event, together with the profile of the user who wrote it.
+ *
+ * @param id The unique identifier of the comment.
+ * @param eventId The ID of the event the comment was left on.
+ * @param author The {@link UserProfileModel} of the user who wrote the comment.
+ * @param content The text of the comment.
+ * @param created The date when the comment was created.
+ */
+public record EventCommentModel(int id, int eventId, UserProfileModel author, String content, Date created) {
+}
@@ -0,0 +1,24 @@
+package hub.troubleshooters.soundlink.core.events.models;
+
+import hub.troubleshooters.soundlink.data.models.Page;
+
+/**
+ * Everything the event details screen shows about an event for the user viewing it, built with a fixed number of
+ * queries however many bookings and comments the event has.
+ *
+ * @param event The event, with its community and banner image.
+ * @param bookingCount The number of bookings for the event.
+ * @param viewerDisplayName The viewing user's display name, or {@code null} if they have no profile.
+ * @param booked Whether the viewing user is booked for the event.
+ * @param admin Whether the viewing user is an admin of the event.
+ * @param comments The first page of the event's comments, oldest first.
+ */
+public record EventDetailsView(EventModel event, int bookingCount, String viewerDisplayName, boolean booked, boolean admin, Page<EventCommentModel> comments) {
+
+    /**
+     * @return The number of places left before the event reaches its capacity.
+     */
+    public int placesRemaining() {
+        return event.capacity() - bookingCount;
+    }
+}
@@ -1,6 +1,8 @@
 package hub.troubleshooters.soundlink.core.events.services;
 
 import hub.troubleshooters.soundlink.core.events.models.CreateEventModel;
+import hub.troubleshooters.soundlink.core.events.models.EventCommentModel;
+import hub.troubleshooters.soundlink.core.events.models.EventDetailsView;
 import hub.troubleshooters.soundlink.core.events.models.EventModel;
 import hub.troubleshooters.soundlink.core.events.validation.EventBookingResult;
 import hub.troubleshooters.soundlink.core.validation.ValidationResult;
@@ -8,7 +10,9 @@ import hub.troubleshooters.soundlink.data.models.Event;
 
 import java.util.Optional;
 import hub.troubleshooters.soundlink.core.events.models.SearchEventModel;
-import hub.troubleshooters.soundlink.data.models.EventComment;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
+import hub.troubleshooters.soundlink.data.models.SearchResult;
 
 import java.util.List;
 import java.sql.SQLException;
@@ -35,6 +39,19 @@ public interface EventService {
      */
     Optional<EventModel> getEvent(int id);
 
+    /**
+     * Retrieves everything the event details screen shows for an event: the event itself, its booking count, the
+     * viewing user's booking, admin status and display name, and the first page of comments with their authors. This
+     * takes the same small number of queries however many bookings and comments the event has.
+     *
+     * @param eventId The ID of the event.
+     * @param userId The ID of the user viewing the event.
+     * @param commentLimit The most comments to include.
+     * @return An {@link Optional} containing the {@link EventDetailsView}, or empty if the event doesn't exist.
+     * @throws SQLException If there is an error while retrieving the event details.
+     */
+    Optional<EventDetailsView> getEventDetails(int eventId, int userId, int commentLimit) throws SQLException;
+
     /**
      * Retrieves the events for the communities that the specified user is a member of.
      *
@@ -62,6 +79,16 @@ public interface EventService {
      */
     List<Event> search(SearchEventModel searchModel) throws SQLException;
 
+    /**
+     * Searches the names, descriptions and venues of events for the given words, using the full-text index.
+     *
+     * @param text The words to search for. Each word matches any word starting with it.
+     * @param limit The most events to return.
+     * @return The best matching events, best first, each with a highlighted snippet of the matching text.
+     * @throws SQLException If there is an error during the search.
+     */
+    List<SearchResult<Event>> fullTextSearch(String text, int limit) throws SQLException;
+
     /**
      * Lists the upcoming events for the specified user.
      *
@@ -92,22 +119,26 @@ public interface EventService {
     boolean isBooked(int eventId, int userId) throws SQLException;
 
     /**
-     * Retrieves all events for a specified community.
+     * Retrieves one page of the events for a specified community, most recently created first.
      *
      * @param communityId The ID of the community.
-     * @return A list of {@link EventModel} objects for the community.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most events to return.
+     * @return A page of {@link EventModel} objects for the community.
      * @throws SQLException If there is an error while retrieving the events.
      */
-    List<EventModel> getCommunityEvents(int communityId) throws SQLException;
+    Page<EventModel> getCommunityEvents(int communityId, PageCursor after, int limit) throws SQLException;
 
     /**
-     * Retrieves the comments for a specific event.
+     * Retrieves one page of the comments for a specific event, oldest first.
      *
      * @param eventId The ID of the event.
-     * @return A list of {@link EventComment} objects for the event.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most comments to return.
+     * @return A page of {@link EventCommentModel} objects for the event, each with its author's profile.
      * @throws SQLException If there is an error while retrieving the comments.
      */
-    List<EventComment> getComments(int eventId) throws SQLException;
+    Page<EventCommentModel> getComments(int eventId, PageCursor after, int limit) throws SQLException;
 
     /**
      * Adds a comment to an event by the specified user.
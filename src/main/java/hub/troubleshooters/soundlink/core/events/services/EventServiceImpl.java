@@ -5,25 +5,29 @@ import hub.troubleshooters.soundlink.core.Map;
 import hub.troubleshooters.soundlink.core.auth.Scope;
 import hub.troubleshooters.soundlink.core.auth.ScopeUtils;
 import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
+import hub.troubleshooters.soundlink.core.concurrent.ReadExecutor;
 import hub.troubleshooters.soundlink.core.events.models.CreateEventModel;
+import hub.troubleshooters.soundlink.core.events.models.EventCommentModel;
+import hub.troubleshooters.soundlink.core.events.models.EventDetailsView;
 import hub.troubleshooters.soundlink.core.events.models.EventModel;
 import hub.troubleshooters.soundlink.core.events.validation.BookingAlreadyExistsException;
 import hub.troubleshooters.soundlink.core.events.validation.CreateEventModelValidator;
 import hub.troubleshooters.soundlink.core.events.validation.EventBookingResult;
+import hub.troubleshooters.soundlink.core.events.validation.EventFullException;
+import hub.troubleshooters.soundlink.core.images.ImageRejectedException;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import hub.troubleshooters.soundlink.core.validation.ValidationError;
 import hub.troubleshooters.soundlink.core.validation.ValidationResult;
+import hub.troubleshooters.soundlink.data.DatabaseConnection;
 import hub.troubleshooters.soundlink.data.factories.EventCommentFactory;
 import hub.troubleshooters.soundlink.data.factories.EventFactory;
 import hub.troubleshooters.soundlink.data.factories.BookingFactory;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
 import hub.troubleshooters.soundlink.data.models.*;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 import hub.troubleshooters.soundlink.core.events.models.SearchEventModel;
 
@@ -45,17 +49,22 @@ public class EventServiceImpl implements EventService {
     private final ImageUploaderService imageUploaderService;
     private final Map map;
     private final EventCommentFactory eventCommentFactory;
+    private final DatabaseConnection connection;
+    private final ReadExecutor readExecutor;
 
     /**
      * Constructs a new {@code EventServiceImpl} with the necessary dependencies.
      *
      * @param createEventModelValidator Validator for event creation models.
      * @param eventFactory Factory for managing event data.
-     * @param identityService Service for managing user identity and permissions.
+     * @param identityService Service for managing user identity and permissions, whose context answers the
+     *                        logged-in user's booking checks.
      * @param bookingFactory Factory for managing event bookings.
      * @param imageUploaderService Service for uploading images.
      * @param map Mapper for converting between model and entity objects.
      * @param eventCommentFactory Factory for managing event comments.
+     * @param connection The database connection, used to group multi-step writes into one transaction.
+     * @param readExecutor Executor running the independent reads behind the event details screen in parallel.
      */
     @Inject
     public EventServiceImpl(
@@ -65,8 +74,9 @@ public class EventServiceImpl implements EventService {
             BookingFactory bookingFactory,
             ImageUploaderService imageUploaderService,
             Map map,
-            EventCommentFactory eventCommentFactory
-
+            EventCommentFactory eventCommentFactory,
+            DatabaseConnection connection,
+            ReadExecutor readExecutor
     ) {
         this.createEventModelValidator = createEventModelValidator;
         this.eventFactory = eventFactory;
@@ -75,6 +85,8 @@ public class EventServiceImpl implements EventService {
         this.imageUploaderService = imageUploaderService;
         this.map = map;
         this.eventCommentFactory = eventCommentFactory;
+        this.connection = connection;
+        this.readExecutor = readExecutor;
     }
 
     /**
@@ -94,12 +106,19 @@ public class EventServiceImpl implements EventService {
 
         // save event to DB
         try {
-            if (model.bannerImage() != null) {
-                var img = imageUploaderService.upload(model.bannerImage());
-                eventFactory.create(model.name(), model.description(), model.communityId(), model.location(), model.capacity(), model.scheduledDate(), img.getId());
-            } else {
-                eventFactory.create(model.name(), model.description(), model.communityId(), model.location(), model.capacity(), model.scheduledDate());
-            }
+            // uploaded outside the transaction, which would otherwise hold the database's write lock while the banner
+            // is decoded and scaled; until the event refers to it, the upload is kept by its grace period
+            var img = model.bannerImage() != null ? imageUploaderService.upload(model.bannerImage()) : null;
+            connection.inTransaction(() -> {
+                if (img != null) {
+                    eventFactory.create(model.name(), model.description(), model.communityId(), model.location(), model.capacity(), model.scheduledDate(), img.getId());
+                } else {
+                    eventFactory.create(model.name(), model.description(), model.communityId(), model.location(), model.capacity(), model.scheduledDate());
+                }
+                return null;
+            });
+        } catch (ImageRejectedException e) {
+            return new ValidationResult(new ValidationError(e.getMessage()));
         } catch (SQLException | IOException e) {
             return new ValidationResult(new ValidationError("Internal error: please contact SoundLink Support."));
         }
@@ -125,6 +144,39 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    /**
+     * Retrieves everything the event details screen shows for an event. The event, its booking count and the viewing
+     * user's booking and display name come from one query, the event's community and banner from one each, and the
+     * first page of comments, their authors' profiles and profile images from one each. The event and the comments
+     * are read in parallel, so the screen waits for the slower of the two rather than both.
+     *
+     * @param eventId The ID of the event.
+     * @param userId The ID of the user viewing the event.
+     * @param commentLimit The most comments to include.
+     * @return An {@link Optional} containing the {@link EventDetailsView}, or empty if the event doesn't exist.
+     * @throws SQLException If there is an error while retrieving the event details.
+     */
+    @Override
+    public Optional<EventDetailsView> getEventDetails(int eventId, int userId, int commentLimit) throws SQLException {
+        Optional<EventSummary> summaryOpt;
+        Page<EventCommentModel> comments;
+        try (var scope = readExecutor.openScope()) {
+            var summaryRead = scope.fork(() -> eventFactory.getSummary(eventId, userId));
+            var commentsRead = scope.fork(() -> getComments(eventId, null, commentLimit));
+            scope.join();
+            summaryOpt = summaryRead.get();
+            comments = commentsRead.get();
+        }
+        if (summaryOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        var summary = summaryOpt.get();
+        var event = map.event(summary.event());
+        var booked = summary.viewerPermission().isPresent();
+        var admin = summary.viewerPermission().map(level -> level == 1).orElse(false);
+        return Optional.of(new EventDetailsView(event, summary.bookingCount(), summary.viewerDisplayName(), booked, admin, comments));
+    }
+
     /**
      * Retrieves events for the communities that the specified user is a member of.
      *
@@ -157,24 +209,20 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public List<Event> search(SearchEventModel searchModel) throws SQLException {
+        return eventFactory.search(searchModel);
+    }
 
-        List<Event> allEvents = eventFactory.getAllEvents();
-
-        return allEvents.stream()
-                .filter(event -> {
-                    var text = searchModel.textSearch().toLowerCase();
-                    return (
-                            event.getName().toLowerCase().contains(text) ||
-                            event.getDescription().toLowerCase().contains(text) ||
-                            event.getVenue().toLowerCase().contains(text)
-                    ) &&
-
-                            (searchModel.fromDate() == null || !event.getScheduled().before(searchModel.fromDate())) &&
-                            (searchModel.toDate() == null || !event.getScheduled().after(searchModel.toDate())) &&
-                            (searchModel.capacity() == 0 || event.getCapacity() == searchModel.capacity()) &&
-                            (searchModel.communityId() == 0 || event.getCommunityId() == searchModel.communityId());
-                })
-                .collect(Collectors.toList());
+    /**
+     * Searches the names, descriptions and venues of events for the given words, using the full-text index.
+     *
+     * @param text The words to search for. Each word matches any word starting with it.
+     * @param limit The most events to return.
+     * @return The best matching events, best first, each with a highlighted snippet of the matching text.
+     * @throws SQLException If there is an error during the search.
+     */
+    @Override
+    public List<SearchResult<Event>> fullTextSearch(String text, int limit) throws SQLException {
+        return eventFactory.searchText(text, limit);
     }
 
     /**
@@ -197,7 +245,9 @@ public class EventServiceImpl implements EventService {
     }
 
     /**
-     * Books an event for a user, ensuring that the user is not already booked for the event.
+     * Books an event for a user, ensuring that the user is not already booked for the event and that the event has a
+     * place left. The capacity check and the booking are a single statement, so an event can't be overbooked however
+     * many users book its last places at once.
      *
      * @param eventId The ID of the event to book.
      * @param userId The ID of the user booking the event.
@@ -206,13 +256,22 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public EventBookingResult bookEvent(int eventId, int userId) throws SQLException {
-        if (isBooked(eventId, userId)) {
-            return new EventBookingResult(new BookingAlreadyExistsException(eventId, userId));
-        }
+        var result = connection.inTransaction(() -> {
+            var booking = bookingFactory.createIfAvailable(eventId, userId, ScopeUtils.combineScopes(Scope.EVENT_READ));
+            if (booking.isPresent()) {
+                return new EventBookingResult(booking.get());
+            }
 
-        bookingFactory.create(eventId, userId, ScopeUtils.combineScopes(Scope.EVENT_READ));
-        var booking = bookingFactory.get(eventId, userId).get();  // unwrap should never fail since we've just inserted the record.
-        return new EventBookingResult(booking);
+            // nothing was inserted, so work out why
+            if (bookingFactory.get(eventId, userId).isPresent()) {
+                return new EventBookingResult(new BookingAlreadyExistsException(eventId, userId));
+            }
+            return new EventBookingResult(new EventFullException(eventId));
+        });
+        if (result.isSuccess()) {
+            identityService.getUserContext(userId).ifPresent(context -> context.addBooking(result.getResult()));
+        }
+        return result;
     }
 
     /**
@@ -225,35 +284,55 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public boolean isBooked(int eventId, int userId) throws SQLException {
-       var booking = bookingFactory.get(eventId, userId);
+       var booking = findBooking(eventId, userId);
        return booking.isPresent();
     }
 
     /**
-     * Retrieves a list of events for a specific community.
+     * Finds a user's booking of an event, from the logged-in user's context without querying when it is theirs.
+     *
+     * @param eventId The ID of the event.
+     * @param userId The ID of the user.
+     * @return An {@link Optional} containing the booking, or empty if the user hasn't booked the event.
+     * @throws SQLException If there is an error during the query.
+     */
+    private Optional<Booking> findBooking(int eventId, int userId) throws SQLException {
+        var context = identityService.getUserContext(userId);
+        if (context.isPresent()) {
+            return context.get().getBooking(eventId);
+        }
+        return bookingFactory.get(eventId, userId);
+    }
+
+    /**
+     * Retrieves one page of the events for a specific community, most recently created first.
      *
      * @param communityId The ID of the community.
-     * @return A list of {@link EventModel} objects representing the events in the specified community.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most events to return.
+     * @return A page of {@link EventModel} objects representing the events in the specified community.
      * @throws SQLException If there is an error while retrieving the events.
      */
     @Override
-    public List<EventModel> getCommunityEvents(int communityId) throws SQLException {
-        List<Event> events = eventFactory.findCommunityEvents(communityId);
-        List<EventModel> eventModels = new ArrayList<>();
-        for (Event event : events) eventModels.add(map.event(event));
-        return eventModels;
+    public Page<EventModel> getCommunityEvents(int communityId, PageCursor after, int limit) throws SQLException {
+        Page<Event> events = eventFactory.findCommunityEvents(communityId, after, limit);
+        return new Page<>(map.events(events.items()), events.next());
     }
 
     /**
-     * Retrieves the comments associated with a specific event.
+     * Retrieves one page of the comments associated with a specific event, oldest first.
      *
      * @param eventId The ID of the event.
-     * @return A list of {@link EventComment} objects representing the comments for the event.
+     * @param after The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit The most comments to return.
+     * @return A page of {@link EventCommentModel} objects representing the comments for the event, each with its
+     *         author's profile.
      * @throws SQLException If there is an error while retrieving the comments.
      */
     @Override
-    public List<EventComment> getComments(int eventId) throws SQLException {
-        return eventCommentFactory.getByEventId(eventId);
+    public Page<EventCommentModel> getComments(int eventId, PageCursor after, int limit) throws SQLException {
+        Page<EventComment> comments = eventCommentFactory.getByEventId(eventId, after, limit);
+        return new Page<>(map.eventComments(comments.items()), comments.next());
     }
 
     /**
@@ -284,6 +363,7 @@ public class EventServiceImpl implements EventService {
         if (existingBooking.isPresent()) {
             try {
                 bookingFactory.delete(userId, eventId);
+                identityService.getUserContext(userId).ifPresent(context -> context.removeBooking(eventId));
                 return true;
             } catch (SQLException e) {
                 throw new SQLException("Error removing user from the booked Event.", e);
@@ -334,7 +414,7 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public Optional<Integer> getUserPermissionLevel(int userId, int eventId) throws SQLException {
-        Optional<Booking> booking = bookingFactory.get(eventId, userId);
+        Optional<Booking> booking = findBooking(eventId, userId);
         return booking.map(Booking::getPermission).or(() -> Optional.of(0)); // 0 is ready-only
     }
 
@@ -372,6 +452,7 @@ public class EventServiceImpl implements EventService {
                 throw new SQLException("Event with ID " + eventId + " not found.");
             }
             eventFactory.delete(eventOpt.get());
+            identityService.getUserContext(userId).ifPresent(context -> context.removeBooking(eventId));
         } catch (SQLException e) {
             throw e;
         }
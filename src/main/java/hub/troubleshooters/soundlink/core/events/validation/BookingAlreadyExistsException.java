@@ -3,7 +3,7 @@ package hub.troubleshooters.soundlink.core.events.validation;
 /**
  * Exception thrown when a user attempts to book into an event they are already booked into.
  */
-public class BookingAlreadyExistsException extends RuntimeException {
+public class BookingAlreadyExistsException extends EventBookingException {
 
     /**
      * Constructs a new {@code BookingAlreadyExistsException} with a message indicating that the user
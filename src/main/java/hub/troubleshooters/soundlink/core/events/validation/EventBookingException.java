@@ -0,0 +1,16 @@
+package hub.troubleshooters.soundlink.core.events.validation;
+
+/**
+ * Base class of the reasons a user can't be booked into an event, as returned in an {@link EventBookingResult}.
+ */
+public abstract class EventBookingException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code EventBookingException} with the given message.
+     *
+     * @param message The reason the booking failed.
+     */
+    protected EventBookingException(String message) {
+        super(message);
+    }
+}
@@ -7,14 +7,16 @@ import hub.troubleshooters.soundlink.data.models.Booking;
  * Represents the result of an event booking operation.
  *
  * <p>This class extends the {@link CoreResult} class and provides the result of booking an event.
- * It can either contain a successful {@link Booking} or a {@link BookingAlreadyExistsException}
- * in case the booking already exists.</p>
+ * It can either contain a successful {@link Booking} or an {@link EventBookingException} saying why the user
+ * couldn't be booked: a {@link BookingAlreadyExistsException} if the booking already exists, or an
+ * {@link EventFullException} if the event has no places left.</p>
  *
  * @see CoreResult
  * @see Booking
  * @see BookingAlreadyExistsException
+ * @see EventFullException
  */
-public class EventBookingResult extends CoreResult<Booking, BookingAlreadyExistsException> {
+public class EventBookingResult extends CoreResult<Booking, EventBookingException> {
 
     /**
      * Constructs an {@link EventBookingResult} representing a successful event booking.
@@ -26,11 +28,11 @@ public class EventBookingResult extends CoreResult<Booking, BookingAlreadyExists
     }
 
     /**
-     * Constructs an {@link EventBookingResult} representing a failed event booking due to an existing booking.
+     * Constructs an {@link EventBookingResult} representing a failed event booking.
      *
-     * @param error The exception indicating that the booking already exists.
+     * @param error The exception indicating why the user couldn't be booked.
      */
-    public EventBookingResult(BookingAlreadyExistsException error) {
+    public EventBookingResult(EventBookingException error) {
         super(error);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package hub.troubleshooters.soundlink.core.events.validation;
+
+/**
+ * Exception thrown when a user attempts to book into an event that has no places left.
+ */
+public class EventFullException extends EventBookingException {
+
+    /**
+     * Constructs a new {@code EventFullException} with a message indicating that the specified event is full.
+     *
+     * @param eventId The ID of the event the user is attempting to book into.
+     */
+    public EventFullException(int eventId) {
+        super("Event id " + eventId + " has no places left");
+    }
+}
@@ -0,0 +1,51 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import javafx.scene.image.Image;
+
+/**
+ * Shares decoded images between every card and page that shows them, so an image is read from disk and decoded once
+ * per {@link ImageTier} rather than each time it is shown.
+ *
+ * <p>The cache holds images up to a total size in pixel bytes, and evicts the least recently used ones beyond it.</p>
+ */
+public interface ImageCache {
+
+    /**
+     * Gets the image at the given URL, decoded at the given tier. Images not already cached are loaded in the
+     * background, and show once they have been decoded.
+     *
+     * @param url The full protocol path of the image, from {@link ImageUploaderService#getFullProtocolPath}.
+     * @param tier The size to decode the image at.
+     * @return The decoded image, which may still be loading.
+     */
+    Image get(String url, ImageTier tier);
+
+    /**
+     * Removes the image at the given URL from the cache at every tier, so it is read from disk again the next time
+     * it is shown. Called when the file is deleted.
+     *
+     * @param url The full protocol path of the image.
+     */
+    void invalidate(String url);
+
+    /**
+     * Gets the number of times an image was found in the cache.
+     *
+     * @return The number of hits.
+     */
+    long getHitCount();
+
+    /**
+     * Gets the number of times an image had to be decoded.
+     *
+     * @return The number of misses.
+     */
+    long getMissCount();
+
+    /**
+     * Gets the total size of the images in the cache.
+     *
+     * @return The size in pixel bytes.
+     */
+    long getSizeInBytes();
+}
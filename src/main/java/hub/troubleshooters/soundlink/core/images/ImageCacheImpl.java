@@ -0,0 +1,129 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import com.google.inject.Inject;
+import javafx.scene.image.Image;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Implementation of the {@link ImageCache} interface. Images that fail to load, such as those whose file is missing,
+ * are dropped as soon as they fail, so the next request tries again.
+ */
+public class ImageCacheImpl implements ImageCache {
+
+    /**
+     * Room for a few hundred cards, or a few dozen banners.
+     */
+    static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private record Key(String url, ImageTier tier) {
+    }
+
+    private final long maxBytes;
+    private final BiFunction<String, ImageTier, Image> decoder;
+    // in access order, so the first entry is the least recently used
+    private final LinkedHashMap<Key, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs the {@code ImageCache}, decoding images with JavaFX's background loader.
+     */
+    @Inject
+    public ImageCacheImpl() {
+        this(DEFAULT_MAX_BYTES, ImageCacheImpl::decode);
+    }
+
+    /**
+     * Constructs the {@code ImageCache} with the given size and decoder, so tests can run without the JavaFX toolkit.
+     * @param maxBytes The most pixel bytes to hold before evicting images.
+     * @param decoder Decodes the image at a URL at the given tier.
+     */
+    ImageCacheImpl(long maxBytes, BiFunction<String, ImageTier, Image> decoder) {
+        this.maxBytes = maxBytes;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public synchronized Image get(String url, ImageTier tier) {
+        var key = new Key(url, tier);
+        var image = images.get(key);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+
+        misses++;
+        image = decoder.apply(url, tier);
+        var error = image.errorProperty();
+        if (error.get()) {
+            // failed straight away, e.g. an invalid URL
+            return image;
+        }
+        images.put(key, image);
+        sizeInBytes += tier.getMaxBytes();
+        var loaded = image;
+        // background loads fail later, once the file has been read
+        error.addListener((observable, wasError, isError) -> {
+            if (isError) {
+                remove(key, loaded);
+            }
+        });
+        evict();
+        return image;
+    }
+
+    /**
+     * Removes an image that failed to load, unless it has already been replaced.
+     */
+    private synchronized void remove(Key key, Image image) {
+        if (images.remove(key, image)) {
+            sizeInBytes -= key.tier().getMaxBytes();
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(String url) {
+        for (Iterator<Key> it = images.keySet().iterator(); it.hasNext(); ) {
+            var key = it.next();
+            if (key.url().equals(url)) {
+                it.remove();
+                sizeInBytes -= key.tier().getMaxBytes();
+            }
+        }
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, Image>> it = images.entrySet().iterator();
+        // always keep the image just added, even if it alone is over the limit
+        while (sizeInBytes > maxBytes && images.size() > 1) {
+            var eldest = it.next();
+            it.remove();
+            sizeInBytes -= eldest.getKey().tier().getMaxBytes();
+        }
+    }
+
+    private static Image decode(String url, ImageTier tier) {
+        // the loading happens on JavaFX's own background thread; views show the image when it's ready
+        return new Image(url, tier.getWidth(), tier.getHeight(), tier.isPreserveRatio(), true, true);
+    }
+}
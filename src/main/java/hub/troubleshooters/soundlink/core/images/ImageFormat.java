@@ -0,0 +1,51 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * The image formats that can be uploaded, recognised by the magic bytes their files start with rather than by their
+ * names.
+ */
+public enum ImageFormat {
+    PNG(".png", new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' }),
+    JPEG(".jpg", new byte[] { (byte) 0xff, (byte) 0xd8, (byte) 0xff });
+
+    /**
+     * The most bytes needed to recognise a format.
+     */
+    static final int HEADER_LENGTH = 8;
+
+    private final String extension;
+    private final byte[] magic;
+
+    ImageFormat(String extension, byte[] magic) {
+        this.extension = extension;
+        this.magic = magic;
+    }
+
+    /**
+     * Gets the extension files of this format are stored with.
+     *
+     * @return The extension, including its dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Recognises the format of a file from its first bytes.
+     *
+     * @param header The start of the file, between its position and limit.
+     * @return The format, or an empty {@code Optional} if the file isn't an image that can be uploaded.
+     */
+    public static Optional<ImageFormat> sniff(ByteBuffer header) {
+        for (var format : values()) {
+            if (header.remaining() >= format.magic.length
+                    && header.slice(header.position(), format.magic.length).equals(ByteBuffer.wrap(format.magic))) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
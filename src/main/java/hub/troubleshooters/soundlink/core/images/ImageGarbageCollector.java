@@ -0,0 +1,79 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deletes the images no profile, community or event shows any more, along with their files.
+ *
+ * <p>Runs once each time the application starts. An image is only deleted once it has gone a day without being
+ * uploaded, so an image uploaded for something that hasn't been saved yet is left alone. Images stored before they
+ * were named by their content can share a file, which is kept until the last image using it is deleted.</p>
+ */
+public class ImageGarbageCollector {
+
+    private static final Logger LOGGER = Logger.getLogger(ImageGarbageCollector.class.getName());
+
+    /**
+     * How long an unreferenced image is kept after it was last uploaded.
+     */
+    static final Duration GRACE_PERIOD = Duration.ofDays(1);
+
+    private final ImageFactory imageFactory;
+    private final ImageUploaderService imageUploaderService;
+    private final ImageCache imageCache;
+
+    /**
+     * Constructs an {@code ImageGarbageCollector}.
+     *
+     * @param imageFactory The factory for finding and deleting the unreferenced images.
+     * @param imageUploaderService The service that stores the images' files.
+     * @param imageCache The cache of decoded images, cleared of the deleted images.
+     */
+    @Inject
+    public ImageGarbageCollector(ImageFactory imageFactory, ImageUploaderService imageUploaderService, ImageCache imageCache) {
+        this.imageFactory = imageFactory;
+        this.imageUploaderService = imageUploaderService;
+        this.imageCache = imageCache;
+    }
+
+    /**
+     * Deletes every unreferenced image past the grace period, and its files.
+     *
+     * @return The number of images deleted.
+     * @throws SQLException If the images can't be read or deleted.
+     */
+    public int sweep() throws SQLException {
+        var deleted = 0;
+        for (var image : imageFactory.getUnreferenced(GRACE_PERIOD)) {
+            // checked again as it's deleted, in case it was used or uploaded again since
+            if (!imageFactory.deleteIfUnreferenced(image.getId(), GRACE_PERIOD)) {
+                continue;
+            }
+            deleted++;
+
+            if (imageFactory.get(image.getFileName()).isPresent()) {
+                continue;
+            }
+            try {
+                imageUploaderService.deleteFiles(image);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to delete the files of image " + image.getId() + " (" + image.getFileName() + ")", e);
+            }
+            imageCache.invalidate(imageUploaderService.getFullProtocolPath(image));
+            for (var tier : ImageTier.values()) {
+                imageCache.invalidate(imageUploaderService.getFullProtocolPath(image, tier));
+            }
+        }
+        if (deleted > 0) {
+            LOGGER.log(Level.INFO, "Deleted " + deleted + " unreferenced images");
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,30 @@
+package hub.troubleshooters.soundlink.core.images;
+
+/**
+ * Limits on the images {@link ImageUploaderService#upload} accepts.
+ *
+ * @param maxBytes The largest file accepted, in bytes.
+ * @param maxWidth The widest image accepted, in pixels.
+ * @param maxHeight The tallest image accepted, in pixels.
+ */
+public record ImageIngestConfig(long maxBytes, int maxWidth, int maxHeight) {
+
+    /**
+     * Validates the limits.
+     */
+    public ImageIngestConfig {
+        if (maxBytes < 1 || maxWidth < 1 || maxHeight < 1) {
+            throw new IllegalArgumentException("Image limits must be at least 1");
+        }
+    }
+
+    /**
+     * The limits used by the application unless configured otherwise.
+     *
+     * @return A 20 MiB file limit, and an 8192x8192 pixel limit, which fits the photos of a 50 megapixel phone
+     *         camera and keeps a decoded image under 256 MiB.
+     */
+    public static ImageIngestConfig defaults() {
+        return new ImageIngestConfig(20L * 1024 * 1024, 8192, 8192);
+    }
+}
@@ -0,0 +1,138 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import com.google.inject.Inject;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Copies an uploaded file into the image directory, checking it is an image within the {@link ImageIngestConfig}'s
+ * limits and hashing its content on the way.
+ *
+ * <p>The file's size and magic bytes are checked before anything is copied. The copy itself is made with
+ * {@link FileChannel#transferTo}, which lets the operating system move the bytes without them passing through the
+ * JVM. It then reads back from the page cache to hash the copy through one small direct buffer, so a large upload is
+ * never held in memory. Only the image's header is decoded, to check its dimensions.</p>
+ */
+public class ImageIngester {
+
+    /**
+     * The size of the buffer the copy is hashed through.
+     */
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final ImageIngestConfig config;
+
+    /**
+     * The result of ingesting a file.
+     *
+     * @param hash The hex-encoded SHA-256 hash of the file's content.
+     * @param format The format of the image.
+     */
+    public record Ingested(String hash, ImageFormat format) {
+    }
+
+    /**
+     * Constructs an {@code ImageIngester}.
+     *
+     * @param config The limits on the images accepted.
+     */
+    @Inject
+    public ImageIngester(ImageIngestConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Copies the source file to the target, which must already exist and is overwritten.
+     *
+     * @param source The uploaded file.
+     * @param target Where to copy it, usually a temporary file next to where it will be stored.
+     * @return The hash and format of the copy.
+     * @throws ImageRejectedException If the file isn't a PNG or JPEG, or is over the size or dimension limits.
+     * @throws IOException If the file can't be read or copied.
+     */
+    public Ingested ingest(Path source, Path target) throws IOException {
+        ImageFormat format;
+        try (var in = FileChannel.open(source, StandardOpenOption.READ);
+             var out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // the size is taken once, so a file still being written can't grow past the limit while it's copied
+            long size = in.size();
+            if (size > config.maxBytes()) {
+                throw new ImageRejectedException("Image is too large: it must be at most " + config.maxBytes() / (1024 * 1024) + " MB.");
+            }
+
+            var header = ByteBuffer.allocate(ImageFormat.HEADER_LENGTH);
+            in.read(header, 0);
+            format = ImageFormat.sniff(header.flip())
+                    .orElseThrow(() -> new ImageRejectedException("Image must be a PNG or JPEG file."));
+
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    // the file was truncated while it was copied
+                    throw new IOException("Upload ended early: " + source);
+                }
+                position += transferred;
+            }
+        }
+
+        checkDimensions(target);
+        return new Ingested(hash(target), format);
+    }
+
+    /**
+     * Checks the image's dimensions, read from its header without decoding its pixels.
+     */
+    private void checkDimensions(Path file) throws IOException {
+        try (var input = ImageIO.createImageInputStream(file.toFile())) {
+            var readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new ImageRejectedException("Image must be a PNG or JPEG file.");
+            }
+            var reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width;
+                int height;
+                try {
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } catch (IOException e) {
+                    throw new ImageRejectedException("Image is damaged and can't be read.");
+                }
+                if (width > config.maxWidth() || height > config.maxHeight()) {
+                    throw new ImageRejectedException("Image is too large: it must be at most " + config.maxWidth() + "x"
+                            + config.maxHeight() + " pixels, but is " + width + "x" + height + ".");
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,19 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an uploaded file isn't an image the application accepts, because of its format, its file size or its
+ * dimensions. The message explains why, and can be shown to the user.
+ */
+public class ImageRejectedException extends IOException {
+
+    /**
+     * Constructs an {@code ImageRejectedException}.
+     *
+     * @param message Why the image was rejected, readable by the user.
+     */
+    public ImageRejectedException(String message) {
+        super(message);
+    }
+}
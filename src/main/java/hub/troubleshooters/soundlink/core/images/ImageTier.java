@@ -0,0 +1,66 @@
+package hub.troubleshooters.soundlink.core.images;
+
+/**
+ * The sizes images are decoded at for display. An image is decoded once per tier it is shown at, instead of at its
+ * full size every time it is shown.
+ */
+public enum ImageTier {
+    /**
+     * Profile pictures, shown at up to 120x120.
+     */
+    AVATAR(120, 120, false),
+    /**
+     * Banners on event and community cards, shown at 250x100.
+     */
+    CARD(250, 100, false),
+    /**
+     * Banners on the event and community details pages, scaled to fit 500 pixels across.
+     */
+    BANNER(500, 500, true);
+
+    private final int width;
+    private final int height;
+    private final boolean preserveRatio;
+
+    ImageTier(int width, int height, boolean preserveRatio) {
+        this.width = width;
+        this.height = height;
+        this.preserveRatio = preserveRatio;
+    }
+
+    /**
+     * Gets the width images are decoded at, or fit within if the ratio is preserved.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height images are decoded at, or fit within if the ratio is preserved.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Checks if images keep their aspect ratio when scaled to this tier.
+     *
+     * @return True if the ratio is preserved.
+     */
+    public boolean isPreserveRatio() {
+        return preserveRatio;
+    }
+
+    /**
+     * Gets the most memory a decoded image at this tier can take, at four bytes per pixel.
+     *
+     * @return The size in bytes.
+     */
+    public long getMaxBytes() {
+        return (long) width * height * 4;
+    }
+}
@@ -17,10 +17,14 @@ public interface ImageUploaderService {
 
     /**
      * Uploads an image file to the designated image storage directory and creates a corresponding
-     * database entry for the image.
+     * database entry for the image, or returns the image already stored with the same content.
+     *
+     * <p>Writing the image's downscaled copies decodes it, which can take a while for a large image, so don't call this
+     * inside a transaction: its write lock would be held the whole time, stalling every other writer.</p>
      *
      * @param file The image file to be uploaded.
      * @return The uploaded image's metadata.
+     * @throws ImageRejectedException If the file isn't an image the application accepts.
      * @throws IOException If an error occurs during file operations.
      * @throws SQLException If an error occurs during database operations.
      */
@@ -38,6 +42,17 @@ public interface ImageUploaderService {
      */
     File getSampleBannerImageFile(int id) throws InvalidPathException;
 
+    /**
+     * Retrieves a sample banner image file for a given community ID, scaled down to the given tier if its copy has
+     * been written.
+     *
+     * @param id The community ID used to select the sample image.
+     * @param tier The size the image is shown at.
+     * @return The sample banner image file, or its copy for the tier.
+     * @throws InvalidPathException If the file path is invalid.
+     */
+    File getSampleBannerImageFile(int id, ImageTier tier) throws InvalidPathException;
+
     /**
      * Retrieves the default profile image file.
      *
@@ -60,4 +75,38 @@ public interface ImageUploaderService {
      * @return The full protocol path as a string.
      */
     String getFullProtocolPath(Image img);
+
+    /**
+     * Generates a full file protocol path (e.g., "file:///") for the provided image's downscaled copy at the given
+     * tier, falling back to the original if the copy hasn't been written.
+     *
+     * @param img The image for which the full protocol path is generated.
+     * @param tier The size the image is shown at.
+     * @return The full protocol path as a string.
+     */
+    String getFullProtocolPath(Image img, ImageTier tier);
+
+    /**
+     * Writes the downscaled copies of a stored image, one for each {@link ImageTier}, and records them in the database.
+     *
+     * @param image The image to write the copies of.
+     * @throws IOException If the image can't be decoded, or a copy can't be written.
+     * @throws SQLException If the copies can't be recorded.
+     */
+    void generateVariants(Image image) throws IOException, SQLException;
+
+    /**
+     * Deletes the file of a stored image and its downscaled copies, once nothing references the image.
+     *
+     * @param image The image to delete the files of.
+     * @throws IOException If a file can't be deleted.
+     */
+    void deleteFiles(Image image) throws IOException;
+
+    /**
+     * Writes the downscaled copies of any sample banner image that doesn't have them yet.
+     *
+     * @throws IOException If a sample banner can't be decoded, or a copy can't be written.
+     */
+    void generateSampleBannerVariants() throws IOException;
 }
\ No newline at end of file
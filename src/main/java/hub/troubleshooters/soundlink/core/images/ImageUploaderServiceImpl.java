@@ -6,36 +6,54 @@ import hub.troubleshooters.soundlink.data.models.Image;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Service implementation for uploading and retrieving images within the system.
  *
  * <p>This service manages image uploads, stores them in a local directory, and provides methods for retrieving
- * sample images and their corresponding file paths.</p>
+ * sample images and their corresponding file paths. Each uploaded image is stored with downscaled copies for every
+ * {@link ImageTier}, which are shown in place of the original wherever they exist.</p>
+ *
+ * <p>Uploaded images are stored under the SHA-256 hash of their content, in a subdirectory named after the hash's
+ * first two characters so no directory grows too large. Uploading the same content again reuses the stored image, and
+ * moves an identical copy over its file, so its path always refers to the same picture. Uploads are checked and copied by
+ * an {@link ImageIngester}, which rejects files that aren't images or are over its limits.</p>
  */
 public class ImageUploaderServiceImpl implements ImageUploaderService {
+    private static final Logger LOGGER = Logger.getLogger(ImageUploaderServiceImpl.class.getName());
+
     private final ImageFactory imageFactory;
+    private final ImageVariantGenerator variantGenerator;
+    private final ImageIngester ingester;
     private final String imageDirectory = System.getProperty("user.dir") + "/app_data/images/";  // images are stored in app_data/images
     private final String sampleBannerImageDirectory = System.getProperty("user.dir") + "/app_data/default-banner-images/";  // images are stored in app_data/default-banner-images
     private final String sampleProfileImageDirectory = System.getProperty("user.dir") + "/app_data/default-profile-images/";  // images are stored in app_data/default-banner-images
+    private final String sampleBannerVariantDirectory = imageDirectory + "samples/";  // copies of the sample banners are generated, so they're stored with the uploads
 
     /**
      * Constructs an ImageUploaderServiceImpl with an {@link ImageFactory}.
      * It ensures that the image storage directory exists.
      *
      * @param imageFactory The factory for handling image database operations.
+     * @param variantGenerator Writes the downscaled copies of uploaded images.
+     * @param ingester Checks, copies and hashes uploaded files.
      */
     @Inject
-    public ImageUploaderServiceImpl(ImageFactory imageFactory) {
+    public ImageUploaderServiceImpl(ImageFactory imageFactory, ImageVariantGenerator variantGenerator, ImageIngester ingester) {
         this.imageFactory = imageFactory;
+        this.variantGenerator = variantGenerator;
+        this.ingester = ingester;
 
-        // make sure the directory exists
-        File directory = new File(imageDirectory);
+        // make sure the directories exist
+        File directory = new File(sampleBannerVariantDirectory);
         if (!directory.exists()) {
             directory.mkdirs();
         }
@@ -44,24 +62,101 @@ public class ImageUploaderServiceImpl implements ImageUploaderService {
     /**
      * Uploads the given image file to the application's image directory.
      *
-     * <p>The image is stored in the {@code app_data/images/} directory, and a corresponding entry
-     * is created in the database.</p>
+     * <p>The image is stored in the {@code app_data/images/} directory under the hash of its content, along with its
+     * downscaled copies, and a corresponding entry is created in the database. If an image with the same content is
+     * already stored, that image is returned instead. If the copies can't be written the image is still uploaded, and
+     * shown at full size until they are.</p>
      *
      * @param file The image file to upload.
      * @return The uploaded image's metadata.
+     * @throws ImageRejectedException If the file isn't a PNG or JPEG, or is over the size or dimension limits.
      * @throws IOException   If an error occurs during file upload.
      * @throws SQLException  If an error occurs during database operations.
      */
     public Image upload(File file) throws IOException, SQLException {
-        var fileName = file.getName();
-        var destination = Path.of(imageDirectory, fileName);
+        // copy the file to program's data dir, next to where it will be stored so it can be moved into place
+        var temporary = Files.createTempFile(Path.of(imageDirectory), "upload-", ".tmp");
+        Image image;
+        try {
+            var ingested = ingester.ingest(file.toPath(), temporary);
+            var fileName = getHashedFileName(ingested.hash(), ingested.format());
+
+            // the same content uploaded before, under any name, is the same image. Recorded before the file is moved
+            // into place, since marking it as just uploaded is what stops the sweep from deleting its file
+            image = imageFactory.createIfAbsent(fileName, ingested.hash());
+
+            // moved even if the file exists, as the sweep may have deleted it after it was checked for
+            var destination = Path.of(imageDirectory, image.getFileName());
+            Files.createDirectories(destination.getParent());
+            try {
+                // the file appears complete or not at all, so it's never read half-written. The bytes are the same as
+                // any file it replaces, so a reader of the old file sees the same picture
+                Files.move(temporary, destination, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // the platform can't replace a file atomically, but the file is there with the same bytes
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        if (image.getAvatarFileName() == null || image.getCardFileName() == null || image.getBannerFileName() == null) {
+            try {
+                generateVariants(image);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to write the downscaled copies of " + image.getFileName(), e);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Writes the downscaled copies of a stored image next to it, and records them on the image in the database.
+     *
+     * @param image The image to write the copies of.
+     * @throws IOException If the image can't be decoded, or a copy can't be written.
+     * @throws SQLException If the copies can't be recorded.
+     */
+    public void generateVariants(Image image) throws IOException, SQLException {
+        var fileNames = variantGenerator.generate(getImageFile(image), new File(imageDirectory), image.getFileName());
+        image.setAvatarFileName(fileNames.get(ImageTier.AVATAR));
+        image.setCardFileName(fileNames.get(ImageTier.CARD));
+        image.setBannerFileName(fileNames.get(ImageTier.BANNER));
+        imageFactory.save(image);
+    }
 
-        // copy the file to program's data dir
-        Files.copy(file.toPath(), destination, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Deletes the file of a stored image and its downscaled copies.
+     *
+     * @param image The image to delete the files of.
+     * @throws IOException If a file can't be deleted.
+     */
+    public void deleteFiles(Image image) throws IOException {
+        for (var fileName : new String[] { image.getFileName(), image.getAvatarFileName(), image.getCardFileName(), image.getBannerFileName() }) {
+            if (fileName != null) {
+                Files.deleteIfExists(Path.of(imageDirectory, fileName));
+            }
+        }
+    }
 
-        // ToDo: really should make the 'create' method return the newly created row
-        imageFactory.create(fileName);
-        return imageFactory.get(fileName).get();    // unwrap should be safe unless something internal is horribly wrong
+    /**
+     * Writes the downscaled copies of any sample banner image that doesn't have them yet.
+     *
+     * @throws IOException If a sample banner can't be decoded, or a copy can't be written.
+     */
+    public void generateSampleBannerVariants() throws IOException {
+        var samples = new File(sampleBannerImageDirectory).listFiles();
+        if (samples == null) {
+            return;
+        }
+        for (var sample : samples) {
+            var missing = false;
+            for (var tier : ImageTier.values()) {
+                missing |= !getSampleBannerVariantFile(sample, tier).isFile();
+            }
+            if (missing) {
+                variantGenerator.generate(sample, new File(sampleBannerVariantDirectory), sample.getName());
+            }
+        }
     }
 
     /**
@@ -83,6 +178,21 @@ public class ImageUploaderServiceImpl implements ImageUploaderService {
         return path.toFile();
     }
 
+    /**
+     * Retrieves a sample banner image based on the provided community ID, scaled down to the given tier if its copy
+     * has been written.
+     *
+     * @param id The ID of the community.
+     * @param tier The size the image is shown at.
+     * @return The sample banner's copy for the tier, or the sample banner itself.
+     * @throws InvalidPathException If the file path is invalid.
+     */
+    public File getSampleBannerImageFile(int id, ImageTier tier) throws InvalidPathException {
+        var original = getSampleBannerImageFile(id);
+        var variant = getSampleBannerVariantFile(original, tier);
+        return variant.isFile() ? variant : original;
+    }
+
     /**
      * Retrieves the default profile image file.
      *
@@ -113,6 +223,26 @@ public class ImageUploaderServiceImpl implements ImageUploaderService {
         return getFullProtocolPath(getImageFile(img));
     }
 
+    /**
+     * Returns the full file protocol path (e.g., "file:///...") for the provided image's copy at the given tier, or
+     * for the original if the copy hasn't been written.
+     *
+     * @param img The image for which the protocol path is to be retrieved.
+     * @param tier The size the image is shown at.
+     * @return The full protocol path as a string.
+     */
+    public String getFullProtocolPath(Image img, ImageTier tier) {
+        var variant = switch (tier) {
+            case AVATAR -> img.getAvatarFileName();
+            case CARD -> img.getCardFileName();
+            case BANNER -> img.getBannerFileName();
+        };
+        if (variant == null) {
+            return getFullProtocolPath(img);
+        }
+        return getFullProtocolPath(Path.of(imageDirectory, variant).toFile());
+    }
+
     /**
      * Retrieves the image file from the file system based on the provided image metadata.
      *
@@ -126,4 +256,28 @@ public class ImageUploaderServiceImpl implements ImageUploaderService {
 
         return path.toFile();
     }
+
+    /**
+     * Retrieves where the copy of a sample banner image at the given tier is stored, whether or not it exists.
+     *
+     * @param sample The sample banner image file.
+     * @param tier The size of the copy.
+     * @return The copy's file.
+     */
+    private File getSampleBannerVariantFile(File sample, ImageTier tier) {
+        // the format depends on the sample, but they're all JPEGs
+        return Path.of(sampleBannerVariantDirectory, sample.getName() + "." + tier.name().toLowerCase() + ".jpg").toFile();
+    }
+
+    /**
+     * Gets the name an image with the given content is stored under, relative to the image directory: the hash, in a
+     * subdirectory named after its first two characters, with the extension of its format.
+     *
+     * @param hash The hex-encoded SHA-256 hash of the image's content.
+     * @param format The format of the image, recognised from its content.
+     * @return The file name.
+     */
+    static String getHashedFileName(String hash, ImageFormat format) {
+        return hash.substring(0, 2) + "/" + hash + format.getExtension();
+    }
 }
@@ -0,0 +1,64 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the downscaled copies of images stored before copies were written at upload time, and of the sample banners.
+ *
+ * <p>Runs once each time the application starts, after the database has been migrated. Images that already have
+ * their copies are skipped, so after the first run it only touches images whose copies failed to be written. An image
+ * that can't be decoded is logged and left to be shown at full size.</p>
+ */
+public class ImageVariantBackfill {
+
+    private static final Logger LOGGER = Logger.getLogger(ImageVariantBackfill.class.getName());
+
+    private final ImageFactory imageFactory;
+    private final ImageUploaderService imageUploaderService;
+
+    /**
+     * Constructs an {@code ImageVariantBackfill}.
+     *
+     * @param imageFactory The factory for finding the images without copies.
+     * @param imageUploaderService The service that writes and records the copies.
+     */
+    @Inject
+    public ImageVariantBackfill(ImageFactory imageFactory, ImageUploaderService imageUploaderService) {
+        this.imageFactory = imageFactory;
+        this.imageUploaderService = imageUploaderService;
+    }
+
+    /**
+     * Writes the copies of every image missing them.
+     *
+     * @return The number of images whose copies were written.
+     * @throws SQLException If the images can't be read, or their copies can't be recorded.
+     */
+    public int run() throws SQLException {
+        try {
+            imageUploaderService.generateSampleBannerVariants();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write the downscaled copies of the sample banners", e);
+        }
+
+        var written = 0;
+        for (var image : imageFactory.getWithoutVariants()) {
+            try {
+                imageUploaderService.generateVariants(image);
+                written++;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to write the downscaled copies of image " + image.getId() + " (" + image.getFileName() + ")", e);
+            }
+        }
+        if (written > 0) {
+            LOGGER.log(Level.INFO, "Wrote the downscaled copies of " + written + " images");
+        }
+        return written;
+    }
+}
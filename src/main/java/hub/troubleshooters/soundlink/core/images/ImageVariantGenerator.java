@@ -0,0 +1,141 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes the downscaled copies of an image that are shown in place of the original, one for each {@link ImageTier}.
+ *
+ * <p>The original is decoded once, subsampled as it is read so a large photo is never held in memory at full size, and
+ * each copy is scaled down from it by averaging the pixels each of its pixels covers. Copies of images with
+ * transparency are written as PNG, and the rest as JPEG.</p>
+ */
+public class ImageVariantGenerator {
+
+    /**
+     * How much larger than the largest copy the original is decoded, so the averaging has pixels to smooth over.
+     */
+    private static final int OVERSAMPLING = 2;
+
+    /**
+     * A decoded image, with the size of the original it was subsampled from.
+     */
+    private record Original(BufferedImage pixels, int width, int height) {
+    }
+
+    /**
+     * Writes a copy of the image for every tier into the given directory, named {@code <name>.<tier>.<format>}.
+     *
+     * @param source The original image file.
+     * @param directory The directory to write the copies to.
+     * @param name The name the copies' file names start with, usually the original's file name.
+     * @return The file names of the copies, by tier.
+     * @throws IOException If the original can't be decoded, or a copy can't be written.
+     */
+    public Map<ImageTier, String> generate(File source, File directory, String name) throws IOException {
+        var original = read(source);
+        var format = original.pixels().getColorModel().hasAlpha() ? "png" : "jpg";
+
+        var fileNames = new EnumMap<ImageTier, String>(ImageTier.class);
+        for (var tier : ImageTier.values()) {
+            // sized from the original, so the copies don't depend on how much it was subsampled
+            var size = scaledSize(original.width(), original.height(), tier);
+            var copy = scale(original.pixels(), size[0], size[1], format.equals("png"));
+            var fileName = name + "." + tier.name().toLowerCase() + "." + format;
+            if (!ImageIO.write(copy, format, new File(directory, fileName))) {
+                throw new IOException("No writer for " + format + " images.");
+            }
+            fileNames.put(tier, fileName);
+        }
+        return fileNames;
+    }
+
+    /**
+     * Decodes the image, skipping rows and columns as it is read if it is much larger than any copy needs.
+     */
+    private static Original read(File source) throws IOException {
+        try (var input = ImageIO.createImageInputStream(source)) {
+            var readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Not a readable image: " + source);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                int subsampling = Integer.MAX_VALUE;
+                for (var tier : ImageTier.values()) {
+                    var size = scaledSize(width, height, tier);
+                    subsampling = Math.min(subsampling, Math.min(width / (size[0] * OVERSAMPLING), height / (size[1] * OVERSAMPLING)));
+                }
+
+                var param = reader.getDefaultReadParam();
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return new Original(reader.read(0, param), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Gets the size of the copy of an image at a tier. Images are only ever scaled down to fit a tier whose ratio is
+     * preserved, never up.
+     *
+     * @return The width and height.
+     */
+    static int[] scaledSize(int width, int height, ImageTier tier) {
+        if (!tier.isPreserveRatio()) {
+            return new int[] { tier.getWidth(), tier.getHeight() };
+        }
+        double scale = Math.min(1.0, Math.min((double) tier.getWidth() / width, (double) tier.getHeight() / height));
+        return new int[] { Math.max(1, (int) Math.round(width * scale)), Math.max(1, (int) Math.round(height * scale)) };
+    }
+
+    /**
+     * Scales the image to the given size, each pixel the average of the pixels of the original it covers, weighted by
+     * their opacity so transparent pixels don't darken the edges around them.
+     */
+    static BufferedImage scale(BufferedImage original, int width, int height, boolean alpha) {
+        int sourceWidth = original.getWidth();
+        int sourceHeight = original.getHeight();
+        int[] source = original.getRGB(0, 0, sourceWidth, sourceHeight, null, 0, sourceWidth);
+        int[] target = new int[width * height];
+
+        for (int y = 0; y < height; y++) {
+            int top = (int) ((long) y * sourceHeight / height);
+            int bottom = Math.max(top + 1, (int) ((long) (y + 1) * sourceHeight / height));
+            for (int x = 0; x < width; x++) {
+                int left = (int) ((long) x * sourceWidth / width);
+                int right = Math.max(left + 1, (int) ((long) (x + 1) * sourceWidth / width));
+
+                long a = 0, r = 0, g = 0, b = 0;
+                for (int sy = top; sy < bottom; sy++) {
+                    for (int sx = left; sx < right; sx++) {
+                        int argb = source[sy * sourceWidth + sx];
+                        int pa = alpha ? argb >>> 24 : 255;
+                        a += pa;
+                        r += (long) ((argb >> 16) & 0xff) * pa;
+                        g += (long) ((argb >> 8) & 0xff) * pa;
+                        b += (long) (argb & 0xff) * pa;
+                    }
+                }
+                int count = (bottom - top) * (right - left);
+                target[y * width + x] = a == 0 ? 0 : (int) (a / count) << 24 | (int) (r / a) << 16 | (int) (g / a) << 8 | (int) (b / a);
+            }
+        }
+
+        var scaled = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        scaled.setRGB(0, 0, width, height, target, 0, width);
+        return scaled;
+    }
+}
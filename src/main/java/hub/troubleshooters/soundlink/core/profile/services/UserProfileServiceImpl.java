@@ -1,9 +1,11 @@
 package hub.troubleshooters.soundlink.core.profile.services;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.core.images.ImageRejectedException;
 import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
 import hub.troubleshooters.soundlink.core.profile.models.UserProfileUpdateModel;
 import hub.troubleshooters.soundlink.core.profile.validation.UserProfileValidator;
+import hub.troubleshooters.soundlink.core.validation.ValidationError;
 import hub.troubleshooters.soundlink.core.validation.ValidationResult;
 import hub.troubleshooters.soundlink.data.factories.UserProfileFactory;
 import hub.troubleshooters.soundlink.data.models.UserProfile;
@@ -84,6 +86,8 @@ public class UserProfileServiceImpl implements UserProfileService {
             try {
                 var img = imageUploaderService.upload(model.profileImage());
                 userProfile.setProfileImageId(img.getId());
+            } catch (ImageRejectedException e) {
+                return new ValidationResult(new ValidationError(e.getMessage()));
             } catch (IOException | SQLException e) {
                 throw new RuntimeException(e);  // todo: error handling
             }
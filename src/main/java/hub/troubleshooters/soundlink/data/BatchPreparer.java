@@ -0,0 +1,33 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A functional interface used to bind the parameters of one row of a batched statement.
+ *
+ * <p>This interface is used with {@link DatabaseConnection#executeBatchInsert}, which calls it once per row before
+ * adding the row to the batch.</p>
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ * String sql = "INSERT INTO Images (FileName) VALUES (?)";
+ * BatchPreparer<String> preparer = (statement, fileName) -> statement.setString(1, fileName);
+ * }
+ * </pre>
+ *
+ * @param <R> The type of the rows being inserted.
+ * @see DatabaseConnection#executeBatchInsert
+ */
+@FunctionalInterface
+public interface BatchPreparer<R> {
+    /**
+     * Binds the parameters for a single row.
+     *
+     * @param statement The {@link PreparedStatement} to prepare.
+     * @param row The row whose values should be bound.
+     * @throws SQLException If an SQL error occurs while preparing the statement.
+     */
+    void prepare(PreparedStatement statement, R row) throws SQLException;
+}
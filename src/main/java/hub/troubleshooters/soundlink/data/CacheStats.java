@@ -0,0 +1,22 @@
+package hub.troubleshooters.soundlink.data;
+
+/**
+ * A snapshot of an {@link EntityCache}'s counters.
+ *
+ * @param hits The number of lookups served from the cache.
+ * @param misses The number of lookups that had to go to the database, including those for expired models.
+ * @param evictions The number of models dropped because the cache was full or they had expired.
+ * @param size The number of models currently cached.
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    /**
+     * Gets the share of lookups served from the cache.
+     *
+     * @return A value between 0 and 1, or 0 if there have been no lookups.
+     */
+    public double hitRate() {
+        var lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
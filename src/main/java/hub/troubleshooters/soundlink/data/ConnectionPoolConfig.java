@@ -0,0 +1,42 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.time.Duration;
+
+/**
+ * Settings for a {@link PooledDatabaseConnection}.
+ *
+ * @param maxSize The maximum number of physical connections the pool will hold open at once.
+ * @param borrowTimeout How long a caller will wait for a free connection before failing with an {@link java.sql.SQLException}.
+ * @param validationTimeoutSeconds The timeout passed to {@link java.sql.Connection#isValid(int)} when health checking an idle connection.
+ * @param leakDetectionThreshold How long a connection may stay borrowed before it is reported as a possible leak.
+ *                               {@link Duration#ZERO} disables leak detection.
+ * @param statementCacheSize The number of prepared statements each connection keeps cached. 0 disables the cache.
+ */
+public record ConnectionPoolConfig(int maxSize, Duration borrowTimeout, int validationTimeoutSeconds, Duration leakDetectionThreshold,
+                                   int statementCacheSize) {
+
+    /**
+     * Validates the pool settings.
+     */
+    public ConnectionPoolConfig {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        if (borrowTimeout.isNegative() || leakDetectionThreshold.isNegative()) {
+            throw new IllegalArgumentException("Timeouts must not be negative");
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("statementCacheSize must not be negative");
+        }
+    }
+
+    /**
+     * The settings used by the application unless configured otherwise.
+     *
+     * @return A pool of 4 connections, a 5 second borrow timeout, a 30 second leak detection threshold and
+     *         room for 64 cached statements per connection (comfortably more than the factories' distinct SQL).
+     */
+    public static ConnectionPoolConfig defaults() {
+        return new ConnectionPoolConfig(4, Duration.ofSeconds(5), 2, Duration.ofSeconds(30), 64);
+    }
+}
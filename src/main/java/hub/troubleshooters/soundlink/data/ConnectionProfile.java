@@ -0,0 +1,116 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * SQLite settings applied to every connection a {@link PooledDatabaseConnection} opens, as {@code PRAGMA} statements
+ * and driver properties.
+ *
+ * @param journalMode How SQLite journals writes. {@link JournalMode#WAL} lets readers carry on while a write is in progress.
+ * @param synchronous How often SQLite waits for writes to reach the disk.
+ * @param mmapSizeBytes The maximum number of bytes of the database file to memory map. 0 disables memory mapping.
+ * @param cacheSizeKib The size of each connection's page cache, in KiB.
+ * @param tempStore Where temporary tables and indices (e.g. for sorting) are kept.
+ * @param busyTimeout How long a statement waits for another connection's lock before failing with {@code SQLITE_BUSY}.
+ * @param transactionMode How each transaction begins. {@link TransactionMode#IMMEDIATE} takes the write lock up front,
+ *                        so a transaction that reads before it writes waits its turn rather than failing.
+ * @param optimizeOnClose Whether to run {@code PRAGMA optimize} on each connection when the pool is closed,
+ *                        so the query planner's statistics stay current.
+ */
+public record ConnectionProfile(JournalMode journalMode, Synchronous synchronous, long mmapSizeBytes, int cacheSizeKib,
+                                TempStore tempStore, Duration busyTimeout, TransactionMode transactionMode,
+                                boolean optimizeOnClose) {
+
+    /**
+     * Values for {@code PRAGMA journal_mode}.
+     */
+    public enum JournalMode { DELETE, TRUNCATE, PERSIST, MEMORY, WAL, OFF }
+
+    /**
+     * Values for {@code PRAGMA synchronous}.
+     */
+    public enum Synchronous { OFF, NORMAL, FULL, EXTRA }
+
+    /**
+     * Values for {@code PRAGMA temp_store}.
+     */
+    public enum TempStore { DEFAULT, FILE, MEMORY }
+
+    /**
+     * How a transaction begins: {@code BEGIN DEFERRED}, {@code BEGIN IMMEDIATE} or {@code BEGIN EXCLUSIVE}.
+     */
+    public enum TransactionMode { DEFERRED, IMMEDIATE, EXCLUSIVE }
+
+    /**
+     * Validates the profile.
+     */
+    public ConnectionProfile {
+        if (mmapSizeBytes < 0) {
+            throw new IllegalArgumentException("mmapSizeBytes must not be negative");
+        }
+        if (cacheSizeKib < 1) {
+            throw new IllegalArgumentException("cacheSizeKib must be at least 1");
+        }
+        if (busyTimeout.isNegative()) {
+            throw new IllegalArgumentException("busyTimeout must not be negative");
+        }
+    }
+
+    /**
+     * SQLite's own defaults: a rollback journal, {@code synchronous=FULL}, no memory mapping, a 2 MiB page cache and
+     * deferred transactions.
+     *
+     * @return A profile that leaves every setting as SQLite would.
+     */
+    public static ConnectionProfile sqliteDefaults() {
+        return new ConnectionProfile(JournalMode.DELETE, Synchronous.FULL, 0, 2000, TempStore.DEFAULT, Duration.ZERO,
+                TransactionMode.DEFERRED, false);
+    }
+
+    /**
+     * The profile used by the application. WAL with {@code synchronous=NORMAL} only syncs at checkpoints, so commits
+     * no longer wait on the disk, and stays durable against application crashes (only a power loss can roll back the
+     * most recent commits). The busy timeout matches the pool's default borrow timeout. Transactions begin immediately:
+     * under WAL, a deferred transaction that reads before it writes fails with {@code SQLITE_BUSY_SNAPSHOT} if another
+     * connection commits in between, which the busy timeout doesn't wait out, and every transaction here writes.
+     *
+     * @return WAL, {@code synchronous=NORMAL}, a 256 MiB memory map, a 64 MiB page cache, in-memory temp storage,
+     *         a 5 second busy timeout and immediate transactions.
+     */
+    public static ConnectionProfile tuned() {
+        return new ConnectionProfile(JournalMode.WAL, Synchronous.NORMAL, 256L * 1024 * 1024, 64 * 1024, TempStore.MEMORY,
+                Duration.ofSeconds(5), TransactionMode.IMMEDIATE, true);
+    }
+
+    /**
+     * Gets the {@code PRAGMA} statements which apply this profile to a new connection.
+     *
+     * @return The statements, in the order they should run.
+     */
+    public List<String> pragmas() {
+        return List.of(
+                "PRAGMA journal_mode = " + journalMode,
+                "PRAGMA synchronous = " + synchronous,
+                "PRAGMA mmap_size = " + mmapSizeBytes,
+                // a negative cache_size is in KiB rather than pages
+                "PRAGMA cache_size = -" + cacheSizeKib,
+                "PRAGMA temp_store = " + tempStore,
+                "PRAGMA busy_timeout = " + busyTimeout.toMillis()
+        );
+    }
+
+    /**
+     * Gets the driver properties to open a new connection with, for settings the driver applies itself rather than
+     * through a {@code PRAGMA}.
+     *
+     * @return The properties.
+     */
+    public Properties properties() {
+        var properties = new Properties();
+        // read by sqlite-jdbc whenever it begins a transaction, like SQLiteConfig.setTransactionMode
+        properties.setProperty("transaction_mode", transactionMode.name());
+        return properties;
+    }
+}
@@ -2,6 +2,8 @@ package hub.troubleshooters.soundlink.data;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * An interface which can be safely injected into required services to interface with the DB.
@@ -26,4 +28,56 @@ public interface DatabaseConnection {
      * @throws SQLException if the statement fails in some way
      */
     void executeUpdate(String sql, StatementPreparer preparer, UpdateExecutor executor) throws SQLException;
+
+    /**
+     * Executes an {@code INSERT ... RETURNING} statement and maps the inserted row, saving a second query to read
+     * back generated keys and column defaults.
+     * @param sql the unformatted INSERT statement, ending in a {@code RETURNING} clause
+     * @param preparer typically a lambda function which can add arguments to the SQL statement
+     * @param executor typically a lambda function which maps the result set, already positioned on the inserted row, into a model
+     * @return the model of the inserted row
+     * @param <T> the model of the inserted row
+     * @throws SQLException if the statement fails in some way, or inserts no row
+     */
+    <T> T executeInsert(String sql, StatementPreparer preparer, QueryExecutor<T> executor) throws SQLException;
+
+    /**
+     * Inserts many rows with one batched statement inside a single transaction. Either every row is inserted or,
+     * if any row fails, none are. Each row must insert exactly one row, so {@code INSERT OR IGNORE} is not supported.
+     * @param sql the unformatted INSERT statement for a single row
+     * @param rows the rows to insert
+     * @param preparer typically a lambda function which binds one row's values to the statement
+     * @return the generated key of each row, in the same order as {@code rows}
+     * @param <R> the type of the rows being inserted
+     * @throws SQLException if the statement fails in some way
+     */
+    <R> List<Integer> executeBatchInsert(String sql, Collection<R> rows, BatchPreparer<R> preparer) throws SQLException;
+
+    /**
+     * Runs the given work as a single transaction, committing once it completes and rolling back if it throws.
+     * Every statement the current thread issues through this connection while the work runs joins the transaction.
+     * Calls may be nested; a nested call runs inside a savepoint, so it can roll back on its own without
+     * abandoning the enclosing transaction.
+     * @param work the statements to run as one transaction
+     * @return whatever the work returns
+     * @param <T> the type of value returned by the work
+     * @param <X> the type of any other checked exception the work may throw
+     * @throws SQLException if the work, commit or rollback fails
+     * @throws X if the work throws it
+     */
+    <T, X extends Exception> T inTransaction(UnitOfWork<T, X> work) throws SQLException, X;
+
+    /**
+     * Checks whether the current thread is running the work of {@link #inTransaction(UnitOfWork)}, so what it reads
+     * may not be committed yet.
+     * @return true if the current thread has a transaction open
+     */
+    boolean isInTransaction();
+
+    /**
+     * Runs the given action once the current thread's transaction has been committed or rolled back, or straight
+     * away if the current thread has no transaction open.
+     * @param action the action to run, which must not throw
+     */
+    void afterTransaction(Runnable action);
 }
\ No newline at end of file
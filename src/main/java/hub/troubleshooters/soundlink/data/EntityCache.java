@@ -0,0 +1,252 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded, read-through cache of models keyed by ID, used by the factories of rarely changing reference data so
+ * repeated lookups of the same row don't go back to SQLite. Models are loaded on a miss, kept for at most the
+ * configured time to live, and the least recently used model is evicted once the cache is full.
+ *
+ * <p>The factory owning the cache must {@link #invalidate(Object)} a model whenever it saves or deletes it. Missing rows
+ * aren't cached, so a row created after a failed lookup is found by the next one. The cached models are shared, so
+ * callers must save a model after changing it, as they already do.</p>
+ *
+ * <p>While the calling thread has a transaction open on the cache's {@link DatabaseConnection}, the cache is bypassed:
+ * lookups go straight to the loader and nothing they load is cached, since it may never be committed. Invalidations
+ * made inside a transaction take effect straight away and again once it ends, so a row another thread cached from
+ * before the commit, or a change that was rolled back, isn't served afterwards.</p>
+ *
+ * <p>The cache is safe to use from several threads. Loads run outside its lock, so two threads missing the same key
+ * may both load it, and a load that overlaps an invalidation is returned but not cached, so it can't undo the
+ * invalidation.</p>
+ *
+ * @param <K> the type of the key, usually the model's ID
+ * @param <V> the type of the cached model
+ */
+public class EntityCache<K, V> {
+
+    /**
+     * Loads a single model on a cache miss.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the model
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        /**
+         * Loads the model with the given key from the database.
+         *
+         * @param key the key of the model
+         * @return the model, or an empty Optional if there is no such row
+         * @throws SQLException if an error occurs while loading the model
+         */
+        Optional<V> load(K key) throws SQLException;
+    }
+
+    /**
+     * Loads several models at once on a cache miss.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the model
+     */
+    @FunctionalInterface
+    public interface BatchLoader<K, V> {
+        /**
+         * Loads the models with the given keys from the database.
+         *
+         * @param keys the keys of the models, none of which were cached
+         * @return the models found, keyed by key; keys with no matching row are absent
+         * @throws SQLException if an error occurs while loading the models
+         */
+        Map<K, V> loadAll(Collection<K> keys) throws SQLException;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final EntityCacheConfig config;
+    private final DatabaseConnection connection;
+    private final LongSupplier nanoClock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // bumped by every invalidation, so a load that started before one knows not to cache its stale result
+    private long generation;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param config the size and time to live of the cache
+     * @param connection the connection the models are loaded through, checked for an open transaction
+     */
+    public EntityCache(EntityCacheConfig config, DatabaseConnection connection) {
+        this(config, connection, System::nanoTime);
+    }
+
+    /**
+     * Constructs an empty cache that reads the time from the given clock, so tests can control expiry.
+     *
+     * @param config the size and time to live of the cache
+     * @param connection the connection the models are loaded through, checked for an open transaction
+     * @param nanoClock a monotonic clock in nanoseconds, like {@link System#nanoTime()}
+     */
+    EntityCache(EntityCacheConfig config, DatabaseConnection connection, LongSupplier nanoClock) {
+        this.config = config;
+        this.connection = connection;
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > EntityCache.this.config.maxSize()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the model with the given key, loading and caching it if it isn't cached or has expired.
+     *
+     * @param key the key of the model
+     * @param loader loads the model from the database on a miss
+     * @return the model, or an empty Optional if there is no such row
+     * @throws SQLException if an error occurs while loading the model
+     */
+    public Optional<V> get(K key, Loader<K, V> loader) throws SQLException {
+        if (connection.isInTransaction()) {
+            return loader.load(key);
+        }
+        long loadGeneration;
+        synchronized (this) {
+            var cached = lookUp(key);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+        var loaded = loader.load(key);
+        if (loaded.isPresent()) {
+            store(key, loaded.get(), loadGeneration);
+        }
+        return loaded;
+    }
+
+    /**
+     * Gets every model with one of the given keys, loading the ones that aren't cached with a single call to
+     * {@code loader}, which isn't called at all if every model is cached.
+     *
+     * @param keys the keys of the models, duplicates are ignored
+     * @param loader loads the uncached models from the database
+     * @return the models found, keyed by key; keys with no matching row are absent
+     * @throws SQLException if an error occurs while loading the models
+     */
+    public Map<K, V> getAll(Collection<K> keys, BatchLoader<K, V> loader) throws SQLException {
+        if (connection.isInTransaction()) {
+            return new HashMap<>(loader.loadAll(new ArrayList<>(new LinkedHashSet<>(keys))));
+        }
+        var found = new HashMap<K, V>();
+        var missing = new LinkedHashSet<K>();
+        long loadGeneration;
+        synchronized (this) {
+            for (var key : keys) {
+                if (found.containsKey(key) || missing.contains(key)) {
+                    continue;
+                }
+                var cached = lookUp(key);
+                if (cached != null) {
+                    hits.increment();
+                    found.put(key, cached);
+                } else {
+                    misses.increment();
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (!missing.isEmpty()) {
+            var loaded = loader.loadAll(new ArrayList<>(missing));
+            loaded.forEach((key, value) -> store(key, value, loadGeneration));
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    /**
+     * Removes the model with the given key, so the next lookup loads it again. Called after the model is saved or
+     * deleted, and repeated once the current transaction ends if there is one.
+     *
+     * @param key the key of the model
+     */
+    public void invalidate(K key) {
+        remove(key);
+        if (connection.isInTransaction()) {
+            connection.afterTransaction(() -> remove(key));
+        }
+    }
+
+    /**
+     * Removes every cached model, and again once the current transaction ends if there is one.
+     */
+    public void invalidateAll() {
+        clear();
+        if (connection.isInTransaction()) {
+            connection.afterTransaction(this::clear);
+        }
+    }
+
+    /**
+     * Gets a snapshot of the cache's counters.
+     *
+     * @return the hits, misses, evictions and size of the cache so far
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    /**
+     * Gets the cached model with the given key, dropping it if it has expired. Must be called holding the lock.
+     */
+    private V lookUp(K key) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(key);
+            evictions.increment();
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void remove(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    private synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private synchronized void store(K key, V value, long loadGeneration) {
+        if (config.maxSize() == 0 || loadGeneration != generation) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong() + config.timeToLive().toNanos()));
+    }
+}
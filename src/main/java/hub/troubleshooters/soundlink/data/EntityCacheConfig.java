@@ -0,0 +1,44 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.time.Duration;
+
+/**
+ * Settings for an {@link EntityCache}.
+ *
+ * @param maxSize The maximum number of models the cache holds. Once full, the least recently used model is evicted.
+ *                0 disables the cache.
+ * @param timeToLive How long a model may be served from the cache after it was loaded, which bounds how stale it can
+ *                   be if the row is changed without going through its factory.
+ */
+public record EntityCacheConfig(int maxSize, Duration timeToLive) {
+
+    /**
+     * Validates the cache settings.
+     */
+    public EntityCacheConfig {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+    }
+
+    /**
+     * The settings used by the application unless configured otherwise.
+     *
+     * @return A cache of up to 1000 models, each kept for at most 5 minutes.
+     */
+    public static EntityCacheConfig defaults() {
+        return new EntityCacheConfig(1000, Duration.ofMinutes(5));
+    }
+
+    /**
+     * Settings that turn caching off, so every lookup goes to the database.
+     *
+     * @return A cache that holds nothing.
+     */
+    public static EntityCacheConfig disabled() {
+        return new EntityCacheConfig(0, Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,157 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A physical JDBC connection owned by a {@link PooledDatabaseConnection}.
+ *
+ * <p>Closing a {@code PooledConnection} hands it back to the pool rather than closing the underlying
+ * connection, so it can be used in a try-with-resources block around a single statement. While a transaction is open
+ * the same connection is held again for each statement in it, and is only returned once every hold is closed.
+ * Each connection keeps its
+ * own {@link StatementCache}, since prepared statements belong to the connection that prepared them.</p>
+ */
+class PooledConnection implements AutoCloseable {
+    private final PooledDatabaseConnection pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+
+    private int holds;
+    private long borrowedAt;
+    private Throwable borrowSite;
+    private boolean leakReported;
+
+    /**
+     * Wraps a freshly opened connection.
+     *
+     * @param pool The pool this connection is returned to.
+     * @param connection The physical JDBC connection.
+     * @param statementCache The cache of statements prepared on this connection.
+     */
+    PooledConnection(PooledDatabaseConnection pool, Connection connection, StatementCache statementCache) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * Gets the underlying JDBC connection.
+     *
+     * @return The physical connection.
+     */
+    Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Gets a prepared statement for the given SQL, reusing a cached one where possible.
+     * Every statement must be handed back with {@link #finish(String, PreparedStatement, boolean)}.
+     *
+     * @param sql The SQL text.
+     * @return A statement with no parameters bound.
+     * @throws SQLException If the statement can't be prepared.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        return statementCache.checkOut(connection, sql);
+    }
+
+    /**
+     * Hands back a statement obtained from {@link #prepare(String)}.
+     *
+     * @param sql The SQL text the statement was prepared with.
+     * @param statement The statement.
+     * @param succeeded {@code false} if the statement failed, in which case it is closed rather than cached.
+     */
+    void finish(String sql, PreparedStatement statement, boolean succeeded) {
+        statementCache.checkIn(sql, statement, succeeded);
+    }
+
+    /**
+     * Records that the connection has been handed out.
+     *
+     * @param borrowSite The call site that borrowed the connection, or {@code null} if leak detection is disabled.
+     */
+    void markBorrowed(Throwable borrowSite) {
+        this.holds = 1;
+        this.borrowedAt = System.nanoTime();
+        this.borrowSite = borrowSite;
+        this.leakReported = false;
+    }
+
+    /**
+     * Takes another hold on an already borrowed connection, e.g. for a statement issued inside a transaction.
+     *
+     * @return This connection, which must be closed once more before it returns to the pool.
+     */
+    PooledConnection retain() {
+        holds++;
+        return this;
+    }
+
+    /**
+     * Gets how long the connection has been borrowed for.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    long borrowedForNanos() {
+        return System.nanoTime() - borrowedAt;
+    }
+
+    /**
+     * Gets the call site that borrowed the connection.
+     *
+     * @return The recorded stack trace, or {@code null} if leak detection is disabled.
+     */
+    Throwable borrowSite() {
+        return borrowSite;
+    }
+
+    /**
+     * Marks the connection as reported by the leak detector so it is only logged once per borrow.
+     *
+     * @return {@code true} if this is the first report for the current borrow.
+     */
+    boolean reportLeak() {
+        if (leakReported) return false;
+        leakReported = true;
+        return true;
+    }
+
+    /**
+     * Checks whether the connection can still be used.
+     *
+     * @param timeoutSeconds The validation timeout.
+     * @return {@code true} if the connection is open and responding.
+     */
+    boolean isHealthy(int timeoutSeconds) {
+        try {
+            return !connection.isClosed() && connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the physical connection. Used when the pool discards or shuts down a connection.
+     */
+    void closePhysical() {
+        statementCache.clear();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // nothing sensible to do, the connection is being thrown away
+        }
+    }
+
+    /**
+     * Releases one hold on the connection, returning it to its pool once no holds remain.
+     */
+    @Override
+    public void close() {
+        if (--holds == 0) {
+            pool.release(this);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link DatabaseConnection} that keeps a bounded pool of long-lived JDBC connections open, rather than
+ * opening the SQLite database file for every statement.
+ *
+ * <p>Idle connections are health checked before being handed out, and connections that stay borrowed for longer
+ * than {@link ConnectionPoolConfig#leakDetectionThreshold()} are logged along with the call site that borrowed them.
+ * Statements and result sets are always closed, and connections always returned, even when a statement fails.</p>
+ *
+ * <p>Each connection caches its prepared statements by SQL text (see {@link StatementCache}), so the factories'
+ * constant SQL is only parsed and planned once per connection.</p>
+ *
+ * <p>{@link #inTransaction(UnitOfWork)} binds one connection to the calling thread for the duration of the work,
+ * so every statement the work issues shares a single commit. Actions registered with {@link #afterTransaction(Runnable)}
+ * run once the transaction ends either way, after the connection is back in the pool.</p>
+ *
+ * <p>Every new connection has a {@link ConnectionProfile} applied before it is first used.</p>
+ */
+public class PooledDatabaseConnection implements DatabaseConnection, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(PooledDatabaseConnection.class.getName());
+
+    private final String connectionString;
+    private final ConnectionPoolConfig config;
+    private final ConnectionProfile profile;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final ThreadLocal<PooledConnection> transactionConnection = new ThreadLocal<>();
+    private final ThreadLocal<List<Runnable>> transactionEndActions = new ThreadLocal<>();
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code PooledDatabaseConnection} whose connections use SQLite's default settings.
+     * No connections are opened until the first statement runs.
+     *
+     * @param connectionString The JDBC connection string used to open each pooled connection.
+     * @param config The pool settings.
+     */
+    public PooledDatabaseConnection(String connectionString, ConnectionPoolConfig config) {
+        this(connectionString, config, ConnectionProfile.sqliteDefaults());
+    }
+
+    /**
+     * Constructs a new {@code PooledDatabaseConnection}. No connections are opened until the first statement runs.
+     *
+     * @param connectionString The JDBC connection string used to open each pooled connection.
+     * @param config The pool settings.
+     * @param profile The SQLite settings applied to each connection as it is opened.
+     */
+    public PooledDatabaseConnection(String connectionString, ConnectionPoolConfig config, ConnectionProfile profile) {
+        this.connectionString = connectionString;
+        this.config = config;
+        this.profile = profile;
+        this.permits = new Semaphore(config.maxSize(), true);
+
+        if (config.leakDetectionThreshold().isZero()) {
+            this.leakDetector = null;
+        } else {
+            this.leakDetector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "soundlink-db-leak-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var period = Math.max(1, config.leakDetectionThreshold().toMillis() / 2);
+            leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Executes a SQL query on a pooled connection and maps the result set with the given {@link QueryExecutor}.
+     *
+     * @param <T>      The type of result returned by the query executor.
+     * @param sql      The SQL query to be executed.
+     * @param preparer The statement preparer used to set parameters in the prepared statement.
+     * @param executor The query executor used to process the {@link java.sql.ResultSet} returned by the query.
+     * @return A result of type {@code T}, which is the output of the {@link QueryExecutor}.
+     * @throws SQLException If any SQL error occurs, or no connection becomes free within the borrow timeout.
+     */
+    @Override
+    public <T> T executeQuery(String sql, StatementPreparer preparer, QueryExecutor<T> executor) throws SQLException {
+        try (var pooled = acquire()) {
+            var statement = pooled.prepare(sql);
+            var succeeded = false;
+            try {
+                preparer.prepare(statement);
+                T result;
+                try (var resultSet = statement.executeQuery()) {
+                    result = executor.execute(resultSet);
+                }
+                succeeded = true;
+                return result;
+            } finally {
+                pooled.finish(sql, statement, succeeded);
+            }
+        }
+    }
+
+    /**
+     * Executes a SQL update on a pooled connection and passes the number of affected rows to the {@link UpdateExecutor}.
+     *
+     * @param sql      The SQL update query to be executed.
+     * @param preparer The statement preparer used to set parameters in the prepared statement.
+     * @param executor The update executor used to handle the number of rows affected by the update.
+     * @throws SQLException If any SQL error occurs, or no connection becomes free within the borrow timeout.
+     */
+    @Override
+    public void executeUpdate(String sql, StatementPreparer preparer, UpdateExecutor executor) throws SQLException {
+        try (var pooled = acquire()) {
+            var statement = pooled.prepare(sql);
+            var succeeded = false;
+            try {
+                preparer.prepare(statement);
+                var rowsAffected = statement.executeUpdate();
+                succeeded = true;
+                executor.execute(rowsAffected);
+            } finally {
+                pooled.finish(sql, statement, succeeded);
+            }
+        }
+    }
+
+    /**
+     * Executes an {@code INSERT ... RETURNING} statement on a pooled connection and maps the returned row with the
+     * given {@link QueryExecutor}. The insert is committed (outside a transaction) once the result set is closed.
+     *
+     * @param <T>      The type of model returned by the query executor.
+     * @param sql      The INSERT statement to be executed, ending in a {@code RETURNING} clause.
+     * @param preparer The statement preparer used to set parameters in the prepared statement.
+     * @param executor The query executor used to map the inserted row. The result set is already positioned on it.
+     * @return The model of the inserted row.
+     * @throws SQLException If any SQL error occurs, the statement inserts no row, or no connection becomes free within
+     *                      the borrow timeout.
+     */
+    @Override
+    public <T> T executeInsert(String sql, StatementPreparer preparer, QueryExecutor<T> executor) throws SQLException {
+        return executeQuery(sql, preparer, resultSet -> {
+            if (!resultSet.next()) {
+                throw new SQLException("Insert returned no rows: " + sql);
+            }
+            return executor.execute(resultSet);
+        });
+    }
+
+    /**
+     * Inserts many rows with {@code addBatch}/{@code executeBatch} inside a single transaction.
+     *
+     * <p>SQLite's driver can't report generated keys for a batch, so they are derived from {@code last_insert_rowid()}:
+     * within one write transaction nothing else can insert into the table, so the rows inserted by the batch receive
+     * consecutive ids ending at the last inserted id. This only holds if every row inserts exactly one row, so a row
+     * that inserts nothing (e.g. through {@code INSERT OR IGNORE}) fails the batch.</p>
+     *
+     * @param <R>      The type of the rows being inserted.
+     * @param sql      The INSERT statement for a single row.
+     * @param rows     The rows to insert.
+     * @param preparer The batch preparer used to bind each row's values.
+     * @return The generated key of each row in input order.
+     * @throws SQLException If any row fails to insert exactly one row, in which case none are inserted.
+     */
+    @Override
+    public <R> List<Integer> executeBatchInsert(String sql, Collection<R> rows, BatchPreparer<R> preparer) throws SQLException {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return inTransaction(() -> {
+            int[] rowsAffected;
+            try (var pooled = acquire()) {
+                var statement = pooled.prepare(sql);
+                var succeeded = false;
+                try {
+                    for (var row : rows) {
+                        preparer.prepare(statement, row);
+                        statement.addBatch();
+                    }
+                    rowsAffected = statement.executeBatch();
+                    succeeded = true;
+                } finally {
+                    if (!succeeded) statement.clearBatch();
+                    pooled.finish(sql, statement, succeeded);
+                }
+            }
+
+            for (var count : rowsAffected) {
+                if (count != 1) {
+                    throw new SQLException("Failed to batch insert. Rows affected by a single entry: " + count);
+                }
+            }
+            var lastId = executeQuery("SELECT last_insert_rowid()", statement -> {}, executor -> executor.getInt(1));
+
+            var keys = new ArrayList<Integer>(rowsAffected.length);
+            for (var id = lastId - rowsAffected.length + 1; id <= lastId; id++) {
+                keys.add(id);
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * Runs the given work as a single transaction on one pooled connection bound to the current thread.
+     * Nested calls on the same thread run inside a savepoint of the enclosing transaction.
+     *
+     * @param <T>  The type of value returned by the work.
+     * @param <X>  The type of any other checked exception the work may throw.
+     * @param work The statements to run as one transaction.
+     * @return Whatever the work returns.
+     * @throws SQLException If the work, commit or rollback fails.
+     * @throws X If the work throws it.
+     */
+    @Override
+    public <T, X extends Exception> T inTransaction(UnitOfWork<T, X> work) throws SQLException, X {
+        var current = transactionConnection.get();
+        if (current != null) {
+            return inSavepoint(current.connection(), work);
+        }
+
+        var endActions = new ArrayList<Runnable>();
+        try (var pooled = borrow()) {
+            var connection = pooled.connection();
+            connection.setAutoCommit(false);
+            transactionConnection.set(pooled);
+            transactionEndActions.set(endActions);
+            try {
+                var result = work.execute();
+                connection.commit();
+                return result;
+            } catch (Exception e) {
+                rollbackQuietly(connection, e);
+                throw e;
+            } finally {
+                transactionConnection.remove();
+                transactionEndActions.remove();
+                // release() restores autocommit, rolling back anything left uncommitted (e.g. after an Error)
+            }
+        } finally {
+            runAll(endActions);
+        }
+    }
+
+    @Override
+    public boolean isInTransaction() {
+        return transactionConnection.get() != null;
+    }
+
+    @Override
+    public void afterTransaction(Runnable action) {
+        var endActions = transactionEndActions.get();
+        if (endActions != null) {
+            endActions.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Gets the number of physical connections currently open, whether idle or borrowed.
+     *
+     * @return The number of open connections.
+     */
+    public int getOpenConnectionCount() {
+        return openConnections.get();
+    }
+
+    /**
+     * Gets the number of open connections waiting in the pool to be borrowed.
+     *
+     * @return The number of idle connections.
+     */
+    public int getIdleConnectionCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the number of statements that were served from a connection's statement cache.
+     *
+     * @return The number of cache hits since the pool was created.
+     */
+    public long getStatementCacheHitCount() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * Gets the number of statements that had to be prepared because they weren't cached.
+     *
+     * @return The number of cache misses since the pool was created.
+     */
+    public long getStatementCacheMissCount() {
+        return statementCacheMisses.sum();
+    }
+
+    /**
+     * Closes every idle connection and stops the leak detector. Borrowed connections are closed as they are returned.
+     * If the profile asks for it, {@code PRAGMA optimize} is run on each idle connection before it is closed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            if (profile.optimizeOnClose()) {
+                optimize(pooled.connection());
+            }
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Borrows a healthy connection from the pool, opening a new one if none are idle.
+     *
+     * @return A connection which must be closed to return it to the pool.
+     * @throws SQLException If the pool is closed, no connection becomes free in time, or a new connection can't be opened.
+     */
+    PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed.");
+        }
+        try {
+            if (!permits.tryAcquire(config.borrowTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + config.borrowTimeout().toMillis() + "ms waiting for a database connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            var pooled = takeIdle();
+            if (pooled == null) {
+                var statementCache = new StatementCache(config.statementCacheSize(), statementCacheHits, statementCacheMisses);
+                pooled = new PooledConnection(this, open(), statementCache);
+                openConnections.incrementAndGet();
+            }
+            pooled.markBorrowed(leakDetector == null ? null : new Throwable("Connection borrowed here"));
+            borrowed.add(pooled);
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool. Connections left mid-transaction are rolled back, and broken
+     * connections are discarded so the next borrower opens a fresh one.
+     *
+     * @param pooled The connection being returned.
+     */
+    void release(PooledConnection pooled) {
+        if (!borrowed.remove(pooled)) {
+            return;     // already returned
+        }
+        try {
+            var connection = pooled.connection();
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (closed) {
+                discard(pooled);
+            } else {
+                idle.push(pooled);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Discarding database connection that could not be reset.", e);
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PooledConnection acquire() throws SQLException {
+        var current = transactionConnection.get();
+        return current != null ? current.retain() : borrow();
+    }
+
+    private <T, X extends Exception> T inSavepoint(Connection connection, UnitOfWork<T, X> work) throws SQLException, X {
+        var savepoint = connection.setSavepoint();
+        try {
+            var result = work.execute();
+            connection.releaseSavepoint(savepoint);
+            return result;
+        } catch (Exception e) {
+            try {
+                connection.rollback(savepoint);
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw e;
+        }
+    }
+
+    private static void runAll(List<Runnable> actions) {
+        for (var action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // the transaction has already ended, so its outcome mustn't be hidden by a failed action
+                LOGGER.log(Level.WARNING, "An action run after a transaction failed.", e);
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException rollbackError) {
+            cause.addSuppressed(rollbackError);
+        }
+    }
+
+    private Connection open() throws SQLException {
+        var connection = DriverManager.getConnection(connectionString, profile.properties());
+        try (var statement = connection.createStatement()) {
+            for (var pragma : profile.pragmas()) {
+                statement.execute(pragma);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private static void optimize(Connection connection) {
+        try (var statement = connection.createStatement()) {
+            statement.execute("PRAGMA optimize");
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to optimize database connection before closing it.", e);
+        }
+    }
+
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            if (pooled.isHealthy(config.validationTimeoutSeconds())) {
+                return pooled;
+            }
+            LOGGER.log(Level.INFO, "Discarding idle database connection that failed its health check.");
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private void discard(PooledConnection pooled) {
+        pooled.closePhysical();
+        openConnections.decrementAndGet();
+    }
+
+    private void detectLeaks() {
+        var thresholdNanos = config.leakDetectionThreshold().toNanos();
+        for (var pooled : borrowed) {
+            if (pooled.borrowedForNanos() > thresholdNanos && pooled.reportLeak()) {
+                LOGGER.log(Level.WARNING, "Database connection has been borrowed for longer than "
+                        + config.leakDetectionThreshold().toMillis() + "ms and may have leaked.", pooled.borrowSite());
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps the rows of a {@link ResultSet} into objects of type {@code T}.
+ *
+ * <p>Reading a column by name makes the driver search the result set's column labels on every call, for every row.
+ * A row mapper instead {@linkplain #bind(ResultSet) binds} to a result set once, resolving the index of each column it
+ * needs, and the returned {@link Reader} then reads every row by index. The {@code mapFirst}, {@code mapAll} and
+ * {@code mapCurrent} methods fit directly into {@link DatabaseConnection#executeQuery} and
+ * {@link DatabaseConnection#executeInsert} as a {@link QueryExecutor}, e.g. {@code mapper::mapAll}.</p>
+ *
+ * <p>Implementations hold no per-query state, so one instance can be shared by any number of queries and threads.</p>
+ *
+ * @param <T> The type of object each row is mapped into.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Reads the current row of the result set a {@link RowMapper} was bound to.
+     *
+     * @param <T> The type of object each row is mapped into.
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+        /**
+         * Maps the row the result set is currently positioned on.
+         *
+         * @return The object for the current row.
+         * @throws SQLException If a column can't be read.
+         */
+        T read() throws SQLException;
+    }
+
+    /**
+     * Resolves the columns this mapper needs in the given result set.
+     *
+     * @param resultSet The result set to read rows from. It must have been advanced onto a row.
+     * @return A {@link Reader} which maps whichever row {@code resultSet} is positioned on.
+     * @throws SQLException If a column the mapper needs isn't in the result set.
+     */
+    Reader<T> bind(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Maps the row the result set is currently positioned on, e.g. the row returned by an {@code INSERT ... RETURNING}.
+     *
+     * @param resultSet The result set, positioned on the row to map.
+     * @return The object for the current row.
+     * @throws SQLException If a column can't be read.
+     */
+    default T mapCurrent(ResultSet resultSet) throws SQLException {
+        return bind(resultSet).read();
+    }
+
+    /**
+     * Maps the first row of the result set.
+     *
+     * @param resultSet The result set, before its first row.
+     * @return The object for the first row, or {@code null} if the result set is empty.
+     * @throws SQLException If a column can't be read.
+     */
+    default T mapFirst(ResultSet resultSet) throws SQLException {
+        return resultSet.next() ? mapCurrent(resultSet) : null;
+    }
+
+    /**
+     * Maps every row of the result set, resolving the columns only once.
+     *
+     * @param resultSet The result set, before its first row.
+     * @return The objects for every row, in the order they were returned.
+     * @throws SQLException If a column can't be read.
+     */
+    default List<T> mapAll(ResultSet resultSet) throws SQLException {
+        var results = new ArrayList<T>();
+        if (!resultSet.next()) {
+            return results;
+        }
+        var reader = bind(resultSet);
+        do {
+            results.add(reader.read());
+        } while (resultSet.next());
+        return results;
+    }
+}
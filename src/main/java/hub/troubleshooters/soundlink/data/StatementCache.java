@@ -0,0 +1,109 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A least-recently-used cache of {@link PreparedStatement}s keyed by their SQL text, owned by a single
+ * {@link PooledConnection}. Reusing a statement skips SQLite's parse and plan step for the factories' constant SQL.
+ *
+ * <p>Statements are checked out while in use and checked back in afterwards, so a statement is never shared by two
+ * open result sets. The cache is only ever touched by the thread that has borrowed its connection.</p>
+ */
+class StatementCache {
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param maxSize The maximum number of statements to keep prepared. 0 disables caching.
+     * @param hits Counter incremented whenever a cached statement is reused.
+     * @param misses Counter incremented whenever a statement has to be prepared.
+     */
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Checks out a prepared statement for the given SQL, preparing a new one if none is cached.
+     *
+     * @param connection The connection to prepare new statements on.
+     * @param sql The SQL text.
+     * @return A statement with no parameters bound.
+     * @throws SQLException If the statement can't be prepared.
+     */
+    PreparedStatement checkOut(Connection connection, String sql) throws SQLException {
+        var statement = statements.remove(sql);
+        if (statement != null) {
+            hits.increment();
+            return statement;
+        }
+        misses.increment();
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Checks a statement back in once its results have been consumed. Statements that failed are closed rather than
+     * reused, in case they were left in a bad state.
+     *
+     * @param sql The SQL text the statement was checked out with.
+     * @param statement The statement being returned.
+     * @param reusable {@code false} if the statement failed and should be closed.
+     */
+    void checkIn(String sql, PreparedStatement statement, boolean reusable) {
+        if (!reusable || maxSize == 0 || statements.containsKey(sql)) {
+            closeQuietly(statement);
+            return;
+        }
+        try {
+            statement.clearParameters();
+            statements.put(sql, statement);
+        } catch (SQLException e) {
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * Gets the number of statements currently cached.
+     *
+     * @return The cache size.
+     */
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes and forgets every cached statement.
+     */
+    void clear() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // the statement is being discarded anyway
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.sql.SQLException;
  * for a {@link PreparedStatement}. Implementations of this interface can define how the statement should be prepared
  * based on the context (e.g., setting parameters for a query).</p>
  *
- * <p>This interface is typically used in conjunction with the {@link SQLiteDatabaseConnection} methods like
+ * <p>This interface is typically used in conjunction with the {@link DatabaseConnection} methods like
  * {@code executeQuery} and {@code executeUpdate}, where a prepared statement is required to execute parameterized
  * SQL queries or updates.</p>
  *
@@ -23,8 +23,8 @@ import java.sql.SQLException;
  * </pre>
  *
  * @see java.sql.PreparedStatement
- * @see SQLiteDatabaseConnection#executeQuery
- * @see SQLiteDatabaseConnection#executeUpdate
+ * @see DatabaseConnection#executeQuery
+ * @see DatabaseConnection#executeUpdate
  */
 @FunctionalInterface
 public interface StatementPreparer {
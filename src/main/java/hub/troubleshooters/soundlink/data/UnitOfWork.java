@@ -0,0 +1,38 @@
+package hub.troubleshooters.soundlink.data;
+
+import java.sql.SQLException;
+
+/**
+ * A functional interface for a block of database work that should commit or roll back as a whole.
+ * Used with {@link DatabaseConnection#inTransaction(UnitOfWork)}.
+ *
+ * <p>Besides {@link SQLException}, the work may throw one other checked exception type {@code X}
+ * (e.g. an {@link java.io.IOException} from uploading an image as part of the transaction). Any exception
+ * thrown out of the work rolls the transaction back before it is rethrown.</p>
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ * var created = connection.inTransaction(() -> {
+ *     var community = communityFactory.create(newCommunity);
+ *     communityMemberFactory.create(community.getId(), userId, permission);
+ *     return community;
+ * });
+ * }
+ * </pre>
+ *
+ * @param <T> The type of value produced by the work.
+ * @param <X> The type of any additional checked exception the work may throw.
+ */
+@FunctionalInterface
+public interface UnitOfWork<T, X extends Exception> {
+    /**
+     * Performs the work. All statements issued through the {@link DatabaseConnection} on this thread while the work
+     * runs are part of the same transaction.
+     *
+     * @return The result of the work.
+     * @throws SQLException If a statement fails.
+     * @throws X If the work fails in some other way.
+     */
+    T execute() throws SQLException, X;
+}
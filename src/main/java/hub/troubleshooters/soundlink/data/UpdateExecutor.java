@@ -9,7 +9,7 @@ import java.sql.SQLException;
  * by the update operation. Implementations of this interface can handle the outcome of the update, such as
  * verifying the affected rows or performing post-update logic.</p>
  *
- * <p>This interface is typically used in conjunction with the {@link SQLiteDatabaseConnection#executeUpdate} method,
+ * <p>This interface is typically used in conjunction with the {@link DatabaseConnection#executeUpdate} method,
  * where the result of an update operation needs to be processed.</p>
  *
  * <pre>
@@ -26,7 +26,7 @@ import java.sql.SQLException;
  * }
  * </pre>
  *
- * @see SQLiteDatabaseConnection#executeUpdate
+ * @see DatabaseConnection#executeUpdate
  */
 @FunctionalInterface
 public interface UpdateExecutor {
@@ -2,12 +2,13 @@ package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.mappers.BookingMapper;
 import hub.troubleshooters.soundlink.data.models.Booking;
 import hub.troubleshooters.soundlink.data.models.User;
 import hub.troubleshooters.soundlink.data.models.Event;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,7 +25,7 @@ public class BookingFactory extends ModelFactory<Booking> {
 	 */
 	@Inject
 	public BookingFactory(DatabaseConnection connection) {
-		super(connection, "Bookings");
+		super(connection, "Bookings", new BookingMapper());
 	}
 
 	/**
@@ -56,19 +57,7 @@ public class BookingFactory extends ModelFactory<Booking> {
 	@Override
 	public Optional<Booking> get(int id) throws SQLException {
 		final String sql = "SELECT * FROM Bookings WHERE Id = ?;";
-		var booking = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-			if (executor.next()) {
-				return new Booking(
-						executor.getInt("Id"),
-						executor.getInt("EventId"),
-						executor.getInt("UserId"),
-						executor.getDate("Created"),
-						executor.getInt("Permission")
-
-				);
-			}
-			return null;
-		});
+		var booking = connection.executeQuery(sql, statement -> statement.setInt(1, id), mapper::mapFirst);
 		if (booking == null) return Optional.empty();
 		return Optional.of(booking);
 	}
@@ -86,19 +75,7 @@ public class BookingFactory extends ModelFactory<Booking> {
 		var booking = connection.executeQuery(sql, statement ->{
 			statement.setInt(1, eventId);
 			statement.setInt(2, userId);
-		}, executor -> {
-			if (executor.next()) {
-				return new Booking(
-						executor.getInt("Id"),
-						executor.getInt("EventId"),
-						executor.getInt("UserId"),
-						executor.getDate("Created"),
-						executor.getInt("Permission")
-
-				);
-			}
-			return null;
-		});
+		}, mapper::mapFirst);
 		if (booking == null) return Optional.empty();
 		return Optional.of(booking);
 	}
@@ -112,20 +89,7 @@ public class BookingFactory extends ModelFactory<Booking> {
 	 */
 	public List<Booking> get(User user) throws SQLException {
 		final String sql = "SELECT * FROM Bookings WHERE UserId = ?;";
-		return connection.executeQuery(sql, statement -> statement.setInt(1, user.getId()), executor -> {
-			List<Booking> list = new ArrayList<>();
-			while (executor.next()) {
-				list.add( new Booking(
-						executor.getInt("Id"),
-						executor.getInt("EventId"),
-						executor.getInt("UserId"),
-						executor.getDate("Created"),
-						executor.getInt("Permission")
-
-				));
-			}
-			return list;
-		});
+		return connection.executeQuery(sql, statement -> statement.setInt(1, user.getId()), mapper::mapAll);
 	}
 
 	/**
@@ -137,20 +101,7 @@ public class BookingFactory extends ModelFactory<Booking> {
 	 */
 	public List<Booking> get(Event event) throws SQLException {
 		final String sql = "SELECT * FROM Bookings WHERE EventId = ?;";
-		return connection.executeQuery(sql, statement -> statement.setInt(1, event.getId()), executor -> {
-			List<Booking> list = new ArrayList<>();
-			while (executor.next()) {
-				list.add(new Booking(
-						executor.getInt("Id"),
-						executor.getInt("EventId"),
-						executor.getInt("UserId"),
-						executor.getDate("Created"),
-						executor.getInt("Permission")
-
-				));
-			}
-			return list;
-		});
+		return connection.executeQuery(sql, statement -> statement.setInt(1, event.getId()), mapper::mapAll);
 	}
 
 	/**
@@ -159,17 +110,57 @@ public class BookingFactory extends ModelFactory<Booking> {
 	 * @param eventId The ID of the event.
 	 * @param userId The ID of the user.
 	 * @param permission The permission level for the booking.
+	 * @return The newly created {@link Booking}, including its generated ID and created date.
 	 * @throws SQLException If an error occurs during the creation process.
 	 */
-	public void create(int eventId, int userId, int permission) throws SQLException {
-		final String sql = "INSERT INTO Bookings (EventId, UserId, Permission) VALUES (?, ?, ?);";
-		connection.executeUpdate(sql, statement -> {
+	public Booking create(int eventId, int userId, int permission) throws SQLException {
+		final String sql = "INSERT INTO Bookings (EventId, UserId, Permission) VALUES (?, ?, ?) RETURNING *;";
+		return connection.executeInsert(sql, statement -> {
 			statement.setInt(1, eventId);
 			statement.setInt(2, userId);
 			statement.setInt(3, permission);
-		}, rowsAffected -> {
-			if (rowsAffected != 1)
-				throw new SQLException("Failed to create Booking. Rows affected" + rowsAffected);
+		}, mapper::mapCurrent);
+	}
+
+	/**
+	 * Creates a new booking only if the event has a place left and the user isn't already booked into it.
+	 * The check against the event's capacity and the insert are one statement, so concurrent bookings for
+	 * the last place can't both succeed, and the event's booked count is updated in the same statement.
+	 *
+	 * @param eventId The ID of the event.
+	 * @param userId The ID of the user.
+	 * @param permission The permission level for the booking.
+	 * @return An {@code Optional} containing the newly created {@link Booking}, or an empty {@code Optional} if the
+	 *         event is full, doesn't exist, or the user is already booked into it.
+	 * @throws SQLException If an error occurs during the creation process.
+	 */
+	public Optional<Booking> createIfAvailable(int eventId, int userId, int permission) throws SQLException {
+		final String sql = "INSERT INTO Bookings (EventId, UserId, Permission) " +
+				"SELECT Id, ?, ? FROM Events WHERE Id = ? AND BookedCount < Capacity " +
+				"ON CONFLICT (EventId, UserId) DO NOTHING RETURNING *;";
+		// executeInsert requires a returned row, but a full event legitimately inserts nothing
+		var booking = connection.executeQuery(sql, statement -> {
+			statement.setInt(1, userId);
+			statement.setInt(2, permission);
+			statement.setInt(3, eventId);
+		}, mapper::mapFirst);
+		return Optional.ofNullable(booking);
+	}
+
+	/**
+	 * Creates many bookings at once using a single batched insert and transaction.
+	 * Either every booking is created or, if any fails (e.g. a duplicate), none are.
+	 *
+	 * @param bookings The bookings to create. Their IDs and created dates are ignored.
+	 * @return The IDs of the new bookings, in the same order as {@code bookings}.
+	 * @throws SQLException If an error occurs during the creation process.
+	 */
+	public List<Integer> create(Collection<Booking> bookings) throws SQLException {
+		final String sql = "INSERT INTO Bookings (EventId, UserId, Permission) VALUES (?, ?, ?);";
+		return connection.executeBatchInsert(sql, bookings, (statement, booking) -> {
+			statement.setInt(1, booking.getEventId());
+			statement.setInt(2, booking.getUserId());
+			statement.setInt(3, booking.getPermission());
 		});
 	}
 
@@ -193,14 +184,15 @@ public class BookingFactory extends ModelFactory<Booking> {
 	}
 
 	/**
-	 * Counts the number of bookings for a given event.
+	 * Counts the number of bookings for a given event. The count is kept on the event as bookings are
+	 * created and deleted, so this reads one row rather than counting the event's bookings.
 	 *
 	 * @param eventId The ID of the event for which to count bookings.
-	 * @return The number of bookings for the event.
+	 * @return The number of bookings for the event, or 0 if the event doesn't exist.
 	 * @throws SQLException If there is an error executing the query.
 	 */
 	public int countBookingsForEvent(int eventId) throws SQLException {
-		final String sql = "SELECT COUNT(*) FROM Bookings WHERE EventId = ?;";
+		final String sql = "SELECT BookedCount FROM Events WHERE Id = ?;";
 
 		return connection.executeQuery(sql, statement -> {
 			statement.setInt(1, eventId);
@@ -1,23 +1,35 @@
 package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.data.CacheStats;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.EntityCache;
+import hub.troubleshooters.soundlink.data.EntityCacheConfig;
+import hub.troubleshooters.soundlink.data.mappers.CommunityMapper;
 import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
+import hub.troubleshooters.soundlink.data.models.SearchResult;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
  * Factory class responsible for creating, updating, retrieving, and deleting {@link Community} objects
  * from the database. This class interacts with the database to manage community-related data.
+ * Communities looked up by ID are cached, since every event and post in a list names its community.
  */
 public class CommunityFactory extends ModelFactory<Community> {
 
     private static final Logger LOGGER = Logger.getLogger(CommunityFactory.class.getName());
 
+    private final EntityCache<Integer, Community> cache;
+
     /**
      * Constructs a {@code CommunityFactory} with the specified database connection.
      *
@@ -25,35 +37,41 @@ public class CommunityFactory extends ModelFactory<Community> {
      */
     @Inject
     public CommunityFactory(DatabaseConnection connection) {
-        super(connection, "Communities");
+        super(connection, "Communities", new CommunityMapper());
+        this.cache = new EntityCache<>(EntityCacheConfig.defaults(), connection);
     }
 
     /**
-     * Saves an existing community to the database by updating its details.
+     * Saves an existing community to the database by updating its details. Its creation date can't be changed.
      *
      * @param community The community object to be updated.
      * @throws SQLException If there is an error during the update operation.
      */
     @Override
     public void save(Community community) throws SQLException {
-        final String sql = "UPDATE Communities SET Name = ?, Description = ?, Genre = ?, Created = ?, BannerImageId = ?, isPrivate = ? WHERE Id = ?";
-        connection.executeUpdate(sql, statement -> {
-            statement.setString(1, community.getName());
-            statement.setString(2, community.getDescription());
-            statement.setString(3, community.getGenre());
-            statement.setDate(4, new java.sql.Date(community.getCreated().getTime()));
-            statement.setObject(5, community.getBannerImageId().orElse(null)); // Handle null for BannerImageId
-            statement.setBoolean(6, community.isPrivate()); // Set the isPrivate field
-            statement.setInt(7, community.getId());
-        }, rowsAffected -> {
-            if (rowsAffected != 1) {
-                throw new SQLException("Failed to update community. Rows Affected: " + rowsAffected);
-            }
-        });
+        final String sql = "UPDATE Communities SET Name = ?, Description = ?, Genre = ?, BannerImageId = ?, isPrivate = ? WHERE Id = ?";
+        try {
+            connection.executeUpdate(sql, statement -> {
+                statement.setString(1, community.getName());
+                statement.setString(2, community.getDescription());
+                statement.setString(3, community.getGenre());
+                // Created is left as it was, so editing a community doesn't move it within the list of communities
+                statement.setObject(4, community.getBannerImageId().orElse(null)); // Handle null for BannerImageId
+                statement.setBoolean(5, community.isPrivate()); // Set the isPrivate field
+                statement.setInt(6, community.getId());
+            }, rowsAffected -> {
+                if (rowsAffected != 1) {
+                    throw new SQLException("Failed to update community. Rows Affected: " + rowsAffected);
+                }
+            });
+        } finally {
+            // even if the update failed, the cached community may be the instance that was changed
+            cache.invalidate(community.getId());
+        }
     }
 
     /**
-     * Retrieves a community from the database by its ID.
+     * Retrieves a community by its ID, from the cache if it was looked up recently.
      *
      * @param id The ID of the community to retrieve.
      * @return An {@link Optional} containing the community if found, or {@code Optional.empty()} if not found.
@@ -61,84 +79,63 @@ public class CommunityFactory extends ModelFactory<Community> {
      */
     @Override
     public Optional<Community> get(int id) throws SQLException {
-        final String sql = "SELECT * FROM Communities WHERE Id = ?";
-        var community = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-            if (executor.next()) {
-                var bannerId = executor.getInt("BannerImageId");
-                return new Community(
-                        executor.getInt("Id"),
-                        executor.getString("Name"),
-                        executor.getString("Description"),
-                        executor.getString("Genre"),
-                        executor.getDate("Created"),
-                        bannerId == 0 ? null : bannerId,
-                        executor.getBoolean("isPrivate") // Get the isPrivate field
-                );
-            }
-            return null;
+        return cache.get(id, key -> {
+            final String sql = "SELECT * FROM Communities WHERE Id = ?";
+            return Optional.ofNullable(connection.executeQuery(sql, statement -> statement.setInt(1, key), mapper::mapFirst));
         });
-        if (community == null) return Optional.empty();
-        return Optional.of(community);
+    }
+
+    /**
+     * Retrieves several communities by ID, querying only for those that aren't cached.
+     *
+     * @param ids The IDs of the communities to retrieve.
+     * @return The communities found, keyed by ID. IDs with no matching community are absent.
+     * @throws SQLException If there is an error during the query operation.
+     */
+    @Override
+    public Map<Integer, Community> getAll(Collection<Integer> ids) throws SQLException {
+        return cache.getAll(ids, super::getAll);
     }
 
     /**
      * Retrieves a list of communities by their IDs.
      *
      * @param ids A list of community IDs to retrieve.
-     * @return A list of {@link Community} objects matching the provided IDs.
+     * @return A list of {@link Community} objects matching the provided IDs, in the same order as {@code ids}.
      * @throws SQLException If there is an error during the query operation.
      */
     public List<Community> get(List<Integer> ids) throws SQLException {
-        final String sql = "SELECT * FROM Communities WHERE Id IN (?)";
-        var sb = new StringBuilder();
-        for (int id : ids) {
-            sb.append(id).append(',');
-        }
-        if (sb.length() > 0) {
-            sb.deleteCharAt(sb.length() - 1);
-        }
-        return connection.executeQuery(sql, statement -> statement.setString(1, sb.toString()), executor -> {
-            var result = new ArrayList<Community>();
-            while (executor.next()) {
-                var bannerId = executor.getInt("BannerImageId");
-                result.add(new Community(
-                        executor.getInt("Id"),
-                        executor.getString("Name"),
-                        executor.getString("Description"),
-                        executor.getString("Genre"),
-                        executor.getDate("Created"),
-                        bannerId == 0 ? null : bannerId,
-                        executor.getBoolean("isPrivate")
-                ));
-            }
-            return result;
-        });
+        var communities = getAll(ids);
+        return ids.stream()
+                .distinct()
+                .map(communities::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
      * Inserts a new community into the database.
      *
-     * @param community The community object to be inserted.
+     * @param community The community object to be inserted. Its ID is ignored.
+     * @return The newly created {@link Community}, including its generated ID.
      * @throws SQLException If there is an error during the insert operation.
      */
-    public void create(Community community) throws SQLException {
-        final String sql = "INSERT INTO Communities (Name, Description, Genre, Created, BannerImageId, isPrivate) VALUES (?, ?, ?, ?, ?, ?)";
-        connection.executeUpdate(sql, statement -> {
+    public Community create(Community community) throws SQLException {
+        final String sql = "INSERT INTO Communities (Name, Description, Genre, Created, BannerImageId, isPrivate) VALUES (?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP), ?, ?) RETURNING *";
+        return connection.executeInsert(sql, statement -> {
             statement.setString(1, community.getName());
             statement.setString(2, community.getDescription());
             statement.setString(3, community.getGenre());
             if (community.getCreated() != null) {
-                statement.setDate(4, new java.sql.Date(community.getCreated().getTime()));
+                // as text like the column default, since SQLite sorts every number before any text
+                statement.setString(4, toTimestamp(community.getCreated()));
             } else {
-                statement.setNull(4, java.sql.Types.DATE);
+                // fall back to the column default, since rows with no Created date can't be paged through
+                statement.setNull(4, java.sql.Types.VARCHAR);
             }
             statement.setObject(5, community.getBannerImageId().orElse(null));
             statement.setBoolean(6, community.isPrivate());
-        }, rowsAffected -> {
-            if (rowsAffected != 1) {
-                throw new SQLException("Failed to insert community. Rows Affected: " + rowsAffected);
-            }
-        });
+        }, mapper::mapCurrent);
     }
 
     /**
@@ -149,22 +146,35 @@ public class CommunityFactory extends ModelFactory<Community> {
      */
     public List<Community> getAllCommunities() throws SQLException {
         final String sql = "SELECT * FROM Communities";
-        return connection.executeQuery(sql, statement -> {}, executor -> {
-            var result = new ArrayList<Community>();
-            while (executor.next()) {
-                var bannerId = executor.getInt("BannerImageId");
-                result.add(new Community(
-                        executor.getInt("Id"),
-                        executor.getString("Name"),
-                        executor.getString("Description"),
-                        executor.getString("Genre"),
-                        executor.getDate("Created"),
-                        bannerId == 0 ? null : bannerId,
-                        executor.getBoolean("isPrivate")
-                ));
-            }
-            return result;
-        });
+        return connection.executeQuery(sql, statement -> {}, mapper::mapAll);
+    }
+
+    /**
+     * Retrieves one page of communities, newest first.
+     *
+     * @param onlyPrivate Whether to only include private communities, rather than every community.
+     * @param after The cursor returned with the previous page, or {@code null} for the newest communities.
+     * @param limit The most communities to return.
+     * @return The page of communities and the cursor of the page after it.
+     * @throws SQLException If there is an error during the query operation.
+     */
+    public Page<Community> getAllCommunities(boolean onlyPrivate, PageCursor after, int limit) throws SQLException {
+        return onlyPrivate
+                ? getPage(after, limit, true, "isPrivate = 1")
+                : getPage(after, limit, true, null);
+    }
+
+    /**
+     * Searches the full-text index of community names, descriptions and genres. Every word in {@code text} must
+     * start a word of the community, ignoring case and accents, and matches in the name count the most.
+     *
+     * @param text The words to search for.
+     * @param limit The most communities to return.
+     * @return The best matching communities, best first, each with a highlighted snippet.
+     * @throws SQLException If there is an error during the query operation.
+     */
+    public List<SearchResult<Community>> searchText(String text, int limit) throws SQLException {
+        return fullTextSearch("CommunitiesSearch", text, limit, 10.0, 1.0, 4.0);
     }
 
     /**
@@ -182,5 +192,15 @@ public class CommunityFactory extends ModelFactory<Community> {
                 throw new SQLException("Failed to delete community. Rows Affected: " + rowsAffected);
             }
         });
+        cache.invalidate(id);
+    }
+
+    /**
+     * Gets the hit and miss counts of the cache of communities looked up by ID.
+     *
+     * @return A snapshot of the cache's counters.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
-}
\ No newline at end of file
+}
@@ -2,11 +2,14 @@ package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.mappers.CommunityMemberMapper;
 import hub.troubleshooters.soundlink.data.models.CommunityMember;
 import hub.troubleshooters.soundlink.data.models.User;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -25,7 +28,7 @@ public class CommunityMemberFactory extends ModelFactory<CommunityMember> {
      */
     @Inject
     public CommunityMemberFactory(DatabaseConnection connection) {
-        super(connection, "CommunityMembers");
+        super(connection, "CommunityMembers", new CommunityMemberMapper());
     }
 
     private static final Logger LOGGER = Logger.getLogger(CommunityMemberFactory.class.getName());
@@ -59,18 +62,7 @@ public class CommunityMemberFactory extends ModelFactory<CommunityMember> {
     @Override
     public Optional<CommunityMember> get(int id) throws SQLException {
         final String sql = "SELECT * FROM CommunityMembers WHERE Id = ?;";
-        var communityMember = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-            if (executor.next()) {
-                return new CommunityMember(
-                    executor.getInt("Id"),
-                    executor.getInt("CommunityId"),
-                    executor.getInt("UserId"),
-                    executor.getDate("Created"),
-                    executor.getInt("Permission")
-                );
-            }
-            return null;
-        });
+        var communityMember = connection.executeQuery(sql, statement -> statement.setInt(1, id), mapper::mapFirst);
         if (communityMember == null) {
             return Optional.empty();
         }
@@ -90,18 +82,7 @@ public class CommunityMemberFactory extends ModelFactory<CommunityMember> {
         var communityMember = connection.executeQuery(sql, statement -> {
                 statement.setInt(1, communityId);
                 statement.setInt(2, userId);
-            }, executor -> {
-            if (executor.next()) {
-                return new CommunityMember(
-                        executor.getInt("Id"),
-                        executor.getInt("CommunityId"),
-                        executor.getInt("UserId"),
-                        executor.getDate("Created"),
-                        executor.getInt("Permission")
-                );
-            }
-            return null;
-        });
+            }, mapper::mapFirst);
         if (communityMember == null) {
             return Optional.empty();
         }
@@ -117,19 +98,7 @@ public class CommunityMemberFactory extends ModelFactory<CommunityMember> {
      */
     public List<CommunityMember> get(User user) throws SQLException {
         final String sql = "SELECT * FROM CommunityMembers WHERE UserId = ?;";
-        return connection.executeQuery(sql, statement -> statement.setInt(1, user.getId()), executor -> {
-            var commUsers = new ArrayList<CommunityMember>();
-            while (executor.next()) {
-                commUsers.add(new CommunityMember(
-                    executor.getInt("Id"),
-                    executor.getInt("CommunityId"),
-                    executor.getInt("UserId"),
-                    executor.getDate("Created"),
-                    executor.getInt("Permission")
-                ));
-            }
-            return commUsers;
-        });
+        return connection.executeQuery(sql, statement -> statement.setInt(1, user.getId()), mapper::mapAll);
     }
 
     /**
@@ -138,27 +107,76 @@ public class CommunityMemberFactory extends ModelFactory<CommunityMember> {
      * @param communityId The ID of the community the user is joining.
      * @param userId The ID of the user joining the community.
      * @param permission The permission level for the community member.
-     * @throws SQLException If an error occurs during the creation process or the user is already a member.
+     * @return The newly created {@link CommunityMember}, or the existing one if the user is already a member.
+     * @throws SQLException If an error occurs during the creation process.
      */
-    public void create(int communityId, int userId, int permission) throws SQLException {
+    public CommunityMember create(int communityId, int userId, int permission) throws SQLException {
         // check if the user is already a member of the community.
         // probably not the best area to do this check but was the only one that worked.
         Optional<CommunityMember> existingMember = get(communityId, userId);
         if (existingMember.isPresent()) {
             LOGGER.log(Level.INFO, "User with UserId: " + userId + " is already a member of CommunityId: " + communityId);
-            return;
+            return existingMember.get();
         }
-        final String sql = "INSERT INTO CommunityMembers (CommunityId, UserId, Permission) VALUES (?, ?, ?);";
-        connection.executeUpdate(sql, statement -> {
+        final String sql = "INSERT INTO CommunityMembers (CommunityId, UserId, Permission) VALUES (?, ?, ?) RETURNING *;";
+        return connection.executeInsert(sql, statement -> {
             statement.setInt(1, communityId);
             statement.setInt(2, userId);
             statement.setInt(3, permission);
-        }, rowsAffected -> {
-            if (rowsAffected != 1)
-                throw new SQLException("Failed to create Community Member. Rows affected" + rowsAffected);
+        }, mapper::mapCurrent);
+    }
+
+    /**
+     * Adds many community members at once using a single batched insert and transaction.
+     * Users who are already members of the community (or appear twice in {@code members}) are skipped,
+     * matching {@link #create(int, int, int)}.
+     *
+     * @param members The memberships to create. Their IDs and created dates are ignored.
+     * @return The IDs of the new memberships, in the same order as {@code members}, with {@code null} for any
+     *         user that was already a member.
+     * @throws SQLException If an error occurs during the creation process.
+     */
+    public List<Integer> create(Collection<CommunityMember> members) throws SQLException {
+        final String existingSql = "SELECT UserId FROM CommunityMembers WHERE CommunityId = ?;";
+        final String sql = "INSERT INTO CommunityMembers (CommunityId, UserId, Permission) VALUES (?, ?, ?);";
+        return connection.inTransaction(() -> {
+            // one lookup per community rather than per member; a migration is usually a single community
+            var existing = new HashSet<Long>();
+            for (var communityId : members.stream().map(CommunityMember::getCommunityId).distinct().toList()) {
+                connection.executeQuery(existingSql, statement -> statement.setInt(1, communityId), executor -> {
+                    while (executor.next()) {
+                        existing.add(membershipKey(communityId, executor.getInt("UserId")));
+                    }
+                    return null;
+                });
+            }
+
+            var newMembers = new ArrayList<CommunityMember>();
+            var isNew = new ArrayList<Boolean>(members.size());
+            for (var member : members) {
+                var added = existing.add(membershipKey(member.getCommunityId(), member.getUserId()));
+                isNew.add(added);
+                if (added) newMembers.add(member);
+            }
+
+            var keys = connection.executeBatchInsert(sql, newMembers, (statement, member) -> {
+                statement.setInt(1, member.getCommunityId());
+                statement.setInt(2, member.getUserId());
+                statement.setInt(3, member.getPermission());
+            }).iterator();
+
+            var result = new ArrayList<Integer>(members.size());
+            for (var added : isNew) {
+                result.add(added ? keys.next() : null);
+            }
+            return result;
         });
     }
 
+    private static long membershipKey(int communityId, int userId) {
+        return ((long) communityId << 32) | (userId & 0xFFFFFFFFL);
+    }
+
     /**
      * Deletes a CommunityMember from the database based on communityId and userId.
      * @param communityId the ID of the community.
@@ -194,5 +212,4 @@ public class CommunityMemberFactory extends ModelFactory<CommunityMember> {
             throw e;
         }
     }
-
 }
@@ -2,11 +2,13 @@ package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.mappers.CommunityPostMapper;
 import hub.troubleshooters.soundlink.data.models.Community;
 import hub.troubleshooters.soundlink.data.models.CommunityPost;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +25,7 @@ public class CommunityPostFactory extends ModelFactory<CommunityPost> {
 	 */
 	@Inject
 	public CommunityPostFactory(DatabaseConnection connection) {
-		super(connection, "CommunityPosts");
+		super(connection, "CommunityPosts", new CommunityPostMapper());
 	}
 
 	/**
@@ -36,19 +38,7 @@ public class CommunityPostFactory extends ModelFactory<CommunityPost> {
 	@Override
 	public Optional<CommunityPost> get(int id) throws SQLException {
 		final String sql = "SELECT * FROM CommunityPosts WHERE Id = ?;";
-		var communityPost = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-			if (executor.next()) {
-				return new CommunityPost(
-						executor.getInt("Id"),
-						executor.getInt("CommunityId"),
-						executor.getInt("UserId"),
-						executor.getString("Title"),
-						executor.getString("Content"),
-						executor.getDate("Created")
-				);
-			}
-			return null;
-		});
+		var communityPost = connection.executeQuery(sql, statement -> statement.setInt(1, id), mapper::mapFirst);
 		if (communityPost == null) return Optional.empty();
 		return Optional.of(communityPost);
 	}
@@ -62,20 +52,20 @@ public class CommunityPostFactory extends ModelFactory<CommunityPost> {
 	 */
 	public List<CommunityPost> getPosts(int communityId) throws SQLException {
 		final String sql = "SELECT * FROM CommunityPosts WHERE CommunityId = ?;";
-		return connection.executeQuery(sql, statement -> statement.setInt(1, communityId), executor -> {
-			List<CommunityPost> list = new ArrayList<>();
-			while (executor.next()) {
-				list.add(new CommunityPost(
-						executor.getInt("Id"),
-						executor.getInt("CommunityId"),
-						executor.getInt("UserId"),
-						executor.getString("Title"),
-						executor.getString("Content"),
-						executor.getDate("Created")
-				));
-			}
-			return list;
-		});
+		return connection.executeQuery(sql, statement -> statement.setInt(1, communityId), mapper::mapAll);
+	}
+
+	/**
+	 * Retrieves one page of a community's posts, newest first.
+	 *
+	 * @param communityId The ID of the community whose posts are to be retrieved.
+	 * @param after The cursor returned with the previous page, or {@code null} for the newest posts.
+	 * @param limit The most posts to return.
+	 * @return The page of posts and the cursor of the page after it.
+	 * @throws SQLException If an error occurs during the query operation.
+	 */
+	public Page<CommunityPost> getPosts(int communityId, PageCursor after, int limit) throws SQLException {
+		return getPage(after, limit, true, "CommunityId = ?", communityId);
 	}
 
 	/**
@@ -104,18 +94,16 @@ public class CommunityPostFactory extends ModelFactory<CommunityPost> {
 	 * @param userId The ID of the user creating the post.
 	 * @param title The title of the community post.
 	 * @param content The content of the community post.
+	 * @return The newly created {@link CommunityPost}, including its generated ID and created date.
 	 * @throws SQLException If an error occurs during the insert operation.
 	 */
-	public void create(int communityId, int userId, String title, String content) throws SQLException{
-		final String sql = "INSERT INTO CommunityPosts (CommunityId, UserId, Title, Content) VALUES (?, ?, ?, ?);";
-		connection.executeUpdate(sql, statement -> {
+	public CommunityPost create(int communityId, int userId, String title, String content) throws SQLException{
+		final String sql = "INSERT INTO CommunityPosts (CommunityId, UserId, Title, Content) VALUES (?, ?, ?, ?) RETURNING *;";
+		return connection.executeInsert(sql, statement -> {
 			statement.setInt(1, communityId);
 			statement.setInt(2, userId);
 			statement.setString(3, title);
 			statement.setString(4, content);
-		}, rowsAffected -> {
-			if (rowsAffected != 1)
-				throw new SQLException("Failed to insert Community Post. Rows affected " + rowsAffected);
-		});
+		}, mapper::mapCurrent);
 	}
 }
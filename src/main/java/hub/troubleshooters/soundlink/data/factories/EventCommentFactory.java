@@ -2,11 +2,14 @@ package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.mappers.EventCommentMapper;
 import hub.troubleshooters.soundlink.data.models.Event;
 import hub.troubleshooters.soundlink.data.models.EventComment;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +26,7 @@ public class EventCommentFactory extends ModelFactory<EventComment> {
 	 */
 	@Inject
 	public EventCommentFactory(DatabaseConnection connection) {
-		super(connection, "EventComments");
+		super(connection, "EventComments", new EventCommentMapper());
 	}
 
 	/**
@@ -36,18 +39,7 @@ public class EventCommentFactory extends ModelFactory<EventComment> {
 	@Override
 	public Optional<EventComment> get(int id) throws SQLException {
 		final String sql = "SELECT * FROM EventComments WHERE Id = ?;";
-		var eventComment = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-			if (executor.next()) {
-				return new EventComment(
-						executor.getInt("Id"),
-						executor.getInt("EventId"),
-						executor.getInt("UserId"),
-						executor.getString("Content"),
-						executor.getDate("Created")
-				);
-			}
-			return null;
-		});
+		var eventComment = connection.executeQuery(sql, statement -> statement.setInt(1, id), mapper::mapFirst);
 		if (eventComment == null) return Optional.empty();
 		return Optional.of(eventComment);
 	}
@@ -61,19 +53,7 @@ public class EventCommentFactory extends ModelFactory<EventComment> {
 	 */
 	public List<EventComment> get(Event event) throws SQLException {
 		final String sql = "SELECT * FROM EventComments WHERE EventId = ?;";
-		return connection.executeQuery(sql, statement -> statement.setInt(1, event.getId()), executor -> {
-			List<EventComment> list = new ArrayList<>();
-			while (executor.next()) {
-				list.add(new EventComment(
-						executor.getInt("Id"),
-						executor.getInt("EventId"),
-						executor.getInt("UserId"),
-						executor.getString("Content"),
-						executor.getDate("Created")
-				));
-			}
-			return list;
-		});
+		return connection.executeQuery(sql, statement -> statement.setInt(1, event.getId()), mapper::mapAll);
 	}
 
 	/**
@@ -87,6 +67,19 @@ public class EventCommentFactory extends ModelFactory<EventComment> {
 		return get(new Event(eventId, 0, null, null, null, 0, null, null, null));
 	}
 
+	/**
+	 * Retrieves one page of an event's comments, oldest first.
+	 *
+	 * @param eventId The ID of the event for which comments are retrieved.
+	 * @param after The cursor returned with the previous page, or {@code null} for the oldest comments.
+	 * @param limit The most comments to return.
+	 * @return The page of comments and the cursor of the page after it.
+	 * @throws SQLException If an error occurs during the query.
+	 */
+	public Page<EventComment> getByEventId(int eventId, PageCursor after, int limit) throws SQLException {
+		return getPage(after, limit, false, "EventId = ?", eventId);
+	}
+
 	/**
 	 * Updates an existing {@link EventComment} in the database.
 	 *
@@ -111,17 +104,31 @@ public class EventCommentFactory extends ModelFactory<EventComment> {
 	 * @param eventId The ID of the event to which the comment is associated.
 	 * @param userId The ID of the user who made the comment.
 	 * @param content The content of the comment.
+	 * @return The newly created {@link EventComment}, including its generated ID and created date.
 	 * @throws SQLException If an error occurs during the creation of the comment.
 	 */
-	public void create(int eventId, int userId, String content) throws SQLException{
-		final String sql = "INSERT INTO EventComments (EventId, UserId, Content) VALUES (?, ?, ?);";
-		connection.executeUpdate(sql, statement -> {
+	public EventComment create(int eventId, int userId, String content) throws SQLException{
+		final String sql = "INSERT INTO EventComments (EventId, UserId, Content) VALUES (?, ?, ?) RETURNING *;";
+		return connection.executeInsert(sql, statement -> {
 			statement.setInt(1, eventId);
 			statement.setInt(2, userId);
 			statement.setString(3, content);
-		}, rowsAffected -> {
-			if (rowsAffected != 1)
-				throw new SQLException("Failed to insert Event Comment. Rows affected " + rowsAffected);
+		}, mapper::mapCurrent);
+	}
+
+	/**
+	 * Creates many {@link EventComment}s at once using a single batched insert and transaction.
+	 *
+	 * @param comments The comments to create. Their IDs and created dates are ignored.
+	 * @return The IDs of the new comments, in the same order as {@code comments}.
+	 * @throws SQLException If an error occurs during the creation of the comments.
+	 */
+	public List<Integer> create(Collection<EventComment> comments) throws SQLException {
+		final String sql = "INSERT INTO EventComments (EventId, UserId, Content) VALUES (?, ?, ?);";
+		return connection.executeBatchInsert(sql, comments, (statement, comment) -> {
+			statement.setInt(1, comment.getEventId());
+			statement.setInt(2, comment.getUserId());
+			statement.setString(3, comment.getContent());
 		});
 	}
 }
@@ -2,9 +2,15 @@ package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.mappers.EventMapper;
 import hub.troubleshooters.soundlink.data.models.Community;
 import hub.troubleshooters.soundlink.data.models.Event;
+import hub.troubleshooters.soundlink.data.models.EventSummary;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
+import hub.troubleshooters.soundlink.data.models.SearchResult;
 import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
+import hub.troubleshooters.soundlink.core.events.models.SearchEventModel;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -12,6 +18,7 @@ import java.time.LocalDate;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -29,18 +36,18 @@ public class EventFactory extends ModelFactory<Event> {
 	 */
 	@Inject
 	public EventFactory(DatabaseConnection connection) {
-		super(connection, "Events");
+		super(connection, "Events", new EventMapper());
 	}
 
 	/**
-	 * Updates an existing {@link Event} in the database.
+	 * Updates an existing {@link Event} in the database. Its creation date can't be changed.
 	 *
 	 * @param event The event model to update.
 	 * @throws SQLException If the update fails or affects an incorrect number of rows.
 	 */
 	@Override
 	public void save(Event event) throws SQLException {
-		final String sql = "UPDATE Events SET CommunityId = ?, Name = ?, Description = ?, Venue = ?, Capacity = ?, Scheduled = ?, Created = ?, BannerImageId = ? WHERE Id = ?";
+		final String sql = "UPDATE Events SET CommunityId = ?, Name = ?, Description = ?, Venue = ?, Capacity = ?, Scheduled = ?, BannerImageId = ? WHERE Id = ?";
 		connection.executeUpdate(sql, statement -> {
 			statement.setInt(1, event.getCommunityId());
 			statement.setString(2, event.getName());
@@ -48,9 +55,9 @@ public class EventFactory extends ModelFactory<Event> {
 			statement.setString(4, event.getVenue());
 			statement.setInt(5, event.getCapacity());
 			statement.setDate(6, new java.sql.Date(event.getScheduled().getTime()));
-			statement.setDate(7, new java.sql.Date(event.getCreated().getTime()));
-			statement.setObject(8, event.getBannerImageId().orElse(null));	// setObject so that we can set null
-			statement.setInt(9, event.getId());
+			// Created is left as it was, so editing an event doesn't move it within its community's feed
+			statement.setObject(7, event.getBannerImageId().orElse(null));	// setObject so that we can set null
+			statement.setInt(8, event.getId());
 		}, rowsAffected -> {
 			if (rowsAffected != 1) {
 				throw new SQLException("Failed to update event. Rows Affected: " + rowsAffected);
@@ -68,29 +75,44 @@ public class EventFactory extends ModelFactory<Event> {
 	@Override
 	public Optional<Event> get(int id) throws SQLException {
 		final String sql = "SELECT * FROM Events WHERE Id = ?";
-		var event = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-			if (executor.next()) {
-				var bannerId = executor.getInt("BannerImageId");
-				return new Event(
-						executor.getInt("Id"),
-						executor.getInt("CommunityId"),
-						executor.getString("Name"),
-						executor.getString("Description"),
-						executor.getString("Venue"),
-						executor.getInt("Capacity"),
-						executor.getDate("Scheduled"),
-						executor.getDate("Created"),
-						bannerId == 0 ? null : bannerId
-				);
-			}
-			return null;
-		});
+		var event = connection.executeQuery(sql, statement -> statement.setInt(1, id), mapper::mapFirst);
 		if (event == null) {
 			return Optional.empty();
 		}
 		return Optional.of(event);
 	}
 
+	/**
+	 * Retrieves an {@link Event} along with its booking count, and the booking and display name of the viewing user,
+	 * in a single query.
+	 *
+	 * @param id The ID of the event to retrieve.
+	 * @param viewerId The ID of the user viewing the event.
+	 * @return An {@code Optional} containing the event summary if the event was found, or an empty {@code Optional} if not.
+	 * @throws SQLException If an error occurs during the query.
+	 */
+	public Optional<EventSummary> getSummary(int id, int viewerId) throws SQLException {
+		final String sql = "SELECT e.*, " +
+				"e.BookedCount AS BookingCount, " +
+				"b.Permission AS ViewerPermission, " +
+				"(SELECT DisplayName FROM UserProfiles WHERE UserId = ?) AS ViewerDisplayName " +
+				"FROM Events e LEFT JOIN Bookings b ON b.EventId = e.Id AND b.UserId = ? " +
+				"WHERE e.Id = ?";
+		return connection.executeQuery(sql, statement -> {
+			statement.setInt(1, viewerId);
+			statement.setInt(2, viewerId);
+			statement.setInt(3, id);
+		}, executor -> {
+			if (!executor.next()) {
+				return Optional.empty();
+			}
+			var event = mapper.mapCurrent(executor);
+			var permission = executor.getInt("ViewerPermission");
+			var viewerPermission = executor.wasNull() ? Optional.<Integer>empty() : Optional.of(permission);
+			return Optional.of(new EventSummary(event, executor.getInt("BookingCount"), viewerPermission, executor.getString("ViewerDisplayName")));
+		});
+	}
+
 	/**
 	 * Creates a new {@link Event} with a banner image.
 	 *
@@ -101,11 +123,12 @@ public class EventFactory extends ModelFactory<Event> {
 	 * @param capacity     The maximum capacity for the event.
 	 * @param scheduled    The scheduled date of the event.
 	 * @param bannerImageId The ID of the banner image associated with the event.
+	 * @return The newly created {@link Event}, including its generated ID.
 	 * @throws SQLException If an error occurs during the creation of the event.
 	 */
-	public void create(String name, String description, int communityId, String venue, int capacity, Date scheduled, int bannerImageId) throws SQLException {
-		final String sql = "INSERT INTO Events (CommunityId, Name, Description, Venue, Capacity, Scheduled, BannerImageId) VALUES (?, ?, ?, ? ,?, ?, ?)";
-		connection.executeUpdate(sql, statement -> {
+	public Event create(String name, String description, int communityId, String venue, int capacity, Date scheduled, int bannerImageId) throws SQLException {
+		final String sql = "INSERT INTO Events (CommunityId, Name, Description, Venue, Capacity, Scheduled, BannerImageId) VALUES (?, ?, ?, ? ,?, ?, ?) RETURNING *";
+		return connection.executeInsert(sql, statement -> {
 			statement.setInt(1, communityId);
 			statement.setString(2, name);
 			statement.setString(3, description);
@@ -113,11 +136,7 @@ public class EventFactory extends ModelFactory<Event> {
 			statement.setInt(5, capacity);
 			statement.setDate(6, new java.sql.Date(scheduled.getTime()));
 			statement.setInt(7, bannerImageId);
-		}, rowsAffected -> {
-			if (rowsAffected != 1) {
-				throw new SQLException("Failed to create event. Rows Affected: " + rowsAffected);
-			}
-		});
+		}, mapper::mapCurrent);
 	}
 
 	/**
@@ -129,22 +148,19 @@ public class EventFactory extends ModelFactory<Event> {
 	 * @param venue       The venue where the event will take place.
 	 * @param capacity    The maximum capacity for the event.
 	 * @param scheduled   The scheduled date of the event.
+	 * @return The newly created {@link Event}, including its generated ID.
 	 * @throws SQLException If an error occurs during the creation of the event.
 	 */
-	public void create(String name, String description, int communityId, String venue, int capacity, Date scheduled) throws SQLException {
-		final String sql = "INSERT INTO Events (CommunityId, Name, Description, Venue, Capacity, Scheduled) VALUES (?, ?, ?, ? ,?, ?)";
-		connection.executeUpdate(sql, statement -> {
+	public Event create(String name, String description, int communityId, String venue, int capacity, Date scheduled) throws SQLException {
+		final String sql = "INSERT INTO Events (CommunityId, Name, Description, Venue, Capacity, Scheduled) VALUES (?, ?, ?, ? ,?, ?) RETURNING *";
+		return connection.executeInsert(sql, statement -> {
 			statement.setInt(1, communityId);
 			statement.setString(2, name);
 			statement.setString(3, description);
 			statement.setString(4, venue);
 			statement.setInt(5, capacity);
 			statement.setDate(6, new java.sql.Date(scheduled.getTime()));
-		}, rowsAffected -> {
-			if (rowsAffected != 1) {
-				throw new SQLException("Failed to create event. Rows Affected: " + rowsAffected);
-			}
-		});
+		}, mapper::mapCurrent);
 	}
 
 	/**
@@ -155,24 +171,7 @@ public class EventFactory extends ModelFactory<Event> {
 	 */
 	    public List<Event> getAllEvents() throws SQLException {
 	        final String sql = "SELECT * FROM Events";
-	        return connection.executeQuery(sql, statement -> {}, executor -> {
-	            List<Event> eventList = new ArrayList<>();
-	            while (executor.next()) {
-					var bannerId = executor.getInt("BannerImageId");
-	                eventList.add(new Event(
-	                        executor.getInt("Id"),
-	                        executor.getInt("CommunityId"),
-	                        executor.getString("Name"),
-	                        executor.getString("Description"),
-	                        executor.getString("Venue"),
-	                        executor.getInt("Capacity"),
-	                        executor.getDate("Scheduled"),
-	                        executor.getDate("Created"),
-							bannerId == 0 ? null : bannerId
-	                ));
-	            }
-	            return eventList;
-	        });
+	        return connection.executeQuery(sql, statement -> {}, mapper::mapAll);
 	    }
 
 	     /**
@@ -186,24 +185,7 @@ public class EventFactory extends ModelFactory<Event> {
 	                "FROM Events e " +
 	                "JOIN CommunityMembers cm ON cm.CommunityId = e.CommunityId " +
 	                "WHERE cm.UserId = ?";
-	        return connection.executeQuery(sql, statement -> statement.setInt(1, userId), executor -> {
-	            List<Event> searchEvents = new ArrayList<>();
-	            while (executor.next()) {
-					var bannerId = executor.getInt("BannerImageId");
-	                searchEvents.add(new Event(
-	                        executor.getInt("Id"),
-	                        executor.getInt("CommunityId"),
-	                        executor.getString("Name"),
-	                        executor.getString("Description"),
-	                        executor.getString("Venue"),
-	                        executor.getInt("Capacity"),
-							executor.getDate("Scheduled"),
-							executor.getDate("Created"),
-							bannerId == 0 ? null : bannerId
-	                ));
-	            }
-	            return searchEvents;
-	        });
+	        return connection.executeQuery(sql, statement -> statement.setInt(1, userId), mapper::mapAll);
 	    }
 	
 	        /**
@@ -217,24 +199,7 @@ public class EventFactory extends ModelFactory<Event> {
 	                "FROM Events e " +
 	                "JOIN Communities c ON e.CommunityId = c.Id " +
 	                "WHERE c.Id NOT IN (SELECT CommunityId FROM CommunityMembers WHERE UserId = ?) ";
-	        return connection.executeQuery(sql, statement -> statement.setInt(1, userId), executor -> {
-	            List<Event> publicEvents = new ArrayList<>();
-	            while (executor.next()) {
-					var bannerId = executor.getInt("BannerImageId");
-	                publicEvents.add(new Event(
-	                        executor.getInt("Id"),
-	                        executor.getInt("CommunityId"),
-	                        executor.getString("Name"),
-	                        executor.getString("Description"),
-	                        executor.getString("Venue"),
-	                        executor.getInt("Capacity"),
-	                        executor.getDate("Scheduled"),
-							executor.getDate("Created"),
-							bannerId == 0 ? null : bannerId
-	                ));
-	            }
-	            return publicEvents;
-	        });
+	        return connection.executeQuery(sql, statement -> statement.setInt(1, userId), mapper::mapAll);
 	    }
 
 		/**
@@ -245,26 +210,113 @@ public class EventFactory extends ModelFactory<Event> {
 		 **/
 		public List<Event> findCommunityEvents(int communityId) throws SQLException {
 				final String sql = "SELECT * FROM Events WHERE CommunityId = ?";
-				return connection.executeQuery(sql, statement -> statement.setInt(1, communityId), executor -> {
-					List<Event> communityEvents = new ArrayList<>();
-					while (executor.next()) {
-						var bannerId = executor.getInt("BannerImageId");
-						communityEvents.add(new Event(
-								executor.getInt("Id"),
-								executor.getInt("CommunityId"),
-								executor.getString("Name"),
-								executor.getString("Description"),
-								executor.getString("Venue"),
-								executor.getInt("Capacity"),
-								executor.getDate("Scheduled"),
-								executor.getDate("Created"),
-								bannerId == 0 ? null : bannerId
-						));
-					}
-					return communityEvents;
-				});
+				return connection.executeQuery(sql, statement -> statement.setInt(1, communityId), mapper::mapAll);
+		}
+
+	/**
+	 * Finds one page of the events within the provided community, most recently created first.
+	 *
+	 * @param communityId The community's ID.
+	 * @param after The cursor returned with the previous page, or {@code null} for the newest events.
+	 * @param limit The most events to return.
+	 * @return The page of events and the cursor of the page after it.
+	 * @throws SQLException If a database error occurs.
+	 */
+	public Page<Event> findCommunityEvents(int communityId, PageCursor after, int limit) throws SQLException {
+		return getPage(after, limit, true, "CommunityId = ?", communityId);
+	}
+
+	/**
+	 * Finds every event matching the search criteria. A blank text search or a {@code 0} capacity or community ID
+	 * matches every event, as do missing dates.
+	 * <p>
+	 * The criteria are applied in the query so that only matching events are read, using the {@code Scheduled},
+	 * {@code Capacity} and {@code CommunityId} indexes where possible. SQLite only lower-cases ASCII letters, so text
+	 * containing other characters is passed through the query and each returned event is checked again in Java,
+	 * keeping the results the same as filtering every event with {@link String#toLowerCase()}.
+	 *
+	 * @param searchModel The search criteria.
+	 * @return The matching events, in the order they were created.
+	 * @throws SQLException If an error occurs during the query.
+	 */
+	public List<Event> search(SearchEventModel searchModel) throws SQLException {
+		var text = searchModel.textSearch() == null ? "" : searchModel.textSearch().toLowerCase();
+		var conditions = new ArrayList<String>();
+		var parameters = new ArrayList<Object>();
+
+		// events created through this factory store Scheduled as epoch milliseconds, but rows inserted by hand (e.g.
+		// the mock data) may hold date text instead. SQLite sorts all text after all numbers, so a lower bound keeps
+		// them anyway and an upper bound has to let them through explicitly; the Java check then decides.
+		var from = searchModel.fromDate();
+		var to = searchModel.toDate();
+		if (from != null && to != null) {
+			// BETWEEN rather than two comparisons, so that SQLite can answer the OR with two ranges of the index
+			conditions.add("(Scheduled BETWEEN ? AND ? OR Scheduled >= '')");
+			parameters.add(from.getTime());
+			parameters.add(to.getTime());
+		} else if (from != null) {
+			conditions.add("Scheduled >= ?");
+			parameters.add(from.getTime());
+		} else if (to != null) {
+			conditions.add("(Scheduled <= ? OR Scheduled >= '')");
+			parameters.add(to.getTime());
+		}
+		if (searchModel.capacity() != 0) {
+			conditions.add("Capacity = ?");
+			parameters.add(searchModel.capacity());
+		}
+		if (searchModel.communityId() != 0) {
+			conditions.add("CommunityId = ?");
+			parameters.add(searchModel.communityId());
+		}
+		if (!text.isEmpty() && text.chars().allMatch(c -> c < 128)) {
+			// octet_length exceeds length when the text has non-ASCII characters, which lower() leaves alone
+			conditions.add("(instr(lower(Name), ?) > 0 OR instr(lower(Description), ?) > 0 OR instr(lower(Venue), ?) > 0" +
+					" OR octet_length(Name || Description || Venue) > length(Name || Description || Venue))");
+			parameters.add(text);
+			parameters.add(text);
+			parameters.add(text);
 		}
 
+		// no ORDER BY, which would make SQLite walk the table in Id order instead of using the indexes
+		final String sql = "SELECT * FROM Events" + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+		var candidates = connection.executeQuery(sql, statement -> {
+			for (int i = 0; i < parameters.size(); i++) {
+				statement.setObject(i + 1, parameters.get(i));
+			}
+		}, mapper::mapAll);
+
+		return candidates.stream()
+				.filter(event -> matches(event, searchModel, text))
+				.sorted(Comparator.comparingInt(Event::getId))
+				.toList();
+	}
+
+	/**
+	 * Searches the full-text index of event names, descriptions and venues. Every word in {@code text} must start a
+	 * word of the event, ignoring case and accents, and matches in the name count the most.
+	 *
+	 * @param text  The words to search for.
+	 * @param limit The most events to return.
+	 * @return The best matching events, best first, each with a highlighted snippet.
+	 * @throws SQLException If an error occurs during the query.
+	 */
+	public List<SearchResult<Event>> searchText(String text, int limit) throws SQLException {
+		return fullTextSearch("EventsSearch", text, limit, 10.0, 1.0, 2.0);
+	}
+
+	private static boolean matches(Event event, SearchEventModel searchModel, String text) {
+		return (
+				event.getName().toLowerCase().contains(text) ||
+				event.getDescription().toLowerCase().contains(text) ||
+				event.getVenue().toLowerCase().contains(text)
+		) &&
+				(searchModel.fromDate() == null || !event.getScheduled().before(searchModel.fromDate())) &&
+				(searchModel.toDate() == null || !event.getScheduled().after(searchModel.toDate())) &&
+				(searchModel.capacity() == 0 || event.getCapacity() == searchModel.capacity()) &&
+				(searchModel.communityId() == 0 || event.getCommunityId() == searchModel.communityId());
+	}
+
 	/**
 	 * Deletes an Event
 	 * @param event the community object to be deleted
@@ -1,18 +1,32 @@
 package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.data.CacheStats;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.EntityCache;
+import hub.troubleshooters.soundlink.data.EntityCacheConfig;
+import hub.troubleshooters.soundlink.data.mappers.ImageMapper;
 import hub.troubleshooters.soundlink.data.models.Image;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Factory class responsible for handling database operations related to {@link Image} models.
  * This class provides methods for creating, retrieving, and updating images in the database.
+ * Images looked up by ID are cached, since the same banners and profile pictures are shown over and over.
+ *
+ * <p>Each image is stored once, under the hash of its content, and counts how many profiles, communities and events
+ * show it. The count is kept up to date by triggers in the database, so it is only ever read here, never cached.</p>
  */
 public class ImageFactory extends ModelFactory<Image>{
 
+    private final EntityCache<Integer, Image> cache;
+
     /**
      * Constructs a new {@code ImageFactory} with the specified database connection.
      *
@@ -20,7 +34,8 @@ public class ImageFactory extends ModelFactory<Image>{
      */
     @Inject
     public ImageFactory(DatabaseConnection connection) {
-        super(connection, "Images");
+        super(connection, "Images", new ImageMapper());
+        this.cache = new EntityCache<>(EntityCacheConfig.defaults(), connection);
     }
 
     /**
@@ -31,19 +46,27 @@ public class ImageFactory extends ModelFactory<Image>{
      */
     @Override
     public void save(Image model) throws SQLException {
-        final String sql = "UPDATE Images SET FileName = ? WHERE Id = ?;";
-        connection.executeUpdate(sql, statement -> {
-            statement.setString(1, model.getFileName());
-            statement.setInt(2, model.getId());
-        }, rowsAffected -> {
-            if (rowsAffected != 1) {
-                throw new SQLException("Failed to update image. Rows affected: " + rowsAffected);
-            }
-        });
+        final String sql = "UPDATE Images SET FileName = ?, AvatarFileName = ?, CardFileName = ?, BannerFileName = ? WHERE Id = ?;";
+        try {
+            connection.executeUpdate(sql, statement -> {
+                statement.setString(1, model.getFileName());
+                statement.setString(2, model.getAvatarFileName());
+                statement.setString(3, model.getCardFileName());
+                statement.setString(4, model.getBannerFileName());
+                statement.setInt(5, model.getId());
+            }, rowsAffected -> {
+                if (rowsAffected != 1) {
+                    throw new SQLException("Failed to update image. Rows affected: " + rowsAffected);
+                }
+            });
+        } finally {
+            // even if the update failed, the cached image may be the instance that was changed
+            cache.invalidate(model.getId());
+        }
     }
 
     /**
-     * Retrieves an {@link Image} by its unique ID.
+     * Retrieves an {@link Image} by its unique ID, from the cache if it was looked up recently.
      *
      * @param id The ID of the image to retrieve.
      * @return An {@code Optional} containing the image if found, or an empty {@code Optional} if not.
@@ -51,20 +74,43 @@ public class ImageFactory extends ModelFactory<Image>{
      */
     @Override
     public Optional<Image> get(int id) throws SQLException {
-        final String sql = "SELECT * FROM Images WHERE Id = ?";
-        var image = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-            if (executor.next()) {
-                return new Image(
-                        executor.getInt("Id"),
-                        executor.getString("FileName")
-                );
-            }
-            return null;
+        return cache.get(id, key -> {
+            final String sql = "SELECT * FROM Images WHERE Id = ?";
+            return Optional.ofNullable(connection.executeQuery(sql, statement -> statement.setInt(1, key), mapper::mapFirst));
         });
-        if (image == null) {
-            return Optional.empty();
-        }
-        return Optional.of(image);
+    }
+
+    /**
+     * Retrieves several {@link Image}s by ID, querying only for those that aren't cached.
+     *
+     * @param ids The IDs of the images to retrieve.
+     * @return The images found, keyed by ID. IDs with no matching image are absent.
+     * @throws SQLException If an error occurs during the query.
+     */
+    @Override
+    public Map<Integer, Image> getAll(Collection<Integer> ids) throws SQLException {
+        return cache.getAll(ids, super::getAll);
+    }
+
+    /**
+     * Deletes the {@link Image} with the given ID.
+     *
+     * @param id The ID of the image to delete.
+     * @throws SQLException If the deletion fails.
+     */
+    @Override
+    public void delete(int id) throws SQLException {
+        super.delete(id);
+        cache.invalidate(id);
+    }
+
+    /**
+     * Gets the hit and miss counts of the cache of images looked up by ID.
+     *
+     * @return A snapshot of the cache's counters.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
     /**
@@ -76,35 +122,116 @@ public class ImageFactory extends ModelFactory<Image>{
      */
     public Optional<Image> get(String fileName) throws SQLException {
         final String sql = "SELECT * FROM Images WHERE FileName = ?";
-        var image = connection.executeQuery(sql, statement -> statement.setString(1, fileName), executor -> {
-            if (executor.next()) {
-                return new Image(
-                        executor.getInt("Id"),
-                        executor.getString("FileName")
-                );
-            }
-            return null;
-        });
+        var image = connection.executeQuery(sql, statement -> statement.setString(1, fileName), mapper::mapFirst);
         if (image == null) {
             return Optional.empty();
         }
         return Optional.of(image);
     }
 
+    /**
+     * Retrieves the {@link Image} stored under the given content hash.
+     *
+     * @param hash The hex-encoded SHA-256 hash of the image's content.
+     * @return An {@code Optional} containing the image if found, or an empty {@code Optional} if not.
+     * @throws SQLException If an error occurs during the query.
+     */
+    public Optional<Image> getByHash(String hash) throws SQLException {
+        final String sql = "SELECT * FROM Images WHERE Hash = ?";
+        return Optional.ofNullable(connection.executeQuery(sql, statement -> statement.setString(1, hash), mapper::mapFirst));
+    }
+
+    /**
+     * Retrieves every {@link Image} no profile, community or event shows, that hasn't been uploaded in the given time.
+     *
+     * @param uploadedBefore How long ago the image must have last been uploaded, so an image uploaded for a profile,
+     *                       community or event that hasn't been saved yet isn't included.
+     * @return The unreferenced images.
+     * @throws SQLException If an error occurs during the query.
+     */
+    public List<Image> getUnreferenced(Duration uploadedBefore) throws SQLException {
+        final String sql = "SELECT * FROM Images WHERE RefCount = 0 AND (Uploaded IS NULL OR Uploaded < datetime('now', ?))";
+        return connection.executeQuery(sql, statement -> statement.setString(1, -uploadedBefore.toSeconds() + " seconds"), mapper::mapAll);
+    }
+
+    /**
+     * Deletes the {@link Image} with the given ID, unless it has become referenced or been uploaded again since it was
+     * found by {@link #getUnreferenced}.
+     *
+     * @param id The ID of the image to delete.
+     * @param uploadedBefore How long ago the image must have last been uploaded.
+     * @return True if the image was deleted.
+     * @throws SQLException If the deletion fails.
+     */
+    public boolean deleteIfUnreferenced(int id, Duration uploadedBefore) throws SQLException {
+        final String sql = "DELETE FROM Images WHERE Id = ? AND RefCount = 0 AND (Uploaded IS NULL OR Uploaded < datetime('now', ?))";
+        var deleted = new boolean[1];
+        try {
+            connection.executeUpdate(sql, statement -> {
+                statement.setInt(1, id);
+                statement.setString(2, -uploadedBefore.toSeconds() + " seconds");
+            }, rowsAffected -> deleted[0] = rowsAffected == 1);
+        } finally {
+            cache.invalidate(id);
+        }
+        return deleted[0];
+    }
+
+    /**
+     * Retrieves every {@link Image} missing at least one of its downscaled copies, such as those uploaded before the
+     * copies were written at upload time.
+     *
+     * @return The images missing a copy.
+     * @throws SQLException If an error occurs during the query.
+     */
+    public List<Image> getWithoutVariants() throws SQLException {
+        final String sql = "SELECT * FROM Images WHERE AvatarFileName IS NULL OR CardFileName IS NULL OR BannerFileName IS NULL";
+        return connection.executeQuery(sql, statement -> {}, mapper::mapAll);
+    }
+
     /**
      * Creates a new {@link Image} with the specified file name.
      *
      * @param fileName The file name of the new image.
+     * @return The newly created {@link Image}, including its generated ID.
      * @throws SQLException If an error occurs during the image creation process.
      */
-    public void create(String fileName) throws SQLException {
-        final var sql = "INSERT INTO Images (FileName) VALUES (?)";
-        connection.executeUpdate(sql, preparedStatement -> {
+    public Image create(String fileName) throws SQLException {
+        final var sql = "INSERT INTO Images (FileName) VALUES (?) RETURNING *";
+        return connection.executeInsert(sql, preparedStatement -> {
             preparedStatement.setString(1, fileName);
-        }, affectedRows -> {
-            if (affectedRows != 1) {
-                throw new SQLException("Failed to create new image: " + fileName);
-            }
-        });
+        }, mapper::mapCurrent);
+    }
+
+    /**
+     * Gets the {@link Image} stored under the given content hash, creating it with the specified file name if there
+     * isn't one. Either way the image is marked as just uploaded, so it isn't deleted before whatever it was uploaded
+     * for is saved.
+     *
+     * @param fileName The file name of the image, if it is created.
+     * @param hash The hex-encoded SHA-256 hash of the image's content.
+     * @return The image stored under the hash.
+     * @throws SQLException If an error occurs during the image creation process.
+     */
+    public Image createIfAbsent(String fileName, String hash) throws SQLException {
+        // an upsert, so two uploads of the same content at once still end up with one row
+        final var sql = "INSERT INTO Images (FileName, Hash, Uploaded) VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (Hash) DO UPDATE SET Uploaded = CURRENT_TIMESTAMP RETURNING *";
+        return connection.executeInsert(sql, statement -> {
+            statement.setString(1, fileName);
+            statement.setString(2, hash);
+        }, mapper::mapCurrent);
+    }
+
+    /**
+     * Creates many {@link Image}s at once using a single batched insert and transaction.
+     *
+     * @param fileNames The file names of the new images.
+     * @return The IDs of the new images, in the same order as {@code fileNames}.
+     * @throws SQLException If an error occurs during the image creation process.
+     */
+    public List<Integer> create(Collection<String> fileNames) throws SQLException {
+        final var sql = "INSERT INTO Images (FileName) VALUES (?)";
+        return connection.executeBatchInsert(sql, fileNames, (preparedStatement, fileName) -> preparedStatement.setString(1, fileName));
     }
 }
@@ -1,9 +1,25 @@
 package hub.troubleshooters.soundlink.data.factories;
 
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
+import hub.troubleshooters.soundlink.data.models.SearchResult;
 
 import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Contains CRUD operations on models with the exception for "create", since
@@ -12,12 +28,26 @@ import java.util.Optional;
  */
 public abstract class ModelFactory<T> {
 
+    /**
+     * The most IDs bound in a single {@link #getAll(Collection)} query. This is the lowest
+     * {@code SQLITE_MAX_VARIABLE_NUMBER} of any SQLite build, so it is safe whichever version the driver bundles.
+     */
+    static final int MAX_IDS_PER_QUERY = 999;
+
+    /**
+     * The format SQLite's {@code CURRENT_TIMESTAMP} writes, in UTC. SQLite sorts every number before any text, so
+     * dates written to a {@code Created} column must be text in this format to sort among the column's defaults.
+     */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
     protected final DatabaseConnection connection;
     protected final String tableName;
+    protected final RowMapper<T> mapper;
 
-    protected ModelFactory(DatabaseConnection connection, String tableName) {
+    protected ModelFactory(DatabaseConnection connection, String tableName, RowMapper<T> mapper) {
         this.connection = connection;
         this.tableName = tableName;
+        this.mapper = mapper;
     }
 
     /**
@@ -35,13 +65,190 @@ public abstract class ModelFactory<T> {
      */
     abstract Optional<T> get(int id) throws SQLException;
 
+    /**
+     * Gets every model in the database with one of the given IDs, using one query per
+     * {@value #MAX_IDS_PER_QUERY} IDs rather than one query per ID.
+     * @param ids the IDs of the models to get, duplicates are ignored
+     * @return the models found, keyed by ID; IDs with no matching model are absent
+     * @throws SQLException if an error occurs while getting the models
+     */
+    public Map<Integer, T> getAll(Collection<Integer> ids) throws SQLException {
+        return getAllBy("Id", ids);
+    }
+
+    /**
+     * Gets every model in the database whose integer {@code column} holds one of the given values, using one query per
+     * {@value #MAX_IDS_PER_QUERY} values rather than one query per value.
+     * @param column the column to match, which should hold a different value for every row (e.g. a unique foreign key)
+     * @param values the values to look for, duplicates are ignored
+     * @return the models found, keyed by their value of {@code column}; values with no matching model are absent
+     * @throws SQLException if an error occurs while getting the models
+     */
+    protected Map<Integer, T> getAllBy(String column, Collection<Integer> values) throws SQLException {
+        var distinctValues = List.copyOf(new LinkedHashSet<>(values));
+        var models = new HashMap<Integer, T>();
+        for (int from = 0; from < distinctValues.size(); from += MAX_IDS_PER_QUERY) {
+            var chunk = distinctValues.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinctValues.size()));
+
+            // pad the placeholder count to a power of two (repeating the last value), so lookups of different
+            // sizes share a handful of cached statements rather than preparing one per size
+            var size = Math.max(1, Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, MAX_IDS_PER_QUERY));
+            final var sql = "SELECT * FROM " + tableName + " WHERE " + column + " IN (" + placeholders(size) + ")";
+            connection.executeQuery(sql, statement -> {
+                for (int i = 0; i < size; i++) {
+                    statement.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+            }, executor -> {
+                if (executor.next()) {
+                    var keyColumn = executor.findColumn(column);
+                    var reader = mapper.bind(executor);
+                    do {
+                        models.put(executor.getInt(keyColumn), reader.read());
+                    } while (executor.next());
+                }
+                return null;
+            });
+        }
+        return models;
+    }
+
+    /**
+     * Gets one page of this factory's table ordered by {@code Created} and then {@code Id}. Rather than an
+     * {@code OFFSET}, each page starts after the {@code (Created, Id)} of the previous page's last row, so every page
+     * is a single range read of an index ending in {@code (Created, Id)} however deep into the table it is, and rows
+     * added or deleted in between don't shift the pages.
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the most models on the page
+     * @param newestFirst whether to page from the newest row to the oldest, rather than oldest to newest
+     * @param filter a condition every row must meet, e.g. {@code "CommunityId = ?"}, or {@code null} for every row
+     * @param filterValues the values bound to the filter's placeholders, in order
+     * @return the page, whose cursor is {@code null} if there are no more rows after it
+     * @throws SQLException if an error occurs while getting the page
+     */
+    protected Page<T> getPage(PageCursor after, int limit, boolean newestFirst, String filter, Object... filterValues) throws SQLException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1: " + limit);
+        }
+        var conditions = new ArrayList<String>();
+        if (filter != null) {
+            conditions.add(filter);
+        }
+        if (after != null) {
+            conditions.add(newestFirst ? "(Created, Id) < (?, ?)" : "(Created, Id) > (?, ?)");
+        }
+        final var sql = "SELECT * FROM " + tableName +
+                (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+                (newestFirst ? " ORDER BY Created DESC, Id DESC" : " ORDER BY Created, Id") +
+                " LIMIT ?";
+        return connection.executeQuery(sql, statement -> {
+            var index = 1;
+            for (var value : filterValues) {
+                statement.setObject(index++, value);
+            }
+            if (after != null) {
+                statement.setString(index++, after.afterCreated());
+                statement.setInt(index++, after.afterId());
+            }
+            // one row more than the page holds, to tell whether there is a next page
+            statement.setInt(index, limit + 1);
+        }, executor -> {
+            var items = new ArrayList<T>();
+            PageCursor last = null;
+            if (executor.next()) {
+                var reader = mapper.bind(executor);
+                var createdColumn = executor.findColumn("Created");
+                var idColumn = executor.findColumn("Id");
+                do {
+                    if (items.size() == limit) {
+                        return new Page<>(items, last);
+                    }
+                    items.add(reader.read());
+                    last = new PageCursor(executor.getString(createdColumn), executor.getInt(idColumn));
+                } while (executor.next());
+            }
+            return new Page<>(items, null);
+        });
+    }
+
+    /**
+     * Searches an FTS5 index of this factory's table, ranking the matches with BM25.
+     * @param searchTable the FTS5 table, whose rowids are the IDs of this factory's table
+     * @param text the words to search for, each of which matches any word starting with it
+     * @param limit the most results to return
+     * @param weights the BM25 weight of each of the search table's columns, in column order
+     * @return the best matches, best first, or an empty list if {@code text} has no words in it
+     * @throws SQLException if an error occurs while searching
+     */
+    protected List<SearchResult<T>> fullTextSearch(String searchTable, String text, int limit, double... weights) throws SQLException {
+        var query = toFullTextQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        var bm25Weights = Arrays.stream(weights).mapToObj(Double::toString).collect(Collectors.joining(", "));
+        final var sql = "SELECT t.*, snippet(" + searchTable + ", -1, ?, ?, '…', 12) AS Snippet, " +
+                "bm25(" + searchTable + ", " + bm25Weights + ") AS Bm25 " +
+                "FROM " + searchTable + " JOIN " + tableName + " t ON t.Id = " + searchTable + ".rowid " +
+                "WHERE " + searchTable + " MATCH ? ORDER BY Bm25 LIMIT ?";
+        return connection.executeQuery(sql, statement -> {
+            statement.setString(1, SearchResult.HIGHLIGHT_START);
+            statement.setString(2, SearchResult.HIGHLIGHT_END);
+            statement.setString(3, query);
+            statement.setInt(4, limit);
+        }, executor -> {
+            var results = new ArrayList<SearchResult<T>>();
+            if (executor.next()) {
+                var reader = mapper.bind(executor);
+                var snippetColumn = executor.findColumn("Snippet");
+                var bm25Column = executor.findColumn("Bm25");
+                do {
+                    results.add(new SearchResult<>(reader.read(), executor.getString(snippetColumn), executor.getDouble(bm25Column)));
+                } while (executor.next());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Turns free text into an FTS5 query matching every word in it as a prefix, e.g. {@code jazz ni} becomes
+     * {@code "jazz"* "ni"*}. Punctuation is dropped, so the user can't write FTS5 syntax by accident.
+     * @param text the text to search for, may be {@code null}
+     * @return the FTS5 query, or an empty string if {@code text} has no words in it
+     */
+    static String toFullTextQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}\\p{M}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> "\"" + word + "\"*")
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Formats a date the way SQLite's {@code CURRENT_TIMESTAMP} does, so it orders correctly against column defaults.
+     * @param date the date to format
+     * @return the date as UTC text, e.g. {@code 2026-01-02 12:00:00}
+     */
+    protected static String toTimestamp(Date date) {
+        return TIMESTAMP_FORMAT.format(date.toInstant());
+    }
+
+    /**
+     * Builds the placeholder list for an {@code IN (...)} clause.
+     * @param count the number of values in the clause, at least 1
+     * @return {@code count} comma separated {@code ?} placeholders
+     */
+    protected static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
     /**
      * Deletes the model in the database with the given ID.
      * @param id the ID of the model to delete
      * @throws SQLException if an error occurs while deleting the model
      */
     public void delete(int id) throws SQLException {
-        final var sql = "DELETE FROM " + tableName + " WHERE id = " + id;
+        final var sql = "DELETE FROM " + tableName + " WHERE id = ?";
         connection.executeUpdate(sql, statement -> {
             statement.setInt(1, id);
         }, rowsAffected -> {
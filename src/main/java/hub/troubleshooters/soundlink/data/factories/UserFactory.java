@@ -1,18 +1,27 @@
 package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.data.CacheStats;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.EntityCache;
+import hub.troubleshooters.soundlink.data.EntityCacheConfig;
+import hub.troubleshooters.soundlink.data.mappers.UserMapper;
 import hub.troubleshooters.soundlink.data.models.User;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Factory class responsible for handling database operations related to {@link User} models.
  * This class provides methods for creating, retrieving, and updating users in the database.
+ * Users looked up by ID are cached, since the same authors and members are looked up over and over.
  */
 public class UserFactory extends ModelFactory<User> {
 
+    private final EntityCache<Integer, User> cache;
+
     /**
      * Constructs a new {@code UserFactory} with the specified database connection.
      *
@@ -20,7 +29,8 @@ public class UserFactory extends ModelFactory<User> {
      */
     @Inject
     public UserFactory(DatabaseConnection connection) {
-        super(connection, "Users");
+        super(connection, "Users", new UserMapper());
+        this.cache = new EntityCache<>(EntityCacheConfig.defaults(), connection);
     }
 
     /**
@@ -32,21 +42,26 @@ public class UserFactory extends ModelFactory<User> {
     @Override
     public void save(User model) throws SQLException {
         final String sql = "UPDATE Users SET Username = ?, HashedPassword = ?, Created = ?, LastLogin = ? WHERE Id = ?;";
-        connection.executeUpdate(sql, statement -> {
-            statement.setString(1, model.getUsername());
-            statement.setString(2, model.getHashedPassword());
-            statement.setDate(3, new java.sql.Date(model.getCreated().getTime()));
-            statement.setDate(4, new java.sql.Date(model.getLastLogin().getTime()));
-            statement.setInt(5, model.getId());
-        }, rowsAffected -> {
-            if (rowsAffected != 1) {
-                throw new SQLException("Failed to update user. Rows affected: " + rowsAffected);
-            }
-        });
+        try {
+            connection.executeUpdate(sql, statement -> {
+                statement.setString(1, model.getUsername());
+                statement.setString(2, model.getHashedPassword());
+                statement.setDate(3, new java.sql.Date(model.getCreated().getTime()));
+                statement.setDate(4, new java.sql.Date(model.getLastLogin().getTime()));
+                statement.setInt(5, model.getId());
+            }, rowsAffected -> {
+                if (rowsAffected != 1) {
+                    throw new SQLException("Failed to update user. Rows affected: " + rowsAffected);
+                }
+            });
+        } finally {
+            // even if the update failed, the cached user may be the instance that was changed
+            cache.invalidate(model.getId());
+        }
     }
 
     /**
-     * Retrieves a {@link User} by its unique ID.
+     * Retrieves a {@link User} by its unique ID, from the cache if it was looked up recently.
      *
      * @param id The ID of the user to retrieve.
      * @return An {@code Optional} containing the user if found, or an empty {@code Optional} if not.
@@ -54,23 +69,43 @@ public class UserFactory extends ModelFactory<User> {
      */
     @Override
     public Optional<User> get(int id) throws SQLException {
-        final String sql = "SELECT * FROM Users WHERE Id = ?";
-        var user = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-            if (executor.next()) {
-                return new User(
-                    executor.getInt("Id"),
-                    executor.getString("Username"),
-                    executor.getString("HashedPassword"),
-                    executor.getDate("Created"),
-                    executor.getDate("LastLogin")
-                );
-            }
-            return null;
+        return cache.get(id, key -> {
+            final String sql = "SELECT * FROM Users WHERE Id = ?";
+            return Optional.ofNullable(connection.executeQuery(sql, statement -> statement.setInt(1, key), mapper::mapFirst));
         });
-        if (user == null) {
-            return Optional.empty();
-        }
-        return Optional.of(user);
+    }
+
+    /**
+     * Retrieves several {@link User}s by ID, querying only for those that aren't cached.
+     *
+     * @param ids The IDs of the users to retrieve.
+     * @return The users found, keyed by ID. IDs with no matching user are absent.
+     * @throws SQLException If an error occurs during the query.
+     */
+    @Override
+    public Map<Integer, User> getAll(Collection<Integer> ids) throws SQLException {
+        return cache.getAll(ids, super::getAll);
+    }
+
+    /**
+     * Deletes the {@link User} with the given ID.
+     *
+     * @param id The ID of the user to delete.
+     * @throws SQLException If the deletion fails.
+     */
+    @Override
+    public void delete(int id) throws SQLException {
+        super.delete(id);
+        cache.invalidate(id);
+    }
+
+    /**
+     * Gets the hit and miss counts of the cache of users looked up by ID.
+     *
+     * @return A snapshot of the cache's counters.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
     /**
@@ -81,18 +116,7 @@ public class UserFactory extends ModelFactory<User> {
      */
     public Optional<User> get(String username) throws SQLException {
         final String sql = "SELECT * FROM Users WHERE Username = ?";
-        var user = connection.executeQuery(sql, statement -> statement.setString(1, username), executor -> {
-            if (executor.next()) {
-                return new User(
-                        executor.getInt("Id"),
-                        executor.getString("Username"),
-                        executor.getString("HashedPassword"),
-                        executor.getDate("Created"),
-                        executor.getDate("LastLogin")
-                );
-            }
-            return null;
-        });
+        var user = connection.executeQuery(sql, statement -> statement.setString(1, username), mapper::mapFirst);
         if (user == null) {
             return Optional.empty();
         }
@@ -103,18 +127,14 @@ public class UserFactory extends ModelFactory<User> {
      * Creates a new user with the given username and hashed password.
      * @param username the username of the new user
      * @param hashedPassword the hashed password of the new user
+     * @return the newly created user, including its generated ID
      * @throws SQLException if an error occurs while creating the user
      */
     public User create(String username, String hashedPassword) throws SQLException {
-        final var sql = "INSERT INTO Users (Username, HashedPassword) VALUES (?, ?)";
-        connection.executeUpdate(sql, preparedStatement -> {
+        final var sql = "INSERT INTO Users (Username, HashedPassword) VALUES (?, ?) RETURNING *";
+        return connection.executeInsert(sql, preparedStatement -> {
             preparedStatement.setString(1, username);
             preparedStatement.setString(2, hashedPassword);
-        }, affectedRows -> {
-            if (affectedRows != 1) {
-                throw new SQLException("Failed to create new user: " + username);
-            }
-        });
-        return get(username).get(); // should not fail due to just being created.
+        }, mapper::mapCurrent);
     }
 }
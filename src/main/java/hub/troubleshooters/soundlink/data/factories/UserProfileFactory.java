@@ -1,18 +1,27 @@
 package hub.troubleshooters.soundlink.data.factories;
 
 import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.data.CacheStats;
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.EntityCache;
+import hub.troubleshooters.soundlink.data.EntityCacheConfig;
+import hub.troubleshooters.soundlink.data.mappers.UserProfileMapper;
 import hub.troubleshooters.soundlink.data.models.UserProfile;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Factory class responsible for handling database operations related to {@link UserProfile} models.
  * This class provides methods for creating, retrieving, and updating user profiles in the database.
+ * Profiles looked up by user ID are cached, since every comment and post by the same author shows the same profile.
  */
 public class UserProfileFactory extends ModelFactory<UserProfile> {
 
+    private final EntityCache<Integer, UserProfile> cache;
+
     /**
      * Constructs a new {@code UserProfileFactory} with the specified database connection.
      *
@@ -20,10 +29,10 @@ public class UserProfileFactory extends ModelFactory<UserProfile> {
      */
     @Inject
     public UserProfileFactory(DatabaseConnection connection) {
-        super(connection, "UserProfiles");
+        super(connection, "UserProfiles", new UserProfileMapper());
+        this.cache = new EntityCache<>(EntityCacheConfig.defaults(), connection);
     }
 
-
     /**
      * Updates an existing {@link UserProfile} in the database.
      *
@@ -33,16 +42,21 @@ public class UserProfileFactory extends ModelFactory<UserProfile> {
     @Override
     public void save(UserProfile model) throws SQLException {
         final String sql = "UPDATE UserProfiles SET DisplayName = ?, Bio = ?, ProfileImageId = ? WHERE Id = ?;";
-        connection.executeUpdate(sql, statement -> {
-            statement.setString(1, model.getDisplayName());
-            statement.setString(2, model.getBio());
-            statement.setObject(3, model.getProfileImageId().orElse(null));
-            statement.setInt(4, model.getId());
-        }, rowsAffected -> {
-            if (rowsAffected != 1) {
-                throw new SQLException("Failed to update profile. Rows affected: " + rowsAffected);
-            }
-        });
+        try {
+            connection.executeUpdate(sql, statement -> {
+                statement.setString(1, model.getDisplayName());
+                statement.setString(2, model.getBio());
+                statement.setObject(3, model.getProfileImageId().orElse(null));
+                statement.setInt(4, model.getId());
+            }, rowsAffected -> {
+                if (rowsAffected != 1) {
+                    throw new SQLException("Failed to update profile. Rows affected: " + rowsAffected);
+                }
+            });
+        } finally {
+            // even if the update failed, the cached profile may be the instance that was changed
+            cache.invalidate(model.getUserId());
+        }
     }
 
     /**
@@ -55,20 +69,7 @@ public class UserProfileFactory extends ModelFactory<UserProfile> {
     @Override
     public Optional<UserProfile> get(int id) throws SQLException {
         final String sql = "SELECT * FROM UserProfiles WHERE Id = ?";
-        var profile = connection.executeQuery(sql, statement -> statement.setInt(1, id), executor -> {
-            if (executor.next()) {
-                var imageId = executor.getInt("ProfileImageId");
-                return new UserProfile(
-                        executor.getInt("Id"),
-                        executor.getInt("UserId"),
-                        executor.getString("DisplayName"),
-                        executor.getString("Bio"),
-                        imageId == 0 ? null : imageId
-
-                );
-            }
-            return null;
-        });
+        var profile = connection.executeQuery(sql, statement -> statement.setInt(1, id), mapper::mapFirst);
         if (profile == null) {
             return Optional.empty();
         }
@@ -76,32 +77,51 @@ public class UserProfileFactory extends ModelFactory<UserProfile> {
     }
 
     /**
-     * Retrieves a {@link UserProfile} by the associated user ID.
+     * Retrieves a {@link UserProfile} by the associated user ID, from the cache if it was looked up recently.
      *
      * @param userId The ID of the user whose profile is to be retrieved.
      * @return An {@code Optional} containing the user profile if found, or an empty {@code Optional} if not.
      * @throws SQLException If an error occurs during the query.
      */
     public Optional<UserProfile> getByUserId(int userId) throws SQLException {
-        final String sql = "SELECT * FROM UserProfiles WHERE UserId = ?";
-        var profile = connection.executeQuery(sql, statement -> statement.setInt(1, userId), executor -> {
-            if (executor.next()) {
-                var imageId = executor.getInt("ProfileImageId");
-                return new UserProfile(
-                        executor.getInt("Id"),
-                        executor.getInt("UserId"),
-                        executor.getString("DisplayName"),
-                        executor.getString("Bio"),
-                        imageId == 0 ? null : imageId
-
-                );
-            }
-            return null;
+        return cache.get(userId, key -> {
+            final String sql = "SELECT * FROM UserProfiles WHERE UserId = ?";
+            return Optional.ofNullable(connection.executeQuery(sql, statement -> statement.setInt(1, key), mapper::mapFirst));
         });
-        if (profile == null) {
-            return Optional.empty();
-        }
-        return Optional.of(profile);
+    }
+
+    /**
+     * Retrieves the {@link UserProfile}s of several users at once, with one query per
+     * {@value ModelFactory#MAX_IDS_PER_QUERY} users whose profiles aren't cached rather than one per user.
+     *
+     * @param userIds The IDs of the users whose profiles are to be retrieved.
+     * @return The user profiles found, keyed by user ID. Users without a profile are absent.
+     * @throws SQLException If an error occurs during the query.
+     */
+    public Map<Integer, UserProfile> getAllByUserId(Collection<Integer> userIds) throws SQLException {
+        return cache.getAll(userIds, missing -> getAllBy("UserId", missing));
+    }
+
+    /**
+     * Deletes the {@link UserProfile} with the given ID.
+     *
+     * @param id The ID of the profile to delete.
+     * @throws SQLException If the deletion fails.
+     */
+    @Override
+    public void delete(int id) throws SQLException {
+        super.delete(id);
+        // the cache is keyed by user ID, which isn't known here, and profiles are hardly ever deleted
+        cache.invalidateAll();
+    }
+
+    /**
+     * Gets the hit and miss counts of the cache of profiles looked up by user ID.
+     *
+     * @return A snapshot of the cache's counters.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
     /**
@@ -113,15 +133,10 @@ public class UserProfileFactory extends ModelFactory<UserProfile> {
      * @throws SQLException If an error occurs during the profile creation.
      */
     public UserProfile create(int userId, String displayName) throws SQLException {
-        final var sql = "INSERT INTO UserProfiles (UserId, DisplayName, Bio) VALUES (?, ?, '')";
-        connection.executeUpdate(sql, preparedStatement -> {
+        final var sql = "INSERT INTO UserProfiles (UserId, DisplayName, Bio) VALUES (?, ?, '') RETURNING *";
+        return connection.executeInsert(sql, preparedStatement -> {
             preparedStatement.setInt(1, userId);
             preparedStatement.setString(2, displayName);
-        }, affectedRows -> {
-            if (affectedRows != 1) {
-                throw new SQLException("Failed to create new user: " + displayName);
-            }
-        });
-        return getByUserId(userId).get();   // shouldn't fail since just made, but could
+        }, mapper::mapCurrent);
     }
 }
@@ -0,0 +1,31 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.Booking;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code Bookings} table into {@link Booking} models.
+ */
+public class BookingMapper implements RowMapper<Booking> {
+
+    @Override
+    public Reader<Booking> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int eventIdColumn = resultSet.findColumn("EventId");
+        final int userIdColumn = resultSet.findColumn("UserId");
+        final int createdColumn = resultSet.findColumn("Created");
+        final int permissionColumn = resultSet.findColumn("Permission");
+        return () -> {
+            return new Booking(
+                    resultSet.getInt(idColumn),
+                    resultSet.getInt(eventIdColumn),
+                    resultSet.getInt(userIdColumn),
+                    resultSet.getDate(createdColumn),
+                    resultSet.getInt(permissionColumn)
+            );
+        };
+    }
+}
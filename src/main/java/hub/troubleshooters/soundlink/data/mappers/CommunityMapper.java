@@ -0,0 +1,36 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.Community;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code Communities} table into {@link Community} models.
+ */
+public class CommunityMapper implements RowMapper<Community> {
+
+    @Override
+    public Reader<Community> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int nameColumn = resultSet.findColumn("Name");
+        final int descriptionColumn = resultSet.findColumn("Description");
+        final int genreColumn = resultSet.findColumn("Genre");
+        final int createdColumn = resultSet.findColumn("Created");
+        final int bannerImageIdColumn = resultSet.findColumn("BannerImageId");
+        final int isPrivateColumn = resultSet.findColumn("isPrivate");
+        return () -> {
+            var bannerId = resultSet.getInt(bannerImageIdColumn);
+            return new Community(
+                    resultSet.getInt(idColumn),
+                    resultSet.getString(nameColumn),
+                    resultSet.getString(descriptionColumn),
+                    resultSet.getString(genreColumn),
+                    resultSet.getDate(createdColumn),
+                    bannerId == 0 ? null : bannerId,
+                    resultSet.getBoolean(isPrivateColumn)
+            );
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.CommunityMember;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code CommunityMembers} table into {@link CommunityMember} models.
+ */
+public class CommunityMemberMapper implements RowMapper<CommunityMember> {
+
+    @Override
+    public Reader<CommunityMember> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int communityIdColumn = resultSet.findColumn("CommunityId");
+        final int userIdColumn = resultSet.findColumn("UserId");
+        final int createdColumn = resultSet.findColumn("Created");
+        final int permissionColumn = resultSet.findColumn("Permission");
+        return () -> {
+            return new CommunityMember(
+                    resultSet.getInt(idColumn),
+                    resultSet.getInt(communityIdColumn),
+                    resultSet.getInt(userIdColumn),
+                    resultSet.getDate(createdColumn),
+                    resultSet.getInt(permissionColumn)
+            );
+        };
+    }
+}
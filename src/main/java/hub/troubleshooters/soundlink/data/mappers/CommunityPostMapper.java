@@ -0,0 +1,33 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.CommunityPost;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code CommunityPosts} table into {@link CommunityPost} models.
+ */
+public class CommunityPostMapper implements RowMapper<CommunityPost> {
+
+    @Override
+    public Reader<CommunityPost> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int communityIdColumn = resultSet.findColumn("CommunityId");
+        final int userIdColumn = resultSet.findColumn("UserId");
+        final int titleColumn = resultSet.findColumn("Title");
+        final int contentColumn = resultSet.findColumn("Content");
+        final int createdColumn = resultSet.findColumn("Created");
+        return () -> {
+            return new CommunityPost(
+                    resultSet.getInt(idColumn),
+                    resultSet.getInt(communityIdColumn),
+                    resultSet.getInt(userIdColumn),
+                    resultSet.getString(titleColumn),
+                    resultSet.getString(contentColumn),
+                    resultSet.getDate(createdColumn)
+            );
+        };
+    }
+}
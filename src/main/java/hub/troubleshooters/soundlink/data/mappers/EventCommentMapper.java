@@ -0,0 +1,31 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.EventComment;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code EventComments} table into {@link EventComment} models.
+ */
+public class EventCommentMapper implements RowMapper<EventComment> {
+
+    @Override
+    public Reader<EventComment> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int eventIdColumn = resultSet.findColumn("EventId");
+        final int userIdColumn = resultSet.findColumn("UserId");
+        final int contentColumn = resultSet.findColumn("Content");
+        final int createdColumn = resultSet.findColumn("Created");
+        return () -> {
+            return new EventComment(
+                    resultSet.getInt(idColumn),
+                    resultSet.getInt(eventIdColumn),
+                    resultSet.getInt(userIdColumn),
+                    resultSet.getString(contentColumn),
+                    resultSet.getDate(createdColumn)
+            );
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.Event;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code Events} table into {@link Event} models.
+ */
+public class EventMapper implements RowMapper<Event> {
+
+    @Override
+    public Reader<Event> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int communityIdColumn = resultSet.findColumn("CommunityId");
+        final int nameColumn = resultSet.findColumn("Name");
+        final int descriptionColumn = resultSet.findColumn("Description");
+        final int venueColumn = resultSet.findColumn("Venue");
+        final int capacityColumn = resultSet.findColumn("Capacity");
+        final int scheduledColumn = resultSet.findColumn("Scheduled");
+        final int createdColumn = resultSet.findColumn("Created");
+        final int bannerImageIdColumn = resultSet.findColumn("BannerImageId");
+        return () -> {
+            var bannerId = resultSet.getInt(bannerImageIdColumn);
+            return new Event(
+                    resultSet.getInt(idColumn),
+                    resultSet.getInt(communityIdColumn),
+                    resultSet.getString(nameColumn),
+                    resultSet.getString(descriptionColumn),
+                    resultSet.getString(venueColumn),
+                    resultSet.getInt(capacityColumn),
+                    resultSet.getDate(scheduledColumn),
+                    resultSet.getDate(createdColumn),
+                    bannerId == 0 ? null : bannerId
+            );
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.Image;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code Images} table into {@link Image} models.
+ */
+public class ImageMapper implements RowMapper<Image> {
+
+    @Override
+    public Reader<Image> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int fileNameColumn = resultSet.findColumn("FileName");
+        final int avatarFileNameColumn = resultSet.findColumn("AvatarFileName");
+        final int cardFileNameColumn = resultSet.findColumn("CardFileName");
+        final int bannerFileNameColumn = resultSet.findColumn("BannerFileName");
+        return () -> {
+            return new Image(
+                    resultSet.getInt(idColumn),
+                    resultSet.getString(fileNameColumn),
+                    resultSet.getString(avatarFileNameColumn),
+                    resultSet.getString(cardFileNameColumn),
+                    resultSet.getString(bannerFileNameColumn)
+            );
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code Users} table into {@link User} models.
+ */
+public class UserMapper implements RowMapper<User> {
+
+    @Override
+    public Reader<User> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int usernameColumn = resultSet.findColumn("Username");
+        final int hashedPasswordColumn = resultSet.findColumn("HashedPassword");
+        final int createdColumn = resultSet.findColumn("Created");
+        final int lastLoginColumn = resultSet.findColumn("LastLogin");
+        return () -> {
+            return new User(
+                    resultSet.getInt(idColumn),
+                    resultSet.getString(usernameColumn),
+                    resultSet.getString(hashedPasswordColumn),
+                    resultSet.getDate(createdColumn),
+                    resultSet.getDate(lastLoginColumn)
+            );
+        };
+    }
+}
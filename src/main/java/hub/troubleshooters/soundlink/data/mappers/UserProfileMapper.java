@@ -0,0 +1,32 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.RowMapper;
+import hub.troubleshooters.soundlink.data.models.UserProfile;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code UserProfiles} table into {@link UserProfile} models.
+ */
+public class UserProfileMapper implements RowMapper<UserProfile> {
+
+    @Override
+    public Reader<UserProfile> bind(ResultSet resultSet) throws SQLException {
+        final int idColumn = resultSet.findColumn("Id");
+        final int userIdColumn = resultSet.findColumn("UserId");
+        final int displayNameColumn = resultSet.findColumn("DisplayName");
+        final int bioColumn = resultSet.findColumn("Bio");
+        final int profileImageIdColumn = resultSet.findColumn("ProfileImageId");
+        return () -> {
+            var imageId = resultSet.getInt(profileImageIdColumn);
+            return new UserProfile(
+                    resultSet.getInt(idColumn),
+                    resultSet.getInt(userIdColumn),
+                    resultSet.getString(displayNameColumn),
+                    resultSet.getString(bioColumn),
+                    imageId == 0 ? null : imageId
+            );
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package hub.troubleshooters.soundlink.data.migrations;
+
+import com.google.inject.Inject;
+import hub.troubleshooters.soundlink.data.DatabaseConnection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Brings the database schema up to date by running numbered SQL scripts that haven't been applied yet.
+ *
+ * <p>Scripts live alongside this class as resources named {@code V<version>__<description>.sql} and must be listed in
+ * {@link #SCRIPTS}. Each script runs in its own transaction together with the row recording it in the
+ * {@code schema_version} table, so a failed script leaves the database at the previous version.</p>
+ *
+ * <p>Scripts are split into statements on {@code ;}, after {@code --} comments are removed, so semicolons must not
+ * appear inside string literals. The statements between a {@code CREATE TRIGGER}'s {@code BEGIN} and {@code END} are
+ * kept together, as long as the {@code END} is on its own after the body's last semicolon.</p>
+ */
+public class MigrationRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(MigrationRunner.class.getName());
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern CREATE_TRIGGER = Pattern.compile("CREATE\\s+(TEMP\\s+|TEMPORARY\\s+)?TRIGGER\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Every migration script, in any order. Add new scripts here.
+     */
+    static final List<String> SCRIPTS = List.of(
+            "V1__baseline.sql",
+            "V2__foreign_key_indexes.sql",
+            "V3__event_search_indexes.sql",
+            "V4__full_text_search.sql",
+            "V5__pagination_indexes.sql",
+            "V6__event_booked_count.sql",
+            "V7__image_variants.sql",
+            "V8__content_addressed_images.sql",
+            "V9__created_as_text.sql"
+    );
+
+    private final DatabaseConnection connection;
+    private final List<Migration> migrations;
+
+    /**
+     * A single migration script.
+     *
+     * @param version The schema version the database is at once the script has run.
+     * @param description A readable name for the script, taken from its file name.
+     * @param statements The SQL statements in the script.
+     */
+    record Migration(int version, String description, List<String> statements) {
+    }
+
+    /**
+     * Constructs a {@code MigrationRunner} for the application's migration scripts.
+     *
+     * @param connection The database connection to migrate.
+     */
+    @Inject
+    public MigrationRunner(DatabaseConnection connection) {
+        this(connection, SCRIPTS);
+    }
+
+    /**
+     * Constructs a {@code MigrationRunner} for the given migration scripts.
+     *
+     * @param connection The database connection to migrate.
+     * @param scripts The resource names of the scripts, relative to this class.
+     */
+    MigrationRunner(DatabaseConnection connection, List<String> scripts) {
+        this.connection = connection;
+        this.migrations = scripts.stream()
+                .map(MigrationRunner::load)
+                .sorted(Comparator.comparingInt(Migration::version))
+                .toList();
+    }
+
+    /**
+     * Applies every migration newer than the database's current schema version.
+     *
+     * @return The schema version of the database once all migrations have run.
+     * @throws SQLException If a migration fails, in which case the database is left at the last version that succeeded.
+     */
+    public int migrate() throws SQLException {
+        connection.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version (" +
+                "Version INTEGER PRIMARY KEY, " +
+                "Description TEXT NOT NULL, " +
+                "Applied DATETIME DEFAULT CURRENT_TIMESTAMP)", statement -> {}, rowsAffected -> {});
+
+        var version = getCurrentVersion();
+        for (var migration : migrations) {
+            if (migration.version() <= version) {
+                continue;
+            }
+            connection.inTransaction(() -> {
+                // another instance of the application may have applied it since we last checked
+                if (getCurrentVersion() >= migration.version()) {
+                    return null;
+                }
+                for (var sql : migration.statements()) {
+                    connection.executeUpdate(sql, statement -> {}, rowsAffected -> {});
+                }
+                connection.executeUpdate("INSERT INTO schema_version (Version, Description) VALUES (?, ?)", statement -> {
+                    statement.setInt(1, migration.version());
+                    statement.setString(2, migration.description());
+                }, rowsAffected -> {
+                    if (rowsAffected != 1) {
+                        throw new SQLException("Failed to record schema version " + migration.version() + ". Rows affected: " + rowsAffected);
+                    }
+                });
+                return null;
+            });
+            version = migration.version();
+            LOGGER.log(Level.INFO, "Applied database migration V" + migration.version() + ": " + migration.description());
+        }
+        return version;
+    }
+
+    /**
+     * Gets the version of the most recent migration applied to the database.
+     *
+     * @return The current schema version, or 0 if no migrations have been applied.
+     * @throws SQLException If the {@code schema_version} table can't be read.
+     */
+    public int getCurrentVersion() throws SQLException {
+        return connection.executeQuery("SELECT COALESCE(MAX(Version), 0) FROM schema_version", statement -> {}, executor -> {
+            if (executor.next()) {
+                return executor.getInt(1);
+            }
+            return 0;
+        });
+    }
+
+    private static Migration load(String script) {
+        var matcher = SCRIPT_NAME.matcher(script);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Migration script name must look like V1__description.sql: " + script);
+        }
+        try (var stream = MigrationRunner.class.getResourceAsStream(script)) {
+            if (stream == null) {
+                throw new IllegalStateException("Migration script not found: " + script);
+            }
+            var sql = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), splitStatements(sql));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read migration script: " + script, e);
+        }
+    }
+
+    /**
+     * Splits a script into its individual statements.
+     *
+     * @param script The SQL script.
+     * @return The non-empty statements in the script, without comments or trailing semicolons.
+     */
+    static List<String> splitStatements(String script) {
+        var withoutComments = script.lines()
+                .map(line -> {
+                    var comment = line.indexOf("--");
+                    return comment < 0 ? line : line.substring(0, comment);
+                })
+                .collect(Collectors.joining("\n"));
+        var statements = new ArrayList<String>();
+        StringBuilder trigger = null;
+        for (var part : withoutComments.split(";")) {
+            var sql = part.strip();
+            if (trigger != null) {
+                // put back the semicolon ending each statement in the trigger's body
+                trigger.append(";\n").append(sql);
+                if (sql.equalsIgnoreCase("END")) {
+                    statements.add(trigger.toString());
+                    trigger = null;
+                }
+            } else if (CREATE_TRIGGER.matcher(sql).lookingAt()) {
+                trigger = new StringBuilder(sql);
+            } else if (!sql.isEmpty()) {
+                statements.add(sql);
+            }
+        }
+        if (trigger != null) {
+            throw new IllegalArgumentException("Trigger is missing its END: " + trigger);
+        }
+        return statements;
+    }
+}
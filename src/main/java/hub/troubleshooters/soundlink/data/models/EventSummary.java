@@ -0,0 +1,14 @@
+package hub.troubleshooters.soundlink.data.models;
+
+import java.util.Optional;
+
+/**
+ * An event together with its booking count and what one user (the viewer) needs to know about it, read in one query.
+ *
+ * @param event The event.
+ * @param bookingCount The number of bookings for the event.
+ * @param viewerPermission The permission level of the viewer's booking, or empty if the viewer isn't booked.
+ * @param viewerDisplayName The viewer's display name, or {@code null} if the viewer has no profile.
+ */
+public record EventSummary(Event event, int bookingCount, Optional<Integer> viewerPermission, String viewerDisplayName) {
+}
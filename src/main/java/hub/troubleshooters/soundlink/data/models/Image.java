@@ -2,20 +2,40 @@ package hub.troubleshooters.soundlink.data.models;
 
 /**
  * Represents an image in the system, containing information such as the image ID and file name.
+ * Alongside the original file, an image has downscaled copies for showing it as an avatar, on a card and as a banner.
  */
 public class Image {
     private final int id;
     private String fileName;
+    private String avatarFileName;
+    private String cardFileName;
+    private String bannerFileName;
 
     /**
-     * Constructs a new {@code Image} object with the specified ID and file name.
+     * Constructs a new {@code Image} object with the specified ID and file name, and no downscaled copies.
      *
      * @param id The unique ID of the image.
      * @param fileName The name of the image file.
      */
     public Image(int id, String fileName) {
+        this(id, fileName, null, null, null);
+    }
+
+    /**
+     * Constructs a new {@code Image} object with the specified ID, file name and downscaled copies.
+     *
+     * @param id The unique ID of the image.
+     * @param fileName The name of the image file.
+     * @param avatarFileName The name of the avatar-sized copy, or {@code null} if it hasn't been written.
+     * @param cardFileName The name of the card-sized copy, or {@code null} if it hasn't been written.
+     * @param bannerFileName The name of the banner-sized copy, or {@code null} if it hasn't been written.
+     */
+    public Image(int id, String fileName, String avatarFileName, String cardFileName, String bannerFileName) {
         this.id = id;
         this.fileName = fileName;
+        this.avatarFileName = avatarFileName;
+        this.cardFileName = cardFileName;
+        this.bannerFileName = bannerFileName;
     }
 
     /**
@@ -44,4 +64,58 @@ public class Image {
     public void setFileName(String fileName) {
         this.fileName = fileName;
     }
+
+    /**
+     * Gets the file name of the avatar-sized copy of the image.
+     *
+     * @return The file name, or {@code null} if the copy hasn't been written.
+     */
+    public String getAvatarFileName() {
+        return avatarFileName;
+    }
+
+    /**
+     * Sets the file name of the avatar-sized copy of the image.
+     *
+     * @param avatarFileName The file name to set.
+     */
+    public void setAvatarFileName(String avatarFileName) {
+        this.avatarFileName = avatarFileName;
+    }
+
+    /**
+     * Gets the file name of the card-sized copy of the image.
+     *
+     * @return The file name, or {@code null} if the copy hasn't been written.
+     */
+    public String getCardFileName() {
+        return cardFileName;
+    }
+
+    /**
+     * Sets the file name of the card-sized copy of the image.
+     *
+     * @param cardFileName The file name to set.
+     */
+    public void setCardFileName(String cardFileName) {
+        this.cardFileName = cardFileName;
+    }
+
+    /**
+     * Gets the file name of the banner-sized copy of the image.
+     *
+     * @return The file name, or {@code null} if the copy hasn't been written.
+     */
+    public String getBannerFileName() {
+        return bannerFileName;
+    }
+
+    /**
+     * Sets the file name of the banner-sized copy of the image.
+     *
+     * @param bannerFileName The file name to set.
+     */
+    public void setBannerFileName(String bannerFileName) {
+        this.bannerFileName = bannerFileName;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package hub.troubleshooters.soundlink.data.models;
+
+import java.util.List;
+
+/**
+ * One page of models read with keyset pagination.
+ *
+ * @param items The models on this page, in page order.
+ * @param next The cursor to pass back for the following page, or {@code null} if this is the last page.
+ * @param <T> The type of model paged through.
+ */
+public record Page<T>(List<T> items, PageCursor next) {
+
+    /**
+     * @return Whether there is another page after this one.
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,13 @@
+package hub.troubleshooters.soundlink.data.models;
+
+/**
+ * Marks where a {@link Page} ended, so the next page can carry on from the row after it. Pages are ordered by
+ * {@code Created} and then {@code Id}, so the cursor holds both values of the page's last row.
+ *
+ * @param afterCreated The {@code Created} value of the last row, exactly as stored. The factories store it as UTC
+ *                     timestamp text, but rows inserted by hand may hold other values, so it is kept as the database's
+ *                     own text rather than a date.
+ * @param afterId The ID of the last row.
+ */
+public record PageCursor(String afterCreated, int afterId) {
+}
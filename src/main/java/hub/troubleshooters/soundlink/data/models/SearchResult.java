@@ -0,0 +1,23 @@
+package hub.troubleshooters.soundlink.data.models;
+
+/**
+ * A model found by a full-text search, together with how well it matched.
+ *
+ * @param model The matching model.
+ * @param snippet A short extract of the model's text around the match, with each matched term wrapped in
+ *                {@link #HIGHLIGHT_START} and {@link #HIGHLIGHT_END}.
+ * @param rank The BM25 rank of the match. Lower is better, and results are ordered best first.
+ * @param <T> The type of model searched for.
+ */
+public record SearchResult<T>(T model, String snippet, double rank) {
+
+    /**
+     * Marks the start of a matched term in {@link #snippet()}.
+     */
+    public static final String HIGHLIGHT_START = "[";
+
+    /**
+     * Marks the end of a matched term in {@link #snippet()}.
+     */
+    public static final String HIGHLIGHT_END = "]";
+}
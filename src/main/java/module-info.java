@@ -2,6 +2,7 @@ module hub.troubleshooters.soundlink {
     requires javafx.fxml;
     requires com.google.guice;
     requires java.sql;
+    requires java.desktop;
     requires bcrypt;
     requires atlantafx.base;
     requires jsr305;
@@ -22,6 +23,8 @@ module hub.troubleshooters.soundlink {
     exports hub.troubleshooters.soundlink.app.services;
     exports hub.troubleshooters.soundlink.data.factories;
     exports hub.troubleshooters.soundlink.data.models;
+    exports hub.troubleshooters.soundlink.data.mappers;
+    exports hub.troubleshooters.soundlink.data.migrations to com.google.guice;
     exports hub.troubleshooters.soundlink.app.areas.shared;
     opens hub.troubleshooters.soundlink.app.areas.shared to javafx.fxml;
     opens hub.troubleshooters.soundlink.app.areas.events to javafx.fxml, com.google.guice;
@@ -0,0 +1,93 @@
+-- The schema as it stood before migrations were introduced (see /database.sql).
+-- IF NOT EXISTS lets databases created by scripts/initdb.sh adopt this version in place.
+
+CREATE TABLE IF NOT EXISTS Images (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    FileName TEXT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS Users (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    Username TEXT NOT NULL UNIQUE,
+    HashedPassword TEXT NOT NULL,
+    Created DATETIME DEFAULT CURRENT_TIMESTAMP,
+    LastLogin DATETIME
+);
+
+CREATE TABLE IF NOT EXISTS UserProfiles (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    UserId INTEGER NOT NULL,
+    DisplayName TEXT NOT NULL,
+    Bio TEXT NOT NULL,
+    ProfileImageId INTEGER,
+    FOREIGN KEY (UserId) REFERENCES Users(Id) ON DELETE CASCADE
+    FOREIGN KEY (ProfileImageId) REFERENCES Images(Id) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS Communities (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    Name TEXT NOT NULL,
+    Genre TEXT NOT NULL,
+    Description TEXT NOT NULL,
+    Created DATETIME DEFAULT CURRENT_TIMESTAMP,
+    BannerImageId INTEGER,
+    IsPrivate INTEGER NOT NULL DEFAULT 0,  -- New isPrivate column to store boolean (0 = false/public, 1 = true/private)
+    FOREIGN KEY (BannerImageId) REFERENCES Images(Id) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS CommunityMembers (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    CommunityId INTEGER NOT NULL,
+    UserId INTEGER NOT NULL,
+    Created DATETIME DEFAULT CURRENT_TIMESTAMP,
+    Permission INTEGER DEFAULT 0,
+    FOREIGN KEY (CommunityId) REFERENCES Communities(Id) ON DELETE CASCADE,
+    FOREIGN KEY (UserId) REFERENCES Users(Id) ON DELETE CASCADE,
+    UNIQUE (CommunityId, UserId)
+);
+
+CREATE TABLE IF NOT EXISTS CommunityPosts (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    CommunityId INTEGER NOT NULL,
+    UserId INTEGER NOT NULL,
+    Title TEXT NOT NULL,
+    Content TEXT NOT NULL,
+    Created DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (UserId) REFERENCES Users(Id) ON DELETE CASCADE,
+    FOREIGN KEY (CommunityId) REFERENCES Communities(Id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS Events (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    CommunityId INTEGER NOT NULL,
+    Name TEXT NOT NULL,
+    Description TEXT NOT NULL,
+    Venue TEXT NOT NULL,
+    Capacity INTEGER NOT NULL,
+    Scheduled DATETIME NOT NULL,
+    Created DATETIME DEFAULT CURRENT_TIMESTAMP,
+    BannerImageId INTEGER,
+    FOREIGN KEY (CommunityId) REFERENCES Communities(Id) ON DELETE CASCADE,
+    FOREIGN KEY (BannerImageId) REFERENCES Images(Id) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS Bookings (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    EventId INTEGER NOT NULL,
+    UserId INTEGER NOT NULL,
+    Created DATETIME DEFAULT CURRENT_TIMESTAMP,
+    Permission INTEGER DEFAULT 0,
+    FOREIGN KEY (EventId) REFERENCES Events(Id) ON DELETE CASCADE,
+    FOREIGN KEY (UserId) REFERENCES Users(Id) ON DELETE CASCADE,
+    UNIQUE (EventId, UserId)
+);
+
+CREATE TABLE IF NOT EXISTS EventComments (
+    Id INTEGER PRIMARY KEY AUTOINCREMENT,
+    EventId INTEGER NOT NULL,
+    UserId INTEGER NOT NULL,
+    Content TEXT NOT NULL,
+    Created DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (UserId) REFERENCES Users(Id) ON DELETE CASCADE,
+    FOREIGN KEY (EventId) REFERENCES Events(Id) ON DELETE CASCADE
+);
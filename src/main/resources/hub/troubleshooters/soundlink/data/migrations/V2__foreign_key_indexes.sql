@@ -0,0 +1,19 @@
+-- Secondary indexes for the factories' lookups by foreign key, which otherwise scan the whole table.
+-- Lookups by Bookings.EventId and CommunityMembers.CommunityId are already served by their UNIQUE constraints.
+
+CREATE INDEX IF NOT EXISTS IX_Events_CommunityId ON Events (CommunityId);
+
+CREATE INDEX IF NOT EXISTS IX_CommunityPosts_CommunityId ON CommunityPosts (CommunityId);
+
+CREATE INDEX IF NOT EXISTS IX_EventComments_EventId ON EventComments (EventId);
+
+-- includes EventId so a user's booked event ids can be read from the index alone
+CREATE INDEX IF NOT EXISTS IX_Bookings_UserId ON Bookings (UserId, EventId);
+
+-- includes CommunityId so a user's community ids can be read from the index alone
+CREATE INDEX IF NOT EXISTS IX_CommunityMembers_UserId ON CommunityMembers (UserId, CommunityId);
+
+-- includes DisplayName for BookingFactory.getDisplayNameById
+CREATE INDEX IF NOT EXISTS IX_UserProfiles_UserId ON UserProfiles (UserId, DisplayName);
+
+CREATE INDEX IF NOT EXISTS IX_Images_FileName ON Images (FileName);
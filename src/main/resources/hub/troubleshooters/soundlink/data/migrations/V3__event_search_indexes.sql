@@ -0,0 +1,7 @@
+-- Indexes for EventFactory.search, so that date, capacity and community filters only read the matching events.
+-- Community filters are served by IX_Events_CommunityId.
+
+CREATE INDEX IF NOT EXISTS IX_Events_Scheduled ON Events (Scheduled);
+
+-- includes Scheduled so a capacity search within a date range can be narrowed down in the index
+CREATE INDEX IF NOT EXISTS IX_Events_Capacity ON Events (Capacity, Scheduled);
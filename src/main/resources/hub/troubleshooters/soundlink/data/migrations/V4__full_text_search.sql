@@ -0,0 +1,47 @@
+-- FTS5 indexes over the searchable text of events and communities, used by EventFactory.searchText and
+-- CommunityFactory.searchText. The rows themselves stay in Events and Communities ("external content"), so the
+-- triggers below keep each index in step with its table.
+-- unicode61 with remove_diacritics folds case and accents, and the prefix option indexes 2 and 3 character
+-- prefixes so that searches for the start of a word don't scan the whole index.
+
+CREATE VIRTUAL TABLE IF NOT EXISTS EventsSearch USING fts5(
+    Name, Description, Venue,
+    content = 'Events', content_rowid = 'Id',
+    tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+);
+
+CREATE TRIGGER IF NOT EXISTS TR_Events_SearchInsert AFTER INSERT ON Events BEGIN
+    INSERT INTO EventsSearch (rowid, Name, Description, Venue) VALUES (new.Id, new.Name, new.Description, new.Venue);
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Events_SearchDelete AFTER DELETE ON Events BEGIN
+    INSERT INTO EventsSearch (EventsSearch, rowid, Name, Description, Venue) VALUES ('delete', old.Id, old.Name, old.Description, old.Venue);
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Events_SearchUpdate AFTER UPDATE OF Name, Description, Venue ON Events BEGIN
+    INSERT INTO EventsSearch (EventsSearch, rowid, Name, Description, Venue) VALUES ('delete', old.Id, old.Name, old.Description, old.Venue);
+    INSERT INTO EventsSearch (rowid, Name, Description, Venue) VALUES (new.Id, new.Name, new.Description, new.Venue);
+END;
+
+CREATE VIRTUAL TABLE IF NOT EXISTS CommunitiesSearch USING fts5(
+    Name, Description, Genre,
+    content = 'Communities', content_rowid = 'Id',
+    tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+);
+
+CREATE TRIGGER IF NOT EXISTS TR_Communities_SearchInsert AFTER INSERT ON Communities BEGIN
+    INSERT INTO CommunitiesSearch (rowid, Name, Description, Genre) VALUES (new.Id, new.Name, new.Description, new.Genre);
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Communities_SearchDelete AFTER DELETE ON Communities BEGIN
+    INSERT INTO CommunitiesSearch (CommunitiesSearch, rowid, Name, Description, Genre) VALUES ('delete', old.Id, old.Name, old.Description, old.Genre);
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Communities_SearchUpdate AFTER UPDATE OF Name, Description, Genre ON Communities BEGIN
+    INSERT INTO CommunitiesSearch (CommunitiesSearch, rowid, Name, Description, Genre) VALUES ('delete', old.Id, old.Name, old.Description, old.Genre);
+    INSERT INTO CommunitiesSearch (rowid, Name, Description, Genre) VALUES (new.Id, new.Name, new.Description, new.Genre);
+END;
+
+-- index the rows that existed before this migration
+INSERT INTO EventsSearch (EventsSearch) VALUES ('rebuild');
+INSERT INTO CommunitiesSearch (CommunitiesSearch) VALUES ('rebuild');
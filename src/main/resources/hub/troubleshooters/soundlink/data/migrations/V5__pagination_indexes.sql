@@ -0,0 +1,19 @@
+-- Indexes for keyset pagination (ModelFactory.getPage), which orders by Created and then Id and starts each page
+-- after the previous page's last (Created, Id). Ending every index in (Created, Id) makes a page one range read of the
+-- index, with no sort. Each replaces the single-column foreign key index from V2 it starts with.
+
+DROP INDEX IF EXISTS IX_CommunityPosts_CommunityId;
+CREATE INDEX IF NOT EXISTS IX_CommunityPosts_CommunityId_Created ON CommunityPosts (CommunityId, Created, Id);
+
+DROP INDEX IF EXISTS IX_EventComments_EventId;
+CREATE INDEX IF NOT EXISTS IX_EventComments_EventId_Created ON EventComments (EventId, Created, Id);
+
+DROP INDEX IF EXISTS IX_Events_CommunityId;
+CREATE INDEX IF NOT EXISTS IX_Events_CommunityId_Created ON Events (CommunityId, Created, Id);
+
+CREATE INDEX IF NOT EXISTS IX_Communities_Created ON Communities (Created, Id);
+
+CREATE INDEX IF NOT EXISTS IX_Communities_IsPrivate_Created ON Communities (IsPrivate, Created, Id);
+
+-- CommunityFactory.create used to store a missing Created date as NULL, which never compares after a cursor
+UPDATE Communities SET Created = CURRENT_TIMESTAMP WHERE Created IS NULL;
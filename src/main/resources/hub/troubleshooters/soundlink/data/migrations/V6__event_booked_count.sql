@@ -0,0 +1,21 @@
+-- Keeps the number of bookings for each event on the event itself, so the count is read rather than counted, and so
+-- BookingFactory.createIfAvailable can compare it with Capacity and insert the booking in one statement. The triggers
+-- update the count in the same statement as every booking insert, update and delete, whichever code path made it, so
+-- it can't drift from the Bookings table.
+
+ALTER TABLE Events ADD COLUMN BookedCount INTEGER NOT NULL DEFAULT 0;
+
+UPDATE Events SET BookedCount = (SELECT COUNT(*) FROM Bookings WHERE Bookings.EventId = Events.Id);
+
+CREATE TRIGGER IF NOT EXISTS TR_Bookings_CountInsert AFTER INSERT ON Bookings BEGIN
+    UPDATE Events SET BookedCount = BookedCount + 1 WHERE Id = new.EventId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Bookings_CountDelete AFTER DELETE ON Bookings BEGIN
+    UPDATE Events SET BookedCount = BookedCount - 1 WHERE Id = old.EventId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Bookings_CountUpdate AFTER UPDATE OF EventId ON Bookings BEGIN
+    UPDATE Events SET BookedCount = BookedCount - 1 WHERE Id = old.EventId;
+    UPDATE Events SET BookedCount = BookedCount + 1 WHERE Id = new.EventId;
+END;
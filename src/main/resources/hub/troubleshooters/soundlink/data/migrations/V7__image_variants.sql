@@ -0,0 +1,7 @@
+-- Records the downscaled copies of each image written at upload time, so avatars, cards and banners are read from a
+-- small file instead of the full-size original. A column is NULL until its copy has been written; the copies of images
+-- uploaded before this version are written by ImageVariantBackfill when the application starts.
+
+ALTER TABLE Images ADD COLUMN AvatarFileName TEXT;
+ALTER TABLE Images ADD COLUMN CardFileName TEXT;
+ALTER TABLE Images ADD COLUMN BannerFileName TEXT;
@@ -0,0 +1,63 @@
+-- Stores each image once, under the SHA-256 hash of its content, so identical uploads share one file and one row and
+-- two uploads with the same name no longer overwrite each other. Images uploaded before this version keep their names,
+-- and have no Hash.
+--
+-- RefCount is the number of profiles, communities and events showing the image. The triggers update it in the same
+-- statement as every change to those columns, whichever code path made it, so ImageGarbageCollector can delete the
+-- images nothing shows any more without scanning the tables that reference them. Uploaded is when the image was last
+-- uploaded, so the sweep leaves alone images that have just been uploaded and aren't referenced yet.
+
+ALTER TABLE Images ADD COLUMN Hash TEXT;
+ALTER TABLE Images ADD COLUMN RefCount INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE Images ADD COLUMN Uploaded DATETIME;
+
+CREATE UNIQUE INDEX IF NOT EXISTS IX_Images_Hash ON Images (Hash);
+
+CREATE INDEX IF NOT EXISTS IX_Images_RefCount ON Images (RefCount);
+
+UPDATE Images SET RefCount =
+    (SELECT COUNT(*) FROM UserProfiles WHERE UserProfiles.ProfileImageId = Images.Id) +
+    (SELECT COUNT(*) FROM Communities WHERE Communities.BannerImageId = Images.Id) +
+    (SELECT COUNT(*) FROM Events WHERE Events.BannerImageId = Images.Id);
+
+CREATE TRIGGER IF NOT EXISTS TR_UserProfiles_ImageRefInsert AFTER INSERT ON UserProfiles BEGIN
+    UPDATE Images SET RefCount = RefCount + 1 WHERE Id = new.ProfileImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_UserProfiles_ImageRefDelete AFTER DELETE ON UserProfiles BEGIN
+    UPDATE Images SET RefCount = RefCount - 1 WHERE Id = old.ProfileImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_UserProfiles_ImageRefUpdate AFTER UPDATE OF ProfileImageId ON UserProfiles
+    WHEN old.ProfileImageId IS NOT new.ProfileImageId BEGIN
+    UPDATE Images SET RefCount = RefCount - 1 WHERE Id = old.ProfileImageId;
+    UPDATE Images SET RefCount = RefCount + 1 WHERE Id = new.ProfileImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Communities_ImageRefInsert AFTER INSERT ON Communities BEGIN
+    UPDATE Images SET RefCount = RefCount + 1 WHERE Id = new.BannerImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Communities_ImageRefDelete AFTER DELETE ON Communities BEGIN
+    UPDATE Images SET RefCount = RefCount - 1 WHERE Id = old.BannerImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Communities_ImageRefUpdate AFTER UPDATE OF BannerImageId ON Communities
+    WHEN old.BannerImageId IS NOT new.BannerImageId BEGIN
+    UPDATE Images SET RefCount = RefCount - 1 WHERE Id = old.BannerImageId;
+    UPDATE Images SET RefCount = RefCount + 1 WHERE Id = new.BannerImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Events_ImageRefInsert AFTER INSERT ON Events BEGIN
+    UPDATE Images SET RefCount = RefCount + 1 WHERE Id = new.BannerImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Events_ImageRefDelete AFTER DELETE ON Events BEGIN
+    UPDATE Images SET RefCount = RefCount - 1 WHERE Id = old.BannerImageId;
+END;
+
+CREATE TRIGGER IF NOT EXISTS TR_Events_ImageRefUpdate AFTER UPDATE OF BannerImageId ON Events
+    WHEN old.BannerImageId IS NOT new.BannerImageId BEGIN
+    UPDATE Images SET RefCount = RefCount - 1 WHERE Id = old.BannerImageId;
+    UPDATE Images SET RefCount = RefCount + 1 WHERE Id = new.BannerImageId;
+END;
@@ -0,0 +1,12 @@
+-- EventFactory.save, CommunityFactory.save and CommunityFactory.create used to bind Created with setDate, which stores
+-- epoch milliseconds, while the column default stores CURRENT_TIMESTAMP text. SQLite sorts every number before any
+-- text, so an edited event or community dropped to the end of a newest-first page (ModelFactory.getPage). Convert the
+-- numbers to the column default's UTC text, so every row orders by when it was actually created.
+
+UPDATE Events SET Created = strftime('%Y-%m-%d %H:%M:%S', Created / 1000, 'unixepoch') WHERE typeof(Created) = 'integer';
+
+UPDATE Communities SET Created = strftime('%Y-%m-%d %H:%M:%S', Created / 1000, 'unixepoch') WHERE typeof(Created) = 'integer';
+
+UPDATE CommunityPosts SET Created = strftime('%Y-%m-%d %H:%M:%S', Created / 1000, 'unixepoch') WHERE typeof(Created) = 'integer';
+
+UPDATE EventComments SET Created = strftime('%Y-%m-%d %H:%M:%S', Created / 1000, 'unixepoch') WHERE typeof(Created) = 'integer';
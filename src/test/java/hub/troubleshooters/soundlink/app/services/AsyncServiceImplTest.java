@@ -0,0 +1,212 @@
+package hub.troubleshooters.soundlink.app.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncServiceImplTest {
+
+    // stands in for the JavaFX application thread: callbacks only run when the test takes them off the queue
+    private final BlockingQueue<Runnable> fxQueue = new LinkedBlockingQueue<>();
+    private final List<Object> delivered = new ArrayList<>();
+
+    private ExecutorService backgroundExecutor;
+    private AsyncServiceImpl asyncService;
+
+    @BeforeEach
+    void setUp() {
+        backgroundExecutor = Executors.newSingleThreadExecutor();
+        asyncService = new AsyncServiceImpl(backgroundExecutor, fxQueue::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backgroundExecutor.shutdownNow();
+    }
+
+    private void runNextOnFxThread() throws InterruptedException {
+        var callback = fxQueue.poll(5, TimeUnit.SECONDS);
+        assertNotNull(callback, "no callback was delivered");
+        callback.run();
+    }
+
+    @Test
+    void testLoad_Success_DeliveredOnFxExecutor() throws InterruptedException {
+        var workThread = new String[1];
+        var task = asyncService.load(() -> {
+            workThread[0] = Thread.currentThread().getName();
+            return 42;
+        }, delivered::add, delivered::add);
+
+        runNextOnFxThread();
+
+        assertEquals(List.of(42), delivered);
+        assertNotEquals(Thread.currentThread().getName(), workThread[0]);
+        assertTrue(task.isDone());
+    }
+
+    @Test
+    void testLoad_WorkThrows_UnwrappedErrorDelivered() throws InterruptedException {
+        var error = new SQLException("database is locked");
+
+        asyncService.load(() -> {
+            throw error;
+        }, delivered::add, delivered::add);
+        runNextOnFxThread();
+
+        assertEquals(List.of(error), delivered);
+    }
+
+    @Test
+    void testCancelAll_AfterWorkFinished_CallbackDropped() throws InterruptedException {
+        var task = asyncService.load(() -> "stale", delivered::add, delivered::add);
+        // the work is done and its callback queued, but the user navigated away before it ran
+        var callback = fxQueue.poll(5, TimeUnit.SECONDS);
+        asyncService.cancelAll();
+        callback.run();
+
+        assertTrue(delivered.isEmpty());
+        assertTrue(task.isCancelled());
+        assertFalse(task.isDone());
+    }
+
+    @Test
+    void testCancel_BeforeWorkStarted_WorkSkipped() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var calls = new AtomicInteger();
+        // occupy the only background thread so the second load has to wait
+        asyncService.load(() -> {
+            release.await();
+            return "first";
+        }, delivered::add, delivered::add);
+        var waiting = asyncService.load(calls::incrementAndGet, delivered::add, delivered::add);
+
+        waiting.cancel();
+        release.countDown();
+        runNextOnFxThread();
+        runNextOnFxThread();
+
+        assertEquals(List.of("first"), delivered);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void testSave_CancelledBeforeWorkStarted_WorkStillRunsButCallbackDropped() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var calls = new AtomicInteger();
+        asyncService.load(() -> {
+            release.await();
+            return "first";
+        }, delivered::add, delivered::add);
+        var waiting = asyncService.save(calls::incrementAndGet, delivered::add, delivered::add);
+
+        // the user navigated away while the save was queued
+        asyncService.cancelAll();
+        release.countDown();
+        runNextOnFxThread();
+        runNextOnFxThread();
+
+        assertTrue(delivered.isEmpty());
+        assertEquals(1, calls.get());
+        assertTrue(waiting.isCancelled());
+    }
+
+    @Test
+    void testSave_Success_DeliveredOnFxExecutor() throws InterruptedException {
+        var task = asyncService.save(() -> "saved", delivered::add, delivered::add);
+
+        runNextOnFxThread();
+
+        assertEquals(List.of("saved"), delivered);
+        assertTrue(task.isDone());
+    }
+
+    @Test
+    void testLoad_QueueFull_FailureDelivered() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var bounded = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        try {
+            var service = new AsyncServiceImpl(bounded, fxQueue::add);
+            service.load(() -> {
+                release.await();
+                return "running";
+            }, delivered::add, delivered::add);
+            service.load(() -> "queued", delivered::add, delivered::add);
+
+            service.load(() -> "rejected", delivered::add, delivered::add);
+            runNextOnFxThread();
+
+            assertEquals(1, delivered.size());
+            assertInstanceOf(RejectedExecutionException.class, delivered.getFirst());
+        } finally {
+            release.countDown();
+            bounded.shutdownNow();
+        }
+    }
+
+    @Test
+    void testShutdown_QueuedSaveRunsQueuedLoadSkipped() throws Exception {
+        var release = new CountDownLatch(1);
+        var saves = new AtomicInteger();
+        var loads = new AtomicInteger();
+        asyncService.load(() -> {
+            release.await();
+            return "running";
+        }, delivered::add, delivered::add);
+        asyncService.save(saves::incrementAndGet, delivered::add, delivered::add);
+        asyncService.load(loads::incrementAndGet, delivered::add, delivered::add);
+
+        // the running load holds the only thread until the shutdown has cancelled what's queued behind it
+        var shutdown = new boolean[1];
+        var closer = Thread.ofVirtual().start(() -> {
+            try {
+                shutdown[0] = asyncService.shutdown(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        while (!backgroundExecutor.isShutdown()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        closer.join();
+
+        assertTrue(shutdown[0]);
+
+        assertEquals(1, saves.get());
+        assertEquals(0, loads.get());
+        assertThrows(RejectedExecutionException.class, () -> backgroundExecutor.execute(() -> {}));
+    }
+
+    @Test
+    void testShutdown_WorkStillRunning_ReturnsFalse() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        asyncService.save(() -> {
+            release.await();
+            return "slow";
+        }, delivered::add, delivered::add);
+
+        try {
+            assertFalse(asyncService.shutdown(Duration.ofMillis(50)));
+        } finally {
+            release.countDown();
+        }
+    }
+}
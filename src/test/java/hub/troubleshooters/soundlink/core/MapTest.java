@@ -0,0 +1,164 @@
+package hub.troubleshooters.soundlink.core;
+
+import hub.troubleshooters.soundlink.core.communities.models.CommunityModel;
+import hub.troubleshooters.soundlink.data.factories.CommunityFactory;
+import hub.troubleshooters.soundlink.data.factories.EventFactory;
+import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+import hub.troubleshooters.soundlink.data.factories.UserFactory;
+import hub.troubleshooters.soundlink.data.factories.UserProfileFactory;
+import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.CommunityPost;
+import hub.troubleshooters.soundlink.data.models.Event;
+import hub.troubleshooters.soundlink.data.models.EventComment;
+import hub.troubleshooters.soundlink.data.models.Image;
+import hub.troubleshooters.soundlink.data.models.User;
+import hub.troubleshooters.soundlink.data.models.UserProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MapTest {
+
+    @Mock
+    private EventFactory eventFactory;
+
+    @Mock
+    private ImageFactory imageFactory;
+
+    @Mock
+    private CommunityFactory communityFactory;
+
+    @Mock
+    private UserFactory userFactory;
+
+    @Mock
+    private UserProfileFactory userProfileFactory;
+
+    @InjectMocks
+    private Map map;
+
+    private Community community;
+    private Image image;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Initialize mocks and open them for use in tests
+        MockitoAnnotations.openMocks(this);
+
+        community = new Community(1, "Test Community", "Description", "Genre", new Date(), 5, false);
+        image = new Image(5, "banner.png");
+        user = new User(2, "username", "hashedPassword", new Date(), new Date());
+    }
+
+    @Test
+    void testEvents_LooksUpEachTableOnce() throws SQLException {
+        var events = List.of(
+                new Event(1, 1, "First", "Description", "Venue", 10, new Date(), new Date(), 5),
+                new Event(2, 1, "Second", "Description", "Venue", 10, new Date(), new Date(), null));
+        when(communityFactory.getAll(anyCollection())).thenReturn(java.util.Map.of(1, community));
+        when(imageFactory.getAll(anyCollection())).thenReturn(java.util.Map.of(5, image));
+
+        // Map both events at once
+        var result = map.events(events);
+
+        // Verify each event got its community and banner, and no per-event lookups were made
+        assertEquals(2, result.size());
+        assertEquals(community, result.get(0).community());
+        assertEquals(Optional.of(image), result.get(0).bannerImage());
+        assertEquals(Optional.empty(), result.get(1).bannerImage());
+        verify(communityFactory, times(1)).getAll(anyCollection());
+        verify(communityFactory, never()).get(anyInt());
+        verify(imageFactory, never()).get(anyInt());
+    }
+
+    @Test
+    void testEvents_MissingCommunity_ThrowsSQLException() throws SQLException {
+        var events = List.of(new Event(1, 99, "First", "Description", "Venue", 10, new Date(), new Date(), null));
+        when(communityFactory.getAll(anyCollection())).thenReturn(java.util.Map.of());
+        when(imageFactory.getAll(anyCollection())).thenReturn(java.util.Map.of());
+
+        // An event whose community doesn't exist can't be mapped
+        assertThrows(SQLException.class, () -> map.events(events));
+    }
+
+    @Test
+    void testCommunities_LooksUpBannersOnce() throws SQLException {
+        var communities = List.of(community, new Community(2, "Other Community", "Description", "Genre", new Date(), null, true));
+        when(imageFactory.getAll(anyCollection())).thenReturn(java.util.Map.of(5, image));
+
+        // Map both communities at once
+        var result = map.communities(communities);
+
+        // Verify each community got its banner, if it has one, without a lookup per community
+        assertEquals(List.of(1, 2), result.stream().map(CommunityModel::communityId).toList());
+        assertEquals(Optional.of(image), result.get(0).bannerImage());
+        assertEquals(Optional.empty(), result.get(1).bannerImage());
+        verify(imageFactory, times(1)).getAll(anyCollection());
+        verify(imageFactory, never()).get(anyInt());
+    }
+
+    @Test
+    void testCommunityPosts_LooksUpEachTableOnce() throws SQLException {
+        var posts = List.of(
+                new CommunityPost(1, 1, 2, "First", "Content", new Date()),
+                new CommunityPost(2, 1, 2, "Second", "Content", new Date()));
+        when(userFactory.getAll(anyCollection())).thenReturn(java.util.Map.of(2, user));
+        when(communityFactory.getAll(anyCollection())).thenReturn(java.util.Map.of(1, community));
+        when(imageFactory.getAll(anyCollection())).thenReturn(java.util.Map.of(5, image));
+
+        // Map both posts at once
+        var result = map.communityPosts(posts);
+
+        // Verify both posts share the same author and community, with the community's banner resolved
+        assertEquals(2, result.size());
+        assertEquals("username", result.get(1).user().username());
+        assertEquals(Optional.of(image), result.get(1).community().bannerImage());
+        verify(userFactory, never()).get(anyInt());
+        verify(communityFactory, never()).get(anyInt());
+        verify(imageFactory, times(1)).getAll(anyCollection());
+    }
+
+    @Test
+    void testEventComments_LooksUpEachAuthorOnce() throws SQLException {
+        var comments = List.of(
+                new EventComment(1, 1, 2, "First", new Date()),
+                new EventComment(2, 1, 3, "Second", new Date()),
+                new EventComment(3, 1, 2, "Third", new Date()));
+        when(userProfileFactory.getAllByUserId(anyCollection())).thenReturn(java.util.Map.of(
+                2, new UserProfile(7, 2, "Display Name", "Bio", 5),
+                3, new UserProfile(8, 3, "Other Name", "Bio", null)));
+        when(imageFactory.getAll(anyCollection())).thenReturn(java.util.Map.of(5, image));
+
+        // Map every comment at once
+        var result = map.eventComments(comments);
+
+        // Verify each comment got its author's profile and image, with one lookup for all of them
+        assertEquals(List.of("Display Name", "Other Name", "Display Name"), result.stream().map(comment -> comment.author().displayName()).toList());
+        assertEquals(Optional.of(image), result.get(0).author().profileImage());
+        assertEquals(Optional.empty(), result.get(1).author().profileImage());
+        verify(userProfileFactory, times(1)).getAllByUserId(anyCollection());
+        verify(userProfileFactory, never()).getByUserId(anyInt());
+        verify(imageFactory, never()).get(anyInt());
+    }
+
+    @Test
+    void testEventComments_MissingProfile_ThrowsSQLException() throws SQLException {
+        var comments = List.of(new EventComment(1, 1, 99, "First", new Date()));
+        when(userProfileFactory.getAllByUserId(anyCollection())).thenReturn(java.util.Map.of());
+        when(imageFactory.getAll(anyCollection())).thenReturn(java.util.Map.of());
+
+        // A comment whose author has no profile can't be mapped
+        assertThrows(SQLException.class, () -> map.eventComments(comments));
+    }
+}
@@ -0,0 +1,99 @@
+package hub.troubleshooters.soundlink.core.auth;
+
+import hub.troubleshooters.soundlink.core.auth.services.IdentityServiceImpl;
+import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.CommunityMember;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the cost of an authorization check through the scope-set path {@link IdentityServiceImpl#isAuthorized}
+ * used to take (two linear scans of the memberships, two {@link java.util.EnumSet}s and a {@code containsAll}) with
+ * the primitive mask lookup and bitwise AND it takes now.
+ *
+ * <p>Not part of the regular test run (the class name doesn't match Surefire's includes). Run it with:</p>
+ * <pre>mvn test -Dtest=AuthorizationBenchmark</pre>
+ */
+public class AuthorizationBenchmark {
+
+    private static final int MEMBERSHIPS = 50;
+    private static final int CHECKS = 1_000_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 15;
+    private static final int REQUIRED_SCOPES = ScopeUtils.combineScopes(Scope.EVENT_WRITE);
+
+    /**
+     * The check as {@link IdentityServiceImpl#isAuthorized} made it before the masks, over the same memberships.
+     */
+    private static boolean isAuthorizedByScopeSet(List<CommunityMember> members, Community community, Scope... scopes) {
+        if (scopesOf(members, community).contains(Scope.SUPERADMIN)) {
+            return true;
+        }
+        return scopesOf(members, community).containsAll(List.of(scopes));
+    }
+
+    /**
+     * {@link UserContext#getCurrentScopes} as it was before the memberships were indexed: a scan of the list.
+     */
+    private static Set<Scope> scopesOf(List<CommunityMember> members, Community community) {
+        var member = members.stream().filter(c -> c.getCommunityId() == community.getId()).findFirst();
+        return member.map(m -> ScopeUtils.deconstructScopes(m.getPermission())).orElseGet(HashSet::new);
+    }
+
+    @Test
+    void benchmarkAuthorization() {
+        var members = new ArrayList<CommunityMember>();
+        for (int i = 1; i <= MEMBERSHIPS; i++) {
+            var permission = i % 3 == 0 ? ScopeUtils.combineScopes(Scope.EVENT_READ) : ScopeUtils.combineScopes(Scope.EVENT_READ, Scope.EVENT_WRITE);
+            members.add(new CommunityMember(i, i, 1, null, permission));
+        }
+        var identityService = new IdentityServiceImpl(null);
+        identityService.setUserContext(new UserContext(null, members));
+        var communities = new Community[MEMBERSHIPS + 10];
+        for (int i = 0; i < communities.length; i++) {
+            communities[i] = new Community(i + 1, "Community " + i, "", "", null, null, false);
+        }
+
+        // both paths must agree for the comparison to mean anything
+        for (var community : communities) {
+            assertEquals(isAuthorizedByScopeSet(members, community, Scope.EVENT_WRITE), identityService.isAuthorized(community.getId(), REQUIRED_SCOPES));
+        }
+
+        var scopeSet = measure(i -> isAuthorizedByScopeSet(members, communities[i % communities.length], Scope.EVENT_WRITE));
+        var scopes = measure(i -> identityService.isAuthorized(communities[i % communities.length], Scope.EVENT_WRITE));
+        var mask = measure(i -> identityService.isAuthorized(communities[i % communities.length].getId(), REQUIRED_SCOPES));
+
+        System.out.printf("AuthorizationBenchmark: %d memberships, %,d checks, median of %d runs%n", MEMBERSHIPS, CHECKS, MEASURED_ITERATIONS);
+        System.out.printf("  scope sets (before)         %7.1f ns/check%n", scopeSet);
+        System.out.printf("  isAuthorized(Community, ..) %7.1f ns/check%n", scopes);
+        System.out.printf("  isAuthorized(id, mask)      %7.1f ns/check%n", mask);
+    }
+
+    private static double measure(IntPredicate check) {
+        var timings = new long[MEASURED_ITERATIONS];
+        var authorized = 0;
+        for (int run = 0; run < WARMUP_ITERATIONS + MEASURED_ITERATIONS; run++) {
+            var start = System.nanoTime();
+            for (int i = 0; i < CHECKS; i++) {
+                if (check.test(i)) {
+                    authorized++;
+                }
+            }
+            if (run >= WARMUP_ITERATIONS) {
+                timings[run - WARMUP_ITERATIONS] = System.nanoTime() - start;
+            }
+        }
+        // use the results, so the checks can't be optimised away
+        assertTrue(authorized > 0);
+        Arrays.sort(timings);
+        return (double) timings[MEASURED_ITERATIONS / 2] / CHECKS;
+    }
+}
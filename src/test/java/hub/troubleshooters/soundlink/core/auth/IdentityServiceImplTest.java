@@ -12,7 +12,6 @@ import org.mockito.MockitoAnnotations;
 
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -47,7 +46,7 @@ public class IdentityServiceImplTest {
     void testIsAuthorizedWithSuperAdminScope() {
         Community community = mock(Community.class);
         // Simulate SUPERADMIN scope in the user's context
-        when(userContext.getCurrentScopes(community)).thenReturn(Set.of(Scope.SUPERADMIN));
+        when(userContext.getPermissionMask(anyInt())).thenReturn(ScopeUtils.combineScopes(Scope.SUPERADMIN));
 
         identityServiceImpl.setUserContext(userContext);
 
@@ -60,7 +59,7 @@ public class IdentityServiceImplTest {
     void testIsAuthorizedWithCorrectScopes() {
         Community community = mock(Community.class);
         // Simulate USER and COMMUNITY_WRITE scopes in the user's context
-        when(userContext.getCurrentScopes(community)).thenReturn(Set.of(Scope.COMMUNITY_WRITE, Scope.EVENT_READ));
+        when(userContext.getPermissionMask(anyInt())).thenReturn(ScopeUtils.combineScopes(Scope.COMMUNITY_WRITE, Scope.EVENT_READ));
 
         identityServiceImpl.setUserContext(userContext);
 
@@ -75,7 +74,7 @@ public class IdentityServiceImplTest {
     void testIsAuthorizedWithoutRequiredScopes() {
         Community community = mock(Community.class);
         // Simulate only EVENT_READ scope in the user's context
-        when(userContext.getCurrentScopes(community)).thenReturn(Set.of(Scope.EVENT_READ));
+        when(userContext.getPermissionMask(anyInt())).thenReturn(ScopeUtils.combineScopes(Scope.EVENT_READ));
 
         identityServiceImpl.setUserContext(userContext);
 
@@ -145,8 +144,29 @@ public class IdentityServiceImplTest {
         List<Community> communities = identityServiceImpl.getCommunities();
         assertTrue(communities.isEmpty());
     }
-}
-
-
-
 
+    // Test that the mask and scope forms of isAuthorized agree with the scopes the user context reports
+    @Test
+    void testIsAuthorized_MaskMatchesScopes() {
+        var context = new UserContext(null, List.of(
+                new CommunityMember(1, 10, 0, null, ScopeUtils.combineScopes(Scope.EVENT_READ, Scope.EVENT_WRITE)),
+                new CommunityMember(2, 11, 0, null, ScopeUtils.combineScopes(Scope.SUPERADMIN))));
+        identityServiceImpl.setUserContext(context);
+
+        for (var communityId : List.of(10, 11, 12)) {
+            var community = new Community(communityId, "Community", "", "", null, null, false);
+            var scopes = context.getCurrentScopes(community);
+            for (var scope : Scope.values()) {
+                var expected = scopes.contains(Scope.SUPERADMIN) || scopes.contains(scope);
+                assertEquals(expected, identityServiceImpl.isAuthorized(community, scope), communityId + " " + scope);
+                assertEquals(expected, identityServiceImpl.isAuthorized(communityId, scope.getBitmask()), communityId + " " + scope);
+            }
+        }
+        assertTrue(identityServiceImpl.isAuthorized(10, ScopeUtils.combineScopes(Scope.EVENT_READ, Scope.EVENT_WRITE)));
+        assertFalse(identityServiceImpl.isAuthorized(10, ScopeUtils.combineScopes(Scope.EVENT_READ, Scope.COMMUNITY_READ)));
+
+        // leaving a community takes its scopes with it
+        context.removeCommunityMember(10);
+        assertFalse(identityServiceImpl.isAuthorized(10, Scope.EVENT_READ.getBitmask()));
+    }
+}
@@ -9,19 +9,25 @@ import hub.troubleshooters.soundlink.core.auth.validation.LoginModelValidator;
 import hub.troubleshooters.soundlink.core.auth.validation.RegisterModelValidator;
 import hub.troubleshooters.soundlink.core.validation.ValidationError;
 import hub.troubleshooters.soundlink.core.validation.ValidationResult;
+import hub.troubleshooters.soundlink.data.factories.BookingFactory;
 import hub.troubleshooters.soundlink.data.factories.CommunityMemberFactory;
 import hub.troubleshooters.soundlink.data.factories.UserFactory;
 import hub.troubleshooters.soundlink.data.factories.UserProfileFactory;
+import hub.troubleshooters.soundlink.data.models.Booking;
+import hub.troubleshooters.soundlink.data.models.CommunityMember;
 import hub.troubleshooters.soundlink.data.models.User;
 import hub.troubleshooters.soundlink.data.models.UserProfile;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +44,8 @@ class LoginServiceImplTest {
     @Mock
     private CommunityMemberFactory communityMemberFactory;
     @Mock
+    private BookingFactory bookingFactory;
+    @Mock
     private IdentityService identityService;
     @Mock
     private LoginModelValidator loginModelValidator;
@@ -81,6 +89,23 @@ class LoginServiceImplTest {
         verify(userFactory).save(user); // ensure the save method was called during our test
     }
 
+    @Test
+    void testLogin_Successful_IndexesMembershipsAndBookings() throws SQLException {
+        when(userFactory.get(user.getUsername())).thenReturn(Optional.of(user));
+        when(communityMemberFactory.get(user)).thenReturn(List.of(new CommunityMember(1, 10, 0, new Date(), 1)));
+        when(bookingFactory.get(user)).thenReturn(List.of(new Booking(2, 20, 0, new Date(), 2)));
+
+        loginServiceImpl.login(new LoginModel(user.getUsername(), PASSWORD));
+
+        // the context set for the session should answer membership and booking checks by itself
+        var context = ArgumentCaptor.forClass(UserContext.class);
+        verify(identityService).setUserContext(context.capture());
+        assertEquals(1, context.getValue().getCommunityMember(10).orElseThrow().getPermission());
+        assertTrue(context.getValue().getCommunityMember(11).isEmpty());
+        assertEquals(2, context.getValue().getBooking(20).orElseThrow().getPermission());
+        assertTrue(context.getValue().getBooking(21).isEmpty());
+    }
+
     @Test
     void testLogin_IncorrectUsername() throws SQLException {
         // whenever our mocked userFactory.get method is called, it will always return Optional.empty to simulate an invalid username
@@ -0,0 +1,68 @@
+package hub.troubleshooters.soundlink.core.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermissionMasksTest {
+
+    @Test
+    void testGet_Missing_ReturnsZero() {
+        var masks = new PermissionMasks();
+
+        assertEquals(0, masks.get(1));
+        assertEquals(0, masks.size());
+    }
+
+    @Test
+    void testPut_ReplacesExistingMask() {
+        var masks = new PermissionMasks();
+
+        masks.put(1, 6);
+        masks.put(1, 1);
+
+        assertEquals(1, masks.get(1));
+        assertEquals(1, masks.size());
+    }
+
+    @Test
+    void testRemove_OnlyRemovesThatCommunity() {
+        var masks = new PermissionMasks();
+        masks.put(1, 6);
+        masks.put(2, 2);
+
+        masks.remove(1);
+        masks.remove(3);
+
+        assertEquals(0, masks.get(1));
+        assertEquals(2, masks.get(2));
+        assertEquals(1, masks.size());
+    }
+
+    @Test
+    void testManyCommunities_MatchHashMap() {
+        // enough IDs to grow the table several times, including ones that collide in a small table
+        var masks = new PermissionMasks();
+        var expected = new HashMap<Integer, Integer>();
+        var random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            var communityId = 1 + random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                masks.remove(communityId);
+                expected.remove(communityId);
+            } else {
+                var mask = random.nextInt(32);
+                masks.put(communityId, mask);
+                expected.put(communityId, mask);
+            }
+        }
+
+        for (int communityId = 0; communityId <= 501; communityId++) {
+            assertEquals(expected.getOrDefault(communityId, 0), masks.get(communityId), "community " + communityId);
+        }
+        assertEquals(expected.size(), masks.size());
+    }
+}
@@ -0,0 +1,123 @@
+package hub.troubleshooters.soundlink.core.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadExecutorTest {
+
+    private final ReadExecutor readExecutor = new ReadExecutor(Duration.ofSeconds(5));
+
+    @Test
+    void testJoin_ReadsRunInParallel() throws SQLException {
+        // each read waits until all three are running, which only happens if none waits for another
+        var running = new CountDownLatch(3);
+        ReadScope.Read<String> read = () -> {
+            running.countDown();
+            try {
+                return running.await(5, TimeUnit.SECONDS) ? Thread.currentThread().getName() : "timed out";
+            } catch (InterruptedException e) {
+                throw new SQLException(e);
+            }
+        };
+
+        try (var scope = readExecutor.openScope()) {
+            var first = scope.fork(read);
+            var second = scope.fork(read);
+            var third = scope.fork(read);
+            scope.join();
+
+            assertTrue(first.get().startsWith("soundlink-read-"));
+            assertTrue(second.get().startsWith("soundlink-read-"));
+            assertTrue(third.get().startsWith("soundlink-read-"));
+        }
+    }
+
+    @Test
+    void testJoin_ReadFails_OthersCancelledAndErrorThrown() {
+        var error = new SQLException("no such table");
+        var interrupted = new CountDownLatch(1);
+
+        try (var scope = readExecutor.openScope()) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(Duration.ofSeconds(30));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "slow";
+            });
+            scope.fork(() -> {
+                throw error;
+            });
+
+            assertSame(error, assertThrows(SQLException.class, scope::join));
+        }
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void testJoin_ReadPastItsTimeout_ThrowsWithoutWaiting() {
+        var start = System.nanoTime();
+
+        try (var scope = readExecutor.openScope()) {
+            scope.fork(() -> "fast");
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(Duration.ofSeconds(30));
+                } catch (InterruptedException e) {
+                    throw new SQLException(e);
+                }
+                return "slow";
+            }, Duration.ofMillis(100));
+
+            assertThrows(SQLTimeoutException.class, scope::join);
+        }
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    void testGet_BeforeJoin_Throws() throws SQLException {
+        try (var scope = readExecutor.openScope()) {
+            var read = scope.fork(() -> "value");
+
+            assertThrows(IllegalStateException.class, read::get);
+            scope.join();
+            assertEquals("value", read.get());
+        }
+    }
+
+    @Test
+    void testShutdown_WaitsForRunningReads() throws Exception {
+        var started = new CountDownLatch(1);
+        var finished = new boolean[1];
+        var opener = Thread.ofVirtual().start(() -> {
+            try (var scope = readExecutor.openScope()) {
+                scope.fork(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        throw new SQLException(e);
+                    }
+                    finished[0] = true;
+                    return null;
+                });
+                scope.join();
+            } catch (SQLException e) {
+                fail(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(readExecutor.shutdown(Duration.ofSeconds(5)));
+        assertTrue(finished[0]);
+        opener.join();
+    }
+}
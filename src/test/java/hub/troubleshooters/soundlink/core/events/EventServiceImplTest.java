@@ -0,0 +1,354 @@
+package hub.troubleshooters.soundlink.core.events;
+
+import hub.troubleshooters.soundlink.core.Map;
+import hub.troubleshooters.soundlink.core.concurrent.ReadExecutor;
+import hub.troubleshooters.soundlink.core.auth.UserContext;
+import hub.troubleshooters.soundlink.core.auth.services.IdentityService;
+import hub.troubleshooters.soundlink.core.auth.services.IdentityServiceImpl;
+import hub.troubleshooters.soundlink.core.events.models.CreateEventModel;
+import hub.troubleshooters.soundlink.core.events.services.EventServiceImpl;
+import hub.troubleshooters.soundlink.core.events.validation.BookingAlreadyExistsException;
+import hub.troubleshooters.soundlink.core.events.validation.EventFullException;
+import hub.troubleshooters.soundlink.core.events.validation.CreateEventModelValidator;
+import hub.troubleshooters.soundlink.core.images.ImageUploaderService;
+import hub.troubleshooters.soundlink.core.validation.ValidationResult;
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.ConnectionProfile;
+import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.factories.BookingFactory;
+import hub.troubleshooters.soundlink.data.factories.CommunityFactory;
+import hub.troubleshooters.soundlink.data.factories.EventCommentFactory;
+import hub.troubleshooters.soundlink.data.factories.EventFactory;
+import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+import hub.troubleshooters.soundlink.data.factories.UserFactory;
+import hub.troubleshooters.soundlink.data.factories.UserProfileFactory;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Community;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EventServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection database;
+    private DatabaseConnection connection;
+    private EventServiceImpl eventService;
+    private EventFactory eventFactory;
+    private CommunityFactory communityFactory;
+    private EventCommentFactory eventCommentFactory;
+    private BookingFactory bookingFactory;
+    private UserProfileFactory userProfileFactory;
+    private int communityId;
+    private int eventId;
+    private int adminId;
+    private int viewerId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // the details are built from joined queries, so use a real database, counting the queries made through a spy
+        database = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        new MigrationRunner(database).migrate();
+        connection = spy(database);
+
+        eventFactory = new EventFactory(connection);
+        var imageFactory = new ImageFactory(connection);
+        communityFactory = new CommunityFactory(connection);
+        eventCommentFactory = new EventCommentFactory(connection);
+        bookingFactory = new BookingFactory(connection);
+        userProfileFactory = new UserProfileFactory(connection);
+        eventService = createService(connection);
+
+        var bannerId = imageFactory.create("banner.png").getId();
+        communityId = communityFactory.create(new Community(0, "Jazz Lovers", "People who love jazz", "Jazz", new Date(), bannerId, false)).getId();
+        eventId = eventFactory.create("Jazz Night", "Smooth jazz", communityId, "The Basement", 10, new Date(), bannerId).getId();
+        adminId = createUser("admin", "Admin");
+        viewerId = createUser("viewer", "Viewer");
+        bookingFactory.create(eventId, adminId, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private static EventServiceImpl createService(DatabaseConnection connection) {
+        return createService(connection, mock(IdentityService.class));
+    }
+
+    private static EventServiceImpl createService(DatabaseConnection connection, IdentityService identityService) {
+        var eventFactory = new EventFactory(connection);
+        var imageFactory = new ImageFactory(connection);
+        var map = new Map(eventFactory, imageFactory, new CommunityFactory(connection), new UserFactory(connection), new UserProfileFactory(connection));
+        return new EventServiceImpl(mock(CreateEventModelValidator.class), eventFactory, identityService,
+                new BookingFactory(connection), mock(ImageUploaderService.class), map, new EventCommentFactory(connection), connection,
+                new ReadExecutor());
+    }
+
+    private int createUser(String username, String displayName) throws SQLException {
+        var userId = database.executeInsert("INSERT INTO Users (Username, HashedPassword) VALUES (?, 'hash') RETURNING Id",
+                statement -> statement.setString(1, username), executor -> executor.getInt(1));
+        userProfileFactory.create(userId, displayName);
+        return userId;
+    }
+
+    private void setProfileImage(int userId, int imageId) throws SQLException {
+        var profile = userProfileFactory.getByUserId(userId).orElseThrow();
+        profile.setProfileImageId(imageId);
+        userProfileFactory.save(profile);
+    }
+
+    private int countQueries() {
+        return (int) mockingDetails(connection).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("executeQuery"))
+                .count();
+    }
+
+    @Test
+    void testGetEventDetails_CombinesEventBookingsAndComments() throws SQLException {
+        bookingFactory.create(eventId, viewerId, 0);
+        eventCommentFactory.create(eventId, adminId, "First");
+        eventCommentFactory.create(eventId, viewerId, "Second");
+
+        var details = eventService.getEventDetails(eventId, viewerId, 20).orElseThrow();
+
+        assertEquals("Jazz Night", details.event().name());
+        assertEquals("Jazz Lovers", details.event().community().getName());
+        assertEquals("banner.png", details.event().bannerImage().orElseThrow().getFileName());
+        assertEquals(2, details.bookingCount());
+        assertEquals(8, details.placesRemaining());
+        assertEquals("Viewer", details.viewerDisplayName());
+        assertTrue(details.booked());
+        assertFalse(details.admin());
+        assertEquals(List.of("Admin", "Viewer"), details.comments().items().stream().map(comment -> comment.author().displayName()).toList());
+        assertFalse(details.comments().hasNext());
+    }
+
+    @Test
+    void testGetEventDetails_AdminAndUnbookedViewers() throws SQLException {
+        assertTrue(eventService.getEventDetails(eventId, adminId, 20).orElseThrow().admin());
+
+        var details = eventService.getEventDetails(eventId, viewerId, 20).orElseThrow();
+        assertFalse(details.booked());
+        assertFalse(details.admin());
+        assertTrue(eventService.getEventDetails(eventId + 1, viewerId, 20).isEmpty());
+    }
+
+    @Test
+    void testGetEventDetails_QueryCountDoesNotGrowWithComments() throws SQLException {
+        var imageFactory = new ImageFactory(database);
+        setProfileImage(adminId, imageFactory.create("admin.png").getId());
+        eventCommentFactory.create(eventId, adminId, "Only comment");
+        clearInvocations(connection);
+        eventService.getEventDetails(eventId, viewerId, 20);
+        var fewComments = countQueries();
+
+        // many more comments, each by a different author with a profile image, and a full first page
+        for (int i = 0; i < 40; i++) {
+            var userId = createUser("user" + i, "User " + i);
+            setProfileImage(userId, imageFactory.create("profile" + i + ".png").getId());
+            bookingFactory.create(eventId, userId, 0);
+            eventCommentFactory.create(eventId, userId, "Comment " + i);
+        }
+        clearInvocations(connection);
+        var details = eventService.getEventDetails(eventId, viewerId, 20).orElseThrow();
+        var manyComments = countQueries();
+
+        assertEquals(20, details.comments().items().size());
+        assertTrue(details.comments().items().get(1).author().profileImage().isPresent());
+        // the cached community, banner and admin profile may save queries the second time, but never cost more
+        assertTrue(manyComments <= fewComments, manyComments + " queries, up from " + fewComments);
+    }
+
+    @Test
+    void testBookEvent_KeepsCountAndStopsAtCapacity() throws SQLException {
+        var smallEventId = eventFactory.create("Small Gig", "Two places", communityId, "Back Room", 2, new Date()).getId();
+        var thirdId = createUser("third", "Third");
+
+        assertTrue(eventService.bookEvent(smallEventId, viewerId).isSuccess());
+        assertInstanceOf(BookingAlreadyExistsException.class, eventService.bookEvent(smallEventId, viewerId).getError());
+        assertTrue(eventService.bookEvent(smallEventId, adminId).isSuccess());
+        assertInstanceOf(EventFullException.class, eventService.bookEvent(smallEventId, thirdId).getError());
+        assertEquals(2, eventService.getBookingCountForEvent(smallEventId));
+
+        // cancelling frees the place again
+        assertTrue(eventService.cancelBooking(viewerId, smallEventId));
+        assertEquals(1, eventService.getBookingCountForEvent(smallEventId));
+        assertTrue(eventService.bookEvent(smallEventId, thirdId).isSuccess());
+        assertEquals(2, eventService.getBookingCountForEvent(smallEventId));
+    }
+
+    @Test
+    void testBookEvent_ManyUsersAtOnce_NeverOverbooks() throws Exception {
+        // a separate WAL database, like the application's, so bookings really do run concurrently on several connections
+        try (var tuned = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("tuned.db"), ConnectionPoolConfig.defaults(), ConnectionProfile.tuned())) {
+            new MigrationRunner(tuned).migrate();
+            var service = createService(tuned);
+            var tunedCommunityId = new CommunityFactory(tuned).create(new Community(0, "Fans", "Fans", "Pop", new Date(), null, false)).getId();
+            var onSaleId = new EventFactory(tuned).create("On Sale", "Five places", tunedCommunityId, "Arena", 5, new Date()).getId();
+            var userIds = new ArrayList<Integer>();
+            for (int i = 0; i < 24; i++) {
+                userIds.add(tuned.executeInsert("INSERT INTO Users (Username, HashedPassword) VALUES (?, 'hash') RETURNING Id",
+                        statement -> statement.setString(1, "fan" + userIds.size()), executor -> executor.getInt(1)));
+            }
+
+            var start = new CountDownLatch(1);
+            var pool = Executors.newFixedThreadPool(8);
+            try {
+                var results = new ArrayList<Future<Boolean>>();
+                for (var userId : userIds) {
+                    Callable<Boolean> booking = () -> {
+                        start.await();
+                        return service.bookEvent(onSaleId, userId).isSuccess();
+                    };
+                    results.add(pool.submit(booking));
+                }
+                start.countDown();
+                var booked = 0;
+                for (var result : results) {
+                    if (result.get()) booked++;
+                }
+
+                assertEquals(5, booked);
+            } finally {
+                pool.shutdown();
+            }
+            var rows = tuned.executeQuery("SELECT COUNT(*) FROM Bookings WHERE EventId = ?", statement -> statement.setInt(1, onSaleId), executor -> executor.getInt(1));
+            assertEquals(5, rows);
+            assertEquals(5, service.getBookingCountForEvent(onSaleId));
+        }
+    }
+
+    @Test
+    void testBookEvent_AfterReadInSameTransaction_ManyUsersAtOnce_NoneFailBusy() throws Exception {
+        // each booking first reads the places left, so a deferred transaction would start as a reader and then fail to
+        // become a writer once another booking had committed (SQLITE_BUSY_SNAPSHOT, which the busy timeout can't wait out)
+        try (var tuned = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("tuned.db"), ConnectionPoolConfig.defaults(), ConnectionProfile.tuned())) {
+            new MigrationRunner(tuned).migrate();
+            var service = createService(tuned);
+            var tunedCommunityId = new CommunityFactory(tuned).create(new Community(0, "Fans", "Fans", "Pop", new Date(), null, false)).getId();
+            var onSaleId = new EventFactory(tuned).create("On Sale", "Five places", tunedCommunityId, "Arena", 5, new Date()).getId();
+            var userIds = new ArrayList<Integer>();
+            for (int i = 0; i < 12; i++) {
+                userIds.add(tuned.executeInsert("INSERT INTO Users (Username, HashedPassword) VALUES (?, 'hash') RETURNING Id",
+                        statement -> statement.setString(1, "fan" + userIds.size()), executor -> executor.getInt(1)));
+            }
+
+            var start = new CountDownLatch(1);
+            var pool = Executors.newFixedThreadPool(4);
+            try {
+                var results = new ArrayList<Future<Boolean>>();
+                for (var userId : userIds) {
+                    Callable<Boolean> booking = () -> {
+                        start.await();
+                        return tuned.inTransaction(() -> {
+                            if (service.getBookingCountForEvent(onSaleId) >= 5) {
+                                return false;
+                            }
+                            // give the other bookings time to read too
+                            Thread.sleep(20);
+                            return service.bookEvent(onSaleId, userId).isSuccess();
+                        });
+                    };
+                    results.add(pool.submit(booking));
+                }
+                start.countDown();
+                var booked = 0;
+                for (var result : results) {
+                    // throws if any booking failed with SQLITE_BUSY
+                    if (result.get()) booked++;
+                }
+
+                assertEquals(5, booked);
+            } finally {
+                pool.shutdown();
+            }
+            assertEquals(5, service.getBookingCountForEvent(onSaleId));
+        }
+    }
+
+    @Test
+    void testBookedCount_FollowsChangesMadeOutsideTheFactory() throws SQLException {
+        var otherEventId = eventFactory.create("Late Show", "After hours", communityId, "The Basement", 10, new Date()).getId();
+        bookingFactory.create(eventId, viewerId, 0);
+        assertEquals(2, eventService.getBookingCountForEvent(eventId));
+
+        // the triggers keep the count whichever statement changes the bookings
+        database.executeUpdate("UPDATE Bookings SET EventId = ? WHERE UserId = ?", statement -> {
+            statement.setInt(1, otherEventId);
+            statement.setInt(2, viewerId);
+        }, rowsAffected -> {});
+        assertEquals(1, eventService.getBookingCountForEvent(eventId));
+        assertEquals(1, eventService.getBookingCountForEvent(otherEventId));
+
+        database.executeUpdate("DELETE FROM Bookings WHERE UserId = ?", statement -> statement.setInt(1, adminId), rowsAffected -> {});
+        assertEquals(0, eventService.getBookingCountForEvent(eventId));
+    }
+
+    @Test
+    void testBookingChecks_LoggedInUser_AnsweredWithoutQueries() throws SQLException {
+        var identityService = new IdentityServiceImpl(communityFactory);
+        var admin = new UserFactory(database).get(adminId).orElseThrow();
+        identityService.setUserContext(new UserContext(admin, List.of(), bookingFactory.get(admin)));
+        var service = createService(connection, identityService);
+        var otherEventId = eventFactory.create("Late Show", "After hours", communityId, "The Basement", 10, new Date()).getId();
+
+        clearInvocations(connection);
+        assertTrue(service.isAdmin(adminId, eventId));
+        assertTrue(service.isBooked(eventId, adminId));
+        assertFalse(service.isBooked(otherEventId, adminId));
+        assertEquals(0, service.getUserPermissionLevel(adminId, otherEventId).orElseThrow());
+        assertEquals(0, countQueries());
+
+        // booking and cancelling keep the index current
+        assertTrue(service.bookEvent(otherEventId, adminId).isSuccess());
+        assertTrue(service.isBooked(otherEventId, adminId));
+        assertTrue(service.cancelBooking(adminId, eventId));
+        assertFalse(service.isAdmin(adminId, eventId));
+
+        // other users are still checked against the database
+        bookingFactory.create(eventId, viewerId, 1);
+        assertTrue(service.isAdmin(viewerId, eventId));
+    }
+
+    @Test
+    void testCreateEvent_WithBanner_UploadedBeforeTransactionOpens() throws SQLException, IOException {
+        var validator = mock(CreateEventModelValidator.class);
+        when(validator.validate(any())).thenReturn(new ValidationResult());
+        var imageUploaderService = mock(ImageUploaderService.class);
+        var banner = new ImageFactory(database).create("uploaded.png");
+        when(imageUploaderService.upload(any())).thenReturn(banner);
+        var map = new Map(eventFactory, new ImageFactory(connection), communityFactory, new UserFactory(connection), userProfileFactory);
+        var service = new EventServiceImpl(validator, eventFactory, mock(IdentityService.class), bookingFactory, imageUploaderService,
+                map, eventCommentFactory, connection, new ReadExecutor());
+
+        var result = service.createEvent(new CreateEventModel("Blues Night", "Slow blues", new Date(), "The Cellar", 20, communityId, new File("banner.png")));
+
+        // uploading writes the banner's copies, which mustn't hold the transaction's write lock
+        assertTrue(result.isSuccess());
+        var inOrder = inOrder(imageUploaderService, connection);
+        inOrder.verify(imageUploaderService).upload(any());
+        inOrder.verify(connection).inTransaction(any());
+        assertEquals(1, (int) database.<Integer>executeQuery("SELECT COUNT(*) FROM Events WHERE BannerImageId = ?",
+                statement -> statement.setInt(1, banner.getId()), executor -> executor.getInt(1)));
+    }
+}
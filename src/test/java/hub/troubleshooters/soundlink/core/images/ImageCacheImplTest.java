@@ -0,0 +1,125 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ImageCacheImplTest {
+
+    private final List<String> decoded = new ArrayList<>();
+    // the error flag of each decoded image, in order, so tests can fail a background load
+    private final List<BooleanProperty> errors = new ArrayList<>();
+
+    private ImageCacheImpl createCache(long maxBytes) {
+        return new ImageCacheImpl(maxBytes, (url, tier) -> {
+            decoded.add(url + "@" + tier);
+            var image = mock(Image.class);
+            var error = new SimpleBooleanProperty(url.contains("invalid"));
+            when(image.errorProperty()).thenReturn(error);
+            errors.add(error);
+            return image;
+        });
+    }
+
+    @Test
+    void testGet_SameUrlAndTier_DecodedOnce() {
+        var cache = createCache(ImageCacheImpl.DEFAULT_MAX_BYTES);
+
+        var first = cache.get("file:///a.jpg", ImageTier.CARD);
+        var second = cache.get("file:///a.jpg", ImageTier.CARD);
+
+        assertSame(first, second);
+        assertEquals(List.of("file:///a.jpg@CARD"), decoded);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(ImageTier.CARD.getMaxBytes(), cache.getSizeInBytes());
+    }
+
+    @Test
+    void testGet_DifferentTiers_DecodedSeparately() {
+        var cache = createCache(ImageCacheImpl.DEFAULT_MAX_BYTES);
+
+        var card = cache.get("file:///a.jpg", ImageTier.CARD);
+        var banner = cache.get("file:///a.jpg", ImageTier.BANNER);
+
+        assertNotSame(card, banner);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(ImageTier.CARD.getMaxBytes() + ImageTier.BANNER.getMaxBytes(), cache.getSizeInBytes());
+    }
+
+    @Test
+    void testGet_OverLimit_EvictsLeastRecentlyUsed() {
+        var cache = createCache(ImageTier.CARD.getMaxBytes() * 2);
+
+        cache.get("file:///a.jpg", ImageTier.CARD);
+        cache.get("file:///b.jpg", ImageTier.CARD);
+        // a is now more recently used than b
+        cache.get("file:///a.jpg", ImageTier.CARD);
+        cache.get("file:///c.jpg", ImageTier.CARD);
+        decoded.clear();
+
+        cache.get("file:///a.jpg", ImageTier.CARD);
+        cache.get("file:///c.jpg", ImageTier.CARD);
+        cache.get("file:///b.jpg", ImageTier.CARD);
+
+        assertEquals(List.of("file:///b.jpg@CARD"), decoded);
+        assertTrue(cache.getSizeInBytes() <= ImageTier.CARD.getMaxBytes() * 2);
+    }
+
+    @Test
+    void testGet_LargerThanLimit_StillReturnedAndKept() {
+        var cache = createCache(ImageTier.AVATAR.getMaxBytes());
+
+        var banner = cache.get("file:///a.jpg", ImageTier.BANNER);
+
+        assertSame(banner, cache.get("file:///a.jpg", ImageTier.BANNER));
+        assertEquals(1, decoded.size());
+    }
+
+    @Test
+    void testInvalidate_RemovesEveryTier() {
+        var cache = createCache(ImageCacheImpl.DEFAULT_MAX_BYTES);
+        cache.get("file:///a.jpg", ImageTier.CARD);
+        cache.get("file:///a.jpg", ImageTier.BANNER);
+        cache.get("file:///b.jpg", ImageTier.CARD);
+
+        cache.invalidate("file:///a.jpg");
+
+        assertEquals(ImageTier.CARD.getMaxBytes(), cache.getSizeInBytes());
+        cache.get("file:///a.jpg", ImageTier.CARD);
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    void testGet_BackgroundLoadFails_DroppedAndDecodedAgain() {
+        var cache = createCache(ImageCacheImpl.DEFAULT_MAX_BYTES);
+        var failed = cache.get("file:///missing.jpg", ImageTier.CARD);
+
+        // the file turned out to be missing once the loader got to it
+        errors.getFirst().set(true);
+        var retried = cache.get("file:///missing.jpg", ImageTier.CARD);
+
+        assertNotSame(failed, retried);
+        assertEquals(2, cache.getMissCount());
+        assertEquals(ImageTier.CARD.getMaxBytes(), cache.getSizeInBytes());
+    }
+
+    @Test
+    void testGet_FailsImmediately_NotKept() {
+        var cache = createCache(ImageCacheImpl.DEFAULT_MAX_BYTES);
+
+        cache.get("invalid", ImageTier.AVATAR);
+        cache.get("invalid", ImageTier.AVATAR);
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getSizeInBytes());
+    }
+}
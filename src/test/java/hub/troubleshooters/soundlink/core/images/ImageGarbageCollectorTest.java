@@ -0,0 +1,75 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+import hub.troubleshooters.soundlink.data.models.Image;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ImageGarbageCollectorTest {
+
+    @Mock
+    private ImageFactory imageFactory;
+
+    @Mock
+    private ImageUploaderService imageUploaderService;
+
+    @Mock
+    private ImageCache imageCache;
+
+    @InjectMocks
+    private ImageGarbageCollector garbageCollector;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testSweep_Unreferenced_DeletesRowAndFiles() throws SQLException, IOException {
+        var image = new Image(1, "ab/ab12.jpg");
+        when(imageFactory.getUnreferenced(ImageGarbageCollector.GRACE_PERIOD)).thenReturn(List.of(image));
+        when(imageFactory.deleteIfUnreferenced(1, ImageGarbageCollector.GRACE_PERIOD)).thenReturn(true);
+        when(imageFactory.get("ab/ab12.jpg")).thenReturn(Optional.empty());
+        when(imageUploaderService.getFullProtocolPath(image)).thenReturn("file:///ab/ab12.jpg");
+
+        assertEquals(1, garbageCollector.sweep());
+
+        verify(imageUploaderService).deleteFiles(image);
+        verify(imageCache).invalidate("file:///ab/ab12.jpg");
+    }
+
+    @Test
+    void testSweep_ReferencedSinceFound_Kept() throws SQLException, IOException {
+        var image = new Image(1, "ab/ab12.jpg");
+        when(imageFactory.getUnreferenced(ImageGarbageCollector.GRACE_PERIOD)).thenReturn(List.of(image));
+        when(imageFactory.deleteIfUnreferenced(1, ImageGarbageCollector.GRACE_PERIOD)).thenReturn(false);
+
+        assertEquals(0, garbageCollector.sweep());
+
+        verify(imageUploaderService, never()).deleteFiles(any());
+    }
+
+    @Test
+    void testSweep_FileSharedWithAnotherImage_FileKept() throws SQLException, IOException {
+        var image = new Image(1, "banner.jpg");
+        when(imageFactory.getUnreferenced(ImageGarbageCollector.GRACE_PERIOD)).thenReturn(List.of(image));
+        when(imageFactory.deleteIfUnreferenced(1, ImageGarbageCollector.GRACE_PERIOD)).thenReturn(true);
+        when(imageFactory.get("banner.jpg")).thenReturn(Optional.of(new Image(2, "banner.jpg")));
+
+        assertEquals(1, garbageCollector.sweep());
+
+        verify(imageUploaderService, never()).deleteFiles(any());
+    }
+}
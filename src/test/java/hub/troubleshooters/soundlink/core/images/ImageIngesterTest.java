@@ -0,0 +1,86 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageIngesterTest {
+
+    @TempDir
+    Path directory;
+
+    private Path writeImage(String name, int width, int height, String format) throws IOException {
+        var file = directory.resolve(name);
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, file.toFile());
+        return file;
+    }
+
+    private Path newTarget() throws IOException {
+        return Files.createTempFile(directory, "upload-", ".tmp");
+    }
+
+    @Test
+    void testIngest_Png_CopiedAndHashed() throws IOException, NoSuchAlgorithmException {
+        var source = writeImage("banner.png", 300, 200, "png");
+        var target = newTarget();
+
+        var ingested = new ImageIngester(ImageIngestConfig.defaults()).ingest(source, target);
+
+        var bytes = Files.readAllBytes(source);
+        assertArrayEquals(bytes, Files.readAllBytes(target));
+        assertEquals(ImageFormat.PNG, ingested.format());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes)), ingested.hash());
+    }
+
+    @Test
+    void testIngest_JpegNamedPng_RecognisedAsJpeg() throws IOException {
+        var source = writeImage("banner.png", 300, 200, "jpg");
+
+        var ingested = new ImageIngester(ImageIngestConfig.defaults()).ingest(source, newTarget());
+
+        assertEquals(ImageFormat.JPEG, ingested.format());
+    }
+
+    @Test
+    void testIngest_NotAnImage_Rejected() throws IOException {
+        var source = directory.resolve("banner.jpg");
+        Files.writeString(source, "definitely not a jpeg");
+
+        var e = assertThrows(ImageRejectedException.class, () -> new ImageIngester(ImageIngestConfig.defaults()).ingest(source, newTarget()));
+        assertEquals("Image must be a PNG or JPEG file.", e.getMessage());
+    }
+
+    @Test
+    void testIngest_OverByteLimit_RejectedBeforeCopying() throws IOException {
+        var source = writeImage("banner.png", 300, 200, "png");
+        var target = newTarget();
+        var ingester = new ImageIngester(new ImageIngestConfig(Files.size(source) - 1, 8192, 8192));
+
+        assertThrows(ImageRejectedException.class, () -> ingester.ingest(source, target));
+        assertEquals(0, Files.size(target));
+    }
+
+    @Test
+    void testIngest_OverDimensionLimit_Rejected() throws IOException {
+        var source = writeImage("banner.png", 300, 200, "png");
+        var ingester = new ImageIngester(new ImageIngestConfig(1024 * 1024, 299, 8192));
+
+        var e = assertThrows(ImageRejectedException.class, () -> ingester.ingest(source, newTarget()));
+        assertTrue(e.getMessage().contains("300x200"));
+    }
+
+    @Test
+    void testConfig_InvalidLimits_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ImageIngestConfig(0, 100, 100));
+    }
+}
@@ -0,0 +1,20 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageUploaderServiceImplTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Test
+    void testGetHashedFileName_ShardedByHashWithFormatExtension() {
+        assertEquals("9f/" + HASH + ".jpg", ImageUploaderServiceImpl.getHashedFileName(HASH, ImageFormat.JPEG));
+    }
+
+    @Test
+    void testGetHashedFileName_Png() {
+        assertEquals("9f/" + HASH + ".png", ImageUploaderServiceImpl.getHashedFileName(HASH, ImageFormat.PNG));
+    }
+}
@@ -0,0 +1,59 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+import hub.troubleshooters.soundlink.data.models.Image;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ImageVariantBackfillTest {
+
+    @Mock
+    private ImageFactory imageFactory;
+
+    @Mock
+    private ImageUploaderService imageUploaderService;
+
+    @InjectMocks
+    private ImageVariantBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRun_WritesVariantsOfEveryImageMissingThem() throws SQLException, IOException {
+        var first = new Image(1, "a.jpg");
+        var second = new Image(2, "b.jpg");
+        when(imageFactory.getWithoutVariants()).thenReturn(List.of(first, second));
+
+        assertEquals(2, backfill.run());
+
+        verify(imageUploaderService).generateSampleBannerVariants();
+        verify(imageUploaderService).generateVariants(first);
+        verify(imageUploaderService).generateVariants(second);
+    }
+
+    @Test
+    void testRun_UnreadableImage_SkippedAndOthersWritten() throws SQLException, IOException {
+        var broken = new Image(1, "broken.jpg");
+        var fine = new Image(2, "fine.jpg");
+        when(imageFactory.getWithoutVariants()).thenReturn(List.of(broken, fine));
+        doThrow(new IOException("Not a readable image")).when(imageUploaderService).generateVariants(broken);
+        doThrow(new IOException("Not a readable image")).when(imageUploaderService).generateSampleBannerVariants();
+
+        assertEquals(1, backfill.run());
+
+        verify(imageUploaderService).generateVariants(fine);
+    }
+}
@@ -0,0 +1,87 @@
+package hub.troubleshooters.soundlink.core.images;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageVariantGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    private final ImageVariantGenerator generator = new ImageVariantGenerator();
+
+    private File writeImage(String name, int width, int height, int type, String format) throws IOException {
+        var image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, x < width / 2 ? 0xffff0000 : 0xff0000ff);
+            }
+        }
+        var file = directory.resolve(name).toFile();
+        ImageIO.write(image, format, file);
+        return file;
+    }
+
+    @Test
+    void testGenerate_Photo_WritesJpegForEveryTier() throws IOException {
+        var source = writeImage("photo.jpg", 3000, 2000, BufferedImage.TYPE_INT_RGB, "jpg");
+
+        var fileNames = generator.generate(source, directory.toFile(), "photo.jpg");
+
+        assertEquals("photo.jpg.avatar.jpg", fileNames.get(ImageTier.AVATAR));
+        assertEquals("photo.jpg.card.jpg", fileNames.get(ImageTier.CARD));
+        assertEquals("photo.jpg.banner.jpg", fileNames.get(ImageTier.BANNER));
+
+        var card = ImageIO.read(directory.resolve(fileNames.get(ImageTier.CARD)).toFile());
+        assertEquals(250, card.getWidth());
+        assertEquals(100, card.getHeight());
+        // the left half stays red, averaged from the red half of the original
+        assertEquals(0xff, (card.getRGB(10, 50) >> 16) & 0xff, 8);
+
+        var banner = ImageIO.read(directory.resolve(fileNames.get(ImageTier.BANNER)).toFile());
+        assertEquals(500, banner.getWidth());
+        assertEquals(333, banner.getHeight());
+
+        assertTrue(Files.size(directory.resolve(fileNames.get(ImageTier.CARD))) < Files.size(source.toPath()));
+    }
+
+    @Test
+    void testGenerate_Transparent_WritesPng() throws IOException {
+        var source = writeImage("logo.png", 400, 400, BufferedImage.TYPE_INT_ARGB, "png");
+
+        var fileNames = generator.generate(source, directory.toFile(), "logo.png");
+
+        assertEquals("logo.png.avatar.png", fileNames.get(ImageTier.AVATAR));
+        var avatar = ImageIO.read(directory.resolve(fileNames.get(ImageTier.AVATAR)).toFile());
+        assertEquals(120, avatar.getWidth());
+        assertTrue(avatar.getColorModel().hasAlpha());
+    }
+
+    @Test
+    void testGenerate_SmallerThanTier_NotEnlarged() throws IOException {
+        var source = writeImage("small.png", 200, 100, BufferedImage.TYPE_INT_RGB, "png");
+
+        var fileNames = generator.generate(source, directory.toFile(), "small.png");
+
+        var banner = ImageIO.read(directory.resolve(fileNames.get(ImageTier.BANNER)).toFile());
+        assertEquals(200, banner.getWidth());
+        assertEquals(100, banner.getHeight());
+    }
+
+    @Test
+    void testGenerate_NotAnImage_Throws() throws IOException {
+        var source = directory.resolve("notes.jpg");
+        Files.writeString(source, "not an image");
+
+        assertThrows(IOException.class, () -> generator.generate(source.toFile(), directory.toFile(), "notes.jpg"));
+    }
+}
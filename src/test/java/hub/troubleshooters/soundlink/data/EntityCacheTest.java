@@ -0,0 +1,173 @@
+package hub.troubleshooters.soundlink.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EntityCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final DatabaseConnection connection = mock(DatabaseConnection.class);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Collection<Integer>> batches = new ArrayList<>();
+
+    private EntityCache<Integer, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EntityCache<>(new EntityCacheConfig(3, Duration.ofSeconds(10)), connection, now::get);
+    }
+
+    private Optional<String> load(int id) {
+        loads.incrementAndGet();
+        return id < 100 ? Optional.of("model " + id) : Optional.empty();
+    }
+
+    private Map<Integer, String> loadAll(Collection<Integer> ids) {
+        batches.add(ids);
+        var models = new HashMap<Integer, String>();
+        ids.forEach(id -> load(id).ifPresent(model -> models.put(id, model)));
+        return models;
+    }
+
+    @Test
+    void testGet_SecondLookup_ServedFromCache() throws SQLException {
+        assertEquals("model 1", cache.get(1, this::load).orElseThrow());
+        assertEquals("model 1", cache.get(1, this::load).orElseThrow());
+
+        assertEquals(1, loads.get());
+        assertEquals(new CacheStats(1, 1, 0, 1), cache.stats());
+        assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    void testGet_MissingRow_NotCached() throws SQLException {
+        assertTrue(cache.get(100, this::load).isEmpty());
+        assertTrue(cache.get(100, this::load).isEmpty());
+
+        // a row created after a failed lookup must be found by the next one
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void testGet_AfterTimeToLive_Reloads() throws SQLException {
+        cache.get(1, this::load);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        cache.get(1, this::load);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        cache.get(1, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testGet_Full_EvictsLeastRecentlyUsed() throws SQLException {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(3, this::load);
+        cache.get(1, this::load);
+        cache.get(4, this::load);
+        loads.set(0);
+
+        // 2 was the least recently used when 4 was added
+        cache.get(1, this::load);
+        cache.get(3, this::load);
+        cache.get(4, this::load);
+        assertEquals(0, loads.get());
+        cache.get(2, this::load);
+        assertEquals(1, loads.get());
+        assertEquals(3, cache.stats().size());
+    }
+
+    @Test
+    void testInvalidate_NextLookupReloads() throws SQLException {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.invalidate(1);
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testInvalidate_DuringLoad_LoadedModelNotCached() throws SQLException {
+        // the row is saved while a lookup that read the old row is still in flight
+        var stale = cache.get(1, id -> {
+            cache.invalidate(id);
+            return Optional.of("old model " + id);
+        });
+        var fresh = cache.get(1, this::load);
+
+        assertEquals("old model 1", stale.orElseThrow());
+        assertEquals("model 1", fresh.orElseThrow());
+    }
+
+    @Test
+    void testGetAll_LoadsOnlyUncachedModelsInOneBatch() throws SQLException {
+        cache.get(1, this::load);
+
+        var models = cache.getAll(List.of(1, 2, 2, 100, 3), this::loadAll);
+        var again = cache.getAll(List.of(3, 2, 1), this::loadAll);
+
+        assertEquals(Map.of(1, "model 1", 2, "model 2", 3, "model 3"), models);
+        assertEquals(models, again);
+        assertEquals(List.of(List.of(2, 100, 3)), batches);
+    }
+
+    @Test
+    void testDisabled_NothingCached() throws SQLException {
+        var disabled = new EntityCache<Integer, String>(EntityCacheConfig.disabled(), connection, now::get);
+
+        disabled.get(1, this::load);
+        disabled.get(1, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.stats().hitRate());
+    }
+
+    @Test
+    void testInTransaction_CacheBypassed() throws SQLException {
+        cache.get(1, this::load);
+        when(connection.isInTransaction()).thenReturn(true);
+
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.getAll(List.of(2, 3, 3), this::loadAll);
+
+        // nothing is read from the cache, and nothing loaded in the transaction is put in it
+        assertEquals(5, loads.get());
+        assertEquals(List.of(List.of(2, 3)), batches);
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test
+    void testInvalidate_InTransaction_RepeatedOnceItEnds() throws SQLException {
+        var endActions = new ArrayList<Runnable>();
+        when(connection.isInTransaction()).thenReturn(true);
+        doAnswer(invocation -> endActions.add(invocation.getArgument(0))).when(connection).afterTransaction(any());
+
+        cache.invalidate(1);
+        when(connection.isInTransaction()).thenReturn(false);
+        // another thread caches the row as it was before the transaction
+        cache.get(1, key -> Optional.of("old model 1"));
+        endActions.forEach(Runnable::run);
+
+        assertEquals("model 1", cache.get(1, this::load).orElseThrow());
+    }
+}
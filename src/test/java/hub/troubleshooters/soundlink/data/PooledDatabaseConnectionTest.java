@@ -0,0 +1,247 @@
+package hub.troubleshooters.soundlink.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledDatabaseConnectionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // A small pool with a short borrow timeout so exhaustion fails quickly
+        var config = new ConnectionPoolConfig(1, Duration.ofMillis(200), 1, Duration.ZERO, 2);
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), config);
+        connection.executeUpdate("CREATE TABLE Items (Id INTEGER PRIMARY KEY AUTOINCREMENT, Name TEXT NOT NULL)", statement -> {}, rowsAffected -> {});
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    private int countItems() throws SQLException {
+        return connection.executeQuery("SELECT COUNT(*) FROM Items", statement -> {}, executor -> executor.getInt(1));
+    }
+
+    @Test
+    void testExecuteUpdateAndQuery_ReusesConnection() throws SQLException {
+        // Insert a row and read it back through separate statements
+        connection.executeUpdate("INSERT INTO Items (Name) VALUES (?)", statement -> statement.setString(1, "first"), rowsAffected -> assertEquals(1, rowsAffected));
+        var name = connection.executeQuery("SELECT Name FROM Items WHERE Id = ?", statement -> statement.setInt(1, 1), executor -> executor.next() ? executor.getString("Name") : null);
+
+        // Verify the row was found and only one physical connection was ever opened
+        assertEquals("first", name);
+        assertEquals(1, connection.getOpenConnectionCount());
+        assertEquals(1, connection.getIdleConnectionCount());
+    }
+
+    @Test
+    void testRepeatedQuery_UsesStatementCache() throws SQLException {
+        final String sql = "SELECT COUNT(*) FROM Items WHERE Id = ?";
+        var missesBefore = connection.getStatementCacheMissCount();
+        var hitsBefore = connection.getStatementCacheHitCount();
+
+        // Run the same SQL several times with different parameters
+        for (int id = 1; id <= 3; id++) {
+            final int current = id;
+            connection.executeQuery(sql, statement -> statement.setInt(1, current), executor -> executor.getInt(1));
+        }
+
+        // Verify the statement was only prepared once
+        assertEquals(1, connection.getStatementCacheMissCount() - missesBefore);
+        assertEquals(2, connection.getStatementCacheHitCount() - hitsBefore);
+    }
+
+    @Test
+    void testStatementCache_EvictsLeastRecentlyUsed() throws SQLException {
+        // The cache holds 2 statements, so preparing a third evicts the least recently used one ("SELECT 1")
+        connection.executeQuery("SELECT 1", statement -> {}, executor -> executor.getInt(1));
+        connection.executeQuery("SELECT 2", statement -> {}, executor -> executor.getInt(1));
+        connection.executeQuery("SELECT 3", statement -> {}, executor -> executor.getInt(1));
+        var missesBefore = connection.getStatementCacheMissCount();
+
+        connection.executeQuery("SELECT 3", statement -> {}, executor -> executor.getInt(1));
+        assertEquals(missesBefore, connection.getStatementCacheMissCount());
+
+        connection.executeQuery("SELECT 1", statement -> {}, executor -> executor.getInt(1));
+        assertEquals(missesBefore + 1, connection.getStatementCacheMissCount());
+    }
+
+    @Test
+    void testFailedStatement_ReturnsConnectionToPool() {
+        // A preparer that throws part way through should not leak the connection
+        assertThrows(SQLException.class, () -> connection.executeQuery("SELECT * FROM Items WHERE Id = ?", statement -> {
+            throw new SQLException("preparer failed");
+        }, executor -> null));
+
+        // Verify the connection is back in the pool and usable
+        assertEquals(1, connection.getIdleConnectionCount());
+        assertDoesNotThrow(() -> connection.executeQuery("SELECT COUNT(*) FROM Items", statement -> {}, executor -> executor.getInt(1)));
+    }
+
+    @Test
+    void testExhaustedPool_TimesOut() {
+        // With a pool size of 1, a second statement issued while the first holds the connection must time out
+        var exception = assertThrows(SQLException.class, () -> connection.executeQuery("SELECT 1", statement -> {}, executor ->
+                connection.executeQuery("SELECT 2", statement -> {}, inner -> inner.getInt(1))));
+
+        assertTrue(exception.getMessage().contains("Timed out"));
+    }
+
+    @Test
+    void testInTransaction_CommitsAllStatements() throws SQLException {
+        // Both inserts run on the single pooled connection without exhausting the pool
+        connection.inTransaction(() -> {
+            connection.executeUpdate("INSERT INTO Items (Name) VALUES (?)", statement -> statement.setString(1, "a"), rowsAffected -> {});
+            connection.executeUpdate("INSERT INTO Items (Name) VALUES (?)", statement -> statement.setString(1, "b"), rowsAffected -> {});
+            return null;
+        });
+
+        assertEquals(2, countItems());
+    }
+
+    @Test
+    void testInTransaction_RollsBackOnException() throws SQLException {
+        // The insert should be undone when the work throws afterwards
+        assertThrows(SQLException.class, () -> connection.inTransaction(() -> {
+            connection.executeUpdate("INSERT INTO Items (Name) VALUES (?)", statement -> statement.setString(1, "a"), rowsAffected -> {});
+            throw new SQLException("work failed");
+        }));
+
+        assertEquals(0, countItems());
+        assertEquals(1, connection.getIdleConnectionCount());
+    }
+
+    @Test
+    void testNestedTransaction_RollsBackToSavepoint() throws SQLException {
+        // A failing nested unit of work should only undo its own statements
+        connection.inTransaction(() -> {
+            connection.executeUpdate("INSERT INTO Items (Name) VALUES (?)", statement -> statement.setString(1, "outer"), rowsAffected -> {});
+            assertThrows(SQLException.class, () -> connection.inTransaction(() -> {
+                connection.executeUpdate("INSERT INTO Items (Name) VALUES (?)", statement -> statement.setString(1, "inner"), rowsAffected -> {});
+                throw new SQLException("inner failed");
+            }));
+            return null;
+        });
+
+        assertEquals(1, countItems());
+    }
+
+    @Test
+    void testAfterTransaction_RunsOnceTransactionEnds() throws SQLException {
+        var ran = new ArrayList<String>();
+        connection.afterTransaction(() -> ran.add("outside"));
+        connection.inTransaction(() -> {
+            assertTrue(connection.isInTransaction());
+            connection.inTransaction(() -> {
+                connection.afterTransaction(() -> ran.add("committed"));
+                return null;
+            });
+            // nested work runs in a savepoint, so its actions wait for the outer transaction
+            assertEquals(List.of("outside"), ran);
+            return null;
+        });
+        assertThrows(SQLException.class, () -> connection.inTransaction(() -> {
+            connection.afterTransaction(() -> ran.add("rolled back"));
+            throw new SQLException("work failed");
+        }));
+
+        assertEquals(List.of("outside", "committed", "rolled back"), ran);
+        assertFalse(connection.isInTransaction());
+    }
+
+    @Test
+    void testExecuteInsert_ReturnsInsertedRow() throws SQLException {
+        connection.executeUpdate("INSERT INTO Items (Name) VALUES ('existing')", statement -> {}, rowsAffected -> {});
+
+        // Insert a row and map the generated key straight from the RETURNING clause
+        var id = connection.executeInsert("INSERT INTO Items (Name) VALUES (?) RETURNING Id", statement -> statement.setString(1, "new"), executor -> executor.getInt("Id"));
+
+        // Verify the key matches the committed row
+        assertEquals(2, id);
+        var name = connection.executeQuery("SELECT Name FROM Items WHERE Id = ?", statement -> statement.setInt(1, id), executor -> executor.getString(1));
+        assertEquals("new", name);
+    }
+
+    @Test
+    void testExecuteInsert_NoRowInsertedThrows() throws SQLException {
+        connection.executeUpdate("CREATE TABLE Tags (Id INTEGER PRIMARY KEY AUTOINCREMENT, Name TEXT NOT NULL UNIQUE)", statement -> {}, rowsAffected -> {});
+        connection.executeUpdate("INSERT INTO Tags (Name) VALUES ('a')", statement -> {}, rowsAffected -> {});
+
+        // An ignored insert returns no row, so there is nothing to map
+        assertThrows(SQLException.class, () -> connection.executeInsert("INSERT OR IGNORE INTO Tags (Name) VALUES ('a') RETURNING *", statement -> {}, executor -> executor.getInt("Id")));
+        assertEquals(1, connection.getIdleConnectionCount());
+    }
+
+    @Test
+    void testExecuteBatchInsert_ReturnsKeysInOrder() throws SQLException {
+        connection.executeUpdate("INSERT INTO Items (Name) VALUES ('existing')", statement -> {}, rowsAffected -> {});
+
+        // Insert three rows in one batch
+        var keys = connection.executeBatchInsert("INSERT INTO Items (Name) VALUES (?)", List.of("a", "b", "c"), (statement, name) -> statement.setString(1, name));
+
+        // Verify each key belongs to the matching row
+        assertEquals(List.of(2, 3, 4), keys);
+        var name = connection.executeQuery("SELECT Name FROM Items WHERE Id = ?", statement -> statement.setInt(1, 3), executor -> executor.getString(1));
+        assertEquals("b", name);
+    }
+
+    @Test
+    void testExecuteBatchInsert_IgnoredRowFailsBatch() throws SQLException {
+        connection.executeUpdate("CREATE TABLE Tags (Id INTEGER PRIMARY KEY AUTOINCREMENT, Name TEXT NOT NULL UNIQUE)", statement -> {}, rowsAffected -> {});
+
+        // Keys can't be derived when a row inserts nothing, so the whole batch should be rejected
+        assertThrows(SQLException.class, () -> connection.executeBatchInsert("INSERT OR IGNORE INTO Tags (Name) VALUES (?)", List.of("a", "a", "b"), (statement, name) -> statement.setString(1, name)));
+
+        var count = connection.executeQuery("SELECT COUNT(*) FROM Tags", statement -> {}, executor -> executor.getInt(1));
+        assertEquals(0, count);
+    }
+
+    @Test
+    void testExecuteBatchInsert_FailureInsertsNothing() throws SQLException {
+        // The null name violates NOT NULL, so the whole batch should roll back
+        assertThrows(SQLException.class, () -> connection.executeBatchInsert("INSERT INTO Items (Name) VALUES (?)", Arrays.asList("a", null), (statement, name) -> statement.setString(1, name)));
+
+        assertEquals(0, countItems());
+    }
+
+    @Test
+    void testConnectionProfile_AppliedToNewConnections() throws SQLException {
+        // Open a second pool on its own database with the application's tuned profile
+        try (var tuned = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("tuned.db"), ConnectionPoolConfig.defaults(), ConnectionProfile.tuned())) {
+            var journalMode = tuned.executeQuery("PRAGMA journal_mode", statement -> {}, executor -> executor.getString(1));
+            var synchronous = tuned.executeQuery("PRAGMA synchronous", statement -> {}, executor -> executor.getInt(1));
+            var tempStore = tuned.executeQuery("PRAGMA temp_store", statement -> {}, executor -> executor.getInt(1));
+            var busyTimeout = tuned.executeQuery("PRAGMA busy_timeout", statement -> {}, executor -> executor.getInt(1));
+
+            // Verify each setting took effect (synchronous NORMAL = 1, temp_store MEMORY = 2)
+            assertEquals("wal", journalMode);
+            assertEquals(1, synchronous);
+            assertEquals(2, tempStore);
+            assertEquals(5000, busyTimeout);
+        }
+    }
+
+    @Test
+    void testClosedPool_RejectsStatements() {
+        connection.close();
+
+        // Verify no new connections are handed out after shutdown
+        assertThrows(SQLException.class, () -> connection.executeQuery("SELECT 1", statement -> {}, executor -> executor.getInt(1)));
+    }
+}
@@ -168,20 +168,34 @@ public class BookingFactoryTest {
 
 	@Test
 	void CreateBooking_Success() throws SQLException {
-		// Simulate a successful database insertion (1 row affected)
-		doAnswer(invocation -> 1).when(databaseConnection).executeUpdate(anyString(), any(), any());
+		// Simulate the database returning the inserted row
+		when(databaseConnection.executeInsert(anyString(), any(), any())).thenReturn(booking);
 
-		// Call the create method and assert that no exception is thrown
-		assertDoesNotThrow(() -> bookingFactory.create(1, 1, 2));
+		// Call the create method and assert that the inserted Booking is returned without a second query
+		var result = bookingFactory.create(1, 1, 2);
+		assertEquals(booking, result);
+		verify(databaseConnection, never()).executeUpdate(anyString(), any(), any());
 	}
 
 	@Test
 	void CreateBooking_Failure() throws SQLException {
-		// Simulate an SQLException being thrown during the update
-		doThrow(new SQLException()).when(databaseConnection).executeUpdate(anyString(), any(), any());
+		// Simulate an SQLException being thrown during the insert
+		when(databaseConnection.executeInsert(anyString(), any(), any())).thenThrow(new SQLException());
 
-		// Call the save method and assert that an SQLException is thrown
+		// Call the create method and assert that an SQLException is thrown
 		assertThrows(SQLException.class, () -> bookingFactory.create(1, 1, 2));
 	}
-}
 
+	@Test
+	void CreateBookings_Batch_Success() throws SQLException {
+		// Simulate the batch insert returning a generated key per booking
+		when(databaseConnection.executeBatchInsert(anyString(), anyCollection(), any())).thenReturn(List.of(1, 2));
+
+		var bookings = List.of(new Booking(0, 1, 1, null, 2), new Booking(0, 1, 2, null, 2));
+		var result = bookingFactory.create(bookings);
+
+		// Assert that one key is returned per booking and the bookings were passed through
+		assertEquals(List.of(1, 2), result);
+		verify(databaseConnection).executeBatchInsert(anyString(), eq(bookings), any());
+	}
+}
@@ -1,6 +1,7 @@
 package hub.troubleshooters.soundlink.data.factories;
 
 import hub.troubleshooters.soundlink.data.DatabaseConnection;
+import hub.troubleshooters.soundlink.data.UpdateExecutor;
 import hub.troubleshooters.soundlink.data.models.Community;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,28 @@ public class CommunityFactoryTest {
         assertEquals(community, result.get());
     }
 
+    @Test
+    void testGetCommunityById_Cached_UntilSaved() throws SQLException {
+        // Mocking the database query to return the community, and the update to succeed
+        when(databaseConnection.executeQuery(anyString(), any(), any())).thenReturn(community);
+        doAnswer(invocation -> {
+            UpdateExecutor executor = invocation.getArgument(2);
+            executor.execute(1);
+            return null;
+        }).when(databaseConnection).executeUpdate(anyString(), any(), any());
+
+        // Look the community up twice, save it, then look it up again
+        communityFactory.get(1);
+        communityFactory.get(1);
+        communityFactory.save(community);
+        communityFactory.get(1);
+
+        // Verify the second lookup was served from the cache, and saving made the next one reload the community
+        verify(databaseConnection, times(2)).executeQuery(anyString(), any(), any());
+        assertEquals(1, communityFactory.getCacheStats().hits());
+        assertEquals(2, communityFactory.getCacheStats().misses());
+    }
+
     @Test
     void testGetCommunityById_NotFound() throws SQLException {
         // Mocking the database query to return null (community not found)
@@ -136,19 +136,21 @@ public class CommunityMemberFactoryTest {
 
     @Test
     void CreateCommunityMember_Success() throws SQLException {
-        // Simulate a successful database insertion (1 row affected)
-        doAnswer(invocation -> 1).when(databaseConnection).executeUpdate(anyString(), any(), any());
+        // Simulate the database returning the inserted row
+        when(databaseConnection.executeInsert(anyString(), any(), any())).thenReturn(communityMember);
 
-        // Call the create method and assert that no exception is thrown
-        assertDoesNotThrow(() -> communityMemberFactory.create(1, 1, 2));
+        // Call the create method and assert that the inserted CommunityMember is returned without a second query
+        var result = communityMemberFactory.create(1, 1, 2);
+        assertEquals(communityMember, result);
+        verify(databaseConnection, never()).executeUpdate(anyString(), any(), any());
     }
 
     @Test
     void CreateCommunityMember_Failure() throws SQLException {
-        // Simulate an SQLException being thrown during the update
-        doThrow(new SQLException()).when(databaseConnection).executeUpdate(anyString(), any(), any());
+        // Simulate an SQLException being thrown during the insert
+        when(databaseConnection.executeInsert(anyString(), any(), any())).thenThrow(new SQLException());
 
-        // Call the save method and assert that an SQLException is thrown
+        // Call the create method and assert that an SQLException is thrown
         assertThrows(SQLException.class, () -> communityMemberFactory.create(1, 1, 2));
     }
 }
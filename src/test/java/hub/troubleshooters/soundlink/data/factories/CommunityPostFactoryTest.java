@@ -114,19 +114,21 @@ public class CommunityPostFactoryTest {
 
 	@Test
 	void CreateCommunityPost_Success() throws SQLException {
-		// Simulate a successful database insertion (1 row affected)
-		doAnswer(invocation -> 1).when(databaseConnection).executeUpdate(anyString(), any(), any());
+		// Simulate the database returning the inserted row
+		when(databaseConnection.executeInsert(anyString(), any(), any())).thenReturn(communityPost);
 
-		// Call the create method and assert that no exception is thrown
-		assertDoesNotThrow(() -> communityPostFactory.create(1, 1, "title", "content"));
+		// Call the create method and assert that the inserted CommunityPost is returned without a second query
+		var result = communityPostFactory.create(1, 1, "title", "content");
+		assertEquals(communityPost, result);
+		verify(databaseConnection, never()).executeUpdate(anyString(), any(), any());
 	}
 
 	@Test
 	void CreateCommunityPost_Failure() throws SQLException {
-		// Simulate an SQLException being thrown during the update
-		doThrow(new SQLException()).when(databaseConnection).executeUpdate(anyString(), any(), any());
+		// Simulate an SQLException being thrown during the insert
+		when(databaseConnection.executeInsert(anyString(), any(), any())).thenThrow(new SQLException());
 
-		// Call the save method and assert that an SQLException is thrown
+		// Call the create method and assert that an SQLException is thrown
 		assertThrows(SQLException.class, () -> communityPostFactory.create(1, 1, "title", "content"));
 	}
 }
@@ -112,19 +112,21 @@ public class EventCommentFactoryTest {
 
 	@Test
 	void CreateEventComment_Success() throws SQLException {
-		// Simulate a successful database insertion (1 row affected)
-		doAnswer(invocation -> 1).when(databaseConnection).executeUpdate(anyString(), any(), any());
+		// Simulate the database returning the inserted row
+		when(databaseConnection.executeInsert(anyString(), any(), any())).thenReturn(eventComment);
 
-		// Call the create method and assert that no exception is thrown
-		assertDoesNotThrow(() -> eventCommentFactory.create(1, 1, "content"));
+		// Call the create method and assert that the inserted EventComment is returned without a second query
+		var result = eventCommentFactory.create(1, 1, "content");
+		assertEquals(eventComment, result);
+		verify(databaseConnection, never()).executeUpdate(anyString(), any(), any());
 	}
 
 	@Test
 	void CreateEventComment_Failure() throws SQLException {
-		// Simulate an SQLException being thrown during the update
-		doThrow(new SQLException()).when(databaseConnection).executeUpdate(anyString(), any(), any());
+		// Simulate an SQLException being thrown during the insert
+		when(databaseConnection.executeInsert(anyString(), any(), any())).thenThrow(new SQLException());
 
-		// Call the save method and assert that an SQLException is thrown
+		// Call the create method and assert that an SQLException is thrown
 		assertThrows(SQLException.class, () -> eventCommentFactory.create(1, 1, "content"));
 	}
 }
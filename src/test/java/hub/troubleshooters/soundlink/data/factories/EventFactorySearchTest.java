@@ -0,0 +1,132 @@
+package hub.troubleshooters.soundlink.data.factories;
+
+import hub.troubleshooters.soundlink.core.events.models.SearchEventModel;
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventFactorySearchTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+    private EventFactory eventFactory;
+    private int firstCommunityId;
+    private int secondCommunityId;
+    private Date start;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        new MigrationRunner(connection).migrate();
+        eventFactory = new EventFactory(connection);
+
+        var communityFactory = new CommunityFactory(connection);
+        firstCommunityId = communityFactory.create(new Community(0, "First", "Description", "Genre", null, null, false)).getId();
+        secondCommunityId = communityFactory.create(new Community(0, "Second", "Description", "Genre", null, null, false)).getId();
+
+        start = new Date(1_767_225_600_000L);
+        eventFactory.create("Jazz Night", "Smooth jazz", firstCommunityId, "The Basement", 50, start);
+        eventFactory.create("Rock Festival", "Loud guitars", firstCommunityId, "City Park", 500, new Date(start.getTime() + DAY));
+        eventFactory.create("ÉCOLE DE MUSIQUE", "Cours ouverts", secondCommunityId, "Salle Ünter", 50, new Date(start.getTime() + 2 * DAY));
+        eventFactory.create("Open Mic", "Bring your own JAZZ", secondCommunityId, "Cafe", 20, new Date(start.getTime() + 3 * DAY));
+        // the mock data stores Scheduled as text rather than epoch milliseconds
+        connection.executeUpdate("INSERT INTO Events (CommunityId, Name, Description, Venue, Capacity, Scheduled) VALUES (?, 'Legacy Jazz', 'From the mock data', 'Hall', 50, '2026-01-02 12:00:00')",
+                statement -> statement.setInt(1, firstCommunityId), rowsAffected -> {});
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    /**
+     * Filters every event the way {@code EventServiceImpl.search} did before the filtering moved into the query.
+     */
+    private List<Event> filterAllEvents(SearchEventModel searchModel) throws SQLException {
+        var text = searchModel.textSearch().toLowerCase();
+        return eventFactory.getAllEvents().stream()
+                .filter(event -> (
+                        event.getName().toLowerCase().contains(text) ||
+                        event.getDescription().toLowerCase().contains(text) ||
+                        event.getVenue().toLowerCase().contains(text)
+                ) &&
+                        (searchModel.fromDate() == null || !event.getScheduled().before(searchModel.fromDate())) &&
+                        (searchModel.toDate() == null || !event.getScheduled().after(searchModel.toDate())) &&
+                        (searchModel.capacity() == 0 || event.getCapacity() == searchModel.capacity()) &&
+                        (searchModel.communityId() == 0 || event.getCommunityId() == searchModel.communityId()))
+                .toList();
+    }
+
+    private void assertSameAsFilteringAllEvents(SearchEventModel searchModel) throws SQLException {
+        var expected = filterAllEvents(searchModel).stream().map(Event::getId).toList();
+        var actual = eventFactory.search(searchModel).stream().map(Event::getId).toList();
+        assertEquals(expected, actual, searchModel.toString());
+    }
+
+    @Test
+    void testSearch_NoCriteria_ReturnsEveryEvent() throws SQLException {
+        var result = eventFactory.search(new SearchEventModel("", null, null, 0, 0));
+
+        assertEquals(5, result.size());
+        assertSameAsFilteringAllEvents(new SearchEventModel("", null, null, 0, 0));
+    }
+
+    @Test
+    void testSearch_Text_IgnoresCaseAcrossColumns() throws SQLException {
+        // "jazz" is in a name, a description and the legacy row
+        var result = eventFactory.search(new SearchEventModel("JaZz", null, null, 0, 0));
+
+        assertEquals(List.of("Jazz Night", "Open Mic", "Legacy Jazz"), result.stream().map(Event::getName).toList());
+    }
+
+    @Test
+    void testSearch_NonAsciiText_MatchesLikeJava() throws SQLException {
+        // SQLite's lower() leaves É and Ü alone, so these rely on the Java check
+        for (var text : List.of("école", "ünter", "cole", "É")) {
+            assertSameAsFilteringAllEvents(new SearchEventModel(text, null, null, 0, 0));
+        }
+        assertEquals(1, eventFactory.search(new SearchEventModel("école", null, null, 0, 0)).size());
+    }
+
+    @Test
+    void testSearch_DateRange_IsInclusiveAndKeepsTextDates() throws SQLException {
+        var from = start;
+        var to = new Date(start.getTime() + 2 * DAY);
+        for (var model : List.of(
+                new SearchEventModel("", from, to, 0, 0),
+                new SearchEventModel("", from, null, 0, 0),
+                new SearchEventModel("", null, to, 0, 0),
+                new SearchEventModel("", new Date(start.getTime() + 1), null, 0, 0),
+                new SearchEventModel("", null, new Date(start.getTime() - 1), 0, 0))) {
+            assertSameAsFilteringAllEvents(model);
+        }
+        // both ends of the range are inclusive
+        assertEquals(3, eventFactory.search(new SearchEventModel("", from, to, 0, 0)).stream()
+                .filter(event -> !event.getName().equals("Legacy Jazz")).count());
+    }
+
+    @Test
+    void testSearch_CapacityAndCommunity_Combine() throws SQLException {
+        var result = eventFactory.search(new SearchEventModel("", null, null, 50, secondCommunityId));
+
+        assertEquals(List.of("ÉCOLE DE MUSIQUE"), result.stream().map(Event::getName).toList());
+        assertSameAsFilteringAllEvents(new SearchEventModel("jazz", start, null, 50, firstCommunityId));
+    }
+}
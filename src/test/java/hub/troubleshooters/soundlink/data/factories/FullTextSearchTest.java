@@ -0,0 +1,130 @@
+package hub.troubleshooters.soundlink.data.factories;
+
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.Event;
+import hub.troubleshooters.soundlink.data.models.SearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FullTextSearchTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+    private EventFactory eventFactory;
+    private CommunityFactory communityFactory;
+    private int communityId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // the search tables and their triggers come from the migrations, so use a real database
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        new MigrationRunner(connection).migrate();
+        eventFactory = new EventFactory(connection);
+        communityFactory = new CommunityFactory(connection);
+        communityId = communityFactory.create(new Community(0, "Jazz Lovers", "People who love jazz", "Jazz", null, null, false)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    private List<String> eventNames(List<SearchResult<Event>> results) {
+        return results.stream().map(result -> result.model().getName()).toList();
+    }
+
+    @Test
+    void testSearchText_MatchesPrefixes_NameRankedFirst() throws SQLException {
+        eventFactory.create("Open Mic", "Bring some jazz standards", communityId, "Cafe", 20, new Date());
+        eventFactory.create("Jazz Night", "An evening of music", communityId, "The Basement", 50, new Date());
+        eventFactory.create("Rock Festival", "Loud guitars", communityId, "City Park", 500, new Date());
+
+        var results = eventFactory.searchText("jaz", 10);
+
+        // Verify the name match beats the description match, and the unrelated event is left out
+        assertEquals(List.of("Jazz Night", "Open Mic"), eventNames(results));
+        assertTrue(results.get(0).rank() < results.get(1).rank());
+    }
+
+    @Test
+    void testSearchText_EveryWordMustMatch_IgnoringCaseAndAccents() throws SQLException {
+        eventFactory.create("École de Musique", "Cours ouverts", communityId, "Salle des fêtes", 50, new Date());
+        eventFactory.create("Quiz Night", "Ecole students welcome", communityId, "Pub", 50, new Date());
+
+        assertEquals(List.of("École de Musique"), eventNames(eventFactory.searchText("ECOLE mus", 10)));
+        assertEquals(2, eventFactory.searchText("ecole", 10).size());
+    }
+
+    @Test
+    void testSearchText_HighlightsMatchInSnippet() throws SQLException {
+        eventFactory.create("Open Mic", "Bring some jazz standards", communityId, "Cafe", 20, new Date());
+
+        var snippet = eventFactory.searchText("jazz", 10).get(0).snippet();
+
+        assertTrue(snippet.contains(SearchResult.HIGHLIGHT_START + "jazz" + SearchResult.HIGHLIGHT_END), snippet);
+    }
+
+    @Test
+    void testSearchText_FollowsUpdatesAndDeletes() throws SQLException {
+        var event = eventFactory.create("Jazz Night", "An evening of music", communityId, "The Basement", 50, new Date());
+
+        // Rename the event, then delete it
+        event.setName("Blues Night");
+        eventFactory.save(event);
+        assertTrue(eventFactory.searchText("jazz", 10).isEmpty());
+        assertEquals(List.of("Blues Night"), eventNames(eventFactory.searchText("blues", 10)));
+
+        eventFactory.delete(event);
+        assertTrue(eventFactory.searchText("blues", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchText_Limit_ReturnsBestMatches() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            eventFactory.create("Gig " + i, "A gig", communityId, "Venue", 50, new Date());
+        }
+
+        assertEquals(2, eventFactory.searchText("gig", 2).size());
+    }
+
+    @Test
+    void testSearchText_NoWords_ReturnsNothing() throws SQLException {
+        eventFactory.create("Jazz Night", "An evening of music", communityId, "The Basement", 50, new Date());
+
+        // Punctuation alone isn't a search, and must not reach FTS5 as query syntax
+        assertTrue(eventFactory.searchText(" \"*- ", 10).isEmpty());
+        assertTrue(eventFactory.searchText(null, 10).isEmpty());
+    }
+
+    @Test
+    void testSearchCommunities_MatchesGenre() throws SQLException {
+        communityFactory.create(new Community(0, "Weekend Riffs", "Guitar jams", "Rock", null, null, true));
+
+        var results = communityFactory.searchText("rock", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("Weekend Riffs", results.get(0).model().getName());
+        assertTrue(results.get(0).model().isPrivate());
+    }
+
+    @Test
+    void testToFullTextQuery_QuotesEachWordAsPrefix() {
+        assertEquals("\"jazz\"* \"ni\"*", ModelFactory.toFullTextQuery("jazz, ni"));
+        assertEquals("\"OR\"* \"NEAR\"*", ModelFactory.toFullTextQuery("OR (NEAR)"));
+        assertEquals("", ModelFactory.toFullTextQuery("  "));
+    }
+}
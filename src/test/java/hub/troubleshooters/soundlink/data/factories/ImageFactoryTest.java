@@ -0,0 +1,158 @@
+package hub.troubleshooters.soundlink.data.factories;
+
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Community;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ImageFactoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+    private ImageFactory imageFactory;
+    private CommunityFactory communityFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // the reference counts are kept by triggers, so use a real database
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        new MigrationRunner(connection).migrate();
+        imageFactory = new ImageFactory(connection);
+        communityFactory = new CommunityFactory(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    private int getRefCount(int imageId) throws SQLException {
+        return connection.executeQuery("SELECT RefCount FROM Images WHERE Id = ?", statement -> statement.setInt(1, imageId), executor -> {
+            executor.next();
+            return executor.getInt(1);
+        });
+    }
+
+    private void setUploaded(int imageId, String uploaded) throws SQLException {
+        connection.executeUpdate("UPDATE Images SET Uploaded = " + uploaded + " WHERE Id = ?", statement -> statement.setInt(1, imageId), rowsAffected -> {});
+    }
+
+    @Test
+    void testCreateIfAbsent_SameHash_ReturnsExistingImage() throws SQLException {
+        var first = imageFactory.createIfAbsent("ab/ab12.jpg", "ab12");
+        var second = imageFactory.createIfAbsent("ab/ab12.png", "ab12");
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals("ab/ab12.jpg", second.getFileName());
+        assertNotEquals(first.getId(), imageFactory.createIfAbsent("cd/cd34.jpg", "cd34").getId());
+    }
+
+    @Test
+    void testCreateIfAbsent_Existing_ReturnsStoredRowWithoutQuerying() throws SQLException {
+        var image = imageFactory.createIfAbsent("ab/ab12.jpg", "ab12");
+        image.setAvatarFileName("ab/ab12.jpg.avatar.jpg");
+        imageFactory.save(image);
+        setUploaded(image.getId(), "datetime('now', '-2 days')");
+        var spiedConnection = spy(connection);
+
+        var again = new ImageFactory(spiedConnection).createIfAbsent("ab/ab12.jpg", "ab12");
+
+        // the upsert returns the row itself, rather than it being looked up by hash in a second query
+        assertEquals("ab/ab12.jpg.avatar.jpg", again.getAvatarFileName());
+        verify(spiedConnection, times(1)).executeQuery(any(), any(), any());
+        assertTrue(imageFactory.getUnreferenced(Duration.ofDays(1)).isEmpty());
+    }
+
+    @Test
+    void testRefCount_FollowsCommunityBanners() throws SQLException {
+        var image = imageFactory.createIfAbsent("ab/ab12.jpg", "ab12");
+
+        var community = communityFactory.create(new Community(0, "Jazz Lovers", "People who love jazz", "Jazz", new Date(), image.getId(), false));
+        communityFactory.create(new Community(0, "Blues Lovers", "People who love blues", "Blues", new Date(), image.getId(), false));
+        assertEquals(2, getRefCount(image.getId()));
+
+        connection.executeUpdate("UPDATE Communities SET BannerImageId = NULL WHERE Id = ?", statement -> statement.setInt(1, community.getId()), rowsAffected -> {});
+        assertEquals(1, getRefCount(image.getId()));
+
+        connection.executeUpdate("DELETE FROM Communities", statement -> {}, rowsAffected -> {});
+        assertEquals(0, getRefCount(image.getId()));
+    }
+
+    @Test
+    void testGetUnreferenced_SkipsReferencedAndRecentImages() throws SQLException {
+        var referenced = imageFactory.createIfAbsent("ab/ab12.jpg", "ab12");
+        communityFactory.create(new Community(0, "Jazz Lovers", "People who love jazz", "Jazz", new Date(), referenced.getId(), false));
+        var recent = imageFactory.createIfAbsent("cd/cd34.jpg", "cd34");
+        var old = imageFactory.createIfAbsent("ef/ef56.jpg", "ef56");
+        setUploaded(referenced.getId(), "datetime('now', '-2 days')");
+        setUploaded(old.getId(), "datetime('now', '-2 days')");
+        var legacy = imageFactory.create("banner.jpg");
+
+        var unreferenced = imageFactory.getUnreferenced(Duration.ofDays(1)).stream().map(image -> image.getId()).toList();
+
+        assertEquals(2, unreferenced.size());
+        assertTrue(unreferenced.contains(old.getId()));
+        assertTrue(unreferenced.contains(legacy.getId()));
+        assertFalse(unreferenced.contains(recent.getId()));
+    }
+
+    @Test
+    void testDeleteIfUnreferenced_UploadedAgain_NotDeleted() throws SQLException {
+        var image = imageFactory.createIfAbsent("ab/ab12.jpg", "ab12");
+        setUploaded(image.getId(), "datetime('now', '-2 days')");
+
+        // uploaded again after the sweep found it
+        imageFactory.createIfAbsent("ab/ab12.jpg", "ab12");
+
+        assertFalse(imageFactory.deleteIfUnreferenced(image.getId(), Duration.ofDays(1)));
+        assertTrue(imageFactory.get(image.getId()).isPresent());
+    }
+
+    @Test
+    void testDeleteIfUnreferenced_Unreferenced_Deleted() throws SQLException {
+        var image = imageFactory.createIfAbsent("ab/ab12.jpg", "ab12");
+        setUploaded(image.getId(), "datetime('now', '-2 days')");
+
+        assertTrue(imageFactory.deleteIfUnreferenced(image.getId(), Duration.ofDays(1)));
+        assertTrue(imageFactory.get(image.getId()).isEmpty());
+    }
+
+    @Test
+    void testGet_AfterRolledBackUpdate_ReturnsCommittedRows() throws SQLException {
+        var image = imageFactory.create("ab/ab12.jpg");
+        var community = communityFactory.create(new Community(0, "Before", "Description", "Genre", new Date(), image.getId(), false));
+        // cached from before the transaction
+        communityFactory.get(community.getId());
+        imageFactory.get(image.getId());
+
+        assertThrows(IllegalStateException.class, () -> connection.inTransaction(() -> {
+            community.setName("After");
+            communityFactory.save(community);
+            image.setFileName("cd/cd34.jpg");
+            imageFactory.save(image);
+            // read back inside the transaction, where the update can be seen but mustn't be cached
+            assertEquals("After", communityFactory.get(community.getId()).orElseThrow().getName());
+            assertEquals("cd/cd34.jpg", imageFactory.getAll(List.of(image.getId())).get(image.getId()).getFileName());
+            throw new IllegalStateException("rolled back");
+        }));
+
+        assertEquals("Before", communityFactory.get(community.getId()).orElseThrow().getName());
+        assertEquals("ab/ab12.jpg", imageFactory.get(image.getId()).orElseThrow().getFileName());
+    }
+}
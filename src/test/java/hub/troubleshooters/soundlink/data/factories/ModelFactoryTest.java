@@ -0,0 +1,87 @@
+package hub.troubleshooters.soundlink.data.factories;
+
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Community;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelFactoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+    private CommunityFactory communityFactory;
+    private ImageFactory imageFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // getAll fills its result through the query executor, so run it against a real, migrated database
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        new MigrationRunner(connection).migrate();
+        communityFactory = new CommunityFactory(connection);
+        imageFactory = new ImageFactory(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    @Test
+    void testGetAll_ReturnsModelsKeyedById() throws SQLException {
+        var first = communityFactory.create(new Community(0, "First", "Description", "Genre", null, null, false));
+        var second = communityFactory.create(new Community(0, "Second", "Description", "Genre", null, null, true));
+
+        // Look up both communities, a duplicate and an ID that doesn't exist
+        var result = communityFactory.getAll(List.of(second.getId(), first.getId(), second.getId(), 999));
+
+        // Verify only the existing communities are returned, each under its own ID
+        assertEquals(2, result.size());
+        assertEquals("First", result.get(first.getId()).getName());
+        assertTrue(result.get(second.getId()).isPrivate());
+    }
+
+    @Test
+    void testGetAll_EmptyIds_ReturnsEmptyMap() throws SQLException {
+        assertTrue(imageFactory.getAll(List.of()).isEmpty());
+    }
+
+    @Test
+    void testGetAll_MoreIdsThanVariableLimit_SplitsIntoChunks() throws SQLException {
+        // Insert more images than fit in a single query's bound variables
+        var count = ModelFactory.MAX_IDS_PER_QUERY * 2 + 1;
+        var ids = imageFactory.create(IntStream.range(0, count).mapToObj(i -> "image" + i + ".png").toList());
+
+        var result = imageFactory.getAll(ids);
+
+        // Verify every image was found across the chunks
+        assertEquals(count, result.size());
+        assertEquals("image" + (count - 1) + ".png", result.get(ids.get(count - 1)).getFileName());
+    }
+
+    @Test
+    void testGetCommunitiesByIds_ReturnsEveryCommunityInOrder() throws SQLException {
+        var ids = new ArrayList<Integer>();
+        for (var name : List.of("First", "Second", "Third")) {
+            ids.add(communityFactory.create(new Community(0, name, "Description", "Genre", null, null, false)).getId());
+        }
+
+        // Previously this matched nothing for more than one ID
+        var result = communityFactory.get(List.of(ids.get(2), ids.get(0)));
+
+        assertEquals(List.of("Third", "First"), result.stream().map(Community::getName).toList());
+    }
+}
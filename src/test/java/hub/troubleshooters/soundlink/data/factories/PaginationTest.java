@@ -0,0 +1,230 @@
+package hub.troubleshooters.soundlink.data.factories;
+
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Community;
+import hub.troubleshooters.soundlink.data.models.CommunityPost;
+import hub.troubleshooters.soundlink.data.models.Event;
+import hub.troubleshooters.soundlink.data.models.EventComment;
+import hub.troubleshooters.soundlink.data.models.Page;
+import hub.troubleshooters.soundlink.data.models.PageCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaginationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+    private CommunityFactory communityFactory;
+    private CommunityPostFactory communityPostFactory;
+    private EventCommentFactory eventCommentFactory;
+    private int communityId;
+    private int userId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // the order depends on how SQLite compares the stored Created values, so use a real database
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        new MigrationRunner(connection).migrate();
+        communityFactory = new CommunityFactory(connection);
+        communityPostFactory = new CommunityPostFactory(connection);
+        eventCommentFactory = new EventCommentFactory(connection);
+        communityId = communityFactory.create(new Community(0, "Jazz Lovers", "People who love jazz", "Jazz", new Date(), null, false)).getId();
+        userId = connection.executeInsert("INSERT INTO Users (Username, HashedPassword) VALUES ('user', 'hash') RETURNING Id",
+                statement -> {}, executor -> executor.getInt(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    private int insertPost(Object created) throws SQLException {
+        return connection.executeInsert("INSERT INTO CommunityPosts (CommunityId, UserId, Title, Content, Created) VALUES (?, ?, 'Title', 'Content', ?) RETURNING Id",
+                statement -> {
+                    statement.setInt(1, communityId);
+                    statement.setInt(2, userId);
+                    statement.setObject(3, created);
+                }, executor -> executor.getInt(1));
+    }
+
+    private interface PageReader<T> {
+        Page<T> read(PageCursor after) throws SQLException;
+    }
+
+    /**
+     * Reads every page in turn, checking each is full except the last.
+     */
+    private <T> List<T> readAllPages(PageReader<T> reader, int limit) throws SQLException {
+        var items = new ArrayList<T>();
+        PageCursor after = null;
+        do {
+            var page = reader.read(after);
+            if (page.hasNext()) {
+                assertEquals(limit, page.items().size());
+            }
+            items.addAll(page.items());
+            after = page.next();
+        } while (after != null);
+        return items;
+    }
+
+    @Test
+    void testGetPosts_MixedDateStorage_NewestFirstWithoutGapsOrRepeats() throws SQLException {
+        // setDate stores epoch milliseconds, while the mock data and column default store text, and ties are broken by Id
+        var expected = new ArrayList<Integer>();
+        expected.add(insertPost("2026-01-02 12:00:00"));
+        expected.add(insertPost("2026-01-02 12:00:00"));
+        expected.add(insertPost("2025-12-31 09:30:00"));
+        expected.add(insertPost("2026-01-02 12:00:00"));
+        for (int i = 0; i < 5; i++) {
+            expected.add(insertPost(1_767_225_600_000L + i * 1000L));
+        }
+        expected.add(insertPost(1_767_225_600_000L));
+
+        // SQLite sorts every number before any text, so the text dates are the "newest"
+        var ids = connection.executeQuery("SELECT Id FROM CommunityPosts ORDER BY Created DESC, Id DESC", statement -> {}, executor -> {
+            var result = new ArrayList<Integer>();
+            while (executor.next()) {
+                result.add(executor.getInt(1));
+            }
+            return result;
+        });
+        assertEquals(expected.size(), ids.size());
+
+        for (var limit : List.of(1, 3, 5, 10, 20)) {
+            var posts = readAllPages(after -> communityPostFactory.getPosts(communityId, after, limit), limit);
+            assertEquals(ids, posts.stream().map(CommunityPost::getId).toList(), "limit " + limit);
+        }
+    }
+
+    @Test
+    void testGetPosts_ExactMultipleOfLimit_LastPageHasNoCursor() throws SQLException {
+        for (int i = 0; i < 4; i++) {
+            insertPost("2026-01-0" + (i + 1) + " 12:00:00");
+        }
+
+        var first = communityPostFactory.getPosts(communityId, null, 2);
+        var second = communityPostFactory.getPosts(communityId, first.next(), 2);
+
+        assertTrue(first.hasNext());
+        assertEquals(2, second.items().size());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testGetPosts_RowsAddedBetweenPages_DoNotShiftLaterPages() throws SQLException {
+        var oldest = insertPost("2026-01-01 12:00:00");
+        var middle = insertPost("2026-01-02 12:00:00");
+        var newest = insertPost("2026-01-03 12:00:00");
+
+        var first = communityPostFactory.getPosts(communityId, null, 1);
+        insertPost("2026-01-04 12:00:00");
+        var rest = readAllPages(after -> communityPostFactory.getPosts(communityId, after, 1), 1);
+        var afterFirst = communityPostFactory.getPosts(communityId, first.next(), 10);
+
+        assertEquals(List.of(newest), first.items().stream().map(CommunityPost::getId).toList());
+        assertEquals(4, rest.size());
+        assertEquals(List.of(middle, oldest), afterFirst.items().stream().map(CommunityPost::getId).toList());
+    }
+
+    @Test
+    void testGetByEventId_OldestFirst_OnlyThatEvent() throws SQLException {
+        var eventFactory = new EventFactory(connection);
+        var eventId = eventFactory.create("Jazz Night", "Smooth jazz", communityId, "The Basement", 50, new Date()).getId();
+        var otherEventId = eventFactory.create("Rock Night", "Loud", communityId, "The Garage", 50, new Date()).getId();
+        var expected = new ArrayList<Integer>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(eventCommentFactory.create(eventId, userId, "Comment " + i).getId());
+            eventCommentFactory.create(otherEventId, userId, "Other " + i);
+        }
+
+        var comments = readAllPages(after -> eventCommentFactory.getByEventId(eventId, after, 3), 3);
+
+        assertEquals(expected, comments.stream().map(EventComment::getId).toList());
+    }
+
+    @Test
+    void testFindCommunityEvents_EventSaved_KeepsItsPlace() throws SQLException {
+        var eventFactory = new EventFactory(connection);
+        var ids = new ArrayList<Integer>();
+        for (int i = 0; i < 5; i++) {
+            var id = eventFactory.create("Event " + i, "Description", communityId, "Venue", 50, new Date()).getId();
+            connection.executeUpdate("UPDATE Events SET Created = ? WHERE Id = ?", statement -> {
+                statement.setString(1, "2024-01-0" + (ids.size() + 1) + " 12:00:00");
+                statement.setInt(2, id);
+            }, rowsAffected -> {});
+            ids.add(0, id);
+        }
+
+        // editing the newest event used to store Created as a number, which sorted after every text date
+        var newest = eventFactory.get(ids.get(0)).orElseThrow();
+        newest.setName("Renamed");
+        eventFactory.save(newest);
+        var events = readAllPages(after -> eventFactory.findCommunityEvents(communityId, after, 2), 2);
+
+        assertEquals(ids, events.stream().map(Event::getId).toList());
+        assertEquals("2024-01-05 12:00:00", connection.executeQuery("SELECT Created FROM Events WHERE Id = ?",
+                statement -> statement.setInt(1, newest.getId()), executor -> executor.getString(1)));
+    }
+
+    @Test
+    void testGetAllCommunities_CreatedWithDateAndSaved_OrderedAmongDefaults() throws SQLException {
+        var older = communityFactory.create(new Community(0, "Older", "Description", "Genre", new Date(0), null, false));
+        var defaulted = communityFactory.create(new Community(0, "Defaulted", "Description", "Genre", null, null, false));
+        var newer = communityFactory.create(new Community(0, "Newer", "Description", "Genre", new Date(4_102_444_800_000L), null, false));
+        older.setName("Renamed");
+        communityFactory.save(older);
+
+        var communities = readAllPages(after -> communityFactory.getAllCommunities(false, after, 1), 1);
+
+        assertEquals(List.of(newer.getId(), defaulted.getId(), communityId, older.getId()), communities.stream().map(Community::getId).toList());
+        assertEquals("1970-01-01 00:00:00", connection.executeQuery("SELECT Created FROM Communities WHERE Id = ?",
+                statement -> statement.setInt(1, older.getId()), executor -> executor.getString(1)));
+    }
+
+    @Test
+    void testGetAllCommunities_OnlyPrivate_IncludesCommunitiesCreatedWithoutDate() throws SQLException {
+        var privateIds = new ArrayList<Integer>();
+        for (int i = 0; i < 5; i++) {
+            // no Created date, which used to be stored as NULL and could never be paged past
+            privateIds.add(communityFactory.create(new Community(0, "Private " + i, "Description", "Genre", null, null, true)).getId());
+            communityFactory.create(new Community(0, "Public " + i, "Description", "Genre", null, null, false));
+        }
+
+        var communities = readAllPages(after -> communityFactory.getAllCommunities(true, after, 2), 2);
+        var everyCommunity = readAllPages(after -> communityFactory.getAllCommunities(false, after, 4), 4);
+
+        assertEquals(privateIds, communities.stream().map(Community::getId).sorted().toList());
+        assertTrue(communities.stream().allMatch(Community::isPrivate));
+        assertEquals(11, everyCommunity.size());
+    }
+
+    @Test
+    void testGetPosts_ReadsPageFromIndexWithoutSorting() throws SQLException {
+        var plan = connection.executeQuery("EXPLAIN QUERY PLAN SELECT * FROM CommunityPosts WHERE CommunityId = ? AND (Created, Id) < (?, ?) ORDER BY Created DESC, Id DESC LIMIT ?",
+                statement -> {}, executor -> {
+                    var details = new StringBuilder();
+                    while (executor.next()) {
+                        details.append(executor.getString("detail")).append('\n');
+                    }
+                    return details.toString();
+                });
+
+        assertTrue(plan.contains("IX_CommunityPosts_CommunityId_Created"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+}
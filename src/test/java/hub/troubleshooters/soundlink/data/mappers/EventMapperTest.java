@@ -0,0 +1,83 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.factories.CommunityFactory;
+import hub.troubleshooters.soundlink.data.factories.EventFactory;
+import hub.troubleshooters.soundlink.data.factories.ImageFactory;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Community;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventMapperTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+    private EventMapper mapper;
+    private int communityId;
+    private int imageId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        new MigrationRunner(connection).migrate();
+        mapper = new EventMapper();
+        communityId = new CommunityFactory(connection).create(new Community(0, "Community", "Description", "Genre", null, null, false)).getId();
+        imageId = new ImageFactory(connection).create("banner.png").getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    @Test
+    void testMapAll_MapsEveryRowByColumn() throws SQLException {
+        var events = new EventFactory(connection);
+        events.create("With Banner", "Description", communityId, "Venue", 10, new Date(), imageId);
+        events.create("Without Banner", "Description", communityId, "Venue", 20, new Date());
+
+        // Select the columns in a different order to the table, so reading by position would get them wrong
+        var result = connection.executeQuery("SELECT BannerImageId, Name, Capacity, Created, Scheduled, Venue, Description, CommunityId, Id FROM Events ORDER BY Id",
+                statement -> {}, mapper::mapAll);
+
+        assertEquals(2, result.size());
+        assertEquals("With Banner", result.get(0).getName());
+        assertEquals(Optional.of(imageId), result.get(0).getBannerImageId());
+        assertEquals(20, result.get(1).getCapacity());
+        assertEquals(communityId, result.get(1).getCommunityId());
+        assertEquals(Optional.empty(), result.get(1).getBannerImageId());
+    }
+
+    @Test
+    void testMapAll_NoRows_ReturnsEmptyList() throws SQLException {
+        var result = connection.executeQuery("SELECT * FROM Events", statement -> {}, mapper::mapAll);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testMapFirst_NoRows_ReturnsNull() throws SQLException {
+        var result = connection.executeQuery("SELECT * FROM Events WHERE Id = ?", statement -> statement.setInt(1, 1), mapper::mapFirst);
+
+        assertNull(result);
+    }
+
+    @Test
+    void testBind_MissingColumn_ThrowsSQLException() {
+        // Id alone isn't enough to build an event
+        assertThrows(SQLException.class, () -> connection.executeQuery("SELECT Id FROM Communities", statement -> {}, mapper::mapAll));
+    }
+}
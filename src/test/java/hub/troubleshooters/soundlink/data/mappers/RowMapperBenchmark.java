@@ -0,0 +1,114 @@
+package hub.troubleshooters.soundlink.data.mappers;
+
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import hub.troubleshooters.soundlink.data.QueryExecutor;
+import hub.troubleshooters.soundlink.data.migrations.MigrationRunner;
+import hub.troubleshooters.soundlink.data.models.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the per-row cost of mapping a large {@code Events} result set by column name, as the factories used to,
+ * against {@link EventMapper}, which resolves column indexes once per result set.
+ *
+ * <p>Not part of the regular test run (the class name doesn't match Surefire's includes). Run it with:</p>
+ * <pre>mvn test -Dtest=RowMapperBenchmark</pre>
+ */
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 15;
+    private static final String SQL = "SELECT * FROM Events";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * The mapping every factory method repeated before {@link RowMapper}: a name lookup for every column of every row.
+     */
+    private static final QueryExecutor<List<Event>> BY_NAME = executor -> {
+        var events = new ArrayList<Event>();
+        while (executor.next()) {
+            var bannerId = executor.getInt("BannerImageId");
+            events.add(new Event(
+                    executor.getInt("Id"),
+                    executor.getInt("CommunityId"),
+                    executor.getString("Name"),
+                    executor.getString("Description"),
+                    executor.getString("Venue"),
+                    executor.getInt("Capacity"),
+                    executor.getDate("Scheduled"),
+                    executor.getDate("Created"),
+                    bannerId == 0 ? null : bannerId
+            ));
+        }
+        return events;
+    };
+
+    /**
+     * Only steps through the rows, to separate the cost of the query itself from the cost of mapping.
+     */
+    private static final QueryExecutor<List<Event>> STEP_ONLY = executor -> {
+        var rows = 0;
+        while (executor.next()) {
+            rows++;
+        }
+        return Arrays.asList(new Event[rows]);
+    };
+
+    @Test
+    void benchmarkEventMapping() throws SQLException {
+        try (var connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("benchmark.db"), ConnectionPoolConfig.defaults())) {
+            new MigrationRunner(connection).migrate();
+            connection.executeUpdate("INSERT INTO Communities (Name, Description, Genre) VALUES ('Community', 'Description', 'Genre')", statement -> {}, rowsAffected -> {});
+            connection.executeUpdate("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < ?) " +
+                    "INSERT INTO Events (CommunityId, Name, Description, Venue, Capacity, Scheduled) " +
+                    "SELECT 1, 'Event ' || i, 'Description of event ' || i, 'Venue ' || (i % 50), 100 + i % 400, 1700000000000 + i * 60000 FROM n",
+                    statement -> statement.setInt(1, ROWS), rowsAffected -> assertEquals(ROWS, rowsAffected));
+
+            var mapper = new EventMapper();
+            var stepping = measure(connection, STEP_ONLY);
+            var byName = measure(connection, BY_NAME);
+            var byIndex = measure(connection, mapper::mapAll);
+
+            // both strategies must produce the same events for the comparison to mean anything
+            var expected = connection.executeQuery(SQL, statement -> {}, BY_NAME);
+            var actual = connection.executeQuery(SQL, statement -> {}, mapper::mapAll);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i += 997) {
+                assertEquals(expected.get(i).getName(), actual.get(i).getName());
+                assertEquals(expected.get(i).getScheduled(), actual.get(i).getScheduled());
+            }
+
+            System.out.printf("RowMapperBenchmark: %,d rows, median of %d runs%n", ROWS, MEASURED_ITERATIONS);
+            System.out.printf("  query and step only    %7.1f ns/row%n", stepping);
+            System.out.printf("  mapped by column name  %7.1f ns/row (mapping %.1f ns/row)%n", byName, byName - stepping);
+            System.out.printf("  mapped by RowMapper    %7.1f ns/row (mapping %.1f ns/row)%n", byIndex, byIndex - stepping);
+        }
+    }
+
+    private static double measure(PooledDatabaseConnection connection, QueryExecutor<List<Event>> executor) throws SQLException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            connection.executeQuery(SQL, statement -> {}, executor);
+        }
+        var timings = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            var start = System.nanoTime();
+            var events = connection.executeQuery(SQL, statement -> {}, executor);
+            timings[i] = System.nanoTime() - start;
+            assertEquals(ROWS, events.size());
+        }
+        Arrays.sort(timings);
+        return (double) timings[MEASURED_ITERATIONS / 2] / ROWS;
+    }
+}
@@ -0,0 +1,115 @@
+package hub.troubleshooters.soundlink.data.migrations;
+
+import hub.troubleshooters.soundlink.data.ConnectionPoolConfig;
+import hub.troubleshooters.soundlink.data.PooledDatabaseConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MigrationRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PooledDatabaseConnection connection;
+    private MigrationRunner migrationRunner;
+
+    @BeforeEach
+    void setUp() {
+        connection = new PooledDatabaseConnection("jdbc:sqlite:" + tempDir.resolve("test.db"), ConnectionPoolConfig.defaults());
+        migrationRunner = new MigrationRunner(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connection.close();
+    }
+
+    private boolean indexExists(String name) throws SQLException {
+        return connection.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = ?", statement -> statement.setString(1, name), executor -> executor.next());
+    }
+
+    private int countUsers() throws SQLException {
+        return connection.executeQuery("SELECT COUNT(*) FROM Users", statement -> {}, executor -> executor.getInt(1));
+    }
+
+    @Test
+    void testMigrate_EmptyDatabase_AppliesAllMigrations() throws SQLException {
+        // Migrate a brand new database
+        var version = migrationRunner.migrate();
+
+        // Verify the schema and indexes were created and every version recorded
+        assertEquals(MigrationRunner.SCRIPTS.size(), version);
+        assertEquals(version, migrationRunner.getCurrentVersion());
+        assertTrue(indexExists("IX_Events_CommunityId_Created"));
+        assertEquals(0, countUsers());
+    }
+
+    @Test
+    void testMigrate_AlreadyMigrated_AppliesNothing() throws SQLException {
+        migrationRunner.migrate();
+        connection.executeUpdate("DROP INDEX IX_Events_CommunityId_Created", statement -> {}, rowsAffected -> {});
+
+        // Running again should not re-run any script
+        var version = migrationRunner.migrate();
+
+        assertEquals(MigrationRunner.SCRIPTS.size(), version);
+        assertFalse(indexExists("IX_Events_CommunityId_Created"));
+    }
+
+    @Test
+    void testMigrate_InitdbDatabase_UpgradesInPlace() throws SQLException, IOException {
+        // Create the schema and test data the way scripts/initdb.sh does
+        for (var sql : MigrationRunner.splitStatements(Files.readString(Path.of("database.sql")))) {
+            connection.executeUpdate(sql, statement -> {}, rowsAffected -> {});
+        }
+
+        migrationRunner.migrate();
+
+        // Verify the existing data survived and the indexes were added
+        assertEquals(1, countUsers());
+        assertTrue(indexExists("IX_Bookings_UserId"));
+        var indexedEvents = connection.executeQuery("SELECT COUNT(*) FROM EventsSearch WHERE EventsSearch MATCH 'test'", statement -> {}, executor -> executor.getInt(1));
+        assertEquals(1, indexedEvents);
+    }
+
+    @Test
+    void testMigrate_FailingScript_RollsBack() throws SQLException {
+        // Roll the database back to V1 without the Images table, so V2 fails on its last index after creating the others
+        migrationRunner.migrate();
+        connection.executeUpdate("DROP TABLE Images", statement -> {}, rowsAffected -> {});
+        connection.executeUpdate("DELETE FROM schema_version WHERE Version >= 2", statement -> {}, rowsAffected -> {});
+        connection.executeUpdate("DROP INDEX IX_Bookings_UserId", statement -> {}, rowsAffected -> {});
+
+        assertThrows(SQLException.class, migrationRunner::migrate);
+
+        // Verify the database was left at the previous version with none of the script's changes
+        assertEquals(1, migrationRunner.getCurrentVersion());
+        assertFalse(indexExists("IX_Bookings_UserId"));
+    }
+
+    @Test
+    void testSplitStatements_IgnoresComments() {
+        var statements = MigrationRunner.splitStatements("-- a comment; with a semicolon\nCREATE TABLE A (Id INTEGER); -- trailing\n\nCREATE TABLE B (Id INTEGER);\n");
+
+        assertEquals(List.of("CREATE TABLE A (Id INTEGER)", "CREATE TABLE B (Id INTEGER)"), statements);
+    }
+
+    @Test
+    void testSplitStatements_KeepsTriggerBodyTogether() {
+        var statements = MigrationRunner.splitStatements("CREATE TRIGGER T AFTER INSERT ON A BEGIN\n    INSERT INTO B VALUES (1);\n    INSERT INTO B VALUES (2);\nEND;\nCREATE TABLE C (Id INTEGER);\n");
+
+        assertEquals(List.of(
+                "CREATE TRIGGER T AFTER INSERT ON A BEGIN\n    INSERT INTO B VALUES (1);\nINSERT INTO B VALUES (2);\nEND",
+                "CREATE TABLE C (Id INTEGER)"), statements);
+    }
+}